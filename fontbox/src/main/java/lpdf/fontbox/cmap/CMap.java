@@ -53,10 +53,11 @@ public class CMap {
     private final List<CodespaceRange> codespaceRanges = new ArrayList<>();
 
     // Unicode mappings
-    // one byte input values
-    private final Map<Integer, String> charToUnicodeOneByte = new HashMap<>();
-    // two byte input values
-    private final Map<Integer, String> charToUnicodeTwoBytes = new HashMap<>();
+    // one byte input values, indexed by the code
+    private final String[] charToUnicodeOneByte = new String[256];
+    // two byte input values, indexed by the high byte and the low byte, the pages are created on demand
+    private final String[][] charToUnicodeTwoBytes = new String[256][];
+    private int unicodeMappingCount = 0;
 
     // CID mappings
     // map with all code to cid mappings organized by the origin byte length of the input value
@@ -90,7 +91,7 @@ public class CMap {
      * @return true If there are any Unicode mappings, false otherwise.
      */
     public boolean hasUnicodeMappings() {
-        return !charToUnicodeOneByte.isEmpty() || !charToUnicodeTwoBytes.isEmpty();
+        return unicodeMappingCount > 0;
     }
 
     /**
@@ -122,10 +123,14 @@ public class CMap {
      */
     public String toUnicode(int code, int length) {
         if (length == 1) {
-            return charToUnicodeOneByte.get(code);
+            return code >= 0 && code < 256 ? charToUnicodeOneByte[code] : null;
         }
         if (length == 2) {
-            return charToUnicodeTwoBytes.get(code);
+            if (code < 0 || code > 0xFFFF) {
+                return null;
+            }
+            String[] page = charToUnicodeTwoBytes[code >>> 8];
+            return page != null ? page[code & 0xFF] : null;
         }
         LOG.warn("Mappings with more than 2 bytes aren't supported");
         return null;
@@ -155,8 +160,8 @@ public class CMap {
         in.read(bytes, 0, minCodeLength);
         in.mark(maxCodeLength);
         for (int i = minCodeLength - 1; i < maxCodeLength; i++) {
-            final int byteCount = i + 1;
-            if (codespaceRanges.stream().anyMatch(r -> r.isFullMatch(bytes, byteCount))) {
+            int byteCount = i + 1;
+            if (isFullMatch(bytes, byteCount)) {
                 return toInt(bytes, byteCount);
             }
             if (byteCount < maxCodeLength) {
@@ -180,6 +185,15 @@ public class CMap {
         return toInt(bytes, minCodeLength); // Adobe Reader behavior
     }
 
+    private boolean isFullMatch(byte[] bytes, int byteCount) {
+        for (int i = 0, n = codespaceRanges.size(); i < n; i++) {
+            if (codespaceRanges.get(i).isFullMatch(bytes, byteCount)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Returns an int for the given byte array
      */
@@ -321,10 +335,8 @@ public class CMap {
     void addCharMapping(byte[] codes, String unicode) {
         unicodeToByteCodes.put(unicode, codes.clone()); // clone needed, bytes is modified later
         int code = getCodeFromArray(codes, 0, codes.length);
-        if (codes.length == 1) {
-            charToUnicodeOneByte.put(code, unicode);
-        } else if (codes.length == 2) {
-            charToUnicodeTwoBytes.put(code, unicode);
+        if (codes.length == 1 || codes.length == 2) {
+            putUnicode(code, codes.length, unicode);
         } else {
             LOG.warn("Mappings with more than 2 bytes aren't supported yet");
         }
@@ -334,6 +346,23 @@ public class CMap {
         }
     }
 
+    private void putUnicode(int code, int length, String unicode) {
+        String[] page;
+        if (length == 1) {
+            page = charToUnicodeOneByte;
+        } else {
+            page = charToUnicodeTwoBytes[code >>> 8];
+            if (page == null) {
+                page = new String[256];
+                charToUnicodeTwoBytes[code >>> 8] = page;
+            }
+        }
+        if (page[code & 0xFF] == null) {
+            unicodeMappingCount++;
+        }
+        page[code & 0xFF] = unicode;
+    }
+
     /**
      * Get the code bytes for an unicode string.
      *
@@ -403,12 +432,26 @@ public class CMap {
      */
     void useCmap(CMap cmap) {
         cmap.codespaceRanges.forEach(this::addCodespaceRange);
-        charToUnicodeOneByte.putAll(cmap.charToUnicodeOneByte);
-        charToUnicodeTwoBytes.putAll(cmap.charToUnicodeTwoBytes);
-        cmap.charToUnicodeOneByte.forEach((k, v) -> unicodeToByteCodes.put(v, new byte[]{(byte) (k % 0xFF)}));
-        cmap.charToUnicodeTwoBytes.forEach((k, v) -> unicodeToByteCodes.put(v,
-                new byte[]{(byte) ((k >>> 8) & 0xFF), (byte) (k & 0xFF)})
-        );
+        for (int k = 0; k < 256; k++) {
+            String v = cmap.charToUnicodeOneByte[k];
+            if (v != null) {
+                putUnicode(k, 1, v);
+                unicodeToByteCodes.put(v, new byte[]{(byte) (k % 0xFF)});
+            }
+        }
+        for (int high = 0; high < 256; high++) {
+            String[] page = cmap.charToUnicodeTwoBytes[high];
+            if (page == null) {
+                continue;
+            }
+            for (int low = 0; low < 256; low++) {
+                String v = page[low];
+                if (v != null) {
+                    putUnicode(high << 8 | low, 2, v);
+                    unicodeToByteCodes.put(v, new byte[]{(byte) high, (byte) low});
+                }
+            }
+        }
         cmap.codeToCid.forEach((key, value) ->
         {
             Map<Integer, Integer> existingMapping = codeToCid.putIfAbsent(key, value);
@@ -30,9 +30,10 @@ public class TTFTable {
     private long length;
 
     /**
-     * Indicates if the table is initialized or not.
+     * Indicates if the table is initialized or not. Volatile, because tables are read lazily and fonts may be shared
+     * by several threads.
      */
-    protected boolean initialized;
+    protected volatile boolean initialized;
 
     /**
      * Constructor.
@@ -143,7 +143,12 @@ public class TrueTypeFont implements FontBoxFont, Closeable {
     protected TTFTable getTable(String tag) throws IOException {
         TTFTable table = tables.get(tag);
         if (table != null && !table.getInitialized()) {
-            readTable(table);
+            // the data is shared by all tables, only one of them may be read at a time
+            synchronized (lockReadtable) {
+                if (!table.getInitialized()) {
+                    readTable(table);
+                }
+            }
         }
         return table;
     }
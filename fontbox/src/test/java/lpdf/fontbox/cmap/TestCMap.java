@@ -24,7 +24,11 @@ import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * This will test the CMap implementation.
@@ -44,6 +48,33 @@ class TestCMap {
         assertEquals("a", cMap.toUnicode(bs));
     }
 
+    @Test
+    void testOneAndTwoByteMappings() {
+        CMap cMap = new CMap();
+        assertFalse(cMap.hasUnicodeMappings());
+        cMap.addCharMapping(new byte[]{0x41}, "A");
+        cMap.addCharMapping(new byte[]{0x01, 0x41}, "B");
+        cMap.addCharMapping(new byte[]{(byte) 0xFF, (byte) 0xFE}, "C");
+        assertTrue(cMap.hasUnicodeMappings());
+        assertEquals("A", cMap.toUnicode(0x41, 1));
+        assertEquals("B", cMap.toUnicode(0x0141, 2));
+        assertEquals("C", cMap.toUnicode(0xFFFE, 2));
+        assertEquals("A", cMap.toUnicode(0x41));
+        assertEquals("B", cMap.toUnicode(0x0141));
+        assertNull(cMap.toUnicode(0x42, 1));
+        assertNull(cMap.toUnicode(0x41, 2));
+        assertNull(cMap.toUnicode(0x0142, 2));
+        assertNull(cMap.toUnicode(0x10000, 2));
+        assertNull(cMap.toUnicode(-1, 1));
+
+        CMap usingCMap = new CMap();
+        usingCMap.useCmap(cMap);
+        assertTrue(usingCMap.hasUnicodeMappings());
+        assertEquals("A", usingCMap.toUnicode(0x41, 1));
+        assertEquals("C", usingCMap.toUnicode(0xFFFE, 2));
+        assertArrayEquals(new byte[]{0x01, 0x41}, usingCMap.getCodesFromUnicode("B"));
+    }
+
     /**
      * PDFBOX-3997: test unicode that is above the basic multilingual plane, here: helicopter
      * symbol, or D83D DE81 in the Noto Emoji font.
@@ -0,0 +1,325 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package lpdf.io;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A thread-safe cache for fixed size pages of files, used by {@link RandomAccessReadBufferedFile}.
+ * <p>
+ * Pages are identified by the id of the file they belong to and their index within that file, so a single cache may
+ * be shared by several files and by all views of a file. The cache is split into stripes with their own lock, each
+ * stripe evicts pages using the CLOCK (second chance) algorithm. The overall size of the cache is limited by a byte
+ * budget.
+ * <p>
+ * Cached pages must not be modified by the caller.
+ */
+public final class PageCache {
+    /**
+     * Number of bits of a position within a page.
+     */
+    public static final int PAGE_SIZE_SHIFT = 12;
+
+    /**
+     * The size of a single page.
+     */
+    public static final int PAGE_SIZE = 1 << PAGE_SIZE_SHIFT;
+
+    /**
+     * The default byte budget of a cache (1000 pages).
+     */
+    public static final long DEFAULT_MAX_BYTES = 1000L * PAGE_SIZE;
+
+    private static final int DEFAULT_STRIPES = 16;
+
+    private final AtomicLong fileIds = new AtomicLong();
+    private final Stripe[] stripes;
+    private final int stripeMask;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Create a page cache using the default byte budget.
+     */
+    public PageCache() {
+        this(DEFAULT_MAX_BYTES);
+    }
+
+    /**
+     * Create a page cache.
+     *
+     * @param maxBytes the maximum number of bytes held by all cached pages
+     */
+    public PageCache(long maxBytes) {
+        if (maxBytes < PAGE_SIZE) {
+            throw new IllegalArgumentException("Cache size " + maxBytes + " is smaller than one page");
+        }
+        long maxPages = maxBytes / PAGE_SIZE;
+        int stripeCount = DEFAULT_STRIPES;
+        while (stripeCount > 1 && maxPages / stripeCount < 4) {
+            stripeCount >>= 1;
+        }
+        int pagesPerStripe = (int) Math.min(maxPages / stripeCount, 1 << 24);
+        stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe(pagesPerStripe);
+        }
+        stripeMask = stripeCount - 1;
+    }
+
+    /**
+     * Returns a new id to be used for the pages of a file. Ids are never reused, so that pages of a file which is
+     * gone can't be mistaken for pages of another file.
+     *
+     * @return the file id
+     */
+    public long registerFile() {
+        return fileIds.incrementAndGet();
+    }
+
+    /**
+     * Returns the cached page.
+     *
+     * @param fileId    the id of the file
+     * @param pageIndex the index of the page within the file
+     * @return the cached page or null if the page isn't cached
+     */
+    public byte[] get(long fileId, long pageIndex) {
+        byte[] page = stripe(fileId, pageIndex).get(fileId, pageIndex);
+        if (page != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return page;
+    }
+
+    /**
+     * Adds a page to the cache if the page isn't cached yet.
+     *
+     * @param fileId    the id of the file
+     * @param pageIndex the index of the page within the file
+     * @param page      the content of the page
+     * @return the cached page, which is the given page if it wasn't cached before
+     */
+    public byte[] putIfAbsent(long fileId, long pageIndex, byte[] page) {
+        return stripe(fileId, pageIndex).putIfAbsent(fileId, pageIndex, page);
+    }
+
+    /**
+     * Removes all pages of the given file from the cache.
+     *
+     * @param fileId the id of the file
+     */
+    public void invalidate(long fileId) {
+        for (Stripe stripe : stripes) {
+            stripe.removeFile(fileId);
+        }
+    }
+
+    /**
+     * Returns the number of cache lookups which found the requested page.
+     *
+     * @return the number of cache hits
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns the number of cache lookups which didn't find the requested page.
+     *
+     * @return the number of cache misses
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns the number of pages which are currently cached.
+     *
+     * @return the number of cached pages
+     */
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    private static int hash(long fileId, long pageIndex) {
+        long h = (fileId * 0x9E3779B97F4A7C15L + pageIndex) * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private Stripe stripe(long fileId, long pageIndex) {
+        return stripes[(hash(fileId, pageIndex) >>> 16) & stripeMask];
+    }
+
+    /**
+     * A single stripe of the cache. Pages are stored in a ring of slots scanned by the clock hand, an open addressing
+     * table maps the file ids and page indexes to their slots.
+     */
+    private static final class Stripe {
+        // file ids start at 1
+        private static final long FREE = 0;
+
+        private final long[] slotFileIds;
+        private final long[] slotPageIndexes;
+        private final byte[][] slotPages;
+        private final boolean[] referenced;
+        private int clockHand;
+        private int size;
+
+        // open addressing table holding slot index + 1, 0 marks an empty entry
+        private final long[] tableFileIds;
+        private final long[] tablePageIndexes;
+        private final int[] tableSlots;
+        private final int tableMask;
+
+        private Stripe(int capacity) {
+            slotFileIds = new long[capacity];
+            slotPageIndexes = new long[capacity];
+            slotPages = new byte[capacity][];
+            referenced = new boolean[capacity];
+            int tableSize = Integer.highestOneBit(Math.max(capacity, 2) * 2 - 1) << 1;
+            tableFileIds = new long[tableSize];
+            tablePageIndexes = new long[tableSize];
+            tableSlots = new int[tableSize];
+            tableMask = tableSize - 1;
+        }
+
+        private synchronized byte[] get(long fileId, long pageIndex) {
+            int slot = find(fileId, pageIndex);
+            if (slot < 0) {
+                return null;
+            }
+            referenced[slot] = true;
+            return slotPages[slot];
+        }
+
+        private synchronized byte[] putIfAbsent(long fileId, long pageIndex, byte[] page) {
+            int slot = find(fileId, pageIndex);
+            if (slot >= 0) {
+                referenced[slot] = true;
+                return slotPages[slot];
+            }
+            slot = nextFreeSlot();
+            slotFileIds[slot] = fileId;
+            slotPageIndexes[slot] = pageIndex;
+            slotPages[slot] = page;
+            referenced[slot] = false;
+            insert(fileId, pageIndex, slot);
+            size++;
+            return page;
+        }
+
+        private synchronized void removeFile(long fileId) {
+            for (int slot = 0; slot < slotFileIds.length; slot++) {
+                if (slotFileIds[slot] == fileId) {
+                    removeSlot(slot);
+                }
+            }
+        }
+
+        private synchronized int size() {
+            return size;
+        }
+
+        /**
+         * Returns a free slot, evicting the first page which wasn't referenced since the last pass of the clock hand
+         * if all slots are in use.
+         */
+        private int nextFreeSlot() {
+            if (size < slotFileIds.length) {
+                while (slotFileIds[clockHand] != FREE) {
+                    clockHand = (clockHand + 1) % slotFileIds.length;
+                }
+                int slot = clockHand;
+                clockHand = (clockHand + 1) % slotFileIds.length;
+                return slot;
+            }
+            while (true) {
+                int slot = clockHand;
+                clockHand = (clockHand + 1) % slotFileIds.length;
+                if (referenced[slot]) {
+                    referenced[slot] = false;
+                } else {
+                    removeSlot(slot);
+                    return slot;
+                }
+            }
+        }
+
+        private void removeSlot(int slot) {
+            remove(slotFileIds[slot], slotPageIndexes[slot]);
+            slotFileIds[slot] = FREE;
+            slotPages[slot] = null;
+            referenced[slot] = false;
+            size--;
+        }
+
+        private int find(long fileId, long pageIndex) {
+            int index = hash(fileId, pageIndex) & tableMask;
+            while (tableSlots[index] != 0) {
+                if (tableFileIds[index] == fileId && tablePageIndexes[index] == pageIndex) {
+                    return tableSlots[index] - 1;
+                }
+                index = (index + 1) & tableMask;
+            }
+            return -1;
+        }
+
+        private void insert(long fileId, long pageIndex, int slot) {
+            int index = hash(fileId, pageIndex) & tableMask;
+            while (tableSlots[index] != 0) {
+                index = (index + 1) & tableMask;
+            }
+            tableFileIds[index] = fileId;
+            tablePageIndexes[index] = pageIndex;
+            tableSlots[index] = slot + 1;
+        }
+
+        private void remove(long fileId, long pageIndex) {
+            int index = hash(fileId, pageIndex) & tableMask;
+            while (tableSlots[index] != 0
+                    && (tableFileIds[index] != fileId || tablePageIndexes[index] != pageIndex)) {
+                index = (index + 1) & tableMask;
+            }
+            if (tableSlots[index] == 0) {
+                return;
+            }
+            // backward shift deletion keeps the probe sequences intact without tombstones
+            int gap = index;
+            int next = (gap + 1) & tableMask;
+            while (tableSlots[next] != 0) {
+                int home = hash(tableFileIds[next], tablePageIndexes[next]) & tableMask;
+                if (((next - home) & tableMask) >= ((next - gap) & tableMask)) {
+                    tableFileIds[gap] = tableFileIds[next];
+                    tablePageIndexes[gap] = tablePageIndexes[next];
+                    tableSlots[gap] = tableSlots[next];
+                    gap = next;
+                }
+                next = (next + 1) & tableMask;
+            }
+            tableSlots[gap] = 0;
+        }
+    }
+}
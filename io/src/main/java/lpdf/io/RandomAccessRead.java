@@ -18,6 +18,7 @@ package lpdf.io;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 
 /**
  * An interface allowing random access read operations.
@@ -53,6 +54,79 @@ public interface RandomAccessRead extends Closeable {
      */
     int read(byte[] b, int offset, int length) throws IOException;
 
+    /**
+     * Read a buffer of data starting at the given position. In contrast to the other read methods the current position
+     * is neither used nor changed.
+     * <p>
+     * Implementations which support this method without relying on the current position are safe to be used by
+     * several threads at the same time. The default implementation seeks to the given position and restores the
+     * current position afterwards while holding the lock of this instance.
+     *
+     * @param position the position to start reading from
+     * @param b        The buffer to write the data to.
+     * @param offset   Offset into the buffer to start writing.
+     * @param length   The amount of data to be read.
+     * @return The number of bytes that were actually read, which is less than the given length only if the end of the
+     * data is reached, or -1 if the given position is at or beyond the end of the data.
+     * @throws IOException If there was an error while reading the data.
+     */
+    default int read(long position, byte[] b, int offset, int length) throws IOException {
+        if (position < 0) {
+            throw new IOException("Invalid position " + position);
+        }
+        synchronized (this) {
+            if (position >= length()) {
+                return -1;
+            }
+            long currentPosition = getPosition();
+            try {
+                seek(position);
+                int bytesRead = 0;
+                while (bytesRead < length) {
+                    int count = read(b, offset + bytesRead, length - bytesRead);
+                    if (count <= 0) {
+                        break;
+                    }
+                    bytesRead += count;
+                }
+                return bytesRead;
+            } finally {
+                seek(currentPosition);
+            }
+        }
+    }
+
+    /**
+     * Read data starting at the given position into the given buffer. In contrast to the other read methods the
+     * current position is neither used nor changed, see {@link #read(long, byte[], int, int)}.
+     *
+     * @param position the position to start reading from
+     * @param dst      the buffer to write the data to, starting at its position up to its limit
+     * @return The number of bytes that were actually read, or -1 if the given position is at or beyond the end of
+     * the data.
+     * @throws IOException If there was an error while reading the data.
+     */
+    default int read(long position, ByteBuffer dst) throws IOException {
+        if (dst.hasArray()) {
+            int bytesRead = read(position, dst.array(), dst.arrayOffset() + dst.position(), dst.remaining());
+            if (bytesRead > 0) {
+                dst.position(dst.position() + bytesRead);
+            }
+            return bytesRead;
+        }
+        byte[] buffer = new byte[Math.min(dst.remaining(), 8192)];
+        int bytesRead = 0;
+        while (dst.hasRemaining()) {
+            int count = read(position + bytesRead, buffer, 0, Math.min(dst.remaining(), buffer.length));
+            if (count <= 0) {
+                break;
+            }
+            dst.put(buffer, 0, count);
+            bytesRead += count;
+        }
+        return bytesRead == 0 && dst.hasRemaining() ? -1 : bytesRead;
+    }
+
     /**
      * Returns offset of next byte to be returned by a read method.
      *
@@ -216,6 +216,40 @@ public class RandomAccessReadBuffer implements RandomAccessRead {
         return bytesRead;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The chunks are accessed directly, the current position isn't used.
+     */
+    @Override
+    public int read(long position, byte[] b, int offset, int length) throws IOException {
+        checkClosed();
+        if (position < 0) {
+            throw new IOException("Invalid position " + position);
+        }
+        if (position >= size) {
+            return -1;
+        }
+        int maxLength = (int) Math.min(length, size - position);
+        int bytesRead = 0;
+        while (bytesRead < maxLength) {
+            long chunkPosition = position + bytesRead;
+            ByteBuffer chunk = bufferList.get(chunkSize > 0 ? (int) (chunkPosition / chunkSize) : 0);
+            int chunkOffset = chunkSize > 0 ? (int) (chunkPosition % chunkSize) : 0;
+            int count = Math.min(maxLength - bytesRead, chunkSize - chunkOffset);
+            if (chunk.hasArray()) {
+                System.arraycopy(chunk.array(), chunk.arrayOffset() + chunkOffset, b, offset + bytesRead, count);
+            } else {
+                // use a copy to leave the position of the shared chunk untouched
+                ByteBuffer copy = chunk.duplicate();
+                copy.position(chunkOffset);
+                copy.get(b, offset + bytesRead, count);
+            }
+            bytesRead += count;
+        }
+        return bytesRead;
+    }
+
     private int readRemainingBytes(byte[] b, int offset, int length) {
         if (pointer >= size) {
             return -1;
@@ -254,6 +288,24 @@ public class RandomAccessReadBuffer implements RandomAccessRead {
         return size;
     }
 
+    /**
+     * Returns the data if it is stored in a single chunk, so that it can be read without copying it. The returned
+     * buffer shares the data of this buffer and must not be modified.
+     *
+     * @return the data from position 0 to the length of this buffer, or null if the data is stored in several chunks
+     * @throws IOException If RandomAccessBuffer already closed
+     */
+    public ByteBuffer getData() throws IOException {
+        checkClosed();
+        if (bufferListMaxIndex > 0) {
+            return null;
+        }
+        ByteBuffer data = bufferList.get(0).duplicate();
+        data.clear();
+        data.limit((int) size);
+        return data;
+    }
+
     /**
      * create a new buffer chunk and adjust all pointers and indices.
      */
@@ -21,8 +21,6 @@ import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
 import java.nio.file.StandardOpenOption;
-import java.util.LinkedHashMap;
-import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
@@ -30,44 +28,32 @@ import java.util.concurrent.ConcurrentMap;
  * Provides random access to portions of a file combined with buffered reading of content. Start of next bytes to read
  * can be set via seek method.
  * <p>
- * File is accessed via {@link FileChannel} and is read in ByteBuffer chunks which are cached.
+ * File is accessed via {@link FileChannel} and is read in pages which are cached in a {@link PageCache}. The cache is
+ * shared by all views of the file and may be shared with other files as well.
  *
  * @author Timo Boehme
  */
 public class RandomAccessReadBufferedFile implements RandomAccessRead {
-    private static final int PAGE_SIZE_SHIFT = 12;
-    private static final int PAGE_SIZE = 1 << PAGE_SIZE_SHIFT;
+    private static final int PAGE_SIZE_SHIFT = PageCache.PAGE_SIZE_SHIFT;
+    private static final int PAGE_SIZE = PageCache.PAGE_SIZE;
     private static final long PAGE_OFFSET_MASK = -1L << PAGE_SIZE_SHIFT;
-    private static final int MAX_CACHED_PAGES = 1000;
+    // positional reads of at least this size bypass the page cache
+    private static final int DIRECT_READ_THRESHOLD = 4 * PAGE_SIZE;
 
     // map holding all copies of the current buffered file
     private final ConcurrentMap<Long, RandomAccessReadBufferedFile> rafCopies = new ConcurrentHashMap<>();
 
-    private ByteBuffer lastRemovedCachePage = null;
-
-    /**
-     * Create a LRU page cache.
-     */
-    private final Map<Long, ByteBuffer> pageCache = new LinkedHashMap<Long, ByteBuffer>(
-            MAX_CACHED_PAGES, 0.75f, true) {
-        private static final long serialVersionUID = -6302488539257741101L;
-
-        @Override
-        protected boolean removeEldestEntry(Map.Entry<Long, ByteBuffer> eldest) {
-            final boolean doRemove = size() > MAX_CACHED_PAGES;
-            if (doRemove) {
-                lastRemovedCachePage = eldest.getValue();
-                lastRemovedCachePage.clear();
-            }
-            return doRemove;
-        }
-    };
+    // page cache shared by the file and all of its copies
+    private final PageCache pageCache;
+    private final long fileId;
 
     private long curPageOffset = -1;
-    private ByteBuffer curPage;
+    private byte[] curPage;
     private int offsetWithinPage = 0;
 
     private final FileChannel fileChannel;
+    // true if this instance has opened the file channel and has to close it
+    private final boolean owner;
     private final File file;
     private final long fileLength;
     private long fileOffset = 0;
@@ -90,12 +76,39 @@ public class RandomAccessReadBufferedFile implements RandomAccessRead {
      * @throws IOException if something went wrong while accessing the given file.
      */
     public RandomAccessReadBufferedFile(File file) throws IOException {
+        this(file, new PageCache());
+    }
+
+    /**
+     * Create a random access buffered file instance for the given file using the given page cache.
+     *
+     * @param file      the file to be read.
+     * @param pageCache the page cache to be used, it may be shared with other files.
+     * @throws IOException if something went wrong while accessing the given file.
+     */
+    public RandomAccessReadBufferedFile(File file, PageCache pageCache) throws IOException {
         this.file = file;
+        this.pageCache = pageCache;
+        fileId = pageCache.registerFile();
         fileChannel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        owner = true;
         fileLength = file.length();
         seek(0);
     }
 
+    /**
+     * Create a copy of the given file sharing its file channel and page cache.
+     */
+    private RandomAccessReadBufferedFile(RandomAccessReadBufferedFile parent) throws IOException {
+        file = parent.file;
+        pageCache = parent.pageCache;
+        fileId = parent.fileId;
+        fileChannel = parent.fileChannel;
+        owner = false;
+        fileLength = parent.fileLength;
+        seek(0);
+    }
+
     @Override
     public long getPosition() throws IOException {
         checkClosed();
@@ -117,14 +130,8 @@ public class RandomAccessReadBufferedFile implements RandomAccessRead {
         }
         final long newPageOffset = position & PAGE_OFFSET_MASK;
         if (newPageOffset != curPageOffset) {
-            ByteBuffer newPage = pageCache.get(newPageOffset);
-            if (newPage == null) {
-                fileChannel.position(newPageOffset);
-                newPage = readPage();
-                pageCache.put(newPageOffset, newPage);
-            }
+            curPage = getPage(newPageOffset);
             curPageOffset = newPageOffset;
-            curPage = newPage;
         }
 
         fileOffset = Math.min(position, fileLength);
@@ -132,30 +139,33 @@ public class RandomAccessReadBufferedFile implements RandomAccessRead {
     }
 
     /**
-     * Reads a page with data from current file position. If we have a
-     * previously removed page from cache the buffer of this page is reused.
-     * Otherwise a new byte buffer is created.
+     * Returns the page starting at the given file position, either taken from the cache or read from file and added
+     * to the cache.
      */
-    private ByteBuffer readPage() throws IOException {
-        ByteBuffer page;
-
-        if (lastRemovedCachePage != null) {
-            page = lastRemovedCachePage;
-            lastRemovedCachePage = null;
-        } else {
-            page = ByteBuffer.allocate(PAGE_SIZE);
+    private byte[] getPage(long pageOffset) throws IOException {
+        long pageIndex = pageOffset >>> PAGE_SIZE_SHIFT;
+        byte[] page = pageCache.get(fileId, pageIndex);
+        if (page == null) {
+            // the page is read without holding any lock, a concurrent reader may have cached it in the meantime
+            page = pageCache.putIfAbsent(fileId, pageIndex, readPage(pageOffset));
         }
+        return page;
+    }
 
-        int readBytes = 0;
-        while (readBytes < PAGE_SIZE) {
-            int curBytesRead = fileChannel.read(page);
+    /**
+     * Reads the page starting at the given file position. The position of the file channel isn't used, so that all
+     * copies of the file may share it.
+     */
+    private byte[] readPage(long pageOffset) throws IOException {
+        byte[] page = new byte[PAGE_SIZE];
+        ByteBuffer buffer = ByteBuffer.wrap(page);
+        while (buffer.hasRemaining()) {
+            int curBytesRead = fileChannel.read(buffer, pageOffset + buffer.position());
             if (curBytesRead < 0) {
                 // EOF
                 break;
             }
-            readBytes += curBytesRead;
         }
-
         return page;
     }
 
@@ -171,7 +181,7 @@ public class RandomAccessReadBufferedFile implements RandomAccessRead {
         }
 
         fileOffset++;
-        return curPage.get(offsetWithinPage++) & 0xff;
+        return curPage[offsetWithinPage++] & 0xff;
     }
 
     @Override
@@ -190,8 +200,7 @@ public class RandomAccessReadBufferedFile implements RandomAccessRead {
             commonLen = Math.min(commonLen, (int) (fileLength - fileOffset));
         }
 
-        curPage.position(offsetWithinPage);
-        curPage.get(b, off, commonLen);
+        System.arraycopy(curPage, offsetWithinPage, b, off, commonLen);
 
         offsetWithinPage += commonLen;
         fileOffset += commonLen;
@@ -199,6 +208,73 @@ public class RandomAccessReadBufferedFile implements RandomAccessRead {
         return commonLen;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Small reads are served by the page cache, bigger reads are passed directly to the file channel.
+     */
+    @Override
+    public int read(long position, byte[] b, int off, int len) throws IOException {
+        checkClosed();
+        if (position < 0) {
+            throw new IOException("Invalid position " + position);
+        }
+        if (position >= fileLength) {
+            return -1;
+        }
+        int maxLength = (int) Math.min(len, fileLength - position);
+        if (maxLength >= DIRECT_READ_THRESHOLD) {
+            return readDirect(position, ByteBuffer.wrap(b, off, maxLength));
+        }
+        int bytesRead = 0;
+        while (bytesRead < maxLength) {
+            long pagePosition = position + bytesRead;
+            byte[] page = getPage(pagePosition & PAGE_OFFSET_MASK);
+            int offsetInPage = (int) (pagePosition & ~PAGE_OFFSET_MASK);
+            int count = Math.min(maxLength - bytesRead, PAGE_SIZE - offsetInPage);
+            System.arraycopy(page, offsetInPage, b, off + bytesRead, count);
+            bytesRead += count;
+        }
+        return bytesRead;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Small reads are served by the page cache, bigger reads are passed directly to the file channel.
+     */
+    @Override
+    public int read(long position, ByteBuffer dst) throws IOException {
+        checkClosed();
+        if (position < 0) {
+            throw new IOException("Invalid position " + position);
+        }
+        if (position >= fileLength) {
+            return -1;
+        }
+        if (dst.remaining() < DIRECT_READ_THRESHOLD) {
+            return RandomAccessRead.super.read(position, dst);
+        }
+        int maxLength = (int) Math.min(dst.remaining(), fileLength - position);
+        ByteBuffer target = dst.duplicate();
+        target.limit(target.position() + maxLength);
+        int bytesRead = readDirect(position, target);
+        dst.position(dst.position() + bytesRead);
+        return bytesRead;
+    }
+
+    private int readDirect(long position, ByteBuffer dst) throws IOException {
+        int bytesRead = 0;
+        while (dst.hasRemaining()) {
+            int count = fileChannel.read(dst, position + bytesRead);
+            if (count < 0) {
+                break;
+            }
+            bytesRead += count;
+        }
+        return bytesRead;
+    }
+
     @Override
     public long length() throws IOException {
         return fileLength;
@@ -208,8 +284,11 @@ public class RandomAccessReadBufferedFile implements RandomAccessRead {
     public void close() throws IOException {
         rafCopies.values().forEach(IOUtils::closeQuietly);
         rafCopies.clear();
-        fileChannel.close();
-        pageCache.clear();
+        if (owner) {
+            fileChannel.close();
+            pageCache.invalidate(fileId);
+        }
+        curPage = null;
         isClosed = true;
     }
 
@@ -240,7 +319,7 @@ public class RandomAccessReadBufferedFile implements RandomAccessRead {
         Long currentThreadID = Thread.currentThread().getId();
         RandomAccessReadBufferedFile randomAccessReadBufferedFile = rafCopies.get(currentThreadID);
         if (randomAccessReadBufferedFile == null || randomAccessReadBufferedFile.isClosed()) {
-            randomAccessReadBufferedFile = new RandomAccessReadBufferedFile(file);
+            randomAccessReadBufferedFile = new RandomAccessReadBufferedFile(this);
             rafCopies.put(currentThreadID, randomAccessReadBufferedFile);
         }
         return new RandomAccessReadView(randomAccessReadBufferedFile, startPosition, streamLength);
@@ -0,0 +1,220 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package lpdf.io;
+
+import java.io.IOException;
+
+/**
+ * A cursor over a shared random access read. The cursor keeps its own position and a small read buffer and only uses
+ * the positional reads of the underlying source, so that any number of cursors may read the same source at the same
+ * time as long as its positional reads are thread-safe.
+ * <p>
+ * A single cursor must not be used by several threads at the same time. Closing a cursor doesn't close the underlying
+ * source.
+ */
+public class RandomAccessReadCursor implements RandomAccessRead {
+    /**
+     * Default size of the read buffer.
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 4096;
+
+    // the shared source
+    private final RandomAccessRead source;
+    // the length of the source
+    private final long length;
+    // read buffer holding the bytes starting at bufferStart
+    private final byte[] buffer;
+    private long bufferStart = 0;
+    private int bufferLength = 0;
+    // current position
+    private long position = 0;
+    private boolean isClosed;
+
+    /**
+     * Create a cursor using the default buffer size.
+     *
+     * @param source the shared source to be read
+     * @throws IOException If the length of the source can't be determined.
+     */
+    public RandomAccessReadCursor(RandomAccessRead source) throws IOException {
+        this(source, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Create a cursor.
+     *
+     * @param source     the shared source to be read
+     * @param bufferSize the size of the read buffer
+     * @throws IOException If the length of the source can't be determined.
+     */
+    public RandomAccessReadCursor(RandomAccessRead source, int bufferSize) throws IOException {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("Invalid buffer size " + bufferSize);
+        }
+        this.source = source;
+        this.length = source.length();
+        this.buffer = new byte[(int) Math.max(1, Math.min(bufferSize, length))];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int read() throws IOException {
+        if (isEOF()) {
+            return -1;
+        }
+        if (position < bufferStart || position >= bufferStart + bufferLength) {
+            fillBuffer();
+            if (bufferLength <= 0) {
+                return -1;
+            }
+        }
+        return buffer[(int) (position++ - bufferStart)] & 0xff;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int read(byte[] b, int offset, int length) throws IOException {
+        if (isEOF()) {
+            return -1;
+        }
+        int maxLength = (int) Math.min(this.length - position, length);
+        int bytesRead = 0;
+        // serve what is left in the buffer first
+        if (position >= bufferStart && position < bufferStart + bufferLength) {
+            int chunk = Math.min(maxLength, (int) (bufferStart + bufferLength - position));
+            System.arraycopy(buffer, (int) (position - bufferStart), b, offset, chunk);
+            bytesRead = chunk;
+            position += chunk;
+        }
+        if (bytesRead < maxLength) {
+            if (maxLength - bytesRead >= buffer.length) {
+                // large reads bypass the buffer
+                int n = source.read(position, b, offset + bytesRead, maxLength - bytesRead);
+                if (n > 0) {
+                    bytesRead += n;
+                    position += n;
+                }
+            } else {
+                fillBuffer();
+                int chunk = Math.min(maxLength - bytesRead, bufferLength);
+                if (chunk > 0) {
+                    System.arraycopy(buffer, 0, b, offset + bytesRead, chunk);
+                    bytesRead += chunk;
+                    position += chunk;
+                }
+            }
+        }
+        return bytesRead > 0 || maxLength == 0 ? bytesRead : -1;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The read is passed to the underlying source.
+     */
+    @Override
+    public int read(long position, byte[] b, int offset, int length) throws IOException {
+        checkClosed();
+        return source.read(position, b, offset, length);
+    }
+
+    private void fillBuffer() throws IOException {
+        bufferStart = position;
+        bufferLength = Math.max(0, source.read(position, buffer, 0, buffer.length));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getPosition() throws IOException {
+        checkClosed();
+        return position;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void seek(long position) throws IOException {
+        checkClosed();
+        if (position < 0) {
+            throw new IOException("Invalid position " + position);
+        }
+        this.position = Math.min(position, length);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long length() throws IOException {
+        checkClosed();
+        return length;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isClosed() {
+        return isClosed || source.isClosed();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isEOF() throws IOException {
+        checkClosed();
+        return position >= length;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() throws IOException {
+        isClosed = true;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The view is created by the underlying source.
+     */
+    @Override
+    public RandomAccessReadView createView(long startPosition, long streamLength) throws IOException {
+        checkClosed();
+        return source.createView(startPosition, streamLength);
+    }
+
+    /**
+     * Ensure that the cursor is not closed.
+     *
+     * @throws IOException If the cursor or its source is already closed
+     */
+    private void checkClosed() throws IOException {
+        if (isClosed()) {
+            throw new IOException(getClass().getSimpleName() + " already closed");
+        }
+    }
+}
@@ -28,6 +28,8 @@ import java.util.function.Consumer;
 /**
  * An implementation of the RandomAccess interface backed by a memory mapped file channel. The whole file is mapped to
  * memory and the max size is limited to Integer.MAX_VALUE.
+ * <p>
+ * Bigger files are supported by {@link RandomAccessReadSegmentedMemoryMappedFile}.
  */
 public class RandomAccessReadMemoryMappedFile implements RandomAccessRead {
 
@@ -62,11 +64,12 @@ public class RandomAccessReadMemoryMappedFile implements RandomAccessRead {
     public RandomAccessReadMemoryMappedFile(File file) throws IOException {
         fileChannel = FileChannel.open(file.toPath(), EnumSet.of(StandardOpenOption.READ));
         size = fileChannel.size();
-        // TODO only ints are allowed -> implement paging
+        // only ints are allowed, bigger files have to be mapped segment by segment
         if (size > Integer.MAX_VALUE) {
             throw new IOException(getClass().getName()
-                    + " doesn't yet support files bigger than "
-                    + Integer.MAX_VALUE);
+                    + " doesn't support files bigger than "
+                    + Integer.MAX_VALUE + ", use "
+                    + RandomAccessReadSegmentedMemoryMappedFile.class.getSimpleName() + " instead");
         }
         // map the whole file to memory
         mappedByteBuffer = fileChannel.map(FileChannel.MapMode.READ_ONLY, 0, size);
@@ -144,6 +147,56 @@ public class RandomAccessReadMemoryMappedFile implements RandomAccessRead {
         return remainingBytes;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The mapped buffer is accessed directly, the current position isn't used.
+     */
+    @Override
+    public int read(long position, byte[] b, int offset, int length) throws IOException {
+        ByteBuffer source = slice(position, length);
+        if (source == null) {
+            return -1;
+        }
+        int bytesRead = source.remaining();
+        source.get(b, offset, bytesRead);
+        return bytesRead;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The mapped buffer is accessed directly, the current position isn't used.
+     */
+    @Override
+    public int read(long position, ByteBuffer dst) throws IOException {
+        ByteBuffer source = slice(position, dst.remaining());
+        if (source == null) {
+            return -1;
+        }
+        int bytesRead = source.remaining();
+        dst.put(source);
+        return bytesRead;
+    }
+
+    /**
+     * Returns a private copy of the mapped buffer covering the requested range, or null if the given position is at
+     * or beyond the end of the file.
+     */
+    private ByteBuffer slice(long position, int length) throws IOException {
+        checkClosed();
+        if (position < 0) {
+            throw new IOException("Invalid position " + position);
+        }
+        if (position >= size) {
+            return null;
+        }
+        ByteBuffer source = mappedByteBuffer.duplicate();
+        source.limit((int) Math.min(size, position + length));
+        source.position((int) position);
+        return source;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -0,0 +1,403 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package lpdf.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * An implementation of the RandomAccess interface backed by a memory mapped file channel which isn't limited to
+ * Integer.MAX_VALUE bytes.
+ * <p>
+ * The file is split into segments of a configurable size. A segment is mapped to memory the first time it is touched
+ * and only a limited number of segments is kept mapped at the same time. If that limit is exceeded the least recently
+ * used segment is unmapped, unless it is still in use by one of the views of the file.
+ */
+public class RandomAccessReadSegmentedMemoryMappedFile implements RandomAccessRead {
+
+    /**
+     * Default size of a single mapped segment (256 MB).
+     */
+    public static final int DEFAULT_SEGMENT_SIZE = 1 << 28;
+
+    /**
+     * Default number of segments which are kept mapped at the same time.
+     */
+    public static final int DEFAULT_MAX_MAPPED_SEGMENTS = 8;
+
+    // table of mapped segments shared by the file and all of its views
+    private final SegmentTable segmentTable;
+
+    // true if this instance owns the segment table and has to close it
+    private final boolean owner;
+
+    // segment holding the current position, may be null
+    private Segment currentSegment;
+
+    // private copy of the buffer of the current segment
+    private ByteBuffer currentBuffer;
+
+    // start position of the current segment within the file
+    private long currentSegmentStart = -1;
+
+    // current position within the file
+    private long position = 0;
+
+    private boolean isClosed;
+
+    /**
+     * Create a segmented memory mapped file using the default segment size and segment limit.
+     *
+     * @param filename the filename of the file to be read
+     * @throws IOException If there is an IO error opening the file.
+     */
+    public RandomAccessReadSegmentedMemoryMappedFile(String filename) throws IOException {
+        this(new File(filename));
+    }
+
+    /**
+     * Create a segmented memory mapped file using the default segment size and segment limit.
+     *
+     * @param file the file to be read
+     * @throws IOException If there is an IO error opening the file.
+     */
+    public RandomAccessReadSegmentedMemoryMappedFile(File file) throws IOException {
+        this(file, DEFAULT_SEGMENT_SIZE, DEFAULT_MAX_MAPPED_SEGMENTS);
+    }
+
+    /**
+     * Create a segmented memory mapped file.
+     *
+     * @param file               the file to be read
+     * @param segmentSize        the size of a single mapped segment in bytes
+     * @param maxMappedSegments  the maximum number of segments which are kept mapped at the same time
+     * @throws IOException If there is an IO error opening the file.
+     */
+    public RandomAccessReadSegmentedMemoryMappedFile(File file, int segmentSize, int maxMappedSegments)
+            throws IOException {
+        if (segmentSize <= 0) {
+            throw new IllegalArgumentException("Invalid segment size " + segmentSize);
+        }
+        if (maxMappedSegments <= 0) {
+            throw new IllegalArgumentException("Invalid number of mapped segments " + maxMappedSegments);
+        }
+        FileChannel fileChannel = FileChannel.open(file.toPath(), EnumSet.of(StandardOpenOption.READ));
+        segmentTable = new SegmentTable(fileChannel, segmentSize, maxMappedSegments);
+        owner = true;
+    }
+
+    private RandomAccessReadSegmentedMemoryMappedFile(RandomAccessReadSegmentedMemoryMappedFile parent) {
+        segmentTable = parent.segmentTable;
+        owner = false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() throws IOException {
+        if (isClosed) {
+            return;
+        }
+        releaseCurrentSegment();
+        isClosed = true;
+        if (owner) {
+            segmentTable.close();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void seek(long position) throws IOException {
+        checkClosed();
+        if (position < 0) {
+            throw new IOException("Invalid position " + position);
+        }
+        // it is allowed to jump beyond the end of the file
+        // jump to the end of the reader
+        this.position = Math.min(position, segmentTable.size);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getPosition() throws IOException {
+        checkClosed();
+        return position;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int read() throws IOException {
+        if (isEOF()) {
+            return -1;
+        }
+        int offsetWithinSegment = moveToSegment(position);
+        position++;
+        return currentBuffer.get(offsetWithinSegment) & 0xff;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int read(byte[] b, int offset, int length) throws IOException {
+        if (isEOF()) {
+            return -1;
+        }
+        int remainingBytes = (int) Math.min(segmentTable.size - position, length);
+        int readBytes = 0;
+        while (readBytes < remainingBytes) {
+            int offsetWithinSegment = moveToSegment(position);
+            int chunk = Math.min(remainingBytes - readBytes, currentBuffer.limit() - offsetWithinSegment);
+            currentBuffer.position(offsetWithinSegment);
+            currentBuffer.get(b, offset + readBytes, chunk);
+            readBytes += chunk;
+            position += chunk;
+        }
+        return readBytes;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The mapped segments are accessed directly, the current position isn't used.
+     */
+    @Override
+    public int read(long position, byte[] b, int offset, int length) throws IOException {
+        checkClosed();
+        if (position < 0) {
+            throw new IOException("Invalid position " + position);
+        }
+        if (position >= segmentTable.size) {
+            return -1;
+        }
+        int maxLength = (int) Math.min(segmentTable.size - position, length);
+        int bytesRead = 0;
+        while (bytesRead < maxLength) {
+            long filePosition = position + bytesRead;
+            int index = (int) (filePosition / segmentTable.segmentSize);
+            Segment segment = segmentTable.acquire(index);
+            try {
+                ByteBuffer source = segment.buffer.duplicate();
+                int offsetWithinSegment = (int) (filePosition - (long) index * segmentTable.segmentSize);
+                int chunk = Math.min(maxLength - bytesRead, source.limit() - offsetWithinSegment);
+                source.position(offsetWithinSegment);
+                source.get(b, offset + bytesRead, chunk);
+                bytesRead += chunk;
+            } finally {
+                segmentTable.release(segment);
+            }
+        }
+        return bytesRead;
+    }
+
+    /**
+     * Makes sure that the segment holding the given position is the current one.
+     *
+     * @param filePosition the position within the file
+     * @return the offset of the given position within the current segment
+     */
+    private int moveToSegment(long filePosition) throws IOException {
+        long offsetWithinSegment = filePosition - currentSegmentStart;
+        if (currentSegment == null || offsetWithinSegment < 0
+                || offsetWithinSegment >= currentBuffer.limit()) {
+            int index = (int) (filePosition / segmentTable.segmentSize);
+            releaseCurrentSegment();
+            currentSegment = segmentTable.acquire(index);
+            // every reader works on its own copy to keep the buffer position private
+            currentBuffer = currentSegment.buffer.duplicate();
+            currentSegmentStart = (long) index * segmentTable.segmentSize;
+            offsetWithinSegment = filePosition - currentSegmentStart;
+        }
+        return (int) offsetWithinSegment;
+    }
+
+    private void releaseCurrentSegment() {
+        if (currentSegment != null) {
+            segmentTable.release(currentSegment);
+            currentSegment = null;
+            currentBuffer = null;
+            currentSegmentStart = -1;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long length() throws IOException {
+        checkClosed();
+        return segmentTable.size;
+    }
+
+    /**
+     * Ensure that the RandomAccessReadSegmentedMemoryMappedFile is not closed
+     *
+     * @throws IOException If RandomAccessBuffer already closed
+     */
+    private void checkClosed() throws IOException {
+        if (isClosed()) {
+            throw new IOException(getClass().getSimpleName() + " already closed");
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isClosed() {
+        return isClosed || segmentTable.isClosed();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isEOF() throws IOException {
+        checkClosed();
+        return position >= segmentTable.size;
+    }
+
+    @Override
+    public RandomAccessReadView createView(long startPosition, long streamLength) throws IOException {
+        checkClosed();
+        return new RandomAccessReadView(new RandomAccessReadSegmentedMemoryMappedFile(this), startPosition,
+                streamLength, true);
+    }
+
+    /**
+     * Returns the number of segments which are currently mapped to memory.
+     *
+     * @return the number of mapped segments
+     */
+    int getMappedSegmentCount() {
+        return segmentTable.mappedSegmentCount();
+    }
+
+    /**
+     * A single mapped segment of the file.
+     */
+    private static final class Segment {
+        private final ByteBuffer buffer;
+        // number of readers currently using this segment
+        private int pins;
+        // true if the segment was removed from the table but is still in use
+        private boolean evicted;
+
+        private Segment(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+    }
+
+    /**
+     * Table of the mapped segments of a file, shared by the file and all of its views. Segments are kept in LRU order,
+     * segments which are in use by a reader are never unmapped.
+     */
+    private static final class SegmentTable {
+        private final FileChannel fileChannel;
+        private final long size;
+        private final int segmentSize;
+        private final int maxMappedSegments;
+        private final Map<Integer, Segment> segments;
+        private volatile boolean closed;
+
+        private SegmentTable(FileChannel fileChannel, int segmentSize, int maxMappedSegments)
+                throws IOException {
+            this.fileChannel = fileChannel;
+            this.size = fileChannel.size();
+            this.segmentSize = segmentSize;
+            this.maxMappedSegments = maxMappedSegments;
+            this.segments = new LinkedHashMap<>(maxMappedSegments * 2, 0.75f, true);
+        }
+
+        private synchronized Segment acquire(int index) throws IOException {
+            if (closed) {
+                throw new IOException(RandomAccessReadSegmentedMemoryMappedFile.class.getSimpleName()
+                        + " already closed");
+            }
+            Segment segment = segments.get(index);
+            if (segment == null) {
+                long start = (long) index * segmentSize;
+                long length = Math.min(segmentSize, size - start);
+                segment = new Segment(fileChannel.map(FileChannel.MapMode.READ_ONLY, start, length));
+                segments.put(index, segment);
+                evict();
+            }
+            segment.pins++;
+            return segment;
+        }
+
+        private synchronized void release(Segment segment) {
+            segment.pins--;
+            if (segment.pins == 0 && (segment.evicted || closed)) {
+                IOUtils.unmap(segment.buffer);
+            }
+        }
+
+        /**
+         * Remove the least recently used segments until the limit is reached. Segments in use are only removed from
+         * the table, they are unmapped as soon as the last reader releases them.
+         */
+        private void evict() {
+            Iterator<Segment> iterator = segments.values().iterator();
+            while (segments.size() > maxMappedSegments && iterator.hasNext()) {
+                Segment eldest = iterator.next();
+                iterator.remove();
+                if (eldest.pins == 0) {
+                    IOUtils.unmap(eldest.buffer);
+                } else {
+                    eldest.evicted = true;
+                }
+            }
+        }
+
+        private synchronized int mappedSegmentCount() {
+            return segments.size();
+        }
+
+        private boolean isClosed() {
+            return closed;
+        }
+
+        private synchronized void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            for (Segment segment : segments.values()) {
+                if (segment.pins == 0) {
+                    IOUtils.unmap(segment.buffer);
+                }
+            }
+            segments.clear();
+            fileChannel.close();
+        }
+    }
+}
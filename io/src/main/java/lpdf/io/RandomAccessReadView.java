@@ -17,6 +17,7 @@
 package lpdf.io;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 
 /**
  * This class provides a view of a part of a random access read. It clips the section starting at the given start
@@ -114,6 +115,52 @@ public class RandomAccessReadView implements RandomAccessRead {
         return readBytes;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The read is passed to the underlying random access read, it is as thread-safe as the positional read of the
+     * underlying source.
+     */
+    @Override
+    public int read(long position, byte[] b, int off, int len) throws IOException {
+        checkClosed();
+        if (position < 0) {
+            throw new IOException("Invalid position " + position);
+        }
+        if (position >= streamLength) {
+            return -1;
+        }
+        return randomAccessRead.read(startPosition + position, b, off,
+                (int) Math.min(len, streamLength - position));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The read is passed to the underlying random access read, it is as thread-safe as the positional read of the
+     * underlying source.
+     */
+    @Override
+    public int read(long position, ByteBuffer dst) throws IOException {
+        checkClosed();
+        if (position < 0) {
+            throw new IOException("Invalid position " + position);
+        }
+        if (position >= streamLength) {
+            return -1;
+        }
+        if (dst.remaining() <= streamLength - position) {
+            return randomAccessRead.read(startPosition + position, dst);
+        }
+        ByteBuffer target = dst.duplicate();
+        target.limit(target.position() + (int) (streamLength - position));
+        int bytesRead = randomAccessRead.read(startPosition + position, target);
+        if (bytesRead > 0) {
+            dst.position(dst.position() + bytesRead);
+        }
+        return bytesRead;
+    }
+
     /**
      * {@inheritDoc}
      */
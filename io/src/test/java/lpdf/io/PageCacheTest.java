@@ -0,0 +1,146 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package lpdf.io;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unittest for {@link PageCache}
+ */
+class PageCacheTest {
+    @Test
+    void testPutIfAbsent() {
+        PageCache pageCache = new PageCache();
+        long fileId = pageCache.registerFile();
+        byte[] page = new byte[PageCache.PAGE_SIZE];
+        assertNull(pageCache.get(fileId, 7));
+        assertSame(page, pageCache.putIfAbsent(fileId, 7, page));
+        assertSame(page, pageCache.putIfAbsent(fileId, 7, new byte[PageCache.PAGE_SIZE]));
+        assertSame(page, pageCache.get(fileId, 7));
+        assertNull(pageCache.get(pageCache.registerFile(), 7));
+        assertEquals(1, pageCache.getHitCount());
+        assertEquals(2, pageCache.getMissCount());
+    }
+
+    @Test
+    void testDistinctKeys() {
+        PageCache pageCache = new PageCache();
+        long fileId1 = pageCache.registerFile();
+        long fileId2 = pageCache.registerFile();
+        // neither the file id nor the page index is truncated to share a single key
+        pageCache.putIfAbsent(fileId1, 1L << 40, new byte[PageCache.PAGE_SIZE]);
+        assertNull(pageCache.get(fileId2, 0));
+        assertNotNull(pageCache.get(fileId1, 1L << 40));
+        pageCache.invalidate(fileId1);
+        assertNull(pageCache.get(fileId1, 1L << 40));
+        assertEquals(0, pageCache.size());
+    }
+
+    @Test
+    void testByteBudget() {
+        PageCache pageCache = new PageCache(64L * PageCache.PAGE_SIZE);
+        long fileId = pageCache.registerFile();
+        for (long pageIndex = 0; pageIndex < 1000; pageIndex++) {
+            pageCache.putIfAbsent(fileId, pageIndex, new byte[PageCache.PAGE_SIZE]);
+            assertTrue(pageCache.size() <= 64);
+        }
+        int cached = 0;
+        for (long pageIndex = 0; pageIndex < 1000; pageIndex++) {
+            if (pageCache.get(fileId, pageIndex) != null) {
+                cached++;
+            }
+        }
+        assertEquals(pageCache.size(), cached);
+        assertThrows(IllegalArgumentException.class, () -> new PageCache(PageCache.PAGE_SIZE - 1));
+    }
+
+    @Test
+    void testSecondChance() {
+        // a single stripe holding four pages
+        PageCache pageCache = new PageCache(4L * PageCache.PAGE_SIZE);
+        long fileId = pageCache.registerFile();
+        for (long pageIndex = 0; pageIndex < 4; pageIndex++) {
+            pageCache.putIfAbsent(fileId, pageIndex, new byte[PageCache.PAGE_SIZE]);
+        }
+        // page 0 was referenced recently and survives the next eviction
+        assertNotNull(pageCache.get(fileId, 0));
+        pageCache.putIfAbsent(fileId, 4, new byte[PageCache.PAGE_SIZE]);
+        assertNotNull(pageCache.get(fileId, 0));
+        assertNull(pageCache.get(fileId, 1));
+        assertEquals(4, pageCache.size());
+    }
+
+    @Test
+    void testInvalidate() {
+        PageCache pageCache = new PageCache();
+        long fileId1 = pageCache.registerFile();
+        long fileId2 = pageCache.registerFile();
+        for (long pageIndex = 0; pageIndex < 100; pageIndex++) {
+            pageCache.putIfAbsent(fileId1, pageIndex, new byte[PageCache.PAGE_SIZE]);
+            pageCache.putIfAbsent(fileId2, pageIndex, new byte[PageCache.PAGE_SIZE]);
+        }
+        pageCache.invalidate(fileId1);
+        assertEquals(100, pageCache.size());
+        for (long pageIndex = 0; pageIndex < 100; pageIndex++) {
+            assertNull(pageCache.get(fileId1, pageIndex));
+            assertNotNull(pageCache.get(fileId2, pageIndex));
+        }
+    }
+
+    @Test
+    void testConcurrentAccess() throws Exception {
+        PageCache pageCache = new PageCache(128L * PageCache.PAGE_SIZE);
+        long fileId = pageCache.registerFile();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 10000; i++) {
+                        long pageIndex = i % 500;
+                        byte[] page = pageCache.get(fileId, pageIndex);
+                        if (page == null) {
+                            page = new byte[PageCache.PAGE_SIZE];
+                            page[0] = (byte) pageIndex;
+                            page = pageCache.putIfAbsent(fileId, pageIndex, page);
+                        }
+                        assertEquals((byte) pageIndex, page[0]);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertTrue(pageCache.size() <= 128);
+    }
+}
@@ -26,6 +26,7 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.Path;
 
@@ -232,4 +233,51 @@ class RandomAccessReadBufferTest {
         }
     }
 
+
+    @Test
+    void testPositionalRead() throws IOException {
+        byte[] values = new byte[10000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (byte) i;
+        }
+        try (RandomAccessReadBuffer randomAccessSource = new RandomAccessReadBuffer(
+                new ByteArrayInputStream(values))) {
+            randomAccessSource.seek(17);
+            byte[] buffer = new byte[5000];
+            // read across chunk boundaries
+            assertEquals(5000, randomAccessSource.read(4000, buffer, 0, 5000));
+            assertEquals((byte) 4000, buffer[0]);
+            assertEquals((byte) 8999, buffer[4999]);
+            assertEquals(17, randomAccessSource.getPosition());
+
+            ByteBuffer byteBuffer = ByteBuffer.allocateDirect(100);
+            assertEquals(10, randomAccessSource.read(9990, byteBuffer));
+            assertEquals(10, byteBuffer.position());
+            assertEquals((byte) 9990, byteBuffer.get(0));
+            assertEquals(-1, randomAccessSource.read(10000, buffer, 0, 1));
+            assertEquals(17, randomAccessSource.getPosition());
+        }
+    }
+
+    @Test
+    void testGetData() throws IOException {
+        byte[] values = new byte[10000];
+        try (RandomAccessReadBuffer randomAccessSource = new RandomAccessReadBuffer(values)) {
+            ByteBuffer data = randomAccessSource.getData();
+            Assertions.assertSame(values, data.array());
+            assertEquals(0, data.position());
+            assertEquals(10000, data.limit());
+        }
+        try (RandomAccessReadBuffer randomAccessSource = new RandomAccessReadBuffer(
+                new ByteArrayInputStream(values, 0, 100))) {
+            ByteBuffer data = randomAccessSource.getData();
+            assertEquals(0, data.position());
+            assertEquals(100, data.limit());
+        }
+        try (RandomAccessReadBuffer randomAccessSource = new RandomAccessReadBuffer(
+                new ByteArrayInputStream(values))) {
+            // the data is stored in several chunks
+            Assertions.assertNull(randomAccessSource.getData());
+        }
+    }
 }
@@ -22,6 +22,14 @@ import org.junit.jupiter.api.Test;
 import java.io.File;
 import java.io.IOException;
 import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -165,4 +173,83 @@ class RandomAccessReadBufferedFileTest {
             assertEquals(3, view.getPosition());
         }
     }
+
+    @Test
+    void testSharedPageCache() throws IOException, URISyntaxException {
+        PageCache pageCache = new PageCache();
+        File file = new File(getClass().getResource("RandomAccessReadFile1.txt").toURI());
+        try (RandomAccessRead randomAccessSource = new RandomAccessReadBufferedFile(file, pageCache)) {
+            assertEquals('0', randomAccessSource.read());
+            assertEquals(1, pageCache.getMissCount());
+            assertEquals(1, pageCache.size());
+
+            // the view reuses the page read by its parent
+            try (RandomAccessReadView view = randomAccessSource.createView(3, 10)) {
+                assertEquals('3', view.read());
+            }
+            assertEquals(1, pageCache.getMissCount());
+            assertEquals(1, pageCache.getHitCount());
+
+            // other files use their own pages within the same cache
+            try (RandomAccessRead otherSource = new RandomAccessReadBufferedFile(file, pageCache)) {
+                otherSource.seek(5);
+                assertEquals('5', otherSource.read());
+            }
+            assertEquals(2, pageCache.getMissCount());
+            assertEquals(1, pageCache.size());
+        }
+        assertEquals(0, pageCache.size());
+    }
+
+    @Test
+    void testPositionalRead() throws IOException, URISyntaxException {
+        try (RandomAccessRead randomAccessSource = new RandomAccessReadBufferedFile(
+                new File(getClass().getResource("RandomAccessReadFile1.txt").toURI()))) {
+            randomAccessSource.seek(2);
+            byte[] buffer = new byte[4];
+            assertEquals(4, randomAccessSource.read(14, buffer, 0, 4));
+            assertEquals('4', buffer[0]);
+            assertEquals('7', buffer[3]);
+            assertEquals(2, randomAccessSource.read(128, buffer, 0, 4));
+            assertEquals(-1, randomAccessSource.read(130, buffer, 0, 4));
+            assertEquals(2, randomAccessSource.getPosition());
+        }
+    }
+
+    @Test
+    void testConcurrentPositionalRead() throws Exception {
+        Path tempFile = Files.createTempFile("PDFBOX", "bin");
+        byte[] content = new byte[20 * PageCache.PAGE_SIZE + 123];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) (i * 31);
+        }
+        Files.write(tempFile, content);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try (RandomAccessRead randomAccessSource = new RandomAccessReadBufferedFile(tempFile.toFile())) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                final int seed = t;
+                futures.add(executor.submit(() -> {
+                    Random random = new Random(seed);
+                    for (int i = 0; i < 500; i++) {
+                        int position = random.nextInt(content.length);
+                        // mix reads served by the page cache with direct reads
+                        byte[] buffer = new byte[random.nextInt(6 * PageCache.PAGE_SIZE) + 1];
+                        int bytesRead = randomAccessSource.read(position, buffer, 0, buffer.length);
+                        assertEquals(Math.min(buffer.length, content.length - position), bytesRead);
+                        for (int j = 0; j < bytesRead; j++) {
+                            assertEquals(content[position + j], buffer[j]);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+            Files.delete(tempFile);
+        }
+    }
 }
@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package lpdf.io;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unittest for {@link RandomAccessReadCursor}
+ */
+class RandomAccessReadCursorTest {
+    private static final byte[] DATA = createData(1000);
+
+    private static byte[] createData(int length) {
+        byte[] data = new byte[length];
+        for (int i = 0; i < length; i++) {
+            data[i] = (byte) i;
+        }
+        return data;
+    }
+
+    @Test
+    void testPositionRead() throws IOException {
+        try (RandomAccessReadBuffer source = new RandomAccessReadBuffer(DATA);
+             RandomAccessReadCursor cursor = new RandomAccessReadCursor(source, 16)) {
+            assertEquals(DATA.length, cursor.length());
+            for (int i = 0; i < DATA.length; i++) {
+                assertEquals(i, cursor.getPosition());
+                assertEquals(DATA[i] & 0xff, cursor.read());
+            }
+            assertTrue(cursor.isEOF());
+            assertEquals(-1, cursor.read());
+            // the position of the source isn't touched
+            assertEquals(0, source.getPosition());
+        }
+    }
+
+    @Test
+    void testReadBytes() throws IOException {
+        try (RandomAccessReadBuffer source = new RandomAccessReadBuffer(DATA);
+             RandomAccessReadCursor cursor = new RandomAccessReadCursor(source, 16)) {
+            cursor.seek(10);
+            assertEquals(10, cursor.read());
+            // partly from the buffer, partly from the source
+            byte[] small = new byte[20];
+            assertEquals(20, cursor.read(small));
+            assertArrayEquals(copy(11, 20), small);
+            // bypassing the buffer
+            byte[] large = new byte[100];
+            assertEquals(100, cursor.read(large));
+            assertArrayEquals(copy(31, 100), large);
+            cursor.rewind(50);
+            assertEquals(81, cursor.getPosition());
+            assertEquals(81, cursor.peek());
+            cursor.seek(990);
+            assertEquals(10, cursor.read(large));
+            assertEquals(-1, cursor.read(large));
+            cursor.seek(2000);
+            assertEquals(DATA.length, cursor.getPosition());
+            assertThrows(IOException.class, () -> cursor.seek(-1));
+        }
+    }
+
+    @Test
+    void testClose() throws IOException {
+        RandomAccessReadBuffer source = new RandomAccessReadBuffer(DATA);
+        RandomAccessReadCursor cursor = new RandomAccessReadCursor(source);
+        cursor.close();
+        assertTrue(cursor.isClosed());
+        assertFalse(source.isClosed());
+        assertThrows(IOException.class, cursor::read);
+
+        cursor = new RandomAccessReadCursor(source);
+        source.close();
+        assertTrue(cursor.isClosed());
+    }
+
+    @Test
+    void testConcurrentCursors() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try (RandomAccessReadBuffer source = new RandomAccessReadBuffer(DATA)) {
+            List<Future<byte[]>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(executor.submit(() -> {
+                    try (RandomAccessReadCursor cursor = new RandomAccessReadCursor(source, 7)) {
+                        byte[] result = new byte[DATA.length];
+                        for (int j = 0; j < result.length; j++) {
+                            result[j] = (byte) cursor.read();
+                        }
+                        return result;
+                    }
+                }));
+            }
+            for (Future<byte[]> future : futures) {
+                assertArrayEquals(DATA, future.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static byte[] copy(int offset, int length) {
+        byte[] result = new byte[length];
+        System.arraycopy(DATA, offset, result, 0, length);
+        return result;
+    }
+}
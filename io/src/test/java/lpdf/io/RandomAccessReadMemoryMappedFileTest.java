@@ -23,6 +23,7 @@ import java.io.BufferedWriter;
 import java.io.File;
 import java.io.IOException;
 import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
@@ -185,4 +186,23 @@ class RandomAccessReadMemoryMappedFileTest {
             assertEquals(3, view.getPosition());
         }
     }
+
+    @Test
+    void testPositionalRead() throws IOException, URISyntaxException {
+        try (RandomAccessRead randomAccessSource = new RandomAccessReadMemoryMappedFile(
+                new File(getClass().getResource("RandomAccessReadFile1.txt").toURI()))) {
+            randomAccessSource.seek(2);
+            byte[] buffer = new byte[4];
+            assertEquals(4, randomAccessSource.read(14, buffer, 0, 4));
+            assertEquals('4', buffer[0]);
+            assertEquals('7', buffer[3]);
+            assertEquals(2, randomAccessSource.read(128, buffer, 0, 4));
+            assertEquals(-1, randomAccessSource.read(130, buffer, 0, 4));
+
+            ByteBuffer byteBuffer = ByteBuffer.allocate(3);
+            assertEquals(3, randomAccessSource.read(21, byteBuffer));
+            assertEquals('1', byteBuffer.get(0));
+            assertEquals(2, randomAccessSource.getPosition());
+        }
+    }
 }
@@ -0,0 +1,174 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package lpdf.io;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unittest for {@link RandomAccessReadSegmentedMemoryMappedFile}
+ */
+class RandomAccessReadSegmentedMemoryMappedFileTest {
+    private RandomAccessReadSegmentedMemoryMappedFile createFile(String name, int segmentSize,
+                                                                 int maxMappedSegments)
+            throws IOException, URISyntaxException {
+        return new RandomAccessReadSegmentedMemoryMappedFile(new File(getClass().getResource(name).toURI()),
+                segmentSize, maxMappedSegments);
+    }
+
+    @Test
+    void testPositionRead() throws IOException, URISyntaxException {
+        RandomAccessRead randomAccessSource = createFile("RandomAccessReadFile1.txt", 4, 2);
+
+        assertEquals(130, randomAccessSource.length());
+        assertEquals(0, randomAccessSource.getPosition());
+        for (int i = 0; i < 10; i++) {
+            assertEquals('0' + i, randomAccessSource.read());
+        }
+        assertEquals(10, randomAccessSource.getPosition());
+
+        assertFalse(randomAccessSource.isClosed());
+        randomAccessSource.close();
+        assertTrue(randomAccessSource.isClosed());
+    }
+
+    @Test
+    void testReadBytesAcrossSegments() throws IOException, URISyntaxException {
+        try (RandomAccessRead randomAccessSource = createFile("RandomAccessReadFile1.txt", 4, 2)) {
+            randomAccessSource.seek(2);
+            byte[] buffer = new byte[11];
+            assertEquals(11, randomAccessSource.read(buffer));
+            assertEquals("23456789012", new String(buffer, "US-ASCII"));
+            assertEquals(13, randomAccessSource.getPosition());
+
+            randomAccessSource.seek(125);
+            assertEquals(5, randomAccessSource.read(buffer));
+            assertEquals('5', buffer[0]);
+            assertEquals('9', buffer[4]);
+            assertTrue(randomAccessSource.isEOF());
+            assertEquals(-1, randomAccessSource.read(buffer));
+        }
+    }
+
+    @Test
+    void testSegmentLimit() throws IOException, URISyntaxException {
+        try (RandomAccessReadSegmentedMemoryMappedFile randomAccessSource = createFile(
+                "RandomAccessReadFile1.txt", 8, 3)) {
+            assertEquals(0, randomAccessSource.getMappedSegmentCount());
+            randomAccessSource.seek(20);
+            assertEquals(0, randomAccessSource.getMappedSegmentCount());
+            assertEquals('0', randomAccessSource.read());
+            assertEquals(1, randomAccessSource.getMappedSegmentCount());
+            for (long position = 0; position < randomAccessSource.length(); position += 8) {
+                randomAccessSource.seek(position);
+                assertEquals('0' + position % 10, randomAccessSource.read());
+                assertTrue(randomAccessSource.getMappedSegmentCount() <= 3);
+            }
+            // go back to the first segment, which has been unmapped in the meantime
+            randomAccessSource.seek(1);
+            assertEquals('1', randomAccessSource.read());
+        }
+    }
+
+    @Test
+    void testSeekEOF() throws IOException, URISyntaxException {
+        RandomAccessRead randomAccessSource = createFile("RandomAccessReadFile1.txt", 16, 2);
+
+        randomAccessSource.seek(3);
+        assertEquals(3, randomAccessSource.getPosition());
+
+        Assertions.assertThrows(IOException.class, () -> randomAccessSource.seek(-1),
+                "seek should have thrown an IOException");
+
+        assertFalse(randomAccessSource.isEOF());
+        randomAccessSource.seek(randomAccessSource.length() + 10);
+        assertEquals(randomAccessSource.length(), randomAccessSource.getPosition());
+        assertTrue(randomAccessSource.isEOF());
+        assertEquals(-1, randomAccessSource.read());
+        assertEquals(-1, randomAccessSource.read(new byte[1], 0, 1));
+
+        randomAccessSource.close();
+        Assertions.assertThrows(IOException.class, () -> randomAccessSource.read(),
+                "checkClosed should have thrown an IOException");
+    }
+
+    @Test
+    void testPositionUnreadBytes() throws IOException, URISyntaxException {
+        try (RandomAccessRead randomAccessSource = createFile("RandomAccessReadFile1.txt", 5, 1)) {
+            randomAccessSource.read();
+            randomAccessSource.read();
+            byte[] readBytes = new byte[6];
+            assertEquals(readBytes.length, randomAccessSource.read(readBytes));
+            assertEquals(8, randomAccessSource.getPosition());
+            randomAccessSource.rewind(readBytes.length);
+            assertEquals(2, randomAccessSource.getPosition());
+            assertEquals('2', randomAccessSource.read());
+            assertEquals('3', randomAccessSource.peek());
+            assertEquals(3, randomAccessSource.getPosition());
+        }
+    }
+
+    @Test
+    void testEmptyFile() throws IOException, URISyntaxException {
+        try (RandomAccessRead randomAccessSource = createFile("RandomAccessReadEmptyFile.txt", 4, 2)) {
+            assertEquals(-1, randomAccessSource.read());
+            assertEquals(-1, randomAccessSource.peek());
+            assertEquals(-1, randomAccessSource.read(new byte[6]));
+            randomAccessSource.seek(6);
+            assertEquals(0, randomAccessSource.getPosition());
+            assertTrue(randomAccessSource.isEOF());
+        }
+    }
+
+    @Test
+    void testViews() throws IOException, URISyntaxException {
+        try (RandomAccessReadSegmentedMemoryMappedFile randomAccessSource = createFile(
+                "RandomAccessReadFile1.txt", 4, 1);
+             RandomAccessReadView view1 = randomAccessSource.createView(3, 10);
+             RandomAccessReadView view2 = randomAccessSource.createView(50, 10)) {
+            // both views keep their segments mapped even though the limit is exceeded
+            assertEquals('3', view1.read());
+            assertEquals('0', view2.read());
+            assertEquals('4', view1.read());
+            assertEquals('1', view2.read());
+            assertEquals('5', view1.read());
+            assertEquals(3, view1.getPosition());
+            assertEquals('0', randomAccessSource.read());
+        }
+    }
+
+    @Test
+    void testPositionalRead() throws IOException, URISyntaxException {
+        try (RandomAccessRead randomAccessSource = createFile("RandomAccessReadFile1.txt", 4, 1)) {
+            randomAccessSource.seek(2);
+            byte[] buffer = new byte[10];
+            assertEquals(10, randomAccessSource.read(14, buffer, 0, 10));
+            assertEquals("4567890123", new String(buffer, "US-ASCII"));
+            assertEquals(2, randomAccessSource.read(128, buffer, 0, 10));
+            assertEquals(-1, randomAccessSource.read(130, buffer, 0, 10));
+            assertEquals('2', randomAccessSource.read());
+        }
+    }
+}
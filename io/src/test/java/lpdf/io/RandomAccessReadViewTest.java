@@ -21,6 +21,7 @@ import org.junit.jupiter.api.Test;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -176,4 +177,28 @@ class RandomAccessReadViewTest {
 
         }
     }
+
+    @Test
+    void testPositionalRead() throws IOException {
+        byte[] values = {0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17, 18, 19,
+                20};
+        try (RandomAccessReadBuffer randomAccessSource = new RandomAccessReadBuffer(
+                new ByteArrayInputStream(values));
+             RandomAccessReadView randomAccessReadView = new RandomAccessReadView(
+                     randomAccessSource, 10, 8)) {
+            randomAccessReadView.skip(2);
+            byte[] buffer = new byte[10];
+            assertEquals(3, randomAccessReadView.read(5, buffer, 0, 10));
+            assertEquals(15, buffer[0]);
+            assertEquals(17, buffer[2]);
+            assertEquals(-1, randomAccessReadView.read(8, buffer, 0, 10));
+            assertEquals(2, randomAccessReadView.getPosition());
+            assertEquals(12, randomAccessReadView.read());
+
+            ByteBuffer byteBuffer = ByteBuffer.allocate(10);
+            assertEquals(8, randomAccessReadView.read(0, byteBuffer));
+            assertEquals(10, byteBuffer.get(0));
+            assertEquals(17, byteBuffer.get(7));
+        }
+    }
 }
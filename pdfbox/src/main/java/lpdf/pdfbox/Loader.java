@@ -29,6 +29,8 @@ import lpdf.pdfbox.pdmodel.encryption.InvalidPasswordException;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Utility methods to load different types of documents
@@ -215,6 +217,9 @@ public class Loader {
 
     /**
      * Parses a PDF. Unrestricted main memory will be used for buffering PDF new streams.
+     * <p>
+     * Files which are too big to be read via the heap may be passed as
+     * {@link lpdf.io.RandomAccessReadSegmentedMemoryMappedFile}.
      *
      * @param randomAccessRead random access read representing the pdf to be loaded
      * @return loaded document
@@ -307,4 +312,142 @@ public class Loader {
         return parser.parse();
     }
 
+    /**
+     * Parses a PDF and all of its objects right away, see {@link #loadPDFEagerly(RandomAccessRead, String,
+     * InputStream, String, StreamCacheCreateFunction, Executor)}. The objects are parsed on the common fork join pool,
+     * unrestricted main memory will be used for buffering PDF streams.
+     *
+     * @param file file to be loaded. {@link lpdf.io.RandomAccessReadBufferedFile} is used to read the file.
+     * @return loaded document
+     * @throws InvalidPasswordException If the file required a non-empty password.
+     * @throws IOException              in case of a file reading or parsing error
+     */
+    public static PDDocument loadPDFEagerly(File file) throws IOException {
+        return Loader.loadPDFEagerly(file, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Parses a PDF and all of its objects right away, see {@link #loadPDFEagerly(RandomAccessRead, String,
+     * InputStream, String, StreamCacheCreateFunction, Executor)}. Unrestricted main memory will be used for buffering
+     * PDF streams.
+     *
+     * @param file     file to be loaded. {@link lpdf.io.RandomAccessReadBufferedFile} is used to read the file.
+     * @param executor the executor running the tasks parsing the objects
+     * @return loaded document
+     * @throws InvalidPasswordException If the file required a non-empty password.
+     * @throws IOException              in case of a file reading or parsing error
+     */
+    public static PDDocument loadPDFEagerly(File file, Executor executor) throws IOException {
+        RandomAccessRead raFile = null;
+        try {
+            // RandomAccessRead is not closed here, may be needed for signing
+            raFile = new RandomAccessReadBufferedFile(file);
+            return Loader.loadPDFEagerly(raFile, "", null, null, IOUtils.createMemoryOnlyStreamCache(), executor);
+        } catch (IOException ioe) {
+            IOUtils.closeQuietly(raFile);
+            throw ioe;
+        }
+    }
+
+    /**
+     * Parses a PDF and all of its objects right away, see {@link #loadPDFEagerly(RandomAccessRead, String,
+     * InputStream, String, StreamCacheCreateFunction, Executor)}. The objects are parsed on the common fork join pool,
+     * unrestricted main memory will be used for buffering PDF streams.
+     *
+     * @param randomAccessRead random access read representing the pdf to be loaded
+     * @return loaded document
+     * @throws InvalidPasswordException If the PDF required a non-empty password.
+     * @throws IOException              In case of a reading or parsing error.
+     */
+    public static PDDocument loadPDFEagerly(RandomAccessRead randomAccessRead) throws IOException {
+        return Loader.loadPDFEagerly(randomAccessRead, "", null, null, IOUtils.createMemoryOnlyStreamCache(),
+                ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Parses a PDF and all of its objects right away. Usually objects are parsed on first use, here all objects of the
+     * cross reference table are parsed in parallel by tasks running on the given executor once the cross reference
+     * table is read, the objects within object streams included. That's worth it if most of the document is used
+     * anyway, e.g. to extract the text of all pages.
+     *
+     * @param randomAccessRead          random access read representing the pdf to be loaded
+     * @param password                  password to be used for decryption
+     * @param keyStore                  key store to be used for decryption when using public key security
+     * @param alias                     alias to be used for decryption when using public key security
+     * @param streamCacheCreateFunction a function to create an instance of a stream cache to be used for buffering
+     *                                  new/altered PDF streams
+     * @param executor                  the executor running the tasks parsing the objects
+     * @return loaded document
+     * @throws IOException in case of a file reading or parsing error
+     */
+    public static PDDocument loadPDFEagerly(RandomAccessRead randomAccessRead, String password,
+                                            InputStream keyStore, String alias,
+                                            StreamCacheCreateFunction streamCacheCreateFunction, Executor executor)
+            throws IOException {
+        PDFParser parser = new PDFParser(randomAccessRead, password, keyStore, alias,
+                streamCacheCreateFunction);
+        return parser.parseEagerly(executor);
+    }
+
+    /**
+     * Parses a PDF reading only the front of the file to get to the first page if the PDF is linearized, see
+     * {@link #loadPDFLinearized(RandomAccessRead, String, InputStream, String, StreamCacheCreateFunction)}.
+     * Unrestricted main memory will be used for buffering PDF streams.
+     *
+     * @param file file to be loaded. {@link lpdf.io.RandomAccessReadBufferedFile} is used to read the file.
+     * @return loaded document
+     * @throws InvalidPasswordException If the file required a non-empty password.
+     * @throws IOException              in case of a file reading or parsing error
+     */
+    public static PDDocument loadPDFLinearized(File file) throws IOException {
+        RandomAccessRead raFile = null;
+        try {
+            // RandomAccessRead is not closed here, may be needed for signing
+            raFile = new RandomAccessReadBufferedFile(file);
+            return Loader.loadPDFLinearized(raFile, "", null, null, IOUtils.createMemoryOnlyStreamCache());
+        } catch (IOException ioe) {
+            IOUtils.closeQuietly(raFile);
+            throw ioe;
+        }
+    }
+
+    /**
+     * Parses a PDF reading only the front of the file to get to the first page if the PDF is linearized, see
+     * {@link #loadPDFLinearized(RandomAccessRead, String, InputStream, String, StreamCacheCreateFunction)}.
+     * Unrestricted main memory will be used for buffering PDF streams.
+     *
+     * @param randomAccessRead random access read representing the pdf to be loaded
+     * @return loaded document
+     * @throws InvalidPasswordException If the PDF required a non-empty password.
+     * @throws IOException              In case of a reading or parsing error.
+     */
+    public static PDDocument loadPDFLinearized(RandomAccessRead randomAccessRead) throws IOException {
+        return Loader.loadPDFLinearized(randomAccessRead, "", null, null, IOUtils.createMemoryOnlyStreamCache());
+    }
+
+    /**
+     * Parses a PDF reading only the front of the file to get to the first page if the PDF is linearized. Only the first
+     * page cross reference table is read in that case, the remaining cross reference tables are read as soon as an
+     * object is requested which isn't listed in the first page cross reference table. The first page, see
+     * {@link PDDocument#getLinearizedFirstPage()}, can be processed without reading the rest of the file, which is useful for
+     * previews of large files. PDFs which aren't linearized are loaded as usual.
+     *
+     * @param randomAccessRead          random access read representing the pdf to be loaded
+     * @param password                  password to be used for decryption
+     * @param keyStore                  key store to be used for decryption when using public key security
+     * @param alias                     alias to be used for decryption when using public key security
+     * @param streamCacheCreateFunction a function to create an instance of a stream cache to be used for buffering
+     *                                  new/altered PDF streams
+     * @return loaded document
+     * @throws IOException in case of a file reading or parsing error
+     */
+    public static PDDocument loadPDFLinearized(RandomAccessRead randomAccessRead, String password,
+                                               InputStream keyStore, String alias,
+                                               StreamCacheCreateFunction streamCacheCreateFunction)
+            throws IOException {
+        PDFParser parser = new PDFParser(randomAccessRead, password, keyStore, alias,
+                streamCacheCreateFunction);
+        return parser.parseLinearized();
+    }
+
 }
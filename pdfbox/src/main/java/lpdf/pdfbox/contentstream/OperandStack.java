@@ -0,0 +1,228 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package lpdf.pdfbox.contentstream;
+
+import lpdf.pdfbox.cos.COSBase;
+import lpdf.pdfbox.cos.COSFloat;
+import lpdf.pdfbox.cos.COSInteger;
+import lpdf.pdfbox.cos.COSNumber;
+
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * The operands of a content stream operator. The stack is reused for all operators of a content stream.
+ * <p>
+ * Numbers are kept as primitive values, the corresponding COSNumber is only created if the operand is accessed as a
+ * list element. Operators which only need the numeric values use {@link #isNumber(int)} and {@link #getFloat(int)}
+ * instead, so that they don't allocate anything per operand. The text of real numbers is kept, so that the created
+ * COSFloat is written the way it was read.
+ * <p>
+ * The stack is the list of operands passed to the operator processors. Operands which are added or replaced through
+ * the list methods are kept as objects.
+ */
+public final class OperandStack extends AbstractList<COSBase> implements RandomAccess {
+    private static final byte OBJECT = 0;
+    private static final byte INTEGER = 1;
+    private static final byte REAL = 2;
+
+    private byte[] types = new byte[8];
+    private long[] integers = new long[8];
+    private float[] reals = new float[8];
+    // the operand objects, numbers are created on demand
+    private COSBase[] objects = new COSBase[8];
+    private int size;
+    // the characters of the real operands, the position of the text of a real is kept in integers
+    private byte[] text = new byte[64];
+    private int textLength;
+
+    /**
+     * Pushes an operand object.
+     *
+     * @param operand the operand
+     */
+    public void push(COSBase operand) {
+        int index = grow();
+        types[index] = OBJECT;
+        objects[index] = operand;
+    }
+
+    /**
+     * Pushes an integer operand.
+     *
+     * @param value the value of the operand
+     */
+    public void pushInteger(long value) {
+        int index = grow();
+        types[index] = INTEGER;
+        integers[index] = value;
+        objects[index] = null;
+    }
+
+    /**
+     * Pushes a real operand.
+     *
+     * @param value the value of the operand
+     */
+    public void pushReal(float value) {
+        int index = grow();
+        types[index] = REAL;
+        reals[index] = value;
+        // no text, the value is formatted if needed
+        integers[index] = 0;
+        objects[index] = null;
+    }
+
+    /**
+     * Pushes a real operand together with the text it was converted from.
+     *
+     * @param value  the value of the operand
+     * @param text   the array holding the text of the operand, which is copied
+     * @param offset the offset of the text within the array
+     * @param length the length of the text
+     */
+    public void pushReal(float value, byte[] text, int offset, int length) {
+        int index = grow();
+        types[index] = REAL;
+        reals[index] = value;
+        if (textLength + length > this.text.length) {
+            this.text = Arrays.copyOf(this.text, Math.max(this.text.length * 2, textLength + length));
+        }
+        System.arraycopy(text, offset, this.text, textLength, length);
+        // the start of the text in the upper half, its length in the lower half
+        integers[index] = (long) textLength << 32 | length;
+        textLength += length;
+        objects[index] = null;
+    }
+
+    private int grow() {
+        if (size == types.length) {
+            int capacity = size * 2;
+            types = Arrays.copyOf(types, capacity);
+            integers = Arrays.copyOf(integers, capacity);
+            reals = Arrays.copyOf(reals, capacity);
+            objects = Arrays.copyOf(objects, capacity);
+        }
+        modCount++;
+        return size++;
+    }
+
+    /**
+     * Indicates whether the operand at the given index is a number.
+     *
+     * @param index the index of the operand
+     * @return true if the operand is a number
+     */
+    public boolean isNumber(int index) {
+        checkIndex(index);
+        return types[index] != OBJECT || objects[index] instanceof COSNumber;
+    }
+
+    /**
+     * Returns the value of the numeric operand at the given index.
+     *
+     * @param index the index of the operand
+     * @return the float value of the operand
+     * @throws ClassCastException if the operand isn't a number
+     */
+    public float getFloat(int index) {
+        checkIndex(index);
+        switch (types[index]) {
+            case INTEGER:
+                return integers[index];
+            case REAL:
+                return reals[index];
+            default:
+                return ((COSNumber) objects[index]).floatValue();
+        }
+    }
+
+    @Override
+    public COSBase get(int index) {
+        checkIndex(index);
+        COSBase operand = objects[index];
+        if (operand == null && types[index] != OBJECT) {
+            if (types[index] == INTEGER) {
+                operand = COSInteger.get(integers[index]);
+            } else {
+                int length = (int) integers[index];
+                String valueAsString = length > 0 ? new String(text, (int) (integers[index] >>> 32), length,
+                        StandardCharsets.ISO_8859_1) : null;
+                operand = new COSFloat(reals[index], valueAsString);
+            }
+            objects[index] = operand;
+        }
+        return operand;
+    }
+
+    @Override
+    public COSBase set(int index, COSBase element) {
+        COSBase previous = get(index);
+        types[index] = OBJECT;
+        objects[index] = element;
+        return previous;
+    }
+
+    @Override
+    public void add(int index, COSBase element) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        int last = grow();
+        int count = last - index;
+        System.arraycopy(types, index, types, index + 1, count);
+        System.arraycopy(integers, index, integers, index + 1, count);
+        System.arraycopy(reals, index, reals, index + 1, count);
+        System.arraycopy(objects, index, objects, index + 1, count);
+        types[index] = OBJECT;
+        objects[index] = element;
+    }
+
+    @Override
+    public COSBase remove(int index) {
+        COSBase previous = get(index);
+        int count = size - index - 1;
+        System.arraycopy(types, index + 1, types, index, count);
+        System.arraycopy(integers, index + 1, integers, index, count);
+        System.arraycopy(reals, index + 1, reals, index, count);
+        System.arraycopy(objects, index + 1, objects, index, count);
+        objects[--size] = null;
+        modCount++;
+        return previous;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(objects, 0, size, null);
+        size = 0;
+        textLength = 0;
+        modCount++;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+}
@@ -19,6 +19,8 @@ package lpdf.pdfbox.contentstream;
 import lpdf.harmony.awt.geom.GeneralPath;
 import lpdf.harmony.awt.geom.Point2D;
 import lpdf.harmony.awt.geom.Rectangle2D;
+import lpdf.io.RandomAccessRead;
+import lpdf.io.RandomAccessReadBuffer;
 import lpdf.pdfbox.contentstream.operator.MissingOperandException;
 import lpdf.pdfbox.contentstream.operator.Operator;
 import lpdf.pdfbox.contentstream.operator.OperatorProcessor;
@@ -30,11 +32,13 @@ import lpdf.pdfbox.cos.COSName;
 import lpdf.pdfbox.cos.COSNumber;
 import lpdf.pdfbox.cos.COSString;
 import lpdf.pdfbox.filter.MissingImageReaderException;
+import lpdf.pdfbox.pdfparser.ContentStreamLexer;
 import lpdf.pdfbox.pdfparser.PDFStreamParser;
 import lpdf.pdfbox.pdmodel.MissingResourceException;
 import lpdf.pdfbox.pdmodel.PDPage;
 import lpdf.pdfbox.pdmodel.PDResources;
 import lpdf.pdfbox.pdmodel.common.PDRectangle;
+import lpdf.pdfbox.pdmodel.font.DecodedString;
 import lpdf.pdfbox.pdmodel.font.PDFont;
 import lpdf.pdfbox.pdmodel.font.PDType1Font;
 import lpdf.pdfbox.pdmodel.font.PDType3CharProc;
@@ -54,11 +58,9 @@ import lpdf.pdfbox.util.Vector;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.util.ArrayDeque;
-import java.util.ArrayList;
 import java.util.Deque;
 import java.util.HashMap;
 import java.util.List;
@@ -73,7 +75,12 @@ import java.util.Map;
 public abstract class PDFStreamEngine {
     private static final Logger LOG = LoggerFactory.getLogger(PDFStreamEngine.class);
 
+    // larger content streams which aren't held in an array are parsed from the source instead of being copied
+    private static final long MAX_LEXER_LENGTH = 1 << 26;
+
     private final Map<String, OperatorProcessor> operators = new HashMap<>(80);
+    // the processors of the operators defined in OperatorName, indexed by opcode
+    private final OperatorProcessor[] processorsByOpcode = new OperatorProcessor[Operator.getOpcodeCount()];
 
     private Matrix textMatrix;
     private Matrix textLineMatrix;
@@ -91,6 +98,9 @@ public abstract class PDFStreamEngine {
     // default font, used if there isn't any font available
     private PDFont defaultFont;
 
+    // the codes of the shown string, reused for all strings, null while a string is shown
+    private DecodedString decodedString;
+
     /**
      * Creates a new PDFStreamEngine.
      */
@@ -104,6 +114,10 @@ public abstract class PDFStreamEngine {
      */
     public final void addOperator(OperatorProcessor op) {
         operators.put(op.getName(), op);
+        int opcode = Operator.getOpcode(op.getName());
+        if (opcode != Operator.NO_OPCODE) {
+            processorsByOpcode[opcode] = op;
+        }
     }
 
     /**
@@ -415,18 +429,56 @@ public abstract class PDFStreamEngine {
      * @throws IOException if there is an error reading or parsing the content stream.
      */
     private void processStreamOperators(PDContentStream contentStream) throws IOException {
-        List<COSBase> arguments = new ArrayList<>();
-        PDFStreamParser parser = new PDFStreamParser(contentStream);
-        Object token = parser.parseNextToken();
-        while (token != null) {
-            if (token instanceof Operator) {
-                processOperator((Operator) token, arguments);
-                arguments.clear();
+        // numeric operands are kept as primitive values, see OperandStack
+        OperandStack operands = new OperandStack();
+        try (RandomAccessRead contents = contentStream.getContentsForRandomAccess()) {
+            if (contents == null) {
+                return;
+            }
+            ContentStreamLexer lexer = createLexer(contents);
+            if (lexer != null) {
+                Operator operator = lexer.parseNextOperator(operands);
+                while (operator != null) {
+                    processOperator(operator, operands);
+                    operands.clear();
+                    operator = lexer.parseNextOperator(operands);
+                }
             } else {
-                arguments.add((COSBase) token);
+                PDFStreamParser parser = new PDFStreamParser(contents);
+                Operator operator = parser.parseNextOperator(operands);
+                while (operator != null) {
+                    processOperator(operator, operands);
+                    operands.clear();
+                    operator = parser.parseNextOperator(operands);
+                }
+            }
+        }
+    }
+
+    /**
+     * Creates a lexer reading the given contents. Contents held in a single array, e.g. the data of the decoded
+     * stream cache, are tokenized in place. Other contents are read into an array once, unless they are too large.
+     *
+     * @return the lexer or null if the contents have to be parsed from the source
+     */
+    private static ContentStreamLexer createLexer(RandomAccessRead contents) throws IOException {
+        if (contents instanceof RandomAccessReadBuffer) {
+            ByteBuffer data = ((RandomAccessReadBuffer) contents).getData();
+            if (data != null && data.hasArray()) {
+                return new ContentStreamLexer(data.array(), data.arrayOffset(), data.limit());
             }
-            token = parser.parseNextToken();
         }
+        long length = contents.length();
+        if (length > MAX_LEXER_LENGTH) {
+            return null;
+        }
+        byte[] bytes = new byte[(int) length];
+        int read = 0;
+        int count;
+        while (read < bytes.length && (count = contents.read(bytes, read, bytes.length - read)) > 0) {
+            read += count;
+        }
+        return new ContentStreamLexer(bytes, 0, read);
     }
 
     /**
@@ -585,58 +637,100 @@ public abstract class PDFStreamEngine {
                 0, fontSize,                     // 0
                 0, textState.getRise());         // 1
 
-        // read the stream until it is empty
-        InputStream in = new ByteArrayInputStream(string);
-        while (in.available() > 0) {
-            // decode a character
-            int before = in.available();
-            int code = font.readCode(in);
-            int codeLength = before - in.available();
-
-            // Word spacing shall be applied to every occurrence of the single-byte character code
-            // 32 in a string when using a simple font or a composite font that defines code 32 as
-            // a single-byte code.
-            float wordSpacing = 0;
-            if (codeLength == 1 && code == 32) {
-                wordSpacing += textState.getWordSpacing();
+        // the text rendering matrix is calculated in place for each glyph
+        Matrix textRenderingMatrix = new Matrix();
+
+        // decode all characters with their displacements at once, reusing the codes of the previous string unless
+        // this is a nested call from a Type 3 glyph procedure
+        DecodedString decoded = decodedString != null ? decodedString : new DecodedString(string.length);
+        decodedString = null;
+        IOException decodeException = null;
+        try {
+            try {
+                font.decode(string, decoded);
+            } catch (IOException exception) {
+                // the glyphs which were decoded are shown before the exception is passed on
+                decodeException = exception;
             }
+            for (int i = 0, size = decoded.size(); i < size; i++) {
+                int code = decoded.getCode(i);
+
+                // Word spacing shall be applied to every occurrence of the single-byte character code
+                // 32 in a string when using a simple font or a composite font that defines code 32 as
+                // a single-byte code.
+                float wordSpacing = 0;
+                if (decoded.getCodeLength(i) == 1 && code == 32) {
+                    wordSpacing += textState.getWordSpacing();
+                }
 
-            // text rendering matrix (text space -> device space)
-            Matrix ctm = state.getCurrentTransformationMatrix();
-            Matrix textRenderingMatrix = parameters.multiply(textMatrix).multiply(ctm);
+                // text rendering matrix (text space -> device space)
+                Matrix ctm = state.getCurrentTransformationMatrix();
+                parameters.multiply(textMatrix, textRenderingMatrix).multiply(ctm, textRenderingMatrix);
 
-            // get glyph's position vector if this is vertical text
-            // changes to vertical text should be tested with PDFBOX-2294 and PDFBOX-1422
-            if (font.isVertical()) {
-                // position vector, in text space
-                Vector v = font.getPositionVector(code);
+                // get glyph's position vector if this is vertical text
+                // changes to vertical text should be tested with PDFBOX-2294 and PDFBOX-1422
+                if (font.isVertical()) {
+                    // position vector, in text space
+                    Vector v = font.getPositionVector(code);
 
-                // apply the position vector to the horizontal origin to get the vertical origin
-                textRenderingMatrix.translate(v);
-            }
+                    // apply the position vector to the horizontal origin to get the vertical origin
+                    textRenderingMatrix.translate(v);
+                }
 
-            // get glyph's horizontal and vertical displacements, in text space
-            Vector w = font.getDisplacement(code);
+                // get glyph's horizontal and vertical displacements, in text space
+                float wx = decoded.getDisplacementX(i);
+                float wy = decoded.getDisplacementY(i);
 
-            // process the decoded glyph
-            showGlyph(textRenderingMatrix, font, code, w);
+                // process the decoded glyph
+                showGlyph(font, code, textRenderingMatrix.getScaleX(), textRenderingMatrix.getShearY(),
+                        textRenderingMatrix.getShearX(), textRenderingMatrix.getScaleY(),
+                        textRenderingMatrix.getTranslateX(), textRenderingMatrix.getTranslateY(), wx, wy);
 
-            // calculate the combined displacements
-            float tx;
-            float ty;
-            if (font.isVertical()) {
-                tx = 0;
-                ty = w.getY() * fontSize + charSpacing + wordSpacing;
-            } else {
-                tx = (w.getX() * fontSize + charSpacing + wordSpacing) * horizontalScaling;
-                ty = 0;
-            }
+                // calculate the combined displacements
+                float tx;
+                float ty;
+                if (font.isVertical()) {
+                    tx = 0;
+                    ty = wy * fontSize + charSpacing + wordSpacing;
+                } else {
+                    tx = (wx * fontSize + charSpacing + wordSpacing) * horizontalScaling;
+                    ty = 0;
+                }
 
-            // update the text matrix
-            textMatrix.translate(tx, ty);
+                // update the text matrix
+                textMatrix.translate(tx, ty);
+            }
+        } finally {
+            decodedString = decoded;
+        }
+        if (decodeException != null) {
+            throw decodeException;
         }
     }
 
+    /**
+     * Called when a glyph is to be processed. The text rendering matrix T<sub>rm</sub> is given by its six elements
+     * [a b c d e f], so that subclasses which only need the coordinates of the glyphs don't have to allocate any
+     * objects per glyph. The default implementation creates the matrix and the displacement vector and calls
+     * {@link #showGlyph(Matrix, PDFont, int, Vector)}.
+     *
+     * @param font          the current font
+     * @param code          internal PDF character code for the glyph
+     * @param a             the x-scaling element of the text rendering matrix
+     * @param b             the y-shear element of the text rendering matrix
+     * @param c             the x-shear element of the text rendering matrix
+     * @param d             the y-scaling element of the text rendering matrix
+     * @param e             the x-translation element of the text rendering matrix
+     * @param f             the y-translation element of the text rendering matrix
+     * @param displacementX the horizontal displacement (i.e. advance) of the glyph in text space
+     * @param displacementY the vertical displacement (i.e. advance) of the glyph in text space
+     * @throws IOException if the glyph cannot be processed
+     */
+    protected void showGlyph(PDFont font, int code, float a, float b, float c, float d, float e, float f,
+                             float displacementX, float displacementY) throws IOException {
+        showGlyph(new Matrix(a, b, c, d, e, f), font, code, new Vector(displacementX, displacementY));
+    }
+
     /**
      * Called when a glyph is to be processed. This method is intended for overriding in subclasses,
      * the default implementation does nothing.
@@ -726,8 +820,9 @@ public abstract class PDFStreamEngine {
      * @throws IOException If there is an error processing the operation.
      */
     protected void processOperator(Operator operator, List<COSBase> operands) throws IOException {
-        String name = operator.getName();
-        OperatorProcessor processor = operators.get(name);
+        int opcode = operator.getOpcode();
+        OperatorProcessor processor = opcode != Operator.NO_OPCODE ? processorsByOpcode[opcode]
+                : operators.get(operator.getName());
         if (processor != null) {
             try {
                 processor.process(operator, operands);
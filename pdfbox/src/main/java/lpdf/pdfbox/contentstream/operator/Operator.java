@@ -18,6 +18,8 @@ package lpdf.pdfbox.contentstream.operator;
 
 import lpdf.pdfbox.cos.COSDictionary;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
@@ -27,7 +29,49 @@ import java.util.concurrent.ConcurrentMap;
  * @author Ben Litchfield
  */
 public final class Operator {
+    /**
+     * The opcode of the operators which aren't defined in {@link OperatorName}.
+     */
+    public static final int NO_OPCODE = -1;
+
+    // the operators defined in OperatorName, indexed by their opcode
+    private static final String[] KNOWN_OPERATORS = {
+        OperatorName.NON_STROKING_COLOR, OperatorName.NON_STROKING_COLOR_N, OperatorName.NON_STROKING_RGB,
+        OperatorName.NON_STROKING_GRAY, OperatorName.NON_STROKING_CMYK, OperatorName.NON_STROKING_COLORSPACE,
+        OperatorName.STROKING_COLOR, OperatorName.STROKING_COLOR_N, OperatorName.STROKING_COLOR_RGB,
+        OperatorName.STROKING_COLOR_GRAY, OperatorName.STROKING_COLOR_CMYK, OperatorName.STROKING_COLORSPACE,
+        OperatorName.BEGIN_MARKED_CONTENT_SEQ, OperatorName.BEGIN_MARKED_CONTENT, OperatorName.END_MARKED_CONTENT,
+        OperatorName.MARKED_CONTENT_POINT_WITH_PROPS, OperatorName.MARKED_CONTENT_POINT, OperatorName.DRAW_OBJECT,
+        OperatorName.CONCAT, OperatorName.RESTORE, OperatorName.SAVE, OperatorName.SET_FLATNESS,
+        OperatorName.SET_GRAPHICS_STATE_PARAMS, OperatorName.SET_LINE_CAPSTYLE, OperatorName.SET_LINE_DASHPATTERN,
+        OperatorName.SET_LINE_JOINSTYLE, OperatorName.SET_LINE_MITERLIMIT, OperatorName.SET_LINE_WIDTH,
+        OperatorName.SET_MATRIX, OperatorName.SET_RENDERINGINTENT, OperatorName.APPEND_RECT,
+        OperatorName.BEGIN_INLINE_IMAGE, OperatorName.BEGIN_INLINE_IMAGE_DATA, OperatorName.END_INLINE_IMAGE,
+        OperatorName.CLIP_EVEN_ODD, OperatorName.CLIP_NON_ZERO, OperatorName.CLOSE_AND_STROKE,
+        OperatorName.CLOSE_FILL_EVEN_ODD_AND_STROKE, OperatorName.CLOSE_FILL_NON_ZERO_AND_STROKE,
+        OperatorName.CLOSE_PATH, OperatorName.CURVE_TO, OperatorName.CURVE_TO_REPLICATE_FINAL_POINT,
+        OperatorName.CURVE_TO_REPLICATE_INITIAL_POINT, OperatorName.ENDPATH, OperatorName.FILL_EVEN_ODD_AND_STROKE,
+        OperatorName.FILL_EVEN_ODD, OperatorName.FILL_NON_ZERO_AND_STROKE, OperatorName.FILL_NON_ZERO,
+        OperatorName.LEGACY_FILL_NON_ZERO, OperatorName.LINE_TO, OperatorName.MOVE_TO, OperatorName.SHADING_FILL,
+        OperatorName.STROKE_PATH, OperatorName.BEGIN_TEXT, OperatorName.END_TEXT, OperatorName.MOVE_TEXT,
+        OperatorName.MOVE_TEXT_SET_LEADING, OperatorName.NEXT_LINE, OperatorName.SET_CHAR_SPACING,
+        OperatorName.SET_FONT_AND_SIZE, OperatorName.SET_TEXT_HORIZONTAL_SCALING, OperatorName.SET_TEXT_LEADING,
+        OperatorName.SET_TEXT_RENDERINGMODE, OperatorName.SET_TEXT_RISE, OperatorName.SET_WORD_SPACING,
+        OperatorName.SHOW_TEXT, OperatorName.SHOW_TEXT_ADJUSTED, OperatorName.SHOW_TEXT_LINE,
+        OperatorName.SHOW_TEXT_LINE_AND_SPACE, OperatorName.TYPE3_D0, OperatorName.TYPE3_D1,
+        OperatorName.BEGIN_COMPATIBILITY_SECTION, OperatorName.END_COMPATIBILITY_SECTION
+    };
+
+    private static final Map<String, Integer> OPCODES = new HashMap<>(KNOWN_OPERATORS.length * 2);
+
+    static {
+        for (int opcode = 0; opcode < KNOWN_OPERATORS.length; opcode++) {
+            OPCODES.put(KNOWN_OPERATORS[opcode], opcode);
+        }
+    }
+
     private final String theOperator;
+    private final int opcode;
     private byte[] imageData;
     private COSDictionary imageParameters;
 
@@ -47,6 +91,40 @@ public final class Operator {
         if (aOperator.startsWith("/")) {
             throw new IllegalArgumentException("Operators are not allowed to start with / '" + aOperator + "'");
         }
+        opcode = getOpcode(aOperator);
+    }
+
+    /**
+     * Returns the opcode of the given operator, a small integer which identifies the operators defined in
+     * {@link OperatorName}.
+     *
+     * @param operator the name of the operator
+     * @return the opcode, between 0 and {@link #getOpcodeCount()} (exclusive), or {@link #NO_OPCODE} if the operator
+     * isn't defined in {@link OperatorName}
+     */
+    public static int getOpcode(String operator) {
+        Integer opcode = OPCODES.get(operator);
+        return opcode != null ? opcode : NO_OPCODE;
+    }
+
+    /**
+     * Returns the number of opcodes, i.e. the length of an array indexed by opcode.
+     *
+     * @return the number of opcodes
+     */
+    public static int getOpcodeCount() {
+        return KNOWN_OPERATORS.length;
+    }
+
+    /**
+     * Returns the name of the operator with the given opcode.
+     *
+     * @param opcode the opcode
+     * @return the name of the operator
+     * @throws IndexOutOfBoundsException if the opcode isn't valid
+     */
+    public static String getOperatorName(int opcode) {
+        return KNOWN_OPERATORS[opcode];
     }
 
     /**
@@ -85,6 +163,15 @@ public final class Operator {
         return theOperator;
     }
 
+    /**
+     * Returns the opcode of the operator, which is assigned when the operator is created by the parser.
+     *
+     * @return the opcode or {@link #NO_OPCODE} if the operator isn't defined in {@link OperatorName}
+     */
+    public int getOpcode() {
+        return opcode;
+    }
+
     /**
      * This will print a string rep of this class.
      *
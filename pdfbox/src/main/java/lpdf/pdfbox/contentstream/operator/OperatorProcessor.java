@@ -16,8 +16,10 @@
  */
 package lpdf.pdfbox.contentstream.operator;
 
+import lpdf.pdfbox.contentstream.OperandStack;
 import lpdf.pdfbox.contentstream.PDFStreamEngine;
 import lpdf.pdfbox.cos.COSBase;
+import lpdf.pdfbox.cos.COSNumber;
 
 import java.io.IOException;
 import java.util.List;
@@ -77,4 +79,48 @@ public abstract class OperatorProcessor {
     public boolean checkArrayTypesClass(List<COSBase> operands, Class<?> clazz) {
         return operands.stream().allMatch(clazz::isInstance);
     }
+
+    /**
+     * Check whether all operands are numbers. Unlike {@link #checkArrayTypesClass(List, Class)} this doesn't create
+     * COSNumber objects for operands which are kept as primitive values.
+     *
+     * @param operands The operands list.
+     * @return true if all operands are numbers
+     */
+    protected static boolean checkNumbers(List<COSBase> operands) {
+        for (int i = 0; i < operands.size(); i++) {
+            if (!isNumber(operands, i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Check whether the operand at the given index is a number.
+     *
+     * @param operands The operands list.
+     * @param index    The index of the operand.
+     * @return true if the operand is a number
+     */
+    protected static boolean isNumber(List<COSBase> operands, int index) {
+        if (operands instanceof OperandStack) {
+            return ((OperandStack) operands).isNumber(index);
+        }
+        return operands.get(index) instanceof COSNumber;
+    }
+
+    /**
+     * Returns the value of the numeric operand at the given index.
+     *
+     * @param operands The operands list.
+     * @param index    The index of the operand, which must be a number.
+     * @return the float value of the operand
+     */
+    protected static float getFloat(List<COSBase> operands, int index) {
+        if (operands instanceof OperandStack) {
+            return ((OperandStack) operands).getFloat(index);
+        }
+        return ((COSNumber) operands.get(index)).floatValue();
+    }
 }
@@ -22,7 +22,6 @@ import lpdf.pdfbox.contentstream.operator.MissingOperandException;
 import lpdf.pdfbox.contentstream.operator.Operator;
 import lpdf.pdfbox.contentstream.operator.OperatorName;
 import lpdf.pdfbox.cos.COSBase;
-import lpdf.pdfbox.cos.COSNumber;
 
 import java.io.IOException;
 import java.util.List;
@@ -43,20 +42,15 @@ public final class AppendRectangleToPath extends GraphicsOperatorProcessor {
         if (operands.size() < 4) {
             throw new MissingOperandException(operator, operands);
         }
-        if (!checkArrayTypesClass(operands, COSNumber.class)) {
+        if (!checkNumbers(operands)) {
             return;
         }
-        COSNumber x = (COSNumber) operands.get(0);
-        COSNumber y = (COSNumber) operands.get(1);
-        COSNumber w = (COSNumber) operands.get(2);
-        COSNumber h = (COSNumber) operands.get(3);
-
-        float x1 = x.floatValue();
-        float y1 = y.floatValue();
+        float x1 = getFloat(operands, 0);
+        float y1 = getFloat(operands, 1);
 
         // create a pair of coordinates for the transformation
-        float x2 = w.floatValue() + x1;
-        float y2 = h.floatValue() + y1;
+        float x2 = getFloat(operands, 2) + x1;
+        float y2 = getFloat(operands, 3) + y1;
 
         PDFGraphicsStreamEngine context = getGraphicsContext();
         Point2D p0 = context.transformedPoint(x1, y1);
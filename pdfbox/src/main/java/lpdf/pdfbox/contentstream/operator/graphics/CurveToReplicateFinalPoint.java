@@ -22,7 +22,6 @@ import lpdf.pdfbox.contentstream.operator.MissingOperandException;
 import lpdf.pdfbox.contentstream.operator.Operator;
 import lpdf.pdfbox.contentstream.operator.OperatorName;
 import lpdf.pdfbox.cos.COSBase;
-import lpdf.pdfbox.cos.COSNumber;
 
 import java.io.IOException;
 import java.util.List;
@@ -42,17 +41,12 @@ public final class CurveToReplicateFinalPoint extends GraphicsOperatorProcessor
         if (operands.size() < 4) {
             throw new MissingOperandException(operator, operands);
         }
-        if (!checkArrayTypesClass(operands, COSNumber.class)) {
+        if (!checkNumbers(operands)) {
             return;
         }
-        COSNumber x1 = (COSNumber) operands.get(0);
-        COSNumber y1 = (COSNumber) operands.get(1);
-        COSNumber x3 = (COSNumber) operands.get(2);
-        COSNumber y3 = (COSNumber) operands.get(3);
-
         PDFGraphicsStreamEngine context = getGraphicsContext();
-        Point2D.Float point1 = context.transformedPoint(x1.floatValue(), y1.floatValue());
-        Point2D.Float point3 = context.transformedPoint(x3.floatValue(), y3.floatValue());
+        Point2D.Float point1 = context.transformedPoint(getFloat(operands, 0), getFloat(operands, 1));
+        Point2D.Float point3 = context.transformedPoint(getFloat(operands, 2), getFloat(operands, 3));
 
         context.curveTo(point1.x, point1.y,
                 point3.x, point3.y,
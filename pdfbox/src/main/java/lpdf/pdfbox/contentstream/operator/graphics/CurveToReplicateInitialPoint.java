@@ -22,7 +22,6 @@ import lpdf.pdfbox.contentstream.operator.MissingOperandException;
 import lpdf.pdfbox.contentstream.operator.Operator;
 import lpdf.pdfbox.contentstream.operator.OperatorName;
 import lpdf.pdfbox.cos.COSBase;
-import lpdf.pdfbox.cos.COSNumber;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -46,19 +45,14 @@ public class CurveToReplicateInitialPoint extends GraphicsOperatorProcessor {
         if (operands.size() < 4) {
             throw new MissingOperandException(operator, operands);
         }
-        if (!checkArrayTypesClass(operands, COSNumber.class)) {
+        if (!checkNumbers(operands)) {
             return;
         }
-        COSNumber x2 = (COSNumber) operands.get(0);
-        COSNumber y2 = (COSNumber) operands.get(1);
-        COSNumber x3 = (COSNumber) operands.get(2);
-        COSNumber y3 = (COSNumber) operands.get(3);
-
         PDFGraphicsStreamEngine context = getGraphicsContext();
         Point2D currentPoint = context.getCurrentPoint();
 
-        Point2D.Float point2 = context.transformedPoint(x2.floatValue(), y2.floatValue());
-        Point2D.Float point3 = context.transformedPoint(x3.floatValue(), y3.floatValue());
+        Point2D.Float point2 = context.transformedPoint(getFloat(operands, 0), getFloat(operands, 1));
+        Point2D.Float point3 = context.transformedPoint(getFloat(operands, 2), getFloat(operands, 3));
 
         if (currentPoint == null) {
             LOG.warn("curveTo (" + point3.x + "," + point3.y + ") without initial MoveTo");
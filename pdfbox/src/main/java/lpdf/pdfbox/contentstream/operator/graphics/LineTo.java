@@ -22,7 +22,6 @@ import lpdf.pdfbox.contentstream.operator.MissingOperandException;
 import lpdf.pdfbox.contentstream.operator.Operator;
 import lpdf.pdfbox.contentstream.operator.OperatorName;
 import lpdf.pdfbox.cos.COSBase;
-import lpdf.pdfbox.cos.COSNumber;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -46,20 +45,12 @@ public class LineTo extends GraphicsOperatorProcessor {
         if (operands.size() < 2) {
             throw new MissingOperandException(operator, operands);
         }
-        COSBase base0 = operands.get(0);
-        if (!(base0 instanceof COSNumber)) {
-            return;
-        }
-        COSBase base1 = operands.get(1);
-        if (!(base1 instanceof COSNumber)) {
+        if (!isNumber(operands, 0) || !isNumber(operands, 1)) {
             return;
         }
         // append straight line segment from the current point to the point
-        COSNumber x = (COSNumber) base0;
-        COSNumber y = (COSNumber) base1;
-
         PDFGraphicsStreamEngine context = getGraphicsContext();
-        Point2D.Float pos = context.transformedPoint(x.floatValue(), y.floatValue());
+        Point2D.Float pos = context.transformedPoint(getFloat(operands, 0), getFloat(operands, 1));
 
         if (context.getCurrentPoint() == null) {
             LOG.warn("LineTo (" + pos.x + "," + pos.y + ") without initial MoveTo");
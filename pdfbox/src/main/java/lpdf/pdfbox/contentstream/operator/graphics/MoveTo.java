@@ -22,7 +22,6 @@ import lpdf.pdfbox.contentstream.operator.MissingOperandException;
 import lpdf.pdfbox.contentstream.operator.Operator;
 import lpdf.pdfbox.contentstream.operator.OperatorName;
 import lpdf.pdfbox.cos.COSBase;
-import lpdf.pdfbox.cos.COSNumber;
 
 import java.io.IOException;
 import java.util.List;
@@ -42,18 +41,11 @@ public final class MoveTo extends GraphicsOperatorProcessor {
         if (operands.size() < 2) {
             throw new MissingOperandException(operator, operands);
         }
-        COSBase base0 = operands.get(0);
-        if (!(base0 instanceof COSNumber)) {
+        if (!isNumber(operands, 0) || !isNumber(operands, 1)) {
             return;
         }
-        COSBase base1 = operands.get(1);
-        if (!(base1 instanceof COSNumber)) {
-            return;
-        }
-        COSNumber x = (COSNumber) base0;
-        COSNumber y = (COSNumber) base1;
         PDFGraphicsStreamEngine context = getGraphicsContext();
-        Point2D.Float pos = context.transformedPoint(x.floatValue(), y.floatValue());
+        Point2D.Float pos = context.transformedPoint(getFloat(operands, 0), getFloat(operands, 1));
         context.moveTo(pos.x, pos.y);
     }
 
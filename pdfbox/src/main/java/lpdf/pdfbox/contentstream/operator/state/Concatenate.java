@@ -22,7 +22,6 @@ import lpdf.pdfbox.contentstream.operator.Operator;
 import lpdf.pdfbox.contentstream.operator.OperatorName;
 import lpdf.pdfbox.contentstream.operator.OperatorProcessor;
 import lpdf.pdfbox.cos.COSBase;
-import lpdf.pdfbox.cos.COSNumber;
 import lpdf.pdfbox.util.Matrix;
 
 import java.io.IOException;
@@ -43,20 +42,13 @@ public class Concatenate extends OperatorProcessor {
         if (arguments.size() < 6) {
             throw new MissingOperandException(operator, arguments);
         }
-        if (!checkArrayTypesClass(arguments, COSNumber.class)) {
+        if (!checkNumbers(arguments)) {
             return;
         }
 
         // concatenate matrix to current transformation matrix
-        COSNumber a = (COSNumber) arguments.get(0);
-        COSNumber b = (COSNumber) arguments.get(1);
-        COSNumber c = (COSNumber) arguments.get(2);
-        COSNumber d = (COSNumber) arguments.get(3);
-        COSNumber e = (COSNumber) arguments.get(4);
-        COSNumber f = (COSNumber) arguments.get(5);
-
-        Matrix matrix = new Matrix(a.floatValue(), b.floatValue(), c.floatValue(),
-                d.floatValue(), e.floatValue(), f.floatValue());
+        Matrix matrix = new Matrix(getFloat(arguments, 0), getFloat(arguments, 1), getFloat(arguments, 2),
+                getFloat(arguments, 3), getFloat(arguments, 4), getFloat(arguments, 5));
 
         getContext().getGraphicsState().getCurrentTransformationMatrix().concatenate(matrix);
     }
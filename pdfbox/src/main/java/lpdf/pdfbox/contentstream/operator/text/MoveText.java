@@ -22,7 +22,6 @@ import lpdf.pdfbox.contentstream.operator.Operator;
 import lpdf.pdfbox.contentstream.operator.OperatorName;
 import lpdf.pdfbox.contentstream.operator.OperatorProcessor;
 import lpdf.pdfbox.cos.COSBase;
-import lpdf.pdfbox.cos.COSNumber;
 import lpdf.pdfbox.util.Matrix;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -53,19 +52,12 @@ public class MoveText extends OperatorProcessor {
             return;
         }
 
-        COSBase base0 = arguments.get(0);
-        COSBase base1 = arguments.get(1);
-        if (!(base0 instanceof COSNumber)) {
+        if (!isNumber(arguments, 0) || !isNumber(arguments, 1)) {
             return;
         }
-        if (!(base1 instanceof COSNumber)) {
-            return;
-        }
-        COSNumber x = (COSNumber) base0;
-        COSNumber y = (COSNumber) base1;
 
-        Matrix matrix = new Matrix(1, 0, 0, 1, x.floatValue(), y.floatValue());
-        textLineMatrix.concatenate(matrix);
+        // same as concatenating a translation matrix
+        textLineMatrix.translate(getFloat(arguments, 0), getFloat(arguments, 1));
         context.setTextMatrix(textLineMatrix.clone());
     }
 
@@ -24,6 +24,7 @@ import org.slf4j.LoggerFactory;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -50,14 +51,12 @@ public class COSDocument extends COSBase implements Closeable {
      * Maps ObjectKeys to a COSObject. Note that references to these objects
      * are also stored in COSDictionary objects that map a name to a specific object.
      */
-    private final Map<COSObjectKey, COSObject> objectPool =
-            new HashMap<>();
+    private final ObjectPool objectPool = new ObjectPool();
 
     /**
      * Maps object and generation id to object byte offsets.
      */
-    private final Map<COSObjectKey, Long> xrefTable =
-            new HashMap<>();
+    private final XrefIndex xrefTable = new XrefIndex();
 
     /**
      * List containing all streams which are created when creating a new pdf.
@@ -91,8 +90,18 @@ public class COSDocument extends COSBase implements Closeable {
 
     private final ICOSParser parser;
 
+    /**
+     * The linearization dictionary if it was read by the parser right away.
+     */
+    private COSDictionary linearizedDictionary;
+
     private final COSDocumentState documentState = new COSDocumentState();
 
+    /**
+     * Cache for the decoded data of streams, disabled by default.
+     */
+    private final DecodedStreamCache decodedStreamCache = new DecodedStreamCache();
+
     /**
      * Constructor. Uses main memory to buffer PDF streams.
      */
@@ -159,6 +168,7 @@ public class COSDocument extends COSBase implements Closeable {
      */
     public COSStream createCOSStream() {
         COSStream stream = new COSStream(streamCache);
+        stream.setDecodedStreamCache(decodedStreamCache);
         // collect all COSStreams so that they can be closed when closing the COSDocument.
         // This is limited to newly created pdfs as all COSStreams of an existing pdf are
         // collected within the map objectPool
@@ -181,6 +191,8 @@ public class COSDocument extends COSBase implements Closeable {
         COSStream stream = new COSStream(streamCache,
                 parser.createRandomAccessReadView(startPosition, streamLength));
         dictionary.forEach(stream::setItem);
+        stream.setKey(dictionary.getKey());
+        stream.setDecodedStreamCache(decodedStreamCache);
         return stream;
     }
 
@@ -190,6 +202,9 @@ public class COSDocument extends COSBase implements Closeable {
      * @return the dictionary containing the linearization information
      */
     public COSDictionary getLinearizedDictionary() {
+        if (linearizedDictionary != null) {
+            return linearizedDictionary;
+        }
         // get all keys with a positive offset in ascending order, as the linearization dictionary shall be the first
         // within the pdf
         List<COSObjectKey> objectKeys = xrefTable.entrySet().stream() //
@@ -210,11 +225,51 @@ public class COSDocument extends COSBase implements Closeable {
         return null;
     }
 
+    /**
+     * Sets the linearization dictionary. The parser does so if it only read the first page cross reference table of a
+     * linearized pdf.
+     *
+     * @param linearizedDictionary the dictionary containing the linearization information
+     */
+    public void setLinearizedDictionary(COSDictionary linearizedDictionary) {
+        this.linearizedDictionary = linearizedDictionary;
+    }
+
+    /**
+     * Returns the page object of the first page of a linearized pdf using the linearization dictionary set by the
+     * parser, as long as the page tree wasn't read. The first page is available without reading the cross reference
+     * tables following the first page cross reference table that way.
+     *
+     * @return the page object of the first page or null if it isn't known
+     */
+    public COSDictionary getLinearizedFirstPage() {
+        if (linearizedDictionary == null || trailer == null) {
+            return null;
+        }
+        COSDictionary root = trailer.getCOSDictionary(COSName.ROOT);
+        COSBase pages = root != null ? root.getItem(COSName.PAGES) : null;
+        // the page tree might have been changed if it was read
+        if (!(pages instanceof COSObject) || ((COSObject) pages).isDereferenced()) {
+            return null;
+        }
+        int firstPageNumber = linearizedDictionary.getInt(COSName.O);
+        if (firstPageNumber <= 0) {
+            return null;
+        }
+        COSBase firstPage = getObjectFromPool(new COSObjectKey(firstPageNumber, 0)).getObject();
+        if (firstPage instanceof COSDictionary
+                && COSName.PAGE.equals(((COSDictionary) firstPage).getCOSName(COSName.TYPE))) {
+            return (COSDictionary) firstPage;
+        }
+        return null;
+    }
+
     /**
      * This will get all dictionaries objects by type.
      *
      * @param type The type of the object.
      * @return This will return all objects with the specified type.
+     * @throws UncheckedIOException if the cross reference tables which were skipped by the parser can't be read
      */
     public List<COSObject> getObjectsByType(COSName type) {
         return getObjectsByType(type, null);
@@ -226,8 +281,10 @@ public class COSDocument extends COSBase implements Closeable {
      * @param type1 The first possible type of the object, mandatory.
      * @param type2 The second possible type of the object, usually an abbreviation, optional.
      * @return This will return all objects with the specified type(s).
+     * @throws UncheckedIOException if the cross reference tables which were skipped by the parser can't be read
      */
     public List<COSObject> getObjectsByType(COSName type1, COSName type2) {
+        loadDeferredXref();
         List<COSObject> retval = new ArrayList<>();
         for (COSObjectKey objectKey : xrefTable.keySet()) {
             COSObject objectFromPool = getObjectFromPool(objectKey);
@@ -407,6 +464,8 @@ public class COSDocument extends COSBase implements Closeable {
             firstException = IOUtils.closeAndLogException(stream, LOG, "COSStream", firstException);
         }
 
+        decodedStreamCache.clear();
+
         if (streamCache != null) {
             firstException = IOUtils.closeAndLogException(streamCache, LOG, "Stream Cache",
                     firstException);
@@ -443,6 +502,16 @@ public class COSDocument extends COSBase implements Closeable {
         return obj;
     }
 
+    /**
+     * Returns the cross reference index, which backs the map returned by {@link #getXrefTable()}. Unlike
+     * {@link #getXrefTable()} it doesn't read the cross reference tables which were skipped by the parser.
+     *
+     * @return the cross reference index
+     */
+    public XrefIndex getXrefIndex() {
+        return xrefTable;
+    }
+
     /**
      * Populate XRef HashMap with given values.
      * Each entry maps ObjectKeys to byte offsets in the file.
@@ -458,11 +527,28 @@ public class COSDocument extends COSBase implements Closeable {
      * to byte offsets in the file.
      *
      * @return mapping of ObjectsKeys to byte offsets
+     * @throws UncheckedIOException if the cross reference tables which were skipped by the parser can't be read
      */
     public Map<COSObjectKey, Long> getXrefTable() {
+        loadDeferredXref();
         return xrefTable;
     }
 
+    /**
+     * Reads the cross reference tables which were skipped by the parser, if any, so that the xref table is complete.
+     *
+     * @throws UncheckedIOException if the cross reference tables can't be read
+     */
+    private void loadDeferredXref() {
+        if (parser != null) {
+            try {
+                parser.loadDeferredXref();
+            } catch (IOException exception) {
+                throw new UncheckedIOException("Can't read the remaining cross reference tables", exception);
+            }
+        }
+    }
+
     /**
      * This method set the startxref value of the document. This will only
      * be needed for incremental updates.
@@ -517,6 +603,16 @@ public class COSDocument extends COSBase implements Closeable {
         hasHybridXRef = true;
     }
 
+    /**
+     * Returns the cache for the decoded data of the streams of this document. The cache is disabled by default, use
+     * {@link DecodedStreamCache#setMaxBytes(long)} to enable it.
+     *
+     * @return the decoded stream cache
+     */
+    public DecodedStreamCache getDecodedStreamCache() {
+        return decodedStreamCache;
+    }
+
     /**
      * Returns the {@link COSDocumentState} of this {@link COSDocument}.
      *
@@ -39,6 +39,18 @@ public class COSFloat extends COSNumber {
         value = aFloat;
     }
 
+    /**
+     * Constructor for a value which was already converted from its string representation.
+     *
+     * @param aFloat        The primitive float object that this object wraps.
+     * @param valueAsString The string representation the value was converted from, which is written when the object
+     *                      is serialized. If it is null, the value is formatted instead.
+     */
+    public COSFloat(float aFloat, String valueAsString) {
+        value = aFloat;
+        this.valueAsString = valueAsString;
+    }
+
     /**
      * Constructor.
      *
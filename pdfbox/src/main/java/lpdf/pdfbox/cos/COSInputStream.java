@@ -33,7 +33,8 @@ import java.util.List;
 import java.util.Set;
 
 /**
- * An InputStream which reads from an encoded COS stream.
+ * An InputStream which reads from an encoded COS stream. Filters which support it decode the data while it is read,
+ * the data of all other filters is decoded as a whole when the stream is created.
  *
  * @author John Hewson
  */
@@ -65,7 +66,7 @@ public final class COSInputStream extends FilterInputStream {
     static COSInputStream create(List<Filter> filters, COSDictionary parameters, InputStream in,
                                  DecodeOptions options) throws IOException {
         if (filters.isEmpty()) {
-            return new COSInputStream(in, Collections.<DecodeResult>emptyList());
+            return new COSInputStream(in, Collections.<DecodeResult>emptyList(), null);
         }
 
         List<DecodeResult> results = new ArrayList<>(filters.size());
@@ -76,27 +77,83 @@ public final class COSInputStream extends FilterInputStream {
                 throw new IOException("Duplicate");
             }
         }
-        ByteArrayOutputStream output = new ByteArrayOutputStream();
-        // apply filters
+        // apply filters, decoding on the fly where possible
         for (int i = 0; i < filters.size(); i++) {
-            output.reset();
-            results.add(filters.get(i).decode(input, output, parameters, i, options));
-            input = new ByteArrayInputStream(output.toByteArray());
+            Filter filter = filters.get(i);
+            InputStream decodingStream = filter.createDecodingStream(input, parameters, i, options);
+            if (decodingStream != null) {
+                results.add(DecodeResult.create(parameters));
+                input = decodingStream;
+            } else {
+                ByteArrayOutputStream output = new ByteArrayOutputStream();
+                try {
+                    results.add(filter.decode(input, output, parameters, i, options));
+                } finally {
+                    if (input != in) {
+                        input.close();
+                    }
+                }
+                input = new ByteArrayInputStream(output.toByteArray());
+            }
         }
-        return new COSInputStream(input, results);
+        return new COSInputStream(input, results, null);
+    }
+
+    /**
+     * Creates a new COSInputStream from already decoded data.
+     *
+     * @param data          the decoded data
+     * @param decodeResults the results of the filters which decoded the data
+     * @return Decoded stream.
+     */
+    static COSInputStream create(byte[] data, List<DecodeResult> decodeResults) {
+        return new COSInputStream(new ByteArrayInputStream(data), decodeResults, data);
+    }
+
+    /**
+     * Creates a new COSInputStream from an already decoding input stream.
+     *
+     * @param input         the decoded stream
+     * @param decodeResults the results of the filters which decode the data
+     * @return Decoded stream.
+     */
+    static COSInputStream create(InputStream input, List<DecodeResult> decodeResults) {
+        return new COSInputStream(input, decodeResults, null);
     }
 
     private final List<DecodeResult> decodeResults;
+    private final byte[] data;
 
     /**
      * Constructor.
      *
      * @param input         decoded stream
      * @param decodeResults results of decoding
+     * @param data          the decoded data read by the input, null if it isn't held in memory as a whole
      */
-    private COSInputStream(InputStream input, List<DecodeResult> decodeResults) {
+    private COSInputStream(InputStream input, List<DecodeResult> decodeResults, byte[] data) {
         super(input);
         this.decodeResults = decodeResults;
+        this.data = data;
+    }
+
+    /**
+     * Returns all of the decoded data if it is held in memory, regardless of what was read so far. The data must not
+     * be modified.
+     *
+     * @return the decoded data or null if it is decoded while it is read
+     */
+    byte[] getData() {
+        return data;
+    }
+
+    /**
+     * Returns the results of all filters.
+     *
+     * @return the results of the filters in the order they were applied
+     */
+    List<DecodeResult> getDecodeResults() {
+        return decodeResults;
     }
 
     /**
@@ -20,10 +20,15 @@ import lpdf.pdfbox.util.Hex;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
  * A PDF Name object.
@@ -38,6 +43,14 @@ public final class COSName extends COSBase implements Comparable<COSName> {
     // they are already defined as static constants and don't need to be synchronized
     private static final Map<String, COSName> commonNameMap = new HashMap<>(768);
 
+    // names keyed by the raw bytes they were parsed from, so that known names can be looked up without creating a
+    // String. Each slot holds an immutable chain of entries, new entries are added with a compare-and-set
+    private static final int BYTES_TABLE_SIZE = 8192;
+    private static final int MAX_CHAIN_LENGTH = 8;
+    private static final AtomicReferenceArray<BytesEntry> bytesTable = new AtomicReferenceArray<>(BYTES_TABLE_SIZE);
+
+    private static final Charset WINDOWS_1252 = Charset.forName("Windows-1252");
+
     //
     // IMPORTANT: this list is *alphabetized* and does not need any JavaDoc
     //
@@ -681,6 +694,49 @@ public final class COSName extends COSBase implements Comparable<COSName> {
         return name;
     }
 
+    /**
+     * This will get a COSName object for the raw bytes of a name as read from a PDF, after resolving any #xx escapes.
+     * The bytes are decoded as UTF-8, or as Windows-1252 if they aren't valid UTF-8 as some malformed PDFs don't use
+     * UTF-8, see PDFBOX-3347.
+     * <p>
+     * Names which were looked up before are found without decoding the bytes and without any allocation.
+     *
+     * @param bytes  the buffer holding the name
+     * @param offset the offset of the name within the buffer
+     * @param length the length of the name in bytes
+     * @return A COSName with the specified name.
+     */
+    public static COSName getPDFName(byte[] bytes, int offset, int length) {
+        int hash = 0;
+        for (int i = offset; i < offset + length; i++) {
+            hash = 31 * hash + bytes[i];
+        }
+        int index = (hash ^ (hash >>> 16)) & (BYTES_TABLE_SIZE - 1);
+        BytesEntry head = bytesTable.get(index);
+        int chainLength = 0;
+        for (BytesEntry entry = head; entry != null; entry = entry.next) {
+            if (entry.hash == hash && entry.matches(bytes, offset, length)) {
+                return entry.name;
+            }
+            chainLength++;
+        }
+        byte[] key = Arrays.copyOfRange(bytes, offset, offset + length);
+        COSName name = getPDFName(decode(key));
+        // the table is only a shortcut, give up if the slot is crowded or another thread changed it meanwhile
+        if (chainLength < MAX_CHAIN_LENGTH) {
+            bytesTable.compareAndSet(index, head, new BytesEntry(key, hash, name, head));
+        }
+        return name;
+    }
+
+    private static String decode(byte[] bytes) {
+        try {
+            return StandardCharsets.UTF_8.newDecoder().decode(ByteBuffer.wrap(bytes)).toString();
+        } catch (CharacterCodingException e) {
+            return new String(bytes, WINDOWS_1252);
+        }
+    }
+
     /**
      * Private constructor. This will limit the number of COSName objects. that are created.
      *
@@ -788,5 +844,37 @@ public final class COSName extends COSBase implements Comparable<COSName> {
     public static void clearResources() {
         // Clear them all
         nameMap.clear();
+        for (int i = 0; i < BYTES_TABLE_SIZE; i++) {
+            bytesTable.set(i, null);
+        }
+    }
+
+    /**
+     * An entry of the table of names keyed by their raw bytes.
+     */
+    private static final class BytesEntry {
+        private final byte[] bytes;
+        private final int hash;
+        private final COSName name;
+        private final BytesEntry next;
+
+        private BytesEntry(byte[] bytes, int hash, COSName name, BytesEntry next) {
+            this.bytes = bytes;
+            this.hash = hash;
+            this.name = name;
+            this.next = next;
+        }
+
+        private boolean matches(byte[] other, int offset, int length) {
+            if (bytes.length != length) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                if (bytes[i] != other[offset + i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
     }
 }
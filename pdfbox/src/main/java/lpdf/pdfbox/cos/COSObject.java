@@ -20,22 +20,37 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 /**
  * This class represents a PDF object.
+ * <p>
+ * The referenced object may be dereferenced by several threads at the same time, it is parsed only once. Threads
+ * asking for an object which is being parsed by another thread wait for the result.
  *
  * @author Ben Litchfield
  */
 public class COSObject extends COSBase implements COSUpdateInfo {
-    private COSBase baseObject;
+    private volatile COSBase baseObject;
     private long objectNumber;
     private int generationNumber;
-    private ICOSParser parser;
-    private boolean isDereferenced = false;
+    private volatile ICOSParser parser;
+    private volatile boolean isDereferenced = false;
+    // the thread which is currently dereferencing the object
+    private volatile Thread dereferencingThread;
     private final COSUpdateState updateState;
 
     private static final Logger LOG = LoggerFactory.getLogger(COSObject.class);
 
+    // maximum time in ms to wait for another thread before checking for a deadlock again
+    static final long WAIT_INTERVAL = 100;
+
+    // the owners of the objects or gates threads are waiting for, used to detect cyclic references which are
+    // dereferenced by several threads
+    static final Map<Thread, Supplier<Thread>> WAITING_THREADS = new ConcurrentHashMap<>();
+
     /**
      * Constructor.
      *
@@ -101,25 +116,77 @@ public class COSObject extends COSBase implements COSUpdateInfo {
      * @return The encapsulated object.
      */
     public COSBase getObject() {
-        if (!isDereferenced && parser != null) {
-            try {
-                // mark as dereferenced to avoid endless recursions
-                isDereferenced = true;
-                baseObject = parser.dereferenceCOSObject(this);
-                getUpdateState().dereferenceChild(baseObject);
-            } catch (IOException e) {
-                LOG.error("Can't dereference " + this, e);
-            } finally {
+        if (isDereferenced) {
+            return baseObject;
+        }
+        ICOSParser objectParser;
+        Thread currentThread = Thread.currentThread();
+        synchronized (this) {
+            while (true) {
+                if (isDereferenced || parser == null && dereferencingThread == null) {
+                    return baseObject;
+                }
+                if (dereferencingThread == null) {
+                    break;
+                }
+                if (dereferencingThread == currentThread || isWaitingFor(dereferencingThread, currentThread)) {
+                    // recursive reference, return the current value to avoid endless recursions
+                    return baseObject;
+                }
+                WAITING_THREADS.put(currentThread, () -> dereferencingThread);
+                try {
+                    wait(WAIT_INTERVAL);
+                } catch (InterruptedException e) {
+                    currentThread.interrupt();
+                    return baseObject;
+                } finally {
+                    WAITING_THREADS.remove(currentThread);
+                }
+            }
+            dereferencingThread = currentThread;
+            objectParser = parser;
+        }
+        try {
+            COSBase object = objectParser.dereferenceCOSObject(this);
+            baseObject = object;
+            getUpdateState().dereferenceChild(object);
+        } catch (IOException e) {
+            LOG.error("Can't dereference " + this, e);
+        } finally {
+            synchronized (this) {
                 parser = null;
+                dereferencingThread = null;
+                isDereferenced = true;
+                notifyAll();
             }
         }
         return baseObject;
     }
 
+    /**
+     * Checks if the given owner thread is waiting, directly or indirectly, for an object or a {@link DereferencingGate}
+     * which is owned by the given thread. Waiting for the owner in that case would result in a deadlock.
+     */
+    static boolean isWaitingFor(Thread owner, Thread thread) {
+        Thread current = owner;
+        // the number of threads limits the length of a chain without cycles
+        for (int i = 0; i <= WAITING_THREADS.size() && current != null; i++) {
+            Supplier<Thread> awaitedOwner = WAITING_THREADS.get(current);
+            if (awaitedOwner == null) {
+                return false;
+            }
+            current = awaitedOwner.get();
+            if (current == thread) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Sets the referenced object to COSNull and removes the initially assigned parser.
      */
-    public final void setToNull() {
+    public final synchronized void setToNull() {
         if (baseObject != null) {
             getUpdateState().update();
         }
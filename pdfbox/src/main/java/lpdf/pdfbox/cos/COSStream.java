@@ -22,6 +22,7 @@ import lpdf.io.RandomAccessInputStream;
 import lpdf.io.RandomAccessOutputStream;
 import lpdf.io.RandomAccessRead;
 import lpdf.io.RandomAccessReadBuffer;
+import lpdf.io.RandomAccessReadCursor;
 import lpdf.io.RandomAccessReadView;
 import lpdf.io.RandomAccessStreamCache;
 import lpdf.pdfbox.filter.DecodeOptions;
@@ -37,10 +38,9 @@ import java.io.FilterOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.SequenceInputStream;
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 
 /**
  * This class represents a stream object in a PDF document.
@@ -58,9 +58,15 @@ public class COSStream extends COSDictionary implements Closeable {
     private boolean isWriting;
     // random access view to be read from
     private RandomAccessReadView randomAccessReadView;
+    // document-wide cache for decoded data, may be null
+    private DecodedStreamCache decodedStreamCache;
 
     private static final Logger LOG = LoggerFactory.getLogger(COSStream.class);
 
+    // the decoded data is buffered in a single array, which limits the size of cached streams
+    private static final long MAX_CACHED_LENGTH = Integer.MAX_VALUE - 8;
+    private static final int COPY_BUFFER_SIZE = 8192;
+
     /**
      * Creates a new stream with an empty dictionary.
      * <p>
@@ -111,6 +117,15 @@ public class COSStream extends COSDictionary implements Closeable {
         }
     }
 
+    /**
+     * Sets the cache for the decoded data of the stream. Only COSDocument should call this method.
+     *
+     * @param decodedStreamCache the document-wide cache for decoded stream data
+     */
+    void setDecodedStreamCache(DecodedStreamCache decodedStreamCache) {
+        this.decodedStreamCache = decodedStreamCache;
+    }
+
     private RandomAccessStreamCache getStreamCache() throws IOException {
         if (streamCache == null) {
             streamCache = IOUtils.createMemoryOnlyStreamCache().create();
@@ -132,8 +147,8 @@ public class COSStream extends COSDictionary implements Closeable {
         }
         if (randomAccess == null) {
             if (randomAccessReadView != null) {
-                randomAccessReadView.seek(0);
-                return new RandomAccessInputStream(randomAccessReadView);
+                // read using a private cursor as the view may be read by several threads at the same time
+                return new RandomAccessInputStream(new RandomAccessReadCursor(randomAccessReadView));
             } else {
                 throw new IOException(
                         "Create InputStream called without data being written before to stream.");
@@ -154,8 +169,63 @@ public class COSStream extends COSDictionary implements Closeable {
     }
 
     public COSInputStream createInputStream(DecodeOptions options) throws IOException {
+        List<Filter> filterList = getFilterList();
+        if (options == DecodeOptions.DEFAULT && isCacheable(filterList)) {
+            return createCachedInputStream(filterList);
+        }
         InputStream input = createRawInputStream();
-        return COSInputStream.create(getFilterList(), this, input, options);
+        return COSInputStream.create(filterList, this, input, options);
+    }
+
+    /**
+     * Indicates whether the decoded data may be kept in the decoded stream cache of the document. Only indirect
+     * streams with at least one filter are cached.
+     */
+    private boolean isCacheable(List<Filter> filterList) {
+        return decodedStreamCache != null && getKey() != null && !filterList.isEmpty()
+                && decodedStreamCache.isEnabled();
+    }
+
+    /**
+     * Returns the decoded data from the decoded stream cache. If it isn't cached yet, the stream is decoded and added
+     * to the cache as long as it fits into the cache. Larger streams are decoded on the fly, the data which was read
+     * until the size of the cache was exceeded is read first.
+     */
+    private COSInputStream createCachedInputStream(List<Filter> filterList) throws IOException {
+        COSObjectKey key = getKey();
+        DecodedStreamCache.Entry entry = decodedStreamCache.get(key);
+        if (entry != null) {
+            return COSInputStream.create(entry.data, entry.decodeResults);
+        }
+        COSInputStream input = COSInputStream.create(filterList, this, createRawInputStream(),
+                DecodeOptions.DEFAULT);
+        long maxBytes = Math.min(decodedStreamCache.getMaxBytes(), MAX_CACHED_LENGTH);
+        // the decoded length is optional, streams known to be too large aren't buffered at all
+        if (getLong(COSName.DL) > maxBytes) {
+            return input;
+        }
+        boolean closeInput = true;
+        try {
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            byte[] buffer = new byte[COPY_BUFFER_SIZE];
+            int count;
+            while ((count = input.read(buffer)) != -1) {
+                output.write(buffer, 0, count);
+                if (output.size() > maxBytes) {
+                    closeInput = false;
+                    InputStream remaining = new SequenceInputStream(
+                            new ByteArrayInputStream(output.toByteArray()), input);
+                    return COSInputStream.create(remaining, input.getDecodeResults());
+                }
+            }
+            byte[] data = output.toByteArray();
+            decodedStreamCache.put(key, data, input.getDecodeResults());
+            return COSInputStream.create(data, input.getDecodeResults());
+        } finally {
+            if (closeInput) {
+                input.close();
+            }
+        }
     }
 
     /**
@@ -168,33 +238,20 @@ public class COSStream extends COSDictionary implements Closeable {
         List<Filter> filterList = getFilterList();
         if (filterList.isEmpty()) {
             if (randomAccess == null && randomAccessReadView != null) {
-                return new RandomAccessReadView(randomAccessReadView, 0,
-                        randomAccessReadView.length());
+                return new RandomAccessReadCursor(randomAccessReadView);
             } else {
                 return new RandomAccessReadBuffer(createRawInputStream());
             }
-        } else {
-            if (filterList.size() > 1) {
-                Set<Filter> filterSet = new HashSet<>(filterList);
-                if (filterSet.size() != filterList.size()) {
-                    throw new IOException("Duplicate");
-                }
+        } else if (isCacheable(filterList)) {
+            try (COSInputStream input = createCachedInputStream(filterList)) {
+                byte[] data = input.getData();
+                // the cached data is never modified and can be shared
+                return data != null ? new RandomAccessReadBuffer(data) : new RandomAccessReadBuffer(input);
             }
-            InputStream input = createRawInputStream();
-            ByteArrayOutputStream output = new ByteArrayOutputStream(input.available());
-            // apply filters
-            for (int i = 0; i < filterList.size(); i++) {
-                if (i > 0) {
-                    input = new ByteArrayInputStream(output.toByteArray());
-                    output.reset();
-                }
-                try {
-                    filterList.get(i).decode(input, output, this, i, DecodeOptions.DEFAULT);
-                } finally {
-                    IOUtils.closeQuietly(input);
-                }
+        } else {
+            try (InputStream input = createInputStream()) {
+                return new RandomAccessReadBuffer(input);
             }
-            return new RandomAccessReadBuffer(output.toByteArray());
         }
     }
 
@@ -224,6 +281,7 @@ public class COSStream extends COSDictionary implements Closeable {
         if (filters != null) {
             setItem(COSName.FILTER, filters);
         }
+        invalidateCachedData();
         if (randomAccess != null)
             randomAccess.clear();
         else
@@ -258,6 +316,7 @@ public class COSStream extends COSDictionary implements Closeable {
         if (isWriting) {
             throw new IllegalStateException("Cannot have more than one open stream writer.");
         }
+        invalidateCachedData();
         if (randomAccess != null)
             randomAccess.clear();
         else
@@ -279,6 +338,61 @@ public class COSStream extends COSDictionary implements Closeable {
         };
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Changing the filters or their parameters drops the decoded data from the decoded stream cache.
+     */
+    @Override
+    public void setItem(COSName key, COSBase value) {
+        super.setItem(key, value);
+        if (isDecodingKey(key)) {
+            invalidateCachedData();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Removing the filters or their parameters drops the decoded data from the decoded stream cache.
+     */
+    @Override
+    public void removeItem(COSName key) {
+        super.removeItem(key);
+        if (isDecodingKey(key)) {
+            invalidateCachedData();
+        }
+    }
+
+    @Override
+    public void addAll(COSDictionary dict) {
+        super.addAll(dict);
+        invalidateCachedData();
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        invalidateCachedData();
+    }
+
+    /**
+     * Indicates whether the given key affects the decoded data of the stream.
+     */
+    private static boolean isDecodingKey(COSName key) {
+        return COSName.FILTER.equals(key) || COSName.DECODE_PARMS.equals(key) || COSName.F.equals(key)
+                || COSName.F_FILTER.equals(key) || COSName.F_DECODE_PARMS.equals(key);
+    }
+
+    /**
+     * Removes the decoded data from the decoded stream cache as the data of the stream is replaced.
+     */
+    private void invalidateCachedData() {
+        if (decodedStreamCache != null && getKey() != null) {
+            decodedStreamCache.remove(getKey());
+        }
+    }
+
     /**
      * Returns the list of filters.
      */
@@ -0,0 +1,217 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package lpdf.pdfbox.cos;
+
+import lpdf.pdfbox.filter.DecodeResult;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A document-wide cache for the decoded data of indirect streams, so that streams which are read several times, e.g.
+ * form XObjects used on many pages, are decoded only once.
+ * <p>
+ * The cache is bounded by the total number of decoded bytes, the least recently used streams are evicted first. It is
+ * disabled as long as the maximum size is 0, which is the default. Streams are identified by their object key, the
+ * cached data of a stream is dropped as soon as new data is written to it or its filters are changed. Streams larger
+ * than the cache are decoded on the fly without being buffered as a whole.
+ */
+public final class DecodedStreamCache {
+    private final Map<COSObjectKey, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long maxBytes;
+    private long size;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    /**
+     * Creates a disabled cache.
+     */
+    public DecodedStreamCache() {
+        this(0);
+    }
+
+    /**
+     * Creates a cache with the given maximum size.
+     *
+     * @param maxBytes the maximum number of decoded bytes to be kept, 0 to disable the cache
+     */
+    public DecodedStreamCache(long maxBytes) {
+        setMaxBytes(maxBytes);
+    }
+
+    /**
+     * Sets the maximum number of decoded bytes to be kept. Streams are evicted if the cache exceeds the new size.
+     *
+     * @param maxBytes the maximum number of decoded bytes to be kept, 0 to disable the cache
+     */
+    public synchronized void setMaxBytes(long maxBytes) {
+        if (maxBytes < 0) {
+            throw new IllegalArgumentException("Invalid cache size " + maxBytes);
+        }
+        this.maxBytes = maxBytes;
+        evict();
+    }
+
+    /**
+     * Returns the maximum number of decoded bytes to be kept.
+     *
+     * @return the maximum size in bytes, 0 if the cache is disabled
+     */
+    public synchronized long getMaxBytes() {
+        return maxBytes;
+    }
+
+    /**
+     * Indicates whether the cache is enabled.
+     *
+     * @return true if the maximum size is greater than 0
+     */
+    public synchronized boolean isEnabled() {
+        return maxBytes > 0;
+    }
+
+    /**
+     * Returns the cached data of the stream with the given key and counts the hit or miss.
+     *
+     * @param key the key of the stream
+     * @return the cached data or null if the stream isn't cached
+     */
+    synchronized Entry get(COSObjectKey key) {
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            hitCount++;
+        } else {
+            missCount++;
+        }
+        return entry;
+    }
+
+    /**
+     * Adds the decoded data of the stream with the given key. The data isn't cached if it is larger than the cache.
+     *
+     * @param key           the key of the stream
+     * @param data          the decoded data, which must not be modified afterwards
+     * @param decodeResults the results of the filters
+     */
+    synchronized void put(COSObjectKey key, byte[] data, List<DecodeResult> decodeResults) {
+        if (data.length > maxBytes) {
+            return;
+        }
+        Entry old = entries.put(key, new Entry(data, decodeResults));
+        if (old != null) {
+            size -= old.data.length;
+        }
+        size += data.length;
+        evict();
+    }
+
+    /**
+     * Removes the cached data of the stream with the given key.
+     *
+     * @param key the key of the stream
+     */
+    synchronized void remove(COSObjectKey key) {
+        Entry old = entries.remove(key);
+        if (old != null) {
+            size -= old.data.length;
+        }
+    }
+
+    private void evict() {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (size > maxBytes && iterator.hasNext()) {
+            size -= iterator.next().data.length;
+            iterator.remove();
+            evictionCount++;
+        }
+    }
+
+    /**
+     * Removes all cached data. The statistics are kept.
+     */
+    public synchronized void clear() {
+        entries.clear();
+        size = 0;
+    }
+
+    /**
+     * Returns the number of decoded bytes currently kept.
+     *
+     * @return the size of the cache in bytes
+     */
+    public synchronized long getSize() {
+        return size;
+    }
+
+    /**
+     * Returns the number of streams currently kept.
+     *
+     * @return the number of cached streams
+     */
+    public synchronized int getEntryCount() {
+        return entries.size();
+    }
+
+    /**
+     * Returns the number of reads which were served from the cache.
+     *
+     * @return the number of cache hits
+     */
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Returns the number of reads which had to decode the stream.
+     *
+     * @return the number of cache misses
+     */
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Returns the number of streams which were evicted to stay within the maximum size.
+     *
+     * @return the number of evictions
+     */
+    public synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "DecodedStreamCache{size=" + size + ", maxBytes=" + maxBytes + ", entries=" + entries.size()
+                + ", hits=" + hitCount + ", misses=" + missCount + ", evictions=" + evictionCount + "}";
+    }
+
+    /**
+     * The decoded data of a stream together with the results of its filters.
+     */
+    static final class Entry {
+        final byte[] data;
+        final List<DecodeResult> decodeResults;
+
+        Entry(byte[] data, List<DecodeResult> decodeResults) {
+            this.data = data;
+            this.decodeResults = decodeResults;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package lpdf.pdfbox.cos;
+
+/**
+ * A gate which is passed by one thread at a time, for work which may dereference objects such as reading cross
+ * reference tables. Unlike a monitor the threads waiting at the gate are known to the deadlock detection of
+ * {@link COSObject#getObject()}: the thread owning the gate doesn't wait for an object which is dereferenced by a
+ * thread waiting at the gate, and a thread doesn't wait at the gate if its owner waits for the thread.
+ * <p>
+ * The gate isn't reentrant, {@link #enter()} returns false if the current thread owns the gate already.
+ */
+public final class DereferencingGate {
+    // the thread which has entered the gate, guarded by the monitor of the gate
+    private volatile Thread owner;
+
+    /**
+     * Waits until the gate is free and enters it. The gate isn't entered if the current thread owns the gate already,
+     * if the owner waits, directly or indirectly, for an object dereferenced by the current thread or if the current
+     * thread is interrupted.
+     *
+     * @return true if the gate was entered, it has to be left using {@link #exit()} in that case
+     */
+    public synchronized boolean enter() {
+        Thread currentThread = Thread.currentThread();
+        while (owner != null) {
+            if (owner == currentThread || COSObject.isWaitingFor(owner, currentThread)) {
+                return false;
+            }
+            COSObject.WAITING_THREADS.put(currentThread, () -> owner);
+            try {
+                wait(COSObject.WAIT_INTERVAL);
+            } catch (InterruptedException e) {
+                currentThread.interrupt();
+                return false;
+            } finally {
+                COSObject.WAITING_THREADS.remove(currentThread);
+            }
+        }
+        owner = currentThread;
+        return true;
+    }
+
+    /**
+     * Leaves the gate which was entered by the current thread.
+     */
+    public synchronized void exit() {
+        owner = null;
+        notifyAll();
+    }
+}
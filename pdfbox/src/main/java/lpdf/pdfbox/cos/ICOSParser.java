@@ -42,4 +42,13 @@ public interface ICOSParser {
     RandomAccessReadView createRandomAccessReadView(long startPosition, long streamLength)
             throws IOException;
 
+    /**
+     * Reads the cross reference tables which were skipped by the initial parse, if there are any. This is the case if
+     * only the first page cross reference table of a linearized pdf was read.
+     *
+     * @throws IOException if something went wrong when reading the cross reference tables
+     */
+    default void loadDeferredXref() throws IOException {
+    }
+
 }
@@ -0,0 +1,154 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package lpdf.pdfbox.cos;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+
+/**
+ * The indirect objects of a document, kept in an array indexed by object number. Objects which don't fit into the
+ * array, i.e. a second generation of an object number or object numbers far beyond the others, are kept in a map. It
+ * is safe for use by multiple threads.
+ * <p>
+ * Lookups don't lock, objects are added to the array by compare and set. Only replacing the array by a larger one
+ * takes a lock. The slots of the replaced array are marked as moved while they are copied, so that no object is added
+ * to it afterwards. Objects which don't fit into the array because of their object number are added to the map while
+ * holding the lock as well, so that the array doesn't grow in between.
+ */
+final class ObjectPool {
+    // marks the slots of an array which is replaced by a larger one
+    private static final COSObject MOVED = new COSObject(null);
+
+    private volatile AtomicReferenceArray<COSObject> objects = new AtomicReferenceArray<>(0);
+    // number of objects within the array
+    private final AtomicInteger denseSize = new AtomicInteger();
+    private final Map<COSObjectKey, COSObject> overflow = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the object with the given key, which is created if there is no such object yet.
+     *
+     * @param key     the key of the object
+     * @param factory the function creating the object
+     * @return the object
+     */
+    COSObject computeIfAbsent(COSObjectKey key, Function<COSObjectKey, COSObject> factory) {
+        long number = key.getNumber();
+        while (true) {
+            AtomicReferenceArray<COSObject> objects = this.objects;
+            if (number >= objects.length()) {
+                COSObject object = growOrPutOverflow(key, factory);
+                if (object != null) {
+                    return object;
+                }
+                continue;
+            }
+            int index = (int) number;
+            COSObject object = objects.get(index);
+            if (object == MOVED) {
+                awaitGrowth();
+                continue;
+            }
+            if (object != null && object.getGenerationNumber() == key.getGeneration()) {
+                return object;
+            }
+            if (!overflow.isEmpty()) {
+                COSObject overflowObject = overflow.get(key);
+                if (overflowObject != null) {
+                    return overflowObject;
+                }
+            }
+            if (object != null) {
+                // another generation of the same object number
+                return overflow.computeIfAbsent(key, factory);
+            }
+            COSObject created = factory.apply(key);
+            if (objects.compareAndSet(index, null, created)) {
+                denseSize.incrementAndGet();
+                return created;
+            }
+            // another thread added an object or the array is being replaced, look once again
+        }
+    }
+
+    /**
+     * Returns all objects of the pool.
+     *
+     * @return a copy of the objects
+     */
+    List<COSObject> values() {
+        while (true) {
+            AtomicReferenceArray<COSObject> objects = this.objects;
+            List<COSObject> values = new ArrayList<>(denseSize.get() + overflow.size());
+            boolean moved = false;
+            for (int i = 0; i < objects.length() && !moved; i++) {
+                COSObject object = objects.get(i);
+                if (object == MOVED) {
+                    moved = true;
+                } else if (object != null) {
+                    values.add(object);
+                }
+            }
+            if (!moved) {
+                values.addAll(overflow.values());
+                return values;
+            }
+            awaitGrowth();
+        }
+    }
+
+    /**
+     * Replaces the array by a larger one which holds the given object number. If the object number shouldn't be kept
+     * in the array, the object is taken from the map instead.
+     *
+     * @return the object from the map or null if the object has to be looked up in the array
+     */
+    private synchronized COSObject growOrPutOverflow(COSObjectKey key, Function<COSObjectKey, COSObject> factory) {
+        AtomicReferenceArray<COSObject> objects = this.objects;
+        long number = key.getNumber();
+        if (number < objects.length()) {
+            // another thread replaced the array
+            return null;
+        }
+        int length = XrefIndex.grownLength(number, objects.length(), denseSize.get());
+        if (length < 0) {
+            return overflow.computeIfAbsent(key, factory);
+        }
+        AtomicReferenceArray<COSObject> grown = new AtomicReferenceArray<>(length);
+        for (int i = 0; i < objects.length(); i++) {
+            COSObject object = objects.getAndSet(i, MOVED);
+            if (object != null) {
+                grown.lazySet(i, object);
+            }
+        }
+        this.objects = grown;
+        return null;
+    }
+
+    /**
+     * Waits until the array, which was found to be replaced, is published.
+     */
+    private void awaitGrowth() {
+        synchronized (this) {
+            // the new array is published before the lock is released
+        }
+    }
+}
@@ -0,0 +1,407 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package lpdf.pdfbox.cos;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The cross reference index of a document, mapping object keys to byte offsets in the file or, for objects within an
+ * object stream, to the negated number of the object stream.
+ * <p>
+ * The entries are kept in an array indexed by object number, each entry is packed into a single long holding the
+ * generation and the offset, or the number of the object stream and the index within it. Entries which can't be
+ * packed, i.e. a second generation of an object number, very large offsets or object numbers far beyond the others,
+ * are kept in a map. The index is a {@link Map} itself, the map operations are backed by the packed entries. Like
+ * {@link java.util.HashMap} it keeps the original key when the value of an entry is replaced.
+ * <p>
+ * It is safe for use by multiple threads. Lookups don't lock, only modifications are synchronized. Its iterators are
+ * weakly consistent.
+ */
+public final class XrefIndex extends AbstractMap<COSObjectKey, Long> {
+    // the type of a packed entry is kept in the two highest bits, an empty entry is 0
+    private static final long EMPTY = 0;
+    private static final long OFFSET_ENTRY = 1L << 62;
+    private static final long COMPRESSED_ENTRY = 2L << 62;
+    private static final long TYPE_MASK = 3L << 62;
+
+    // an offset entry holds the generation in the lowest 16 bits and the offset in the 46 bits above
+    private static final int GENERATION_BITS = 16;
+    private static final long GENERATION_MASK = (1L << GENERATION_BITS) - 1;
+    private static final long MAX_OFFSET = (1L << 46) - 1;
+
+    // a compressed entry holds the stream index + 1 in the lowest 30 bits and the object stream number above
+    private static final int STREAM_INDEX_BITS = 30;
+    private static final long STREAM_INDEX_MASK = (1L << STREAM_INDEX_BITS) - 1;
+    private static final long MAX_OBJECT_STREAM_NUMBER = (1L << 32) - 1;
+
+    // object numbers below this limit are always kept in the array
+    private static final int MIN_DENSE_LIMIT = 1 << 12;
+    private static final int MAX_ARRAY_LENGTH = Integer.MAX_VALUE - 8;
+
+    // replaced as a whole when it grows, the elements are written by the synchronized modifications only
+    private volatile AtomicLongArray entries = new AtomicLongArray(0);
+    // number of entries within the array
+    private volatile int denseSize;
+    // the entries which can't be packed, keyed by themselves to keep the stream index of the key
+    private final Map<COSObjectKey, SimpleImmutableEntry<COSObjectKey, Long>> overflow = new ConcurrentHashMap<>();
+
+    private final Set<Entry<COSObjectKey, Long>> entrySet = new EntrySet();
+
+    /**
+     * Returns the new length of an array indexed by object number, which is needed to hold the given object number.
+     * Object numbers which are far beyond the number of objects, e.g. in broken files, aren't kept in such an array.
+     *
+     * @param number the object number
+     * @param length the current length of the array
+     * @param count  the number of objects in the array
+     * @return the new length or -1 if the object number shouldn't be kept in an array
+     */
+    static int grownLength(long number, int length, int count) {
+        long limit = Math.max(MIN_DENSE_LIMIT, 4L * count);
+        if (number >= limit || number >= MAX_ARRAY_LENGTH) {
+            return -1;
+        }
+        return (int) Math.min(Math.max(number + 1, Math.max(length + (length >> 1), 16)), MAX_ARRAY_LENGTH);
+    }
+
+    /**
+     * Returns the key of the entry with the given object and generation number. Unlike a newly created key it contains
+     * the index within the object stream of a compressed object.
+     *
+     * @param number     the object number
+     * @param generation the generation number
+     * @return the key or null if there is no such entry
+     */
+    public COSObjectKey getKey(long number, int generation) {
+        long entry = denseEntry(entries, number, generation);
+        if (entry != EMPTY) {
+            return toKey(number, entry);
+        }
+        if (overflow.isEmpty()) {
+            return null;
+        }
+        SimpleImmutableEntry<COSObjectKey, Long> overflowEntry = overflow.get(new COSObjectKey(number, generation));
+        return overflowEntry != null ? overflowEntry.getKey() : null;
+    }
+
+    /**
+     * Returns the highest object number of all entries.
+     *
+     * @return the highest object number or 0 if the index is empty
+     */
+    public long getHighestObjectNumber() {
+        AtomicLongArray entries = this.entries;
+        long highest = 0;
+        for (int number = entries.length() - 1; number > 0; number--) {
+            if (entries.get(number) != EMPTY) {
+                highest = number;
+                break;
+            }
+        }
+        for (COSObjectKey key : overflow.keySet()) {
+            highest = Math.max(highest, key.getNumber());
+        }
+        return highest;
+    }
+
+    @Override
+    public Long get(Object key) {
+        if (!(key instanceof COSObjectKey)) {
+            return null;
+        }
+        COSObjectKey objectKey = (COSObjectKey) key;
+        long entry = denseEntry(entries, objectKey.getNumber(), objectKey.getGeneration());
+        if (entry != EMPTY) {
+            return value(entry);
+        }
+        if (overflow.isEmpty()) {
+            return null;
+        }
+        SimpleImmutableEntry<COSObjectKey, Long> overflowEntry = overflow.get(objectKey);
+        return overflowEntry != null ? overflowEntry.getValue() : null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public synchronized Long put(COSObjectKey key, Long value) {
+        if (key == null || value == null) {
+            throw new NullPointerException();
+        }
+        long number = key.getNumber();
+        int generation = key.getGeneration();
+        if (number < entries.length() || growTo(number)) {
+            AtomicLongArray entries = this.entries;
+            int index = (int) number;
+            long entry = entries.get(index);
+            if (entry == EMPTY) {
+                // an entry which didn't fit into the array before keeps its key
+                SimpleImmutableEntry<COSObjectKey, Long> previous = overflow.isEmpty() ? null : overflow.get(key);
+                COSObjectKey storedKey = previous != null ? previous.getKey() : key;
+                long packed = pack(generation, storedKey.getStreamIndex(), value);
+                if (packed != EMPTY) {
+                    entries.set(index, packed);
+                    denseSize++;
+                    if (previous != null) {
+                        overflow.remove(key);
+                    }
+                    return previous != null ? previous.getValue() : null;
+                }
+            } else if (generation(entry) == generation) {
+                COSObjectKey storedKey = toKey(number, entry);
+                long packed = pack(generation, storedKey.getStreamIndex(), value);
+                if (packed != EMPTY) {
+                    entries.set(index, packed);
+                } else {
+                    // the entry is added to the map before it is removed from the array, so it is always found
+                    overflow.put(storedKey, new SimpleImmutableEntry<>(storedKey, value));
+                    entries.set(index, EMPTY);
+                    denseSize--;
+                }
+                return value(entry);
+            }
+        }
+        return putOverflow(key, value);
+    }
+
+    @Override
+    public void putAll(Map<? extends COSObjectKey, ? extends Long> map) {
+        if (!(map instanceof XrefIndex)) {
+            super.putAll(map);
+            return;
+        }
+        XrefIndex other = (XrefIndex) map;
+        AtomicLongArray otherEntries = other.entries;
+        synchronized (this) {
+            for (int number = 0; number < otherEntries.length(); number++) {
+                long entry = otherEntries.get(number);
+                if (entry == EMPTY) {
+                    continue;
+                }
+                if ((number < entries.length() || growTo(number)) && entries.get(number) == EMPTY
+                        && overflow.isEmpty()) {
+                    entries.set(number, entry);
+                    denseSize++;
+                } else {
+                    put(toKey(number, entry), value(entry));
+                }
+            }
+            for (SimpleImmutableEntry<COSObjectKey, Long> entry : other.overflow.values()) {
+                put(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    @Override
+    public synchronized Long remove(Object key) {
+        if (!(key instanceof COSObjectKey)) {
+            return null;
+        }
+        COSObjectKey objectKey = (COSObjectKey) key;
+        long number = objectKey.getNumber();
+        long entry = denseEntry(entries, number, objectKey.getGeneration());
+        if (entry != EMPTY) {
+            entries.set((int) number, EMPTY);
+            denseSize--;
+            return value(entry);
+        }
+        if (overflow.isEmpty()) {
+            return null;
+        }
+        SimpleImmutableEntry<COSObjectKey, Long> previous = overflow.remove(objectKey);
+        return previous != null ? previous.getValue() : null;
+    }
+
+    @Override
+    public int size() {
+        return denseSize + overflow.size();
+    }
+
+    @Override
+    public synchronized void clear() {
+        entries = new AtomicLongArray(0);
+        denseSize = 0;
+        overflow.clear();
+    }
+
+    @Override
+    public Set<Entry<COSObjectKey, Long>> entrySet() {
+        return entrySet;
+    }
+
+    /**
+     * Puts the given entry into the map, an existing entry keeps its key.
+     *
+     * @return the previous value or null if there was no such entry
+     */
+    private Long putOverflow(COSObjectKey key, Long value) {
+        SimpleImmutableEntry<COSObjectKey, Long> previous = overflow.get(key);
+        COSObjectKey storedKey = previous != null ? previous.getKey() : key;
+        overflow.put(storedKey, new SimpleImmutableEntry<>(storedKey, value));
+        return previous != null ? previous.getValue() : null;
+    }
+
+    /**
+     * Returns the packed entry for the given object and generation number from the given array.
+     *
+     * @return the entry or {@link #EMPTY} if there is no such entry in the array
+     */
+    private static long denseEntry(AtomicLongArray entries, long number, int generation) {
+        if (number >= entries.length()) {
+            return EMPTY;
+        }
+        long entry = entries.get((int) number);
+        return entry != EMPTY && generation(entry) == generation ? entry : EMPTY;
+    }
+
+    /**
+     * Replaces the array by a larger copy. The copy is published after it is filled, lookups read either array.
+     */
+    private boolean growTo(long number) {
+        AtomicLongArray entries = this.entries;
+        int length = grownLength(number, entries.length(), denseSize);
+        if (length < 0) {
+            return false;
+        }
+        AtomicLongArray grown = new AtomicLongArray(length);
+        for (int i = 0; i < entries.length(); i++) {
+            long entry = entries.get(i);
+            if (entry != EMPTY) {
+                grown.lazySet(i, entry);
+            }
+        }
+        this.entries = grown;
+        return true;
+    }
+
+    /**
+     * Packs the given values into an entry.
+     *
+     * @return the entry or {@link #EMPTY} if the values can't be packed
+     */
+    private static long pack(int generation, int streamIndex, long value) {
+        if (streamIndex == -1 && value >= 0 && value <= MAX_OFFSET) {
+            return OFFSET_ENTRY | value << GENERATION_BITS | generation;
+        }
+        if (generation == 0 && value < 0 && value >= -MAX_OBJECT_STREAM_NUMBER && streamIndex >= -1
+                && streamIndex < STREAM_INDEX_MASK) {
+            return COMPRESSED_ENTRY | -value << STREAM_INDEX_BITS | (streamIndex + 1);
+        }
+        return EMPTY;
+    }
+
+    private static int generation(long entry) {
+        return (entry & TYPE_MASK) == OFFSET_ENTRY ? (int) (entry & GENERATION_MASK) : 0;
+    }
+
+    private static long value(long entry) {
+        if ((entry & TYPE_MASK) == OFFSET_ENTRY) {
+            return entry >>> GENERATION_BITS & MAX_OFFSET;
+        }
+        return -(entry >>> STREAM_INDEX_BITS & MAX_OBJECT_STREAM_NUMBER);
+    }
+
+    private static COSObjectKey toKey(long number, long entry) {
+        if ((entry & TYPE_MASK) == OFFSET_ENTRY) {
+            return new COSObjectKey(number, generation(entry));
+        }
+        int streamIndex = (int) (entry & STREAM_INDEX_MASK) - 1;
+        return streamIndex == -1 ? new COSObjectKey(number, 0) : new COSObjectKey(number, 0, streamIndex);
+    }
+
+    private final class EntrySet extends AbstractSet<Entry<COSObjectKey, Long>> {
+        @Override
+        public Iterator<Entry<COSObjectKey, Long>> iterator() {
+            return new EntryIterator();
+        }
+
+        @Override
+        public int size() {
+            return XrefIndex.this.size();
+        }
+
+        @Override
+        public void clear() {
+            XrefIndex.this.clear();
+        }
+    }
+
+    /**
+     * Iterates over the entries of the array, reading one entry at a time, and over the other entries.
+     */
+    private final class EntryIterator implements Iterator<Entry<COSObjectKey, Long>> {
+        private final Iterator<SimpleImmutableEntry<COSObjectKey, Long>> overflowEntries = overflow.values().iterator();
+        private int nextNumber = -1;
+        private long nextEntry = EMPTY;
+        private COSObjectKey lastKey;
+
+        private EntryIterator() {
+            advance();
+        }
+
+        private void advance() {
+            AtomicLongArray entries = XrefIndex.this.entries;
+            nextEntry = EMPTY;
+            while (++nextNumber < entries.length()) {
+                long entry = entries.get(nextNumber);
+                if (entry != EMPTY) {
+                    nextEntry = entry;
+                    return;
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextEntry != EMPTY || overflowEntries.hasNext();
+        }
+
+        @Override
+        public Entry<COSObjectKey, Long> next() {
+            Entry<COSObjectKey, Long> next;
+            if (nextEntry != EMPTY) {
+                next = new SimpleImmutableEntry<>(toKey(nextNumber, nextEntry), value(nextEntry));
+                advance();
+            } else if (overflowEntries.hasNext()) {
+                next = overflowEntries.next();
+            } else {
+                throw new NoSuchElementException();
+            }
+            lastKey = next.getKey();
+            return next;
+        }
+
+        @Override
+        public void remove() {
+            if (lastKey == null) {
+                throw new IllegalStateException();
+            }
+            XrefIndex.this.remove(lastKey);
+            lastKey = null;
+        }
+    }
+}
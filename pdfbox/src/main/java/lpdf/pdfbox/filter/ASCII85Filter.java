@@ -39,6 +39,12 @@ final class ASCII85Filter extends Filter {
         return new DecodeResult(parameters);
     }
 
+    @Override
+    public InputStream createDecodingStream(InputStream encoded, COSDictionary parameters, int index,
+                                            DecodeOptions options) {
+        return new ASCII85InputStream(encoded);
+    }
+
     @Override
     protected void encode(InputStream input, OutputStream encoded, COSDictionary parameters)
             throws IOException {
@@ -40,6 +40,16 @@ public final class DecodeResult {
         return new DecodeResult(new COSDictionary());
     }
 
+    /**
+     * Return a DecodeResult holding the given stream parameters, used if the parameters don't need to be repaired.
+     *
+     * @param parameters the stream parameters
+     * @return a DecodeResult holding the given parameters
+     */
+    public static DecodeResult create(COSDictionary parameters) {
+        return new DecodeResult(parameters);
+    }
+
     /**
      * Returns the stream parameters, repaired using the embedded stream data.
      *
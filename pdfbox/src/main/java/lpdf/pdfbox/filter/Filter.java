@@ -81,6 +81,24 @@ public abstract class Filter {
         return decode(encoded, decoded, parameters, index);
     }
 
+    /**
+     * Returns a stream which decodes the data while it is read, so that the decoded data doesn't have to be held in
+     * memory. The decoded data is the same as the one written by
+     * {@link #decode(InputStream, OutputStream, COSDictionary, int, DecodeOptions)}, the parameters are used as they
+     * are. Filters which can only decode the data as a whole return null.
+     *
+     * @param encoded    the encoded byte stream
+     * @param parameters the parameters used for decoding
+     * @param index      the index to the filter being decoded
+     * @param options    additional options for decoding
+     * @return the decoding stream or null if decoding on the fly isn't supported by this filter
+     * @throws IOException if the stream cannot be decoded
+     */
+    public InputStream createDecodingStream(InputStream encoded, COSDictionary parameters, int index,
+                                            DecodeOptions options) throws IOException {
+        return null;
+    }
+
     /**
      * Encodes data.
      *
@@ -18,16 +18,12 @@ package lpdf.pdfbox.filter;
 
 import lpdf.io.IOUtils;
 import lpdf.pdfbox.cos.COSDictionary;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.util.zip.DataFormatException;
 import java.util.zip.Deflater;
 import java.util.zip.DeflaterOutputStream;
-import java.util.zip.Inflater;
 
 /**
  * Decompresses data encoded using the zlib/deflate compression method,
@@ -37,70 +33,19 @@ import java.util.zip.Inflater;
  * @author Marcel Kammer
  */
 final class FlateFilter extends Filter {
-    private static final Logger LOG = LoggerFactory.getLogger(FlateFilter.class);
-
     @Override
     public DecodeResult decode(InputStream encoded, OutputStream decoded,
                                COSDictionary parameters, int index) throws IOException {
-        final COSDictionary decodeParams = getDecodeParams(parameters, index);
-
-        try {
-            decompress(encoded, Predictor.wrapPredictor(decoded, decodeParams));
-        } catch (DataFormatException e) {
-            // if the stream is corrupt a DataFormatException may occur
-            LOG.error("FlateFilter: stop reading corrupt stream due to a DataFormatException");
-
-            // re-throw the exception
-            throw new IOException(e);
-        }
+        // the encoded stream is left open, the inflater is released at the end of the data
+        IOUtils.copy(createDecodingStream(encoded, parameters, index, DecodeOptions.DEFAULT), decoded);
+        decoded.flush();
         return new DecodeResult(parameters);
     }
 
-    // Use Inflater instead of InflateInputStream to avoid an EOFException due to a probably
-    // missing Z_STREAM_END, see PDFBOX-1232 for details
-    private void decompress(InputStream in, OutputStream out) throws IOException, DataFormatException {
-        byte[] buf = new byte[2048];
-        // skip zlib header
-        in.read();
-        in.read();
-        int read = in.read(buf);
-        if (read > 0) {
-            // use nowrap mode to bypass zlib-header and checksum to avoid a DataFormatException
-            Inflater inflater = new Inflater(true);
-            inflater.setInput(buf, 0, read);
-            byte[] res = new byte[1024];
-            boolean dataWritten = false;
-            try {
-                while (true) {
-                    int resRead = 0;
-                    try {
-                        resRead = inflater.inflate(res);
-                    } catch (DataFormatException exception) {
-                        if (dataWritten) {
-                            // some data could be read -> don't throw an exception
-                            LOG.warn("FlateFilter: premature end of stream due to a DataFormatException");
-                            break;
-                        } else {
-                            // nothing could be read -> re-throw exception
-                            throw exception;
-                        }
-                    }
-                    if (resRead != 0) {
-                        out.write(res, 0, resRead);
-                        dataWritten = true;
-                        continue;
-                    }
-                    if (inflater.finished() || inflater.needsDictionary() || in.available() == 0) {
-                        break;
-                    }
-                    read = in.read(buf);
-                    inflater.setInput(buf, 0, read);
-                }
-            } finally {
-                inflater.end();
-            }
-        }
-        out.flush();
+    @Override
+    public InputStream createDecodingStream(InputStream encoded, COSDictionary parameters, int index,
+                                            DecodeOptions options) {
+        return Predictor.wrapPredictor(new FlateInputStream(encoded), getDecodeParams(parameters, index));
     }
 
     @Override
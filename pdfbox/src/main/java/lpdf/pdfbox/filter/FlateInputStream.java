@@ -0,0 +1,180 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package lpdf.pdfbox.filter;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * An input stream which inflates zlib/deflate compressed data while it is read.
+ * <p>
+ * An Inflater is used instead of InflaterInputStream to avoid an EOFException due to a probably missing Z_STREAM_END,
+ * see PDFBOX-1232 for details. The zlib header is skipped and the checksum is ignored, a corrupt stream ends silently
+ * if some data could be inflated before.
+ * <p>
+ * Inflaters and their input buffers are taken from the {@link InflaterPool} and returned as soon as the end of the
+ * data is reached or the stream is closed. The compressed data is read in chunks as large as the number of available
+ * bytes, up to {@link InflaterPool#MAX_BUFFER_SIZE}, so that an in-memory or memory mapped source is usually passed
+ * to the inflater in a single read.
+ */
+final class FlateInputStream extends FilterInputStream {
+    private static final Logger LOG = LoggerFactory.getLogger(FlateInputStream.class);
+
+    private final byte[] single = new byte[1];
+    // null if the end of the stream is reached
+    private InflaterPool.PooledInflater pooledInflater;
+    private Inflater inflater;
+    private byte[] buffer;
+    private boolean started = false;
+    private boolean dataRead = false;
+
+    /**
+     * Constructor.
+     *
+     * @param in the compressed input stream
+     */
+    FlateInputStream(InputStream in) {
+        super(in);
+        pooledInflater = InflaterPool.acquire();
+        inflater = pooledInflater.inflater;
+    }
+
+    @Override
+    public int read() throws IOException {
+        return read(single, 0, 1) == -1 ? -1 : single[0] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (inflater == null) {
+            return -1;
+        }
+        if (len == 0) {
+            return 0;
+        }
+        if (!started) {
+            started = true;
+            if (!fillInput(2)) {
+                return -1;
+            }
+        }
+        while (true) {
+            int read;
+            try {
+                read = inflater.inflate(b, off, len);
+            } catch (DataFormatException exception) {
+                end();
+                if (dataRead) {
+                    // some data could be read -> don't throw an exception
+                    LOG.warn("FlateFilter: premature end of stream due to a DataFormatException");
+                    return -1;
+                }
+                // if the stream is corrupt a DataFormatException may occur
+                LOG.error("FlateFilter: stop reading corrupt stream due to a DataFormatException");
+                throw new IOException(exception);
+            }
+            if (read > 0) {
+                dataRead = true;
+                return read;
+            }
+            if (inflater.finished() || inflater.needsDictionary() || !inflater.needsInput() || !fillInput(0)) {
+                end();
+                return -1;
+            }
+        }
+    }
+
+    /**
+     * Reads the next chunk of compressed data and passes it to the inflater.
+     *
+     * @param skip the number of leading bytes to be skipped, used for the zlib header
+     * @return false if there is no more data
+     */
+    private boolean fillInput(int skip) throws IOException {
+        buffer = pooledInflater.getBuffer(InflaterPool.bufferSize(in.available() - skip,
+                buffer != null ? buffer.length : 0) + skip);
+        int length = 0;
+        int read;
+        while ((read = in.read(buffer, length, buffer.length - length)) > 0) {
+            length += read;
+            if (length > skip) {
+                break;
+            }
+        }
+        if (length <= skip) {
+            end();
+            return false;
+        }
+        inflater.setInput(buffer, skip, length - skip);
+        return true;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        byte[] skipBuffer = new byte[(int) Math.min(n, 2048)];
+        long skipped = 0;
+        while (skipped < n) {
+            int read = read(skipBuffer, 0, (int) Math.min(n - skipped, skipBuffer.length));
+            if (read == -1) {
+                break;
+            }
+            skipped += read;
+        }
+        return skipped;
+    }
+
+    @Override
+    public int available() {
+        return inflater == null ? 0 : 1;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    @Override
+    public synchronized void mark(int readlimit) {
+        // not supported
+    }
+
+    @Override
+    public synchronized void reset() throws IOException {
+        throw new IOException("mark/reset not supported");
+    }
+
+    private void end() {
+        if (inflater != null) {
+            InflaterPool.release(pooledInflater);
+            pooledInflater = null;
+            inflater = null;
+            buffer = null;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        end();
+        super.close();
+    }
+}
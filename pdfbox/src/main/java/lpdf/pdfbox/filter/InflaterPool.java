@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package lpdf.pdfbox.filter;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.Inflater;
+
+/**
+ * A pool of inflaters and their input buffers used to decode Flate streams.
+ * <p>
+ * Setting up an Inflater allocates native memory, which is expensive for documents with tens of thousands of small
+ * Flate streams. Inflaters are reset and reused instead, the pool is shared by all threads and holds a limited number
+ * of idle inflaters.
+ */
+final class InflaterPool {
+    /**
+     * The size of the smallest input buffer.
+     */
+    static final int MIN_BUFFER_SIZE = 2048;
+
+    /**
+     * The size of the largest input buffer.
+     */
+    static final int MAX_BUFFER_SIZE = 65536;
+
+    private static final int MAX_IDLE_INFLATERS = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+
+    private static final BlockingQueue<PooledInflater> IDLE_INFLATERS =
+            new ArrayBlockingQueue<>(MAX_IDLE_INFLATERS);
+
+    private InflaterPool() {
+    }
+
+    /**
+     * Returns an idle inflater or a new one if the pool is empty.
+     *
+     * @return an inflater in nowrap mode
+     */
+    static PooledInflater acquire() {
+        PooledInflater inflater = IDLE_INFLATERS.poll();
+        return inflater != null ? inflater : new PooledInflater();
+    }
+
+    /**
+     * Returns the given inflater to the pool. The inflater is released if the pool is full.
+     *
+     * @param inflater the inflater which isn't used anymore
+     */
+    static void release(PooledInflater inflater) {
+        inflater.inflater.reset();
+        if (!IDLE_INFLATERS.offer(inflater)) {
+            inflater.inflater.end();
+        }
+    }
+
+    /**
+     * Returns the number of idle inflaters.
+     *
+     * @return the number of idle inflaters
+     */
+    static int idleCount() {
+        return IDLE_INFLATERS.size();
+    }
+
+    /**
+     * Calculates the size of the input buffer for a stream.
+     *
+     * @param available the number of bytes which are known to be available, 0 if unknown
+     * @param current   the size of the current buffer, 0 if there isn't any
+     * @return the size of the input buffer
+     */
+    static int bufferSize(int available, int current) {
+        if (available > 0) {
+            // read the whole stream at once if possible
+            return Math.max(MIN_BUFFER_SIZE, Math.min(available, MAX_BUFFER_SIZE));
+        }
+        // unknown size, grow with each read
+        return Math.max(MIN_BUFFER_SIZE, Math.min(current * 2, MAX_BUFFER_SIZE));
+    }
+
+    /**
+     * An inflater together with its input buffer.
+     */
+    static final class PooledInflater {
+        // use nowrap mode to bypass zlib-header and checksum to avoid a DataFormatException
+        final Inflater inflater = new Inflater(true);
+        private byte[] buffer = new byte[0];
+
+        /**
+         * Returns the input buffer, which is replaced by a larger one if it is smaller than the given size.
+         *
+         * @param size the minimum size of the buffer
+         * @return the input buffer
+         */
+        byte[] getBuffer(int size) {
+            if (buffer.length < size) {
+                buffer = new byte[size];
+            }
+            return buffer;
+        }
+    }
+}
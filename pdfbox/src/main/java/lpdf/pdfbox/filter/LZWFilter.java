@@ -15,14 +15,11 @@
  */
 package lpdf.pdfbox.filter;
 
-import lpdf.harmony.imageio.stream.MemoryCacheImageInputStream;
 import lpdf.harmony.imageio.stream.MemoryCacheImageOutputStream;
+import lpdf.io.IOUtils;
 import lpdf.pdfbox.cos.COSDictionary;
 import lpdf.pdfbox.cos.COSName;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
-import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -37,11 +34,6 @@ import java.util.List;
  * @author Tilman Hausherr
  */
 public class LZWFilter extends Filter {
-    /**
-     * Log instance.
-     */
-    private static final Logger LOG = LoggerFactory.getLogger(LZWFilter.class);
-
     /**
      * The LZW clear table code.
      */
@@ -61,67 +53,21 @@ public class LZWFilter extends Filter {
     @Override
     public DecodeResult decode(InputStream encoded, OutputStream decoded,
                                COSDictionary parameters, int index) throws IOException {
-        COSDictionary decodeParams = getDecodeParams(parameters, index);
-        boolean earlyChange = decodeParams.getInt(COSName.EARLY_CHANGE, 1) != 0;
-        doLZWDecode(encoded, Predictor.wrapPredictor(decoded, decodeParams), earlyChange);
-        return new DecodeResult(parameters);
-    }
-
-    private static void doLZWDecode(InputStream encoded, OutputStream decoded, boolean earlyChange) throws IOException {
-        List<byte[]> codeTable = new ArrayList<>();
-        int chunk = 9;
-        final MemoryCacheImageInputStream in = new MemoryCacheImageInputStream(encoded);
-        long nextCommand;
-        long prevCommand = -1;
-
-        try {
-            while ((nextCommand = in.readBits(chunk)) != EOD) {
-                if (nextCommand == CLEAR_TABLE) {
-                    chunk = 9;
-                    codeTable = createCodeTable();
-                    prevCommand = -1;
-                } else {
-                    if (nextCommand < codeTable.size()) {
-                        byte[] data = codeTable.get((int) nextCommand);
-                        byte firstByte = data[0];
-                        decoded.write(data);
-                        if (prevCommand != -1) {
-                            checkIndexBounds(codeTable, prevCommand, in);
-                            data = codeTable.get((int) prevCommand);
-                            byte[] newData = Arrays.copyOf(data, data.length + 1);
-                            newData[data.length] = firstByte;
-                            codeTable.add(newData);
-                        }
-                    } else {
-                        checkIndexBounds(codeTable, prevCommand, in);
-                        byte[] data = codeTable.get((int) prevCommand);
-                        byte[] newData = Arrays.copyOf(data, data.length + 1);
-                        newData[data.length] = data[0];
-                        decoded.write(newData);
-                        codeTable.add(newData);
-                    }
-
-                    chunk = calculateChunk(codeTable.size(), earlyChange);
-                    prevCommand = nextCommand;
-                }
-            }
-        } catch (EOFException ex) {
-            LOG.warn("Premature EOF in LZW stream, EOD code missing", ex);
-        }
+        // the encoded stream is left open
+        IOUtils.copy(createDecodingStream(encoded, parameters, index, DecodeOptions.DEFAULT), decoded);
         decoded.flush();
+        return new DecodeResult(parameters);
     }
 
-    private static void checkIndexBounds(List<byte[]> codeTable, long index, MemoryCacheImageInputStream in)
-            throws IOException {
-        if (index < 0) {
-            throw new IOException("negative array index: " + index + " near offset "
-                    + in.getStreamPosition());
-        }
-        if (index >= codeTable.size()) {
-            throw new IOException("array index overflow: " + index +
-                    " >= " + codeTable.size() + " near offset "
-                    + in.getStreamPosition());
-        }
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public InputStream createDecodingStream(InputStream encoded, COSDictionary parameters, int index,
+                                            DecodeOptions options) {
+        COSDictionary decodeParams = getDecodeParams(parameters, index);
+        boolean earlyChange = decodeParams.getInt(COSName.EARLY_CHANGE, 1) != 0;
+        return Predictor.wrapPredictor(new LZWInputStream(encoded, earlyChange), decodeParams);
     }
 
     /**
@@ -215,7 +161,7 @@ public class LZWFilter extends Filter {
     /**
      * Init the code table with 1 byte entries and the EOD and CLEAR_TABLE markers.
      */
-    private static List<byte[]> createCodeTable() {
+    static List<byte[]> createCodeTable() {
         List<byte[]> codeTable = new ArrayList<>(4096);
         codeTable.addAll(INITIAL_CODE_TABLE);
         return codeTable;
@@ -240,7 +186,7 @@ public class LZWFilter extends Filter {
      * @param earlyChange true for early chunk increase
      * @return a value between 9 and 12
      */
-    private static int calculateChunk(int tabSize, boolean earlyChange) {
+    static int calculateChunk(int tabSize, boolean earlyChange) {
         int i = tabSize + (earlyChange ? 1 : 0);
         if (i >= 2048) {
             return 12;
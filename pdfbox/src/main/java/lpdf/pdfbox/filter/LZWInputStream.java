@@ -0,0 +1,194 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package lpdf.pdfbox.filter;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * An input stream which decodes LZW compressed data while it is read.
+ */
+final class LZWInputStream extends FilterInputStream {
+    private static final Logger LOG = LoggerFactory.getLogger(LZWInputStream.class);
+
+    private final boolean earlyChange;
+    private final byte[] single = new byte[1];
+
+    private List<byte[]> codeTable = new ArrayList<>();
+    private int chunk = 9;
+    private long prevCommand = -1;
+    private boolean eod = false;
+
+    // bits read from the underlying stream which aren't consumed yet
+    private long bitBuffer;
+    private int bitCount;
+    // number of bytes read from the underlying stream
+    private long streamPosition;
+
+    // decoded data which isn't returned yet
+    private byte[] pending;
+    private int pendingOffset;
+
+    /**
+     * Constructor.
+     *
+     * @param in          the encoded input stream
+     * @param earlyChange true for early chunk increase
+     */
+    LZWInputStream(InputStream in, boolean earlyChange) {
+        super(in);
+        this.earlyChange = earlyChange;
+    }
+
+    @Override
+    public int read() throws IOException {
+        return read(single, 0, 1) == -1 ? -1 : single[0] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        int read = 0;
+        while (read < len) {
+            if (pending == null || pendingOffset == pending.length) {
+                if (eod) {
+                    break;
+                }
+                decodeNextCode();
+                continue;
+            }
+            int count = Math.min(len - read, pending.length - pendingOffset);
+            System.arraycopy(pending, pendingOffset, b, off + read, count);
+            pendingOffset += count;
+            read += count;
+        }
+        return read == 0 ? -1 : read;
+    }
+
+    private void decodeNextCode() throws IOException {
+        long nextCommand;
+        try {
+            nextCommand = readBits(chunk);
+        } catch (EOFException ex) {
+            LOG.warn("Premature EOF in LZW stream, EOD code missing", ex);
+            eod = true;
+            return;
+        }
+        if (nextCommand == LZWFilter.EOD) {
+            eod = true;
+        } else if (nextCommand == LZWFilter.CLEAR_TABLE) {
+            chunk = 9;
+            codeTable = LZWFilter.createCodeTable();
+            prevCommand = -1;
+        } else {
+            if (nextCommand < codeTable.size()) {
+                byte[] data = codeTable.get((int) nextCommand);
+                byte firstByte = data[0];
+                setPending(data);
+                if (prevCommand != -1) {
+                    checkIndexBounds(prevCommand);
+                    data = codeTable.get((int) prevCommand);
+                    byte[] newData = Arrays.copyOf(data, data.length + 1);
+                    newData[data.length] = firstByte;
+                    codeTable.add(newData);
+                }
+            } else {
+                checkIndexBounds(prevCommand);
+                byte[] data = codeTable.get((int) prevCommand);
+                byte[] newData = Arrays.copyOf(data, data.length + 1);
+                newData[data.length] = data[0];
+                setPending(newData);
+                codeTable.add(newData);
+            }
+            chunk = LZWFilter.calculateChunk(codeTable.size(), earlyChange);
+            prevCommand = nextCommand;
+        }
+    }
+
+    private void setPending(byte[] data) {
+        pending = data;
+        pendingOffset = 0;
+    }
+
+    private long readBits(int numBits) throws IOException {
+        while (bitCount < numBits) {
+            int next = in.read();
+            if (next == -1) {
+                throw new EOFException();
+            }
+            bitBuffer = (bitBuffer << 8) | next;
+            bitCount += 8;
+            streamPosition++;
+        }
+        bitCount -= numBits;
+        return (bitBuffer >>> bitCount) & ((1L << numBits) - 1);
+    }
+
+    private void checkIndexBounds(long index) throws IOException {
+        if (index < 0) {
+            throw new IOException("negative array index: " + index + " near offset "
+                    + streamPosition);
+        }
+        if (index >= codeTable.size()) {
+            throw new IOException("array index overflow: " + index +
+                    " >= " + codeTable.size() + " near offset "
+                    + streamPosition);
+        }
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = 0;
+        while (skipped < n && read() != -1) {
+            skipped++;
+        }
+        return skipped;
+    }
+
+    @Override
+    public int available() {
+        if (pending != null && pendingOffset < pending.length) {
+            return pending.length - pendingOffset;
+        }
+        return eod ? 0 : 1;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    @Override
+    public synchronized void mark(int readlimit) {
+        // not supported
+    }
+
+    @Override
+    public synchronized void reset() throws IOException {
+        throw new IOException("mark/reset not supported");
+    }
+}
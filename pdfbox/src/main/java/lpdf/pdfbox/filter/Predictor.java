@@ -18,9 +18,9 @@ package lpdf.pdfbox.filter;
 import lpdf.pdfbox.cos.COSDictionary;
 import lpdf.pdfbox.cos.COSName;
 
-import java.io.FilterOutputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
-import java.io.OutputStream;
+import java.io.InputStream;
 import java.util.Arrays;
 
 /**
@@ -193,33 +193,32 @@ public final class Predictor {
     }
 
     /**
-     * Wraps and <code>OutputStream</code> in a predictor decoding stream as necessary.
+     * Wraps an <code>InputStream</code> in a predictor decoding stream as necessary.
      * If no predictor is specified by the parameters, the original stream is returned as is.
      *
-     * @param out          The stream to which decoded data should be written
+     * @param in           The stream providing the data to be decoded
      * @param decodeParams Decode parameters for the stream
-     * @return An <code>OutputStream</code> is returned, which will write decoded data
-     * into the given stream. If no predictor is specified, the original stream is returned.
+     * @return An <code>InputStream</code> is returned, which will read decoded data
+     * from the given stream. If no predictor is specified, the original stream is returned.
      */
-    static OutputStream wrapPredictor(OutputStream out, COSDictionary decodeParams) {
+    static InputStream wrapPredictor(InputStream in, COSDictionary decodeParams) {
         int predictor = decodeParams.getInt(COSName.PREDICTOR);
         if (predictor > 1) {
             int colors = Math.min(decodeParams.getInt(COSName.COLORS, 1), 32);
             int bitsPerPixel = decodeParams.getInt(COSName.BITS_PER_COMPONENT, 8);
             int columns = decodeParams.getInt(COSName.COLUMNS, 1);
 
-            return new PredictorOutputStream(out, predictor, colors, bitsPerPixel, columns);
+            return new PredictorInputStream(in, predictor, colors, bitsPerPixel, columns);
         } else {
-            return out;
+            return in;
         }
     }
 
     /**
-     * Output stream that implements predictor decoding. Data is buffered until a complete
-     * row is available, which is then decoded and written to the underlying stream.
-     * The previous row is retained for decoding the next row.
+     * Input stream that implements predictor decoding. Data is read row by row, each row is
+     * decoded as soon as it is complete. The previous row is retained for decoding the next row.
      */
-    private static final class PredictorOutputStream extends FilterOutputStream {
+    private static final class PredictorInputStream extends FilterInputStream {
         // current predictor type
         private int predictor;
         // image decode parameters
@@ -234,13 +233,13 @@ public final class Predictor {
         // data buffers
         private byte[] currentRow;
         private byte[] lastRow;
-        // amount of data in the current row
-        private int currentRowData = 0;
-        // was the per-row predictor value read for the current row being processed
-        private boolean predictorRead = false;
+        // position of the next byte to be returned within the current row
+        private int currentRowPosition;
+        private boolean eof = false;
+        private final byte[] single = new byte[1];
 
-        PredictorOutputStream(OutputStream out, int predictor, int colors, int bitsPerComponent, int columns) {
-            super(out);
+        PredictorInputStream(InputStream in, int predictor, int colors, int bitsPerComponent, int columns) {
+            super(in);
             this.predictor = predictor;
             this.colors = colors;
             this.bitsPerComponent = bitsPerComponent;
@@ -249,70 +248,104 @@ public final class Predictor {
             this.predictorPerRow = predictor >= 10;
             currentRow = new byte[rowLength];
             lastRow = new byte[rowLength];
+            // no decoded row available yet
+            currentRowPosition = rowLength;
         }
 
         @Override
-        public void write(byte[] bytes) throws IOException {
-            write(bytes, 0, bytes.length);
+        public int read() throws IOException {
+            return read(single, 0, 1) == -1 ? -1 : single[0] & 0xff;
         }
 
         @Override
-        public void write(byte[] bytes, int off, int len) throws IOException {
-            int currentOffset = off;
-            int maxOffset = currentOffset + len;
-            while (currentOffset < maxOffset) {
-                if (predictorPerRow && currentRowData == 0 && !predictorRead) {
-                    // PNG predictor; each row starts with predictor type (0, 1, 2, 3, 4)
-                    // read per line predictor, add 10 to tread value 0 as 10, 1 as 11, ...
-                    predictor = bytes[currentOffset] + 10;
-                    currentOffset++;
-                    predictorRead = true;
-                } else {
-                    int toRead = Math.min(rowLength - currentRowData, maxOffset - currentOffset);
-                    System.arraycopy(bytes, currentOffset, currentRow, currentRowData, toRead);
-                    currentRowData += toRead;
-                    currentOffset += toRead;
-
-                    // current row is filled, decode it, write it to underlying stream,
-                    // and reset the state.
-                    if (currentRowData == currentRow.length) {
-                        decodeAndWriteRow();
-                    }
+        public int read(byte[] bytes, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            int read = 0;
+            while (read < len) {
+                if (currentRowPosition == rowLength && !readAndDecodeRow()) {
+                    break;
                 }
+                int count = Math.min(len - read, rowLength - currentRowPosition);
+                System.arraycopy(currentRow, currentRowPosition, bytes, off + read, count);
+                currentRowPosition += count;
+                read += count;
             }
-        }
-
-        private void decodeAndWriteRow() throws IOException {
-            decodePredictorRow(predictor, colors, bitsPerComponent, columns, currentRow, lastRow);
-            out.write(currentRow);
-            flipRows();
+            return read == 0 ? -1 : read;
         }
 
         /**
-         * Flips the row buffers (to avoid copying), and resets the current-row index
-         * and predictorRead flag
+         * Reads and decodes the next row. The last row is allowed to be incomplete, and is completed with zeros.
+         *
+         * @return false if there is no more data
          */
-        private void flipRows() {
+        private boolean readAndDecodeRow() throws IOException {
+            if (eof) {
+                return false;
+            }
+            if (predictorPerRow) {
+                // PNG predictor; each row starts with predictor type (0, 1, 2, 3, 4)
+                // read per line predictor, add 10 to tread value 0 as 10, 1 as 11, ...
+                int rowPredictor = in.read();
+                if (rowPredictor == -1) {
+                    eof = true;
+                    return false;
+                }
+                predictor = (byte) rowPredictor + 10;
+            }
+            // flip the row buffers to avoid copying
             byte[] temp = lastRow;
             lastRow = currentRow;
             currentRow = temp;
-            currentRowData = 0;
-            predictorRead = false;
+            int rowData = 0;
+            while (rowData < rowLength) {
+                int read = in.read(currentRow, rowData, rowLength - rowData);
+                if (read == -1) {
+                    eof = true;
+                    break;
+                }
+                rowData += read;
+            }
+            if (rowData == 0) {
+                return false;
+            }
+            Arrays.fill(currentRow, rowData, rowLength, (byte) 0);
+            decodePredictorRow(predictor, colors, bitsPerComponent, columns, currentRow, lastRow);
+            currentRowPosition = 0;
+            return true;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = 0;
+            while (skipped < n && read() != -1) {
+                skipped++;
+            }
+            return skipped;
         }
 
         @Override
-        public void flush() throws IOException {
-            // The last row is allowed to be incomplete, and should be completed with zeros.
-            if (currentRowData > 0) {
-                Arrays.fill(currentRow, currentRowData, rowLength, (byte) 0);
-                decodeAndWriteRow();
+        public int available() throws IOException {
+            if (currentRowPosition < rowLength) {
+                return rowLength - currentRowPosition;
             }
-            super.flush();
+            return eof ? 0 : in.available();
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+        @Override
+        public synchronized void mark(int readlimit) {
+            // not supported
         }
 
         @Override
-        public void write(int i) throws IOException {
-            throw new UnsupportedOperationException("Not supported");
+        public synchronized void reset() throws IOException {
+            throw new IOException("mark/reset not supported");
         }
     }
 }
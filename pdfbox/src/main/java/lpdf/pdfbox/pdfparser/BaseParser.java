@@ -34,13 +34,8 @@ import org.slf4j.LoggerFactory;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.nio.ByteBuffer;
-import java.nio.charset.CharacterCodingException;
-import java.nio.charset.Charset;
-import java.nio.charset.CharsetDecoder;
 import java.nio.charset.StandardCharsets;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Arrays;
 
 /**
  * This class is used to contain parsing logic that will be used by all parsers.
@@ -54,9 +49,12 @@ public abstract class BaseParser {
 
     static final int MAX_LENGTH_LONG = Long.toString(Long.MAX_VALUE).length();
 
-    private final CharsetDecoder utf8Decoder = StandardCharsets.UTF_8.newDecoder();
+    // scratch buffer for the bytes of the name currently parsed
+    private byte[] nameBuffer = new byte[64];
+
+    // scanner for the number currently parsed, also used by PDFStreamParser
+    final NumberScanner numberScanner = new NumberScanner();
 
-    private final Map<Integer, COSObjectKey> keyCache = new HashMap<>();
 
     /**
      * Log instance.
@@ -150,19 +148,7 @@ public abstract class BaseParser {
      * @return the COS object key
      */
     protected COSObjectKey getObjectKey(long num, int gen) {
-        if (document == null || document.getXrefTable().isEmpty()) {
-            return new COSObjectKey(num, gen);
-        }
-        // use a cache to get the COSObjectKey as iterating over the xref-table-map gets slow for big pdfs
-        // in the long run we have to overhaul the object pool or even better remove it
-        Map<COSObjectKey, Long> xrefTable = document.getXrefTable();
-        if (xrefTable.size() > keyCache.size()) {
-            for (COSObjectKey key : xrefTable.keySet()) {
-                keyCache.putIfAbsent(key.hashCode(), key);
-            }
-        }
-        int hashCode = Long.hashCode(COSObjectKey.computeInternalHash(num, gen));
-        COSObjectKey foundKey = keyCache.get(hashCode);
+        COSObjectKey foundKey = document != null ? document.getXrefIndex().getKey(num, gen) : null;
         return foundKey != null ? foundKey : new COSObjectKey(num, gen);
     }
 
@@ -652,7 +638,7 @@ public abstract class BaseParser {
      */
     protected COSName parseCOSName() throws IOException {
         readExpectedChar('/');
-        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        int length = 0;
         int c = source.read();
         while (c != -1) {
             int ch = c;
@@ -666,12 +652,7 @@ public abstract class BaseParser {
                 // interpret the # as an escape only when it is followed by two
                 // valid hex digits.
                 if (isHexDigit((char) ch1) && isHexDigit((char) ch2)) {
-                    String hex = Character.toString((char) ch1) + (char) ch2;
-                    try {
-                        buffer.write(Integer.parseInt(hex, 16));
-                    } catch (NumberFormatException e) {
-                        throw new IOException("Error: expected hex digit, actual='" + hex + "'", e);
-                    }
+                    length = appendToName(length, (Character.digit(ch1, 16) << 4) + Character.digit(ch2, 16));
                     c = source.read();
                 } else {
                     // check for premature EOF
@@ -682,41 +663,32 @@ public abstract class BaseParser {
                     }
                     source.rewind(1);
                     c = ch1;
-                    buffer.write(ch);
+                    length = appendToName(length, ch);
                 }
             } else if (isEndOfName(ch)) {
                 break;
             } else {
-                buffer.write(ch);
+                length = appendToName(length, ch);
                 c = source.read();
             }
         }
         if (c != -1) {
             source.rewind(1);
         }
-
-        byte[] bytes = buffer.toByteArray();
-        String string;
-        if (isValidUTF8(bytes)) {
-            string = new String(bytes, StandardCharsets.UTF_8);
-        } else {
-            // some malformed PDFs don't use UTF-8 see PDFBOX-3347
-            string = new String(bytes, Charset.forName("Windows-1252"));
-        }
-        return COSName.getPDFName(string);
+        return COSName.getPDFName(nameBuffer, 0, length);
     }
 
     /**
-     * Returns true if a byte sequence is valid UTF-8.
+     * Appends a byte to the name buffer, which is enlarged if necessary.
+     *
+     * @return the new length of the name
      */
-    private boolean isValidUTF8(byte[] input) {
-        try {
-            utf8Decoder.decode(ByteBuffer.wrap(input));
-            return true;
-        } catch (CharacterCodingException e) {
-            LOG.debug("Character could not be decoded using StandardCharsets.UTF_8 - returning false", e);
-            return false;
+    private int appendToName(int length, int b) {
+        if (length == nameBuffer.length) {
+            nameBuffer = Arrays.copyOf(nameBuffer, length * 2);
         }
+        nameBuffer[length] = (byte) b;
+        return length + 1;
     }
 
     /**
@@ -788,19 +760,22 @@ public abstract class BaseParser {
         return null;
     }
 
+    /**
+     * Parses a number. Plain integers and reals consisting of an optional sign, digits and at most one decimal point
+     * are converted while they are read, all other forms including malformed numbers are passed to
+     * {@link COSNumber#get(String)}.
+     */
     private COSNumber parseCOSNumber() throws IOException {
-        StringBuilder buf = new StringBuilder();
+        NumberScanner scanner = numberScanner;
+        scanner.reset();
         int ic = source.read();
-        char c = (char) ic;
-        while (Character.isDigit(c) || c == '-' || c == '+' || c == '.' || c == 'E' || c == 'e') {
-            buf.append(c);
+        while (ic != -1 && scanner.addObjectCharacter(ic)) {
             ic = source.read();
-            c = (char) ic;
         }
         if (ic != -1) {
             source.rewind(1);
         }
-        return COSNumber.get(buf.toString());
+        return scanner.toCOSNumber();
     }
 
     /**
@@ -25,6 +25,7 @@ import lpdf.pdfbox.cos.COSName;
 import lpdf.pdfbox.cos.COSObject;
 import lpdf.pdfbox.cos.COSObjectKey;
 import lpdf.pdfbox.cos.COSStream;
+import lpdf.pdfbox.pdfparser.BruteForceScanner.Marker;
 import lpdf.pdfbox.pdfparser.XrefTrailerResolver.XRefType;
 import lpdf.pdfbox.pdmodel.encryption.ProtectionPolicy;
 import lpdf.pdfbox.pdmodel.encryption.SecurityHandler;
@@ -43,8 +44,13 @@ import java.util.stream.Collectors;
  * Brute force parser to be used as last resort if a malformed pdf can't be read.
  */
 public class BruteForceParser extends COSParser {
+    /**
+     * The number of chunks of the pdf which are searched at the same time, 1 if not set. Searching in parallel is
+     * only worth it for large files and sources which can be read by several threads at the same time.
+     */
+    public static final String SYSPROP_PARALLELISM = "lpdf.pdfbox.pdfparser.bruteForceParser.parallelism";
+
     private static final char[] XREF_TABLE = new char[]{'x', 'r', 'e', 'f'};
-    private static final char[] XREF_STREAM = new char[]{'/', 'X', 'R', 'e', 'f'};
 
     private static final long MINIMUM_SEARCH_OFFSET = 6;
 
@@ -62,11 +68,6 @@ public class BruteForceParser extends COSParser {
      */
     private static final char[] TRAILER_MARKER = new char[]{'t', 'r', 'a', 'i', 'l', 'e', 'r'};
 
-    /**
-     * ObjStream-marker.
-     */
-    private static final char[] OBJ_STREAM = new char[]{'/', 'O', 'b', 'j', 'S', 't', 'm'};
-
     private static final Logger LOG = LoggerFactory.getLogger(BruteForceParser.class);
 
     /**
@@ -76,6 +77,13 @@ public class BruteForceParser extends COSParser {
 
     private boolean bfSearchTriggered = false;
 
+    private int parallelism = 1;
+
+    /**
+     * The offsets of all markers within the pdf, searched for once for all brute force searches.
+     */
+    private BruteForceScanner scanner;
+
     /**
      * Constructor. Triggers a brute force search for all objects of the document.
      *
@@ -86,6 +94,15 @@ public class BruteForceParser extends COSParser {
     public BruteForceParser(RandomAccessRead source, COSDocument document) throws IOException {
         super(source);
         this.document = document;
+        String parallelismStr = System.getProperty(SYSPROP_PARALLELISM);
+        if (parallelismStr != null) {
+            try {
+                parallelism = Integer.parseInt(parallelismStr);
+            } catch (NumberFormatException nfe) {
+                LOG.warn("System property " + SYSPROP_PARALLELISM
+                        + " does not contain an integer value, but: '" + parallelismStr + "'");
+            }
+        }
     }
 
     /**
@@ -119,66 +136,64 @@ public class BruteForceParser extends COSParser {
     private void bfSearchForObjects() throws IOException {
         long lastEOFMarker = bfSearchForLastEOFMarker();
         long originOffset = source.getPosition();
-        long currentOffset = MINIMUM_SEARCH_OFFSET;
+        long[] objMarkers = getScanner().getOffsets(Marker.OBJ);
+        long[] endObjMarkers = getScanner().getOffsets(Marker.END_OBJ);
+        int objIndex = 0;
+        int endObjIndex = 0;
         long lastObjectId = Long.MIN_VALUE;
         int lastGenID = Integer.MIN_VALUE;
         long lastObjOffset = Long.MIN_VALUE;
-        char[] endobjString = "ndo".toCharArray();
-        char[] endobjRemainingString = "bj".toCharArray();
         boolean endOfObjFound = false;
-        do {
-            source.seek(currentOffset);
-            int nextChar = source.read();
-            currentOffset++;
-            if (isWhitespace(nextChar) && isString(OBJ_MARKER)) {
-                long tempOffset = currentOffset - 2;
+        while (true) {
+            // visit both kinds of markers in the order of their offsets, they never start at the same offset
+            long objMarker = objIndex < objMarkers.length ? objMarkers[objIndex] : Long.MAX_VALUE;
+            long endObjMarker = endObjIndex < endObjMarkers.length ? endObjMarkers[endObjIndex] : Long.MAX_VALUE;
+            long currentOffset = Math.min(objMarker, endObjMarker);
+            if (currentOffset == Long.MAX_VALUE || currentOffset >= lastEOFMarker) {
+                break;
+            }
+            if (endObjMarker < objMarker) {
+                // "endo" is accepted as abbreviation for "endobj", as the pdf may be cut off
+                // in the middle of the keyword, see PDFBOX-3936.
+                endObjIndex++;
+                endOfObjFound = true;
+                continue;
+            }
+            objIndex++;
+            // the marker is the whitespace in front of "obj"
+            long tempOffset = objMarker - 1;
+            source.seek(tempOffset);
+            int genID = source.peek();
+            // is the next char a digit?
+            if (isDigit(genID)) {
+                genID -= 48;
+                tempOffset--;
                 source.seek(tempOffset);
-                int genID = source.peek();
-                // is the next char a digit?
-                if (isDigit(genID)) {
-                    genID -= 48;
-                    tempOffset--;
-                    source.seek(tempOffset);
-                    if (isWhitespace()) {
-                        while (tempOffset > MINIMUM_SEARCH_OFFSET && isWhitespace()) {
-                            source.seek(--tempOffset);
-                        }
-                        boolean objectIDFound = false;
-                        while (tempOffset > MINIMUM_SEARCH_OFFSET && isDigit()) {
-                            source.seek(--tempOffset);
-                            objectIDFound = true;
-                        }
-                        if (objectIDFound) {
-                            source.read();
-                            long objectId = readObjectNumber();
-                            if (lastObjOffset > 0) {
-                                // add the former object ID only if there was a subsequent object ID
-                                bfSearchCOSObjectKeyOffsets.put(
-                                        new COSObjectKey(lastObjectId, lastGenID), lastObjOffset);
-                            }
-                            lastObjectId = objectId;
-                            lastGenID = genID;
-                            lastObjOffset = tempOffset + 1;
-                            currentOffset += OBJ_MARKER.length - 1;
-                            endOfObjFound = false;
+                if (isWhitespace()) {
+                    while (tempOffset > MINIMUM_SEARCH_OFFSET && isWhitespace()) {
+                        source.seek(--tempOffset);
+                    }
+                    boolean objectIDFound = false;
+                    while (tempOffset > MINIMUM_SEARCH_OFFSET && isDigit()) {
+                        source.seek(--tempOffset);
+                        objectIDFound = true;
+                    }
+                    if (objectIDFound) {
+                        source.read();
+                        long objectId = readObjectNumber();
+                        if (lastObjOffset > 0) {
+                            // add the former object ID only if there was a subsequent object ID
+                            bfSearchCOSObjectKeyOffsets.put(
+                                    new COSObjectKey(lastObjectId, lastGenID), lastObjOffset);
                         }
+                        lastObjectId = objectId;
+                        lastGenID = genID;
+                        lastObjOffset = tempOffset + 1;
+                        endOfObjFound = false;
                     }
                 }
             }
-            // check for "endo" as abbreviation for "endobj", as the pdf may be cut off
-            // in the middle of the keyword, see PDFBOX-3936.
-            // We could possibly implement a more intelligent algorithm if necessary
-            else if (nextChar == 'e' && isString(endobjString)) {
-                currentOffset += endobjString.length;
-                source.seek(currentOffset);
-                if (source.isEOF()) {
-                    endOfObjFound = true;
-                } else if (isString(endobjRemainingString)) {
-                    currentOffset += endobjRemainingString.length;
-                    endOfObjFound = true;
-                }
-            }
-        } while (currentOffset < lastEOFMarker && !source.isEOF());
+        }
         if ((lastEOFMarker < Long.MAX_VALUE || endOfObjFound) && lastObjOffset > 0) {
             // if the pdf wasn't cut off in the middle or if the last object ends with a "endobj" marker
             // the last object id has to be added here so that it can't get lost as there isn't any subsequent object id
@@ -189,6 +204,19 @@ public class BruteForceParser extends COSParser {
         source.seek(originOffset);
     }
 
+    /**
+     * Returns the offsets of all markers within the pdf, the search is triggered by the first call.
+     *
+     * @return the offsets of the markers
+     * @throws IOException if something went wrong
+     */
+    private BruteForceScanner getScanner() throws IOException {
+        if (scanner == null) {
+            scanner = BruteForceScanner.scan(source, MINIMUM_SEARCH_OFFSET, parallelism);
+        }
+        return scanner;
+    }
+
     /**
      * Search for the offset of the given xref table/stream among those found by a brute force search.
      *
@@ -330,10 +358,13 @@ public class BruteForceParser extends COSParser {
      */
     private boolean bfSearchForTrailer(COSDictionary trailer) throws IOException {
         long originOffset = source.getPosition();
-        source.seek(MINIMUM_SEARCH_OFFSET);
-        // search for trailer marker
-        long trailerOffset = findString(TRAILER_MARKER);
-        while (trailerOffset != -1) {
+        long searchOffset = MINIMUM_SEARCH_OFFSET;
+        for (long trailerOffset : getScanner().getOffsets(Marker.TRAILER)) {
+            // skip the markers within the data which was already parsed
+            if (trailerOffset < searchOffset) {
+                continue;
+            }
+            source.seek(trailerOffset + TRAILER_MARKER.length);
             try {
                 boolean rootFound = false;
                 boolean infoFound = false;
@@ -378,7 +409,7 @@ public class BruteForceParser extends COSParser {
                 LOG.debug("An exception occurred during brute force search for trailer - ignoring",
                         exception);
             }
-            trailerOffset = findString(TRAILER_MARKER);
+            searchOffset = source.getPosition();
         }
         source.seek(originOffset);
         return false;
@@ -448,9 +479,13 @@ public class BruteForceParser extends COSParser {
     private long bfSearchForLastEOFMarker() throws IOException {
         long lastEOFMarker = -1;
         long originOffset = source.getPosition();
-        source.seek(MINIMUM_SEARCH_OFFSET);
-        long tempMarker = findString(EOF_MARKER);
-        while (tempMarker != -1) {
+        long searchOffset = MINIMUM_SEARCH_OFFSET;
+        for (long tempMarker : getScanner().getOffsets(Marker.EOF)) {
+            // skip the markers within the data which was already checked, e.g. a comment
+            if (tempMarker < searchOffset) {
+                continue;
+            }
+            source.seek(tempMarker + EOF_MARKER.length);
             try {
                 // check if the following data is some valid pdf content
                 // which most likely indicates that the pdf is linearized,
@@ -466,7 +501,7 @@ public class BruteForceParser extends COSParser {
                         exception);
                 lastEOFMarker = tempMarker;
             }
-            tempMarker = findString(EOF_MARKER);
+            searchOffset = source.getPosition();
         }
         source.seek(originOffset);
         // no EOF marker found
@@ -484,11 +519,9 @@ public class BruteForceParser extends COSParser {
      */
     private Map<Long, COSObjectKey> bfSearchForObjStreamOffsets() throws IOException {
         HashMap<Long, COSObjectKey> bfSearchObjStreamsOffsets = new HashMap<>();
-        source.seek(MINIMUM_SEARCH_OFFSET);
         char[] string = " obj".toCharArray();
         // search for object stream marker
-        long positionObjStream = findString(OBJ_STREAM);
-        while (positionObjStream != -1) {
+        for (long positionObjStream : getScanner().getOffsets(Marker.OBJ_STREAM)) {
             // search backwards for the beginning of the object
             long newOffset = -1;
             boolean objFound = false;
@@ -533,8 +566,6 @@ public class BruteForceParser extends COSParser {
                     }
                 }
             }
-            source.seek(positionObjStream + OBJ_STREAM.length);
-            positionObjStream = findString(OBJ_STREAM);
         }
         return bfSearchObjStreamsOffsets;
     }
@@ -547,17 +578,12 @@ public class BruteForceParser extends COSParser {
     private List<Long> bfSearchForXRefTables() throws IOException {
         List<Long> bfSearchXRefTablesOffsets = new ArrayList<>();
         // a pdf may contain more than one xref entry
-        source.seek(MINIMUM_SEARCH_OFFSET);
-        // search for xref tables
-        long newOffset = findString(XREF_TABLE);
-        while (newOffset != -1) {
+        for (long newOffset : getScanner().getOffsets(Marker.XREF_TABLE)) {
             source.seek(newOffset - 1);
             // ensure that we don't read "startxref" instead of "xref"
             if (isWhitespace()) {
                 bfSearchXRefTablesOffsets.add(newOffset);
             }
-            source.seek(newOffset + 4);
-            newOffset = findString(XREF_TABLE);
         }
         return bfSearchXRefTablesOffsets;
     }
@@ -570,12 +596,9 @@ public class BruteForceParser extends COSParser {
     private List<Long> bfSearchForXRefStreams() throws IOException {
         List<Long> bfSearchXRefStreamsOffsets = new ArrayList<>();
         // a pdf may contain more than one /XRef entry
-        source.seek(MINIMUM_SEARCH_OFFSET);
-        // search for XRef streams
         String objString = " obj";
         char[] string = objString.toCharArray();
-        long xrefOffset = findString(XREF_STREAM);
-        while (xrefOffset != -1) {
+        for (long xrefOffset : getScanner().getOffsets(Marker.XREF_STREAM)) {
             // search backwards for the beginning of the stream
             long newOffset = -1;
             boolean objFound = false;
@@ -619,8 +642,6 @@ public class BruteForceParser extends COSParser {
             if (newOffset > -1) {
                 bfSearchXRefStreamsOffsets.add(newOffset);
             }
-            source.seek(xrefOffset + 5);
-            xrefOffset = findString(XREF_STREAM);
         }
         return bfSearchXRefStreamsOffsets;
     }
@@ -656,39 +677,6 @@ public class BruteForceParser extends COSParser {
                 || dictionary.containsKey(COSName.FDF);
     }
 
-    /**
-     * Search for the given string. The search starts at the current position and returns the start position if the
-     * string was found. -1 is returned if there isn't any further occurrence of the given string. After returning the
-     * current position is either the end of the string or the end of the input.
-     *
-     * @param string the string to be searched
-     * @return the start position of the found string
-     * @throws IOException if something went wrong
-     */
-    private long findString(char[] string) throws IOException {
-        long position = -1L;
-        int stringLength = string.length;
-        int counter = 0;
-        int readChar = source.read();
-        while (readChar != -1) {
-            if (readChar == string[counter]) {
-                if (counter == 0) {
-                    position = source.getPosition() - 1;
-                }
-                counter++;
-                if (counter == stringLength) {
-                    return position;
-                }
-            } else if (counter > 0) {
-                counter = 0;
-                position = -1L;
-                continue;
-            }
-            readChar = source.read();
-        }
-        return position;
-    }
-
     /**
      * Rebuild the trailer dictionary if startxref can't be found.
      *
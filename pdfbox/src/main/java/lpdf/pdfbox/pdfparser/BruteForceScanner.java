@@ -0,0 +1,268 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package lpdf.pdfbox.pdfparser;
+
+import lpdf.io.RandomAccessRead;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Finds the offsets of all markers a brute force search is interested in with a single pass over the data. The data
+ * is read in large blocks using positional reads, so that the current position of the source isn't changed, and may
+ * be split into chunks which are scanned in parallel.
+ * <p>
+ * The scanner only looks for the markers themselves, it is up to the caller to check the surrounding data.
+ */
+final class BruteForceScanner {
+
+    /**
+     * The markers to be searched for.
+     */
+    enum Marker {
+        /**
+         * "obj" preceded by a whitespace, the offset is the one of the whitespace.
+         */
+        OBJ,
+        /**
+         * "endobj", or "endo" at the end of the data as the pdf may be cut off in the middle of the keyword.
+         */
+        END_OBJ,
+        /**
+         * "xref", which is part of "startxref" as well.
+         */
+        XREF_TABLE("xref"),
+        /**
+         * "/XRef", which is part of "/XRefStm" as well.
+         */
+        XREF_STREAM("/XRef"),
+        /**
+         * "trailer".
+         */
+        TRAILER("trailer"),
+        /**
+         * "/ObjStm".
+         */
+        OBJ_STREAM("/ObjStm"),
+        /**
+         * "%%EOF".
+         */
+        EOF("%%EOF");
+
+        private final byte[] bytes;
+
+        Marker() {
+            this(null);
+        }
+
+        Marker(String marker) {
+            bytes = marker != null ? marker.getBytes(StandardCharsets.US_ASCII) : null;
+        }
+    }
+
+    private static final int BLOCK_SIZE = 1 << 20;
+    // bytes after the end of a block which are needed to complete a marker starting within the block
+    private static final int LOOKAHEAD = 6;
+    // chunks smaller than this aren't worth a task of their own
+    private static final long MINIMUM_CHUNK_SIZE = 4L * BLOCK_SIZE;
+
+    private static final byte[] OBJ_BYTES = "obj".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] ENDO_BYTES = "endo".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] BJ_BYTES = "bj".getBytes(StandardCharsets.US_ASCII);
+
+    // the first bytes of the markers, all other bytes are skipped right away
+    private static final boolean[] CANDIDATES = new boolean[256];
+
+    static {
+        for (int c : new int[]{0, 9, 10, 12, 13, 32, 'e', 'x', 't', '/', '%'}) {
+            CANDIDATES[c] = true;
+        }
+    }
+
+    private final long[][] offsets;
+    private final int[] counts;
+
+    private BruteForceScanner() {
+        offsets = new long[Marker.values().length][];
+        counts = new int[offsets.length];
+        Arrays.fill(offsets, new long[0]);
+    }
+
+    /**
+     * Scans the given data for all markers starting at or after the given offset.
+     *
+     * @param source      the data to be scanned, it has to support positional reads
+     * @param start       the offset to start the search at
+     * @param parallelism the maximum number of chunks to be scanned at the same time
+     * @return the offsets of the markers
+     * @throws IOException if the data could not be read
+     */
+    static BruteForceScanner scan(RandomAccessRead source, long start, int parallelism) throws IOException {
+        long length = source.length();
+        long chunkSize = parallelism > 1
+                ? Math.max(MINIMUM_CHUNK_SIZE, (length - start + parallelism - 1) / parallelism) : length;
+        if (length - start <= chunkSize) {
+            BruteForceScanner scanner = new BruteForceScanner();
+            scanner.scanChunk(source, start, length, length);
+            return scanner;
+        }
+        List<CompletableFuture<BruteForceScanner>> chunks = new ArrayList<>();
+        for (long chunkStart = start; chunkStart < length; chunkStart += chunkSize) {
+            long from = chunkStart;
+            long to = Math.min(length, chunkStart + chunkSize);
+            chunks.add(CompletableFuture.supplyAsync(() -> {
+                BruteForceScanner scanner = new BruteForceScanner();
+                try {
+                    scanner.scanChunk(source, from, to, length);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return scanner;
+            }, ForkJoinPool.commonPool()));
+        }
+        BruteForceScanner result = new BruteForceScanner();
+        try {
+            for (CompletableFuture<BruteForceScanner> chunk : chunks) {
+                result.append(chunk.join());
+            }
+        } catch (CompletionException e) {
+            // the source must not be used by any chunk after returning
+            for (CompletableFuture<BruteForceScanner> chunk : chunks) {
+                chunk.handle((scanner, exception) -> null).join();
+            }
+            Throwable cause = e.getCause();
+            if (cause instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) cause).getCause();
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the offsets of all occurrences of the given marker.
+     *
+     * @param marker the marker
+     * @return the offsets in ascending order
+     */
+    long[] getOffsets(Marker marker) {
+        return Arrays.copyOf(offsets[marker.ordinal()], counts[marker.ordinal()]);
+    }
+
+    /**
+     * Searches for the markers starting within the given range.
+     */
+    private void scanChunk(RandomAccessRead source, long from, long to, long length) throws IOException {
+        byte[] buffer = new byte[(int) Math.max(0, Math.min(BLOCK_SIZE, to - from)) + LOOKAHEAD];
+        for (long blockStart = from; blockStart < to; blockStart += BLOCK_SIZE) {
+            int blockLength = (int) Math.min(BLOCK_SIZE, to - blockStart);
+            int wanted = (int) Math.min(blockLength + LOOKAHEAD, length - blockStart);
+            int limit = source.read(blockStart, buffer, 0, wanted);
+            if (limit < blockLength) {
+                throw new IOException("Expected " + blockLength + " bytes at offset " + blockStart + ", got "
+                        + Math.max(0, limit));
+            }
+            for (int i = 0; i < blockLength; i++) {
+                int c = buffer[i] & 0xff;
+                if (!CANDIDATES[c]) {
+                    continue;
+                }
+                switch (c) {
+                    case 'e':
+                        if (matches(buffer, i, limit, ENDO_BYTES)
+                                && (blockStart + i + ENDO_BYTES.length == length
+                                || matches(buffer, i + ENDO_BYTES.length, limit, BJ_BYTES))) {
+                            add(Marker.END_OBJ, blockStart + i);
+                        }
+                        break;
+                    case 'x':
+                        addIfMatches(Marker.XREF_TABLE, buffer, i, limit, blockStart);
+                        break;
+                    case 't':
+                        addIfMatches(Marker.TRAILER, buffer, i, limit, blockStart);
+                        break;
+                    case '/':
+                        if (!addIfMatches(Marker.XREF_STREAM, buffer, i, limit, blockStart)) {
+                            addIfMatches(Marker.OBJ_STREAM, buffer, i, limit, blockStart);
+                        }
+                        break;
+                    case '%':
+                        addIfMatches(Marker.EOF, buffer, i, limit, blockStart);
+                        break;
+                    default:
+                        // a whitespace
+                        if (matches(buffer, i + 1, limit, OBJ_BYTES)) {
+                            add(Marker.OBJ, blockStart + i);
+                        }
+                        break;
+                }
+            }
+        }
+    }
+
+    private boolean addIfMatches(Marker marker, byte[] buffer, int offset, int limit, long blockStart) {
+        if (matches(buffer, offset, limit, marker.bytes)) {
+            add(marker, blockStart + offset);
+            return true;
+        }
+        return false;
+    }
+
+    private static boolean matches(byte[] buffer, int offset, int limit, byte[] marker) {
+        if (offset + marker.length > limit) {
+            return false;
+        }
+        for (int i = 0; i < marker.length; i++) {
+            if (buffer[offset + i] != marker[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void add(Marker marker, long offset) {
+        int index = marker.ordinal();
+        if (counts[index] == offsets[index].length) {
+            offsets[index] = Arrays.copyOf(offsets[index], Math.max(16, counts[index] * 2));
+        }
+        offsets[index][counts[index]++] = offset;
+    }
+
+    private void append(BruteForceScanner chunk) {
+        for (int index = 0; index < offsets.length; index++) {
+            int count = chunk.counts[index];
+            if (count > 0) {
+                offsets[index] = Arrays.copyOf(offsets[index], counts[index] + count);
+                System.arraycopy(chunk.offsets[index], 0, offsets[index], counts[index], count);
+                counts[index] += count;
+            }
+        }
+    }
+}
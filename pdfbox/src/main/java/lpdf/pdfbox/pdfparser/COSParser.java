@@ -18,6 +18,7 @@ package lpdf.pdfbox.pdfparser;
 
 import lpdf.io.IOUtils;
 import lpdf.io.RandomAccessRead;
+import lpdf.io.RandomAccessReadCursor;
 import lpdf.io.RandomAccessReadView;
 import lpdf.pdfbox.cos.COSArray;
 import lpdf.pdfbox.cos.COSBase;
@@ -28,6 +29,7 @@ import lpdf.pdfbox.cos.COSNumber;
 import lpdf.pdfbox.cos.COSObject;
 import lpdf.pdfbox.cos.COSObjectKey;
 import lpdf.pdfbox.cos.COSStream;
+import lpdf.pdfbox.cos.DereferencingGate;
 import lpdf.pdfbox.cos.ICOSParser;
 import lpdf.pdfbox.pdfparser.XrefTrailerResolver.XRefType;
 import lpdf.pdfbox.pdmodel.encryption.AccessPermission;
@@ -51,8 +53,11 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.Optional;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * COS-Parser which first reads startxref and xref tables in order to know valid objects and parse only these objects.
@@ -78,6 +83,9 @@ public class COSParser extends BaseParser implements ICOSParser {
 
     private static final int X = 'x';
 
+    // the maximum number of idle object parsers kept for dereferencing objects
+    private static final int MAX_IDLE_OBJECT_PARSERS = Math.max(4, Runtime.getRuntime().availableProcessors());
+
     private static final int STRMBUFLEN = 2048;
     private final byte[] strmBuf = new byte[STRMBUFLEN];
 
@@ -125,10 +133,36 @@ public class COSParser extends BaseParser implements ICOSParser {
     private PDEncryption encryption = null;
 
     /**
-     * Intermediate cache. Contains all objects of already read compressed object streams. Objects are removed after
-     * dereferencing them.
+     * The indexes of all object streams which were already read, using the object number of the stream as key.
+     * Objects of an object stream are parsed on demand using its index.
+     */
+    private final Map<Long, ObjectStreamIndex> objectStreams;
+
+    /**
+     * The parser which parsed the document. It is the parser itself unless this is one of the object parsers.
+     */
+    private final COSParser rootParser;
+
+    /**
+     * The idle parsers used to dereference objects after the initial parse. A parser is borrowed for a single object
+     * and returned afterwards, each of them reads the source using its own cursor so that objects can be dereferenced
+     * by several threads at the same time. At most {@link #MAX_IDLE_OBJECT_PARSERS} idle parsers are kept.
+     */
+    private final Queue<COSParser> idleObjectParsers;
+    private final AtomicInteger idleObjectParserCount;
+
+    /**
+     * The offset of the first page cross reference table of a linearized pdf as long as the remaining cross reference
+     * tables weren't read, -1 otherwise. Only used by the root parser.
+     */
+    private volatile long deferredXrefOffset = -1;
+
+    /**
+     * The gate passed by the thread reading the remaining cross reference tables. A monitor isn't used as reading the
+     * tables may dereference objects, e.g. an indirect length of a cross reference stream, which are dereferenced by
+     * threads waiting for the tables at the same time.
      */
-    private final Map<Long, Map<COSObjectKey, COSBase>> decompressedObjects = new HashMap<>();
+    private final DereferencingGate deferredXrefGate = new DereferencingGate();
 
     /**
      * The security handler.
@@ -157,6 +191,10 @@ public class COSParser extends BaseParser implements ICOSParser {
     public COSParser(RandomAccessRead source) throws IOException {
         super(source);
         fileLen = source.length();
+        rootParser = this;
+        objectStreams = new ConcurrentHashMap<>();
+        idleObjectParsers = new ConcurrentLinkedQueue<>();
+        idleObjectParserCount = new AtomicInteger();
     }
 
     /**
@@ -175,6 +213,32 @@ public class COSParser extends BaseParser implements ICOSParser {
         this.keyAlias = keyAlias;
         fileLen = source.length();
         keyStoreInputStream = keyStore;
+        rootParser = this;
+        objectStreams = new ConcurrentHashMap<>();
+        idleObjectParsers = new ConcurrentLinkedQueue<>();
+        idleObjectParserCount = new AtomicInteger();
+    }
+
+    /**
+     * Constructor for the object parsers of the given parser. The object parser shares the state of the given parser
+     * but reads the source using its own cursor.
+     *
+     * @param rootParser the parser which parsed the document
+     * @throws IOException if the source data could not be read
+     */
+    private COSParser(COSParser rootParser) throws IOException {
+        super(new RandomAccessReadCursor(rootParser.source));
+        this.rootParser = rootParser;
+        document = rootParser.document;
+        fileLen = rootParser.fileLen;
+        isLenient = rootParser.isLenient;
+        initialParseDone = true;
+        encryption = rootParser.encryption;
+        securityHandler = rootParser.securityHandler;
+        objectStreams = rootParser.objectStreams;
+        idleObjectParsers = rootParser.idleObjectParsers;
+        idleObjectParserCount = rootParser.idleObjectParserCount;
+        xrefTrailerResolver = null;
     }
 
     /**
@@ -261,6 +325,157 @@ public class COSParser extends BaseParser implements ICOSParser {
         return true;
     }
 
+    /**
+     * Reads the first page cross reference table of a linearized pdf instead of the cross reference tables the
+     * startxref at the end of the file points to, so that the first page can be processed reading only the front of
+     * the file. The remaining cross reference tables are read as soon as an object is requested which isn't listed in
+     * the first page cross reference table, see {@link #loadDeferredXref()}.
+     *
+     * @return the trailer dictionary or null if the pdf isn't linearized or the linearization is outdated or broken,
+     * the cross reference tables have to be read as usual in that case
+     * @throws IOException if something went wrong
+     */
+    protected COSDictionary retrieveFirstPageTrailer() throws IOException {
+        XrefTrailerResolver resolver = xrefTrailerResolver;
+        xrefTrailerResolver = new XrefTrailerResolver();
+        COSDictionary linearized = null;
+        long firstPageXrefOffset = -1;
+        COSDictionary trailer = null;
+        try {
+            // the linearization dictionary shall be the first object of the pdf
+            source.seek(0);
+            skipSpaces();
+            readObjectNumber();
+            readGenerationNumber();
+            readExpectedString(OBJ_MARKER, true);
+            skipSpaces();
+            COSBase object = parseDirObject();
+            skipSpaces();
+            if (object instanceof COSDictionary && ENDOBJ_STRING.equals(readString())) {
+                linearized = (COSDictionary) object;
+                skipSpaces();
+                firstPageXrefOffset = source.getPosition();
+            }
+            // the linearization is outdated if the pdf was updated incrementally
+            if (linearized != null && linearized.getItem(COSName.LINEARIZED) != null
+                    && linearized.getLong(COSName.L) == fileLen) {
+                if (source.peek() != X) {
+                    parseXrefObjStream(firstPageXrefOffset, true);
+                    trailer = xrefTrailerResolver.getCurrentTrailer();
+                } else if (parseXrefTable(firstPageXrefOffset) && parseTrailer()) {
+                    trailer = xrefTrailerResolver.getCurrentTrailer();
+                    parseHybridXrefStream(trailer, firstPageXrefOffset);
+                }
+            }
+            // the remaining tables are found using /Prev
+            if (trailer != null && (trailer.getItem(COSName.ROOT) == null || trailer.getLong(COSName.PREV) <= 0)) {
+                trailer = null;
+            }
+            if (trailer != null) {
+                xrefTrailerResolver.setFirstPageStartxref(firstPageXrefOffset);
+                // a broken table is repaired when reading all tables as usual
+                if (isLenient && !validateXrefOffsets(xrefTrailerResolver.getXrefTable())) {
+                    trailer = null;
+                }
+            }
+        } catch (IOException exception) {
+            LOG.debug("Can't read the first page cross reference table", exception);
+            trailer = null;
+        }
+        if (trailer == null) {
+            xrefTrailerResolver = resolver;
+            return null;
+        }
+        document.setStartXref(firstPageXrefOffset);
+        trailer = xrefTrailerResolver.getTrailer();
+        document.setTrailer(trailer);
+        document.setIsXRefStream(XRefType.STREAM == xrefTrailerResolver.getXrefType());
+        document.addXRefTable(xrefTrailerResolver.getXrefTable());
+        document.setHighestXRefObjectNumber(document.getXrefIndex().getHighestObjectNumber());
+        document.setLinearizedDictionary(linearized);
+        deferredXrefOffset = firstPageXrefOffset;
+        // prepare decryption if necessary
+        prepareDecryption();
+        if (resetTrailerResolver()) {
+            xrefTrailerResolver.reset();
+            xrefTrailerResolver = null;
+        }
+        return trailer;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The chain of cross reference tables is read once again starting at the first page cross reference table, the
+     * result is the same as if all tables were read right away. Other threads wait until the tables are read. Objects
+     * requested by the reading thread itself while reading the tables are looked up in the tables read so far, as are
+     * the objects requested by a thread the reading thread waits for, e.g. for the indirect length of a cross reference
+     * stream, as waiting would result in a deadlock.
+     */
+    @Override
+    public void loadDeferredXref() throws IOException {
+        if (rootParser != this) {
+            rootParser.loadDeferredXref();
+            return;
+        }
+        if (deferredXrefOffset == -1) {
+            return;
+        }
+        if (!deferredXrefGate.enter()) {
+            return;
+        }
+        try {
+            long firstPageXrefOffset = deferredXrefOffset;
+            if (firstPageXrefOffset == -1) {
+                return;
+            }
+            // use an object parser once the initial parse is done, it has a cursor of its own
+            if (initialParseDone) {
+                COSParser objectParser = borrowObjectParser();
+                try {
+                    objectParser.parseDeferredXref(firstPageXrefOffset);
+                } finally {
+                    returnObjectParser(objectParser);
+                }
+            } else {
+                synchronized (this) {
+                    parseDeferredXref(firstPageXrefOffset);
+                }
+            }
+            // the tables are read again if they couldn't be read
+            deferredXrefOffset = -1;
+        } finally {
+            deferredXrefGate.exit();
+        }
+    }
+
+    private void parseDeferredXref(long firstPageXrefOffset) throws IOException {
+        XrefTrailerResolver resolver = xrefTrailerResolver;
+        long position = source.getPosition();
+        xrefTrailerResolver = new XrefTrailerResolver();
+        try {
+            COSDictionary trailer = parseXrefChain(firstPageXrefOffset);
+            addResolvedXrefTable();
+            // the first page trailer is in use already, add the entries of the remaining trailers only
+            COSDictionary documentTrailer = document.getTrailer();
+            for (Entry<COSName, COSBase> entry : trailer.entrySet()) {
+                if (!documentTrailer.containsKey(entry.getKey())) {
+                    documentTrailer.setItem(entry.getKey(), entry.getValue());
+                }
+            }
+        } catch (IOException exception) {
+            if (!isLenient) {
+                throw exception;
+            }
+            // missing objects are searched for by a brute force search
+            LOG.error("Can't read the cross reference tables following the first page cross reference table",
+                    exception);
+        } finally {
+            xrefTrailerResolver = resolver;
+            source.seek(position);
+        }
+    }
+
     /**
      * Parses cross reference tables.
      *
@@ -277,6 +492,21 @@ public class COSParser extends BaseParser implements ICOSParser {
             startXrefOffset = fixedOffset;
         }
         document.setStartXref(startXrefOffset);
+        COSDictionary trailer = parseXrefChain(startXrefOffset);
+        document.setTrailer(trailer);
+        document.setIsXRefStream(XRefType.STREAM == xrefTrailerResolver.getXrefType());
+        addResolvedXrefTable();
+        return trailer;
+    }
+
+    /**
+     * Parses the chain of cross reference tables starting at the given offset and resolves them.
+     *
+     * @param startXrefOffset offset of the first table
+     * @return the resolved trailer dictionary
+     * @throws IOException if something went wrong
+     */
+    private COSDictionary parseXrefChain(long startXrefOffset) throws IOException {
         long prev = startXrefOffset;
         // ---- parse whole chain of xref tables/object streams using PREV reference
         Set<Long> prevSet = new HashSet<>();
@@ -299,37 +529,7 @@ public class COSParser extends BaseParser implements ICOSParser {
                             + source.getPosition());
                 }
                 trailer = xrefTrailerResolver.getCurrentTrailer();
-                // check for a XRef stream, it may contain some object ids of compressed objects
-                if (trailer.containsKey(COSName.XREF_STM)) {
-                    int streamOffset = trailer.getInt(COSName.XREF_STM);
-                    // check the xref stream reference
-                    fixedOffset = checkXRefOffset(streamOffset);
-                    if (fixedOffset > -1 && fixedOffset != streamOffset) {
-                        LOG.warn("/XRefStm offset " + streamOffset + " is incorrect, corrected to " + fixedOffset);
-                        streamOffset = (int) fixedOffset;
-                        trailer.setInt(COSName.XREF_STM, streamOffset);
-                    }
-                    if (streamOffset > 0) {
-                        source.seek(streamOffset);
-                        skipSpaces();
-                        try {
-                            parseXrefObjStream(prev, false);
-                            document.setHasHybridXRef();
-                        } catch (IOException ex) {
-                            if (isLenient) {
-                                LOG.error("Failed to parse /XRefStm at offset " + streamOffset, ex);
-                            } else {
-                                throw ex;
-                            }
-                        }
-                    } else {
-                        if (isLenient) {
-                            LOG.error("Skipped XRef stream due to a corrupt offset:" + streamOffset);
-                        } else {
-                            throw new IOException("Skipped XRef stream due to a corrupt offset:" + streamOffset);
-                        }
-                    }
-                }
+                parseHybridXrefStream(trailer, prev);
                 prev = trailer.getLong(COSName.PREV);
             } else {
                 // parse xref stream
@@ -338,7 +538,7 @@ public class COSParser extends BaseParser implements ICOSParser {
             }
             if (prev > 0) {
                 // check the xref table reference
-                fixedOffset = checkXRefOffset(prev);
+                long fixedOffset = checkXRefOffset(prev);
                 if (fixedOffset > -1 && fixedOffset != prev) {
                     prev = fixedOffset;
                     trailer.setLong(COSName.PREV, prev);
@@ -350,9 +550,57 @@ public class COSParser extends BaseParser implements ICOSParser {
         }
         // ---- build valid xrefs out of the xref chain
         xrefTrailerResolver.setStartxref(startXrefOffset);
-        trailer = xrefTrailerResolver.getTrailer();
-        document.setTrailer(trailer);
-        document.setIsXRefStream(XRefType.STREAM == xrefTrailerResolver.getXrefType());
+        return xrefTrailerResolver.getTrailer();
+    }
+
+    /**
+     * Parses the XRef stream of a hybrid file, if the trailer of the xref table points to one. It may contain some
+     * object ids of compressed objects.
+     *
+     * @param trailer         the trailer of the xref table
+     * @param xrefTableOffset the offset of the xref table
+     * @throws IOException if something went wrong
+     */
+    private void parseHybridXrefStream(COSDictionary trailer, long xrefTableOffset) throws IOException {
+        if (!trailer.containsKey(COSName.XREF_STM)) {
+            return;
+        }
+        int streamOffset = trailer.getInt(COSName.XREF_STM);
+        // check the xref stream reference
+        long fixedOffset = checkXRefOffset(streamOffset);
+        if (fixedOffset > -1 && fixedOffset != streamOffset) {
+            LOG.warn("/XRefStm offset " + streamOffset + " is incorrect, corrected to " + fixedOffset);
+            streamOffset = (int) fixedOffset;
+            trailer.setInt(COSName.XREF_STM, streamOffset);
+        }
+        if (streamOffset > 0) {
+            source.seek(streamOffset);
+            skipSpaces();
+            try {
+                parseXrefObjStream(xrefTableOffset, false);
+                document.setHasHybridXRef();
+            } catch (IOException ex) {
+                if (isLenient) {
+                    LOG.error("Failed to parse /XRefStm at offset " + streamOffset, ex);
+                } else {
+                    throw ex;
+                }
+            }
+        } else {
+            if (isLenient) {
+                LOG.error("Skipped XRef stream due to a corrupt offset:" + streamOffset);
+            } else {
+                throw new IOException("Skipped XRef stream due to a corrupt offset:" + streamOffset);
+            }
+        }
+    }
+
+    /**
+     * Adds the resolved cross reference table to the document.
+     *
+     * @throws IOException if something went wrong
+     */
+    private void addResolvedXrefTable() throws IOException {
         // check the offsets of all referenced objects
         if (isLenient) {
             checkXrefOffsets();
@@ -361,12 +609,7 @@ public class COSParser extends BaseParser implements ICOSParser {
         document.addXRefTable(xrefTrailerResolver.getXrefTable());
 
         // remember the highest XRef object number to avoid it being reused in incremental saving
-        Optional<Long> maxValue = document.getXrefTable().keySet().stream() //
-                .map(COSObjectKey::getNumber) //
-                .reduce(Long::max);
-        document.setHighestXRefObjectNumber(maxValue.isPresent() ? maxValue.get() : 0);
-
-        return trailer;
+        document.setHighestXRefObjectNumber(document.getXrefIndex().getHighestObjectNumber());
     }
 
     /**
@@ -502,16 +745,60 @@ public class COSParser extends BaseParser implements ICOSParser {
         this.isLenient = lenient;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Once the initial parse is done objects are parsed by object parsers which aren't used by any other thread in the
+     * meantime, so that objects may be dereferenced by several threads at the same time.
+     */
     @Override
     public COSBase dereferenceCOSObject(COSObject obj) throws IOException {
+        if (rootParser == this && initialParseDone) {
+            COSParser objectParser = borrowObjectParser();
+            try {
+                return objectParser.parseObjectAndRestorePosition(obj.getKey());
+            } finally {
+                returnObjectParser(objectParser);
+            }
+        }
+        synchronized (this) {
+            return parseObjectAndRestorePosition(obj.getKey());
+        }
+    }
+
+    private COSBase parseObjectAndRestorePosition(COSObjectKey objKey) throws IOException {
         long currentPos = source.getPosition();
-        COSBase parsedObj = parseObjectDynamically(obj.getKey(), false);
+        COSBase parsedObj = parseObjectDynamically(objKey, false);
         if (currentPos > 0) {
             source.seek(currentPos);
         }
         return parsedObj;
     }
 
+    /**
+     * Returns an idle object parser or a new one if there isn't any. The parser must be returned using
+     * {@link #returnObjectParser(COSParser)}.
+     */
+    private COSParser borrowObjectParser() throws IOException {
+        COSParser objectParser = idleObjectParsers.poll();
+        if (objectParser == null) {
+            return new COSParser(this);
+        }
+        idleObjectParserCount.decrementAndGet();
+        return objectParser;
+    }
+
+    /**
+     * Returns a borrowed object parser, it is dropped if there are enough idle parsers.
+     */
+    private void returnObjectParser(COSParser objectParser) {
+        if (idleObjectParserCount.incrementAndGet() <= MAX_IDLE_OBJECT_PARSERS) {
+            idleObjectParsers.offer(objectParser);
+        } else {
+            idleObjectParserCount.decrementAndGet();
+        }
+    }
+
     @Override
     public RandomAccessReadView createRandomAccessReadView(long startPosition, long streamLength)
             throws IOException {
@@ -528,7 +815,7 @@ public class COSParser extends BaseParser implements ICOSParser {
      * @return the parsed object (which is also added to document object)
      * @throws IOException If an IO error occurs.
      */
-    protected synchronized COSBase parseObjectDynamically(COSObjectKey objKey,
+    protected COSBase parseObjectDynamically(COSObjectKey objKey,
                                                           boolean requireExistingNotCompressedObj) throws IOException {
         COSObject pdfObject = document.getObjectFromPool(objKey);
         if (!pdfObject.isObjectNull()) {
@@ -557,14 +844,19 @@ public class COSParser extends BaseParser implements ICOSParser {
     private Long getObjectOffset(COSObjectKey objKey, boolean requireExistingNotCompressedObj)
             throws IOException {
         // read offset or object stream object number from xref table
-        Long offsetOrObjstmObNr = document.getXrefTable().get(objKey);
+        Long offsetOrObjstmObNr = document.getXrefIndex().get(objKey);
+        // the object may be listed in one of the cross reference tables which weren't read so far
+        if (offsetOrObjstmObNr == null && rootParser.deferredXrefOffset != -1) {
+            loadDeferredXref();
+            offsetOrObjstmObNr = document.getXrefIndex().get(objKey);
+        }
 
         // maybe something is wrong with the xref table -> perform brute force search for all objects
         if (offsetOrObjstmObNr == null && isLenient) {
-            offsetOrObjstmObNr = getBruteForceParser().getBFCOSObjectOffsets().get(objKey);
+            offsetOrObjstmObNr = getBFCOSObjectOffsets().get(objKey);
             if (offsetOrObjstmObNr != null) {
                 LOG.debug("Set missing offset " + offsetOrObjstmObNr + " for object " + objKey);
-                document.getXrefTable().put(objKey, offsetOrObjstmObNr);
+                document.getXrefIndex().put(objKey, offsetOrObjstmObNr);
             }
         }
 
@@ -608,7 +900,9 @@ public class COSParser extends BaseParser implements ICOSParser {
                 COSStream stream = parseCOSStream((COSDictionary) parsedObject);
 
                 if (securityHandler != null) {
-                    securityHandler.decryptStream(stream, objKey.getNumber(), objKey.getGeneration());
+                    synchronized (securityHandler) {
+                        securityHandler.decryptStream(stream, objKey.getNumber(), objKey.getGeneration());
+                    }
                 }
                 parsedObject = stream;
             } else {
@@ -631,7 +925,9 @@ public class COSParser extends BaseParser implements ICOSParser {
                 }
             }
         } else if (securityHandler != null) {
-            securityHandler.decrypt(parsedObject, objKey.getNumber(), objKey.getGeneration());
+            synchronized (securityHandler) {
+                securityHandler.decrypt(parsedObject, objKey.getNumber(), objKey.getGeneration());
+            }
         }
 
         if (!endObjectKey.startsWith(ENDOBJ_STRING)) {
@@ -657,33 +953,34 @@ public class COSParser extends BaseParser implements ICOSParser {
      * @throws IOException if something went wrong when parsing the object
      */
     protected COSBase parseObjectStreamObject(long objstmObjNr, COSObjectKey key) throws IOException {
-        Map<COSObjectKey, COSBase> streamObjects = decompressedObjects.computeIfAbsent(objstmObjNr,
-                n -> new HashMap<>());
         // did we already read the compressed object stream?
-        COSBase objectStreamObject = streamObjects.remove(key);
-        if (objectStreamObject != null) {
-            return objectStreamObject;
+        ObjectStreamIndex objectStream = objectStreams.get(objstmObjNr);
+        COSBase objstmBaseObj = null;
+        if (objectStream == null) {
+            final COSObjectKey objKey = getObjectKey(objstmObjNr, 0);
+            objstmBaseObj = document.getObjectFromPool(objKey).getObject();
+            if (!(objstmBaseObj instanceof COSStream)) {
+                return null;
+            }
         }
-        final COSObjectKey objKey = getObjectKey(objstmObjNr, 0);
-        final COSBase objstmBaseObj = document.getObjectFromPool(objKey).getObject();
-        if (objstmBaseObj instanceof COSStream) {
-            try {
-                PDFObjectStreamParser parser = new PDFObjectStreamParser((COSStream) objstmBaseObj,
-                        document);
-                Map<COSObjectKey, COSBase> allStreamObjects = parser.parseAllObjects();
-                objectStreamObject = allStreamObjects.remove(key);
-                allStreamObjects.entrySet().stream()
-                        .forEach(e -> streamObjects.putIfAbsent(e.getKey(), e.getValue()));
-            } catch (IOException ex) {
-                if (isLenient) {
-                    LOG.error("object stream " + objstmObjNr
-                            + " could not be parsed due to an exception", ex);
-                } else {
-                    throw ex;
+        try {
+            if (objectStream == null) {
+                // only the object numbers are read, the objects are parsed when dereferencing them
+                ObjectStreamIndex newObjectStream = ObjectStreamIndex.read((COSStream) objstmBaseObj);
+                objectStream = objectStreams.putIfAbsent(objstmObjNr, newObjectStream);
+                if (objectStream == null) {
+                    objectStream = newObjectStream;
                 }
             }
+            return objectStream.parseObject(key, document);
+        } catch (IOException ex) {
+            if (isLenient) {
+                LOG.error("object stream " + objstmObjNr
+                        + " could not be parsed due to an exception", ex);
+                return null;
+            }
+            throw ex;
         }
-        return objectStreamObject;
     }
 
     /**
@@ -1122,6 +1419,19 @@ public class COSParser extends BaseParser implements ICOSParser {
         return bruteForceParser;
     }
 
+    /**
+     * Returns the offsets of all objects found by a brute force search. The search is done by the root parser as it
+     * moves the position of the shared source.
+     */
+    private Map<COSObjectKey, Long> getBFCOSObjectOffsets() throws IOException {
+        if (rootParser != this) {
+            return rootParser.getBFCOSObjectOffsets();
+        }
+        synchronized (this) {
+            return getBruteForceParser().getBFCOSObjectOffsets();
+        }
+    }
+
     /**
      * Check if all entries of the pages dictionary are present. Those which can't be dereferenced are removed.
      *
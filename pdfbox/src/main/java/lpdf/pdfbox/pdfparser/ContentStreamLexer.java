@@ -0,0 +1,501 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package lpdf.pdfbox.pdfparser;
+
+import lpdf.io.RandomAccessReadBuffer;
+import lpdf.pdfbox.contentstream.OperandStack;
+import lpdf.pdfbox.contentstream.operator.Operator;
+import lpdf.pdfbox.contentstream.operator.OperatorName;
+import lpdf.pdfbox.cos.COSBase;
+import lpdf.pdfbox.cos.COSArray;
+import lpdf.pdfbox.cos.COSBoolean;
+import lpdf.pdfbox.cos.COSName;
+import lpdf.pdfbox.cos.COSNull;
+import lpdf.pdfbox.cos.COSNumber;
+import lpdf.pdfbox.cos.COSString;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * A lexer for content streams which are completely in memory. It produces the same operators and operands as
+ * {@link PDFStreamParser#parseNextOperator(OperandStack)}, but reads the bytes directly from an array. Whitespace,
+ * comments, numbers, names, strings, arrays and operators, which make up nearly all of a content stream, are
+ * recognized with a table of character classes. Known operators are looked up by their bytes, so that no string is
+ * created for them. The other tokens, i.e. dictionaries, inline images and the forms of names, strings and arrays which
+ * need escapes or error recovery, are passed to a {@link PDFStreamParser} reading the same bytes.
+ */
+public final class ContentStreamLexer {
+    // character classes
+    private static final byte REGULAR = 0;
+    private static final byte WHITESPACE = 1;
+    private static final byte DELIMITER = 2;
+    private static final byte NUMBER = 3;
+    private static final byte COMMENT = 4;
+
+    // flags of the characters terminating a token
+    private static final byte END_OF_NAME = 1;
+    private static final byte END_OF_OPERATOR = 2;
+
+    private static final byte[] CLASSES = new byte[256];
+    private static final byte[] TERMINATORS = new byte[256];
+
+    static {
+        for (int c : new int[]{ 0, '\t', '\n', '\f', '\r', ' ' }) {
+            CLASSES[c] = WHITESPACE;
+        }
+        for (int c : "()<>[]{}/".toCharArray()) {
+            CLASSES[c] = DELIMITER;
+        }
+        for (int c : "0123456789+-.".toCharArray()) {
+            CLASSES[c] = NUMBER;
+        }
+        CLASSES['%'] = COMMENT;
+
+        // see BaseParser.isEndOfName()
+        for (int c : new int[]{ ' ', '\r', '\n', '\t', '>', '<', '[', '/', ']', ')', '(', 0, '\f', '%' }) {
+            TERMINATORS[c] |= END_OF_NAME;
+        }
+        // see PDFStreamParser.readOperator()
+        for (int c : new int[]{ 0, '\t', '\f', '\n', '\r', ' ', ']', '[', '<', '(', '/' }) {
+            TERMINATORS[c] |= END_OF_OPERATOR;
+        }
+        for (int c = '0'; c <= '9'; c++) {
+            TERMINATORS[c] |= END_OF_OPERATOR;
+        }
+    }
+
+    // open addressing hash table of the operators having an opcode, keyed by their length and bytes
+    private static final int OPERATOR_TABLE_SIZE = 256;
+    private static final int[] OPERATOR_KEYS = new int[OPERATOR_TABLE_SIZE];
+    private static final Operator[] OPERATORS = new Operator[OPERATOR_TABLE_SIZE];
+
+    static {
+        for (int opcode = 0; opcode < Operator.getOpcodeCount(); opcode++) {
+            String name = Operator.getOperatorName(opcode);
+            if (name.equals(OperatorName.BEGIN_INLINE_IMAGE) || name.equals(OperatorName.BEGIN_INLINE_IMAGE_DATA)) {
+                // inline image operators can't be shared
+                continue;
+            }
+            byte[] bytes = name.getBytes(StandardCharsets.ISO_8859_1);
+            int key = operatorKey(bytes, 0, bytes.length);
+            int slot = operatorSlot(key);
+            OPERATOR_KEYS[slot] = key;
+            OPERATORS[slot] = Operator.getOperator(name);
+        }
+    }
+
+    private final byte[] data;
+    private final int offset;
+    private final int limit;
+    private int position;
+    private final NumberScanner numberScanner = new NumberScanner();
+
+    // parses the tokens which aren't handled here, created on demand
+    private PDFStreamParser fallback;
+
+    /**
+     * Constructor.
+     *
+     * @param data   the bytes of the content stream
+     * @param offset the offset of the content stream within the array
+     * @param length the length of the content stream
+     */
+    public ContentStreamLexer(byte[] data, int offset, int length) {
+        if (offset < 0 || length < 0 || offset + length > data.length || offset + length < 0) {
+            throw new IndexOutOfBoundsException("offset " + offset + ", length " + length + ", array length "
+                    + data.length);
+        }
+        this.data = data;
+        this.offset = offset;
+        this.limit = offset + length;
+        this.position = offset;
+    }
+
+    /**
+     * This will parse the operands up to the next operator and push them onto the given stack. Numbers are pushed as
+     * primitive values.
+     *
+     * @param operands the stack for the operands of the operator
+     * @return The next operator in the stream or null if there are no more operators in the stream.
+     * @throws IOException If an error occurs while parsing the stream.
+     */
+    public Operator parseNextOperator(OperandStack operands) throws IOException {
+        byte[] data = this.data;
+        while (true) {
+            int c = skipSpaces();
+            if (c == -1) {
+                return null;
+            }
+            switch (CLASSES[c]) {
+                case NUMBER:
+                    scanNumber(true);
+                    numberScanner.pushTo(operands);
+                    continue;
+                case DELIMITER:
+                    if (c == '/' || c == '(' || c == '<' || c == '[') {
+                        COSBase operand = parseSimpleObject(c);
+                        if (operand != null) {
+                            operands.push(operand);
+                            continue;
+                        }
+                    } else if (c == ']') {
+                        // some ']' around without its previous '[', see PDFStreamParser
+                        position++;
+                        operands.push(COSNull.NULL);
+                        continue;
+                    }
+                    break;
+                case REGULAR:
+                    if (c == 'n' || c == 't' || c == 'f') {
+                        int start = position;
+                        int end = scan(END_OF_NAME);
+                        int length = end - start;
+                        if (length == 4 && data[start] == 'n' && data[start + 1] == 'u' && data[start + 2] == 'l'
+                                && data[start + 3] == 'l') {
+                            operands.push(COSNull.NULL);
+                            continue;
+                        }
+                        if (length == 4 && data[start] == 't' && data[start + 1] == 'r' && data[start + 2] == 'u'
+                                && data[start + 3] == 'e') {
+                            operands.push(COSBoolean.TRUE);
+                            continue;
+                        }
+                        if (length == 5 && data[start] == 'f' && data[start + 1] == 'a' && data[start + 2] == 'l'
+                                && data[start + 3] == 's' && data[start + 4] == 'e') {
+                            operands.push(COSBoolean.FALSE);
+                            continue;
+                        }
+                        return operator(start, end);
+                    }
+                    if (c == 'B') {
+                        int start = position;
+                        int end = scan(END_OF_NAME);
+                        if (end - start != 2 || data[start + 1] != 'I') {
+                            return operator(start, end);
+                        }
+                        // inline images are left to the parser
+                        position = start;
+                    } else if (c != 'I') {
+                        return readOperator();
+                    }
+                    break;
+                default:
+                    // anything else is read as operator, see PDFStreamParser
+                    return readOperator();
+            }
+            Object token = parseWithFallback();
+            if (token == null || token instanceof Operator) {
+                return (Operator) token;
+            }
+            operands.push((COSBase) token);
+        }
+    }
+
+    /**
+     * Skips whitespace and comments.
+     *
+     * @return the next character or -1 at the end of the data
+     */
+    private int skipSpaces() {
+        byte[] data = this.data;
+        int position = this.position;
+        while (position < limit) {
+            int c = data[position] & 0xFF;
+            byte characterClass = CLASSES[c];
+            if (characterClass == WHITESPACE) {
+                position++;
+            } else if (characterClass == COMMENT) {
+                // skip past the comment section
+                position++;
+                while (position < limit && data[position] != '\n' && data[position] != '\r') {
+                    position++;
+                }
+            } else {
+                this.position = position;
+                return c;
+            }
+        }
+        this.position = limit;
+        return -1;
+    }
+
+    /**
+     * Advances to the next character having the given terminator flag.
+     *
+     * @return the end of the scanned bytes
+     */
+    private int scan(byte terminator) {
+        int position = this.position;
+        while (position < limit && (TERMINATORS[data[position] & 0xFF] & terminator) == 0) {
+            position++;
+        }
+        this.position = position;
+        return position;
+    }
+
+    /**
+     * Reads an operator like {@link PDFStreamParser} does, i.e. up to the next whitespace, delimiter or digit.
+     */
+    private Operator readOperator() {
+        int start = position;
+        int end = start;
+        while (end < limit && (TERMINATORS[data[end] & 0xFF] & END_OF_OPERATOR) == 0) {
+            // Type3 Glyph description has operators with a number in the name
+            if (data[end] == 'd' && end + 1 < limit && (data[end + 1] == '0' || data[end + 1] == '1')) {
+                end++;
+            }
+            end++;
+        }
+        position = end;
+        // the operator is trimmed
+        while (start < end && (data[start] & 0xFF) <= ' ') {
+            start++;
+        }
+        while (end > start && (data[end - 1] & 0xFF) <= ' ') {
+            end--;
+        }
+        return start < end ? operator(start, end) : null;
+    }
+
+    private Operator operator(int start, int end) {
+        int length = end - start;
+        if (length <= 3) {
+            int key = operatorKey(data, start, length);
+            Operator operator = OPERATORS[operatorSlot(key)];
+            if (operator != null) {
+                return operator;
+            }
+        }
+        return Operator.getOperator(new String(data, start, length, StandardCharsets.ISO_8859_1));
+    }
+
+    private static int operatorKey(byte[] bytes, int start, int length) {
+        int key = length;
+        for (int i = 0; i < length; i++) {
+            key = key << 8 | bytes[start + i] & 0xFF;
+        }
+        return key;
+    }
+
+    /**
+     * Returns the slot of the given key, or an empty slot if the key isn't a known operator.
+     */
+    private static int operatorSlot(int key) {
+        int slot = (key * 0x9E3779B9 >>> 24) & (OPERATOR_TABLE_SIZE - 1);
+        while (OPERATORS[slot] != null && OPERATOR_KEYS[slot] != key) {
+            slot = (slot + 1) & (OPERATOR_TABLE_SIZE - 1);
+        }
+        return slot;
+    }
+
+    /**
+     * Parses a name, string or array in its simple form, i.e. a name without escapes, a literal string without escapes
+     * and nested parentheses, a hex string without invalid characters or an array consisting of such objects and plain
+     * numbers.
+     *
+     * @param c the first character of the object
+     * @return the object or null if it has to be parsed by the fallback parser, which starts at the same position
+     */
+    private COSBase parseSimpleObject(int c) throws IOException {
+        int start = position;
+        COSBase object;
+        switch (c) {
+            case '/':
+                object = parseName();
+                break;
+            case '(':
+                object = parseLiteralString();
+                break;
+            case '<':
+                object = parseHexString();
+                break;
+            default:
+                object = parseArray();
+                break;
+        }
+        if (object == null) {
+            position = start;
+        }
+        return object;
+    }
+
+    /**
+     * Parses an array like {@link BaseParser} does, if its elements are simple objects or plain numbers.
+     */
+    private COSArray parseArray() throws IOException {
+        position++;
+        COSArray array = new COSArray();
+        while (true) {
+            int c = skipSpaces();
+            if (c == ']') {
+                position++;
+                return array;
+            }
+            if (c == -1) {
+                return null;
+            }
+            COSBase element;
+            if (c == '/' || c == '(' || c == '<' && (position + 1 >= limit || data[position + 1] != '<')) {
+                element = parseSimpleObject(c);
+            } else if (CLASSES[c] == NUMBER) {
+                element = parseArrayNumber();
+            } else {
+                return null;
+            }
+            if (element == null) {
+                return null;
+            }
+            array.add(element);
+        }
+    }
+
+    /**
+     * Parses a plain number like {@link BaseParser} does within arrays, i.e. with an optional sign, digits and at most
+     * one decimal point.
+     *
+     * @return the number or null if the number isn't a plain number
+     */
+    private COSNumber parseArrayNumber() throws IOException {
+        int start = position;
+        scanNumber(false);
+        if (numberScanner.isInteger() || !Float.isNaN(numberScanner.getReal())) {
+            return numberScanner.toCOSNumber();
+        }
+        position = start;
+        return null;
+    }
+
+    /**
+     * Parses a literal string without escapes and nested parentheses.
+     *
+     * @return the string or null if the string has to be parsed by the fallback parser
+     */
+    private COSString parseLiteralString() {
+        int start = position + 1;
+        for (int end = start; end < limit; end++) {
+            byte c = data[end];
+            if (c == ')') {
+                position = end + 1;
+                return new COSString(Arrays.copyOfRange(data, start, end));
+            }
+            if (c == '\\' || c == '(') {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Parses a hex string consisting of hex digits and whitespace.
+     *
+     * @return the string or null if the string has to be parsed by the fallback parser
+     */
+    private COSString parseHexString() {
+        int start = position + 1;
+        int digits = 0;
+        int end = start;
+        for (; end < limit && data[end] != '>'; end++) {
+            byte c = data[end];
+            if (Character.digit(c, 16) != -1) {
+                digits++;
+            } else if (c != ' ' && c != '\n' && c != '\t' && c != '\r' && c != '\b' && c != '\f') {
+                return null;
+            }
+        }
+        if (end == limit) {
+            return null;
+        }
+        // if odd number then the last hex digit is assumed to be 0, see COSString.parseHex()
+        byte[] bytes = new byte[(digits + 1) / 2];
+        int digit = 0;
+        for (int i = start; i < end; i++) {
+            int value = Character.digit(data[i], 16);
+            if (value != -1) {
+                bytes[digit / 2] |= (digit & 1) == 0 ? value << 4 : value;
+                digit++;
+            }
+        }
+        position = end + 1;
+        return new COSString(bytes);
+    }
+
+    /**
+     * Parses a name without escapes.
+     *
+     * @return the name or null if the name has to be parsed by the fallback parser
+     */
+    private COSName parseName() {
+        int start = position + 1;
+        int end = start;
+        while (end < limit && (TERMINATORS[data[end] & 0xFF] & END_OF_NAME) == 0) {
+            if (data[end] == '#') {
+                return null;
+            }
+            end++;
+        }
+        position = end;
+        return COSName.getPDFName(data, start, end - start);
+    }
+
+    /**
+     * Passes the characters of the number at the current position to the number scanner.
+     *
+     * @param contentStreamSyntax true to scan the number like {@link PDFStreamParser} does, false to scan it like
+     *                            {@link BaseParser} does within objects
+     */
+    private void scanNumber(boolean contentStreamSyntax) {
+        byte[] data = this.data;
+        NumberScanner scanner = numberScanner;
+        scanner.reset();
+        int position = this.position;
+        if (contentStreamSyntax) {
+            while (position < limit && scanner.addContentStreamCharacter(data[position])) {
+                position++;
+            }
+        } else {
+            while (position < limit && scanner.addObjectCharacter(data[position])) {
+                position++;
+            }
+        }
+        this.position = position;
+    }
+
+    /**
+     * Parses the next token with a {@link PDFStreamParser} reading the same bytes.
+     *
+     * @return the token or null if there are no more tokens
+     * @throws IOException if the token can't be parsed
+     */
+    private Object parseWithFallback() throws IOException {
+        if (fallback == null) {
+            ByteBuffer window = ByteBuffer.wrap(data, offset, limit - offset).slice();
+            fallback = new PDFStreamParser(new RandomAccessReadBuffer(window));
+        }
+        if (fallback.source.isClosed()) {
+            position = limit;
+            return null;
+        }
+        fallback.source.seek(position - offset);
+        Object token = fallback.parseNextToken();
+        // the parser is closed at the end of the data or when it gives up on invalid data
+        position = fallback.source.isClosed() ? limit : offset + (int) fallback.source.getPosition();
+        return token;
+    }
+}
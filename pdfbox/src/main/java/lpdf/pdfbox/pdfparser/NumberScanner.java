@@ -0,0 +1,238 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package lpdf.pdfbox.pdfparser;
+
+import lpdf.pdfbox.contentstream.OperandStack;
+import lpdf.pdfbox.cos.COSFloat;
+import lpdf.pdfbox.cos.COSInteger;
+import lpdf.pdfbox.cos.COSNumber;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Scans the characters of a number and converts plain numbers while they are read. The characters are passed one at a
+ * time by the parser reading them, so that the same scanner is used for all sources, e.g. by {@link BaseParser}
+ * reading a RandomAccessRead and by {@link ContentStreamLexer} reading an array.
+ * <p>
+ * Plain numbers consist of an optional sign, digits and at most one decimal point. Integers with up to 18 significant
+ * digits and reals with up to 15 significant digits are converted from the digits, all other forms including
+ * malformed numbers are passed to {@link COSNumber#get(String)}.
+ */
+final class NumberScanner {
+    // exactly representable powers of ten used to scale the digits of a real number
+    private static final double[] POWERS_OF_TEN = {1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+
+    // the characters of the number, without the ones which are ignored
+    private byte[] text = new byte[32];
+    private int length;
+    private boolean plain;
+    private boolean negative;
+    private boolean hasPoint;
+    // digits without leading zeros and number of digits after the decimal point
+    private long mantissa;
+    private int significantDigits;
+    private int fractionDigits;
+    private int digits;
+
+    /**
+     * Starts a new number.
+     */
+    void reset() {
+        length = 0;
+        plain = true;
+        negative = false;
+        hasPoint = false;
+        mantissa = 0;
+        significantDigits = 0;
+        fractionDigits = 0;
+        digits = 0;
+    }
+
+    /**
+     * Adds the next character of a number within an object, like {@link BaseParser} reads them. Any sequence of
+     * digits, signs, points and exponent markers is part of the number.
+     *
+     * @param c the character
+     * @return false if the character isn't part of the number
+     */
+    boolean addObjectCharacter(int c) {
+        if (c >= '0' && c <= '9') {
+            addDigit(c);
+        } else if ((c == '-' || c == '+') && length == 0) {
+            negative = c == '-';
+        } else if (c == '.' && !hasPoint) {
+            hasPoint = true;
+        } else if (c == '-' || c == '+' || c == '.' || c == 'E' || c == 'e') {
+            plain = false;
+        } else {
+            return false;
+        }
+        append(c);
+        return true;
+    }
+
+    /**
+     * Adds the next character of a number within a content stream, like {@link PDFStreamParser} reads them. The first
+     * character is a digit, a sign or a point. It is followed by digits and at most one point, a "-" is ignored, which
+     * covers double negatives as well.
+     *
+     * @param c the character
+     * @return false if the character isn't part of the number
+     */
+    boolean addContentStreamCharacter(int c) {
+        if (c >= '0' && c <= '9') {
+            addDigit(c);
+        } else if (c == '.' && !hasPoint) {
+            hasPoint = true;
+        } else if (length == 0 && (c == '-' || c == '+')) {
+            negative = c == '-';
+        } else if (c == '-') {
+            // Ignore double negative (this is consistent with Adobe Reader)
+            // PDFBOX-4064: ignore "-" in the middle of a number
+            return true;
+        } else {
+            return false;
+        }
+        append(c);
+        return true;
+    }
+
+    private void addDigit(int c) {
+        digits++;
+        if (hasPoint) {
+            fractionDigits++;
+        }
+        if (mantissa != 0 || c != '0') {
+            mantissa = mantissa * 10 + (c - '0');
+            significantDigits++;
+        }
+    }
+
+    private void append(int c) {
+        if (length == text.length) {
+            text = Arrays.copyOf(text, length * 2);
+        }
+        text[length++] = (byte) c;
+    }
+
+    /**
+     * Indicates whether the number is an integer which is converted from its digits.
+     *
+     * @return true if {@link #getInteger()} returns the value of the number
+     */
+    boolean isInteger() {
+        return plain && digits > 0 && !hasPoint && significantDigits <= 18;
+    }
+
+    /**
+     * Returns the value of a number for which {@link #isInteger()} returns true.
+     *
+     * @return the value
+     */
+    long getInteger() {
+        return negative ? -mantissa : mantissa;
+    }
+
+    /**
+     * Returns the value of a plain real number.
+     *
+     * @return the value or NaN if the number isn't a real which can be converted from its digits
+     */
+    float getReal() {
+        if (!plain || digits == 0 || !hasPoint || significantDigits > 15) {
+            return Float.NaN;
+        }
+        return toFloat(negative, mantissa, fractionDigits);
+    }
+
+    /**
+     * Returns the characters of the number as string.
+     *
+     * @return the text of the number
+     */
+    String getText() {
+        return new String(text, 0, length, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Creates the number. The created real numbers keep their text.
+     *
+     * @return the number
+     * @throws IOException if the number is malformed
+     */
+    COSNumber toCOSNumber() throws IOException {
+        if (isInteger()) {
+            return COSInteger.get(getInteger());
+        }
+        float real = getReal();
+        if (!Float.isNaN(real)) {
+            return new COSFloat(real, getText());
+        }
+        return COSNumber.get(getText());
+    }
+
+    /**
+     * Pushes the number onto the given stack, plain numbers are pushed as primitive values.
+     *
+     * @param operands the stack
+     * @throws IOException if the number is malformed
+     */
+    void pushTo(OperandStack operands) throws IOException {
+        if (isInteger()) {
+            operands.pushInteger(getInteger());
+            return;
+        }
+        float real = getReal();
+        if (!Float.isNaN(real)) {
+            operands.pushReal(real, text, 0, length);
+        } else {
+            operands.push(COSNumber.get(getText()));
+        }
+    }
+
+    /**
+     * Converts the digits of a real number with at most 15 significant digits to a float. The mantissa and the power
+     * of ten are exact doubles, so the quotient is correctly rounded. Rounding it once more to a float gives the same
+     * result as parsing the digits, unless the quotient is exactly halfway between two floats. Values smaller than
+     * the smallest normal float are converted to 0 like {@link COSFloat} does.
+     *
+     * @param negative       true if the number is negative
+     * @param mantissa       the digits of the number
+     * @param fractionDigits the number of digits after the decimal point
+     * @return the value or NaN if the digits have to be parsed as string
+     */
+    static float toFloat(boolean negative, long mantissa, int fractionDigits) {
+        if (fractionDigits >= POWERS_OF_TEN.length) {
+            return Float.NaN;
+        }
+        double value = mantissa / POWERS_OF_TEN[fractionDigits];
+        // the 29 bits which are dropped when rounding a double to a float
+        long droppedBits = Double.doubleToRawLongBits(value) & 0x1FFFFFFFL;
+        if (droppedBits == 0x10000000L) {
+            return Float.NaN;
+        }
+        float floatValue = (float) (negative ? -value : value);
+        if (Math.abs(floatValue) < Float.MIN_NORMAL) {
+            // values smaller than the smallest possible float value are converted to 0
+            floatValue = 0f;
+        }
+        return floatValue;
+    }
+}
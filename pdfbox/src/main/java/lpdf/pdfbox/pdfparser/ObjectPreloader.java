@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package lpdf.pdfbox.pdfparser;
+
+import lpdf.pdfbox.cos.COSDocument;
+import lpdf.pdfbox.cos.COSObjectKey;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Parses all objects of the cross reference table of a document in parallel, so that the document is fully
+ * materialized afterwards.
+ * <p>
+ * Objects stored in the file itself are split into consecutive ranges of offsets, each range is parsed by a task of
+ * its own. The compressed objects are parsed by one task per object stream, so that the object streams are decoded in
+ * parallel as well. The objects are parsed by the object parsers of the threads of the executor, which requires the
+ * initial parse to be done.
+ */
+final class ObjectPreloader {
+    // the maximum number of objects stored in the file itself which are parsed by a single task
+    private static final int OBJECTS_PER_TASK = 256;
+
+    private ObjectPreloader() {
+    }
+
+    /**
+     * Parses all objects of the cross reference table of the given document.
+     *
+     * @param document the document
+     * @param executor the executor running the tasks
+     */
+    static void preload(COSDocument document, Executor executor) {
+        List<Entry<COSObjectKey, Long>> fileObjects = new ArrayList<>();
+        Map<Long, List<COSObjectKey>> compressedObjects = new TreeMap<>();
+        for (Entry<COSObjectKey, Long> entry : document.getXrefTable().entrySet()) {
+            long value = entry.getValue();
+            if (value >= 0) {
+                fileObjects.add(entry);
+            } else {
+                // the negative value is the number of the object stream holding the object
+                compressedObjects.computeIfAbsent(-value, k -> new ArrayList<>()).add(entry.getKey());
+            }
+        }
+        fileObjects.sort(Comparator.comparingLong(Entry::getValue));
+
+        AtomicBoolean failed = new AtomicBoolean();
+        List<CompletableFuture<Void>> tasks = new ArrayList<>();
+        for (int start = 0; start < fileObjects.size(); start += OBJECTS_PER_TASK) {
+            List<COSObjectKey> keys = new ArrayList<>(OBJECTS_PER_TASK);
+            for (Entry<COSObjectKey, Long> entry : fileObjects.subList(start,
+                    Math.min(fileObjects.size(), start + OBJECTS_PER_TASK))) {
+                keys.add(entry.getKey());
+            }
+            tasks.add(CompletableFuture.runAsync(() -> parseObjects(document, keys, failed), executor));
+        }
+        for (List<COSObjectKey> keys : compressedObjects.values()) {
+            tasks.add(CompletableFuture.runAsync(() -> parseObjects(document, keys, failed), executor));
+        }
+        try {
+            for (CompletableFuture<Void> task : tasks) {
+                task.join();
+            }
+        } catch (CompletionException e) {
+            // the document must not be used by any task after returning
+            failed.set(true);
+            for (CompletableFuture<Void> task : tasks) {
+                task.handle((result, exception) -> null).join();
+            }
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+    private static void parseObjects(COSDocument document, List<COSObjectKey> keys, AtomicBoolean failed) {
+        for (COSObjectKey key : keys) {
+            if (failed.get()) {
+                return;
+            }
+            // errors are logged by the object itself and leave it as null object, as if it was dereferenced lazily
+            document.getObjectFromPool(key).getObject();
+        }
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package lpdf.pdfbox.pdfparser;
+
+import lpdf.io.IOUtils;
+import lpdf.io.RandomAccessReadBuffer;
+import lpdf.pdfbox.cos.COSBase;
+import lpdf.pdfbox.cos.COSDocument;
+import lpdf.pdfbox.cos.COSObjectKey;
+import lpdf.pdfbox.cos.COSStream;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.SoftReference;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * The offsets of the objects of an object stream, so that single objects can be parsed on demand without parsing the
+ * whole stream.
+ * <p>
+ * The decoded data of the stream is kept using a {@link SoftReference}, it is decoded once again if it was dropped in
+ * the meantime. Objects may be parsed by several threads at the same time.
+ */
+final class ObjectStreamIndex {
+    private final COSStream stream;
+    private final int numberOfObjects;
+    private final int firstObject;
+    // the object numbers and offsets, sorted ascending by offset
+    private final long[] objectNumbers;
+    private final int[] offsets;
+    // the positions within the arrays above, sorted by object number
+    private final int[] byObjectNumber;
+    // the index of an object key is used only if several objects use the same object number
+    private final boolean indexNeeded;
+    private volatile SoftReference<byte[]> data;
+
+    private ObjectStreamIndex(COSStream stream, int numberOfObjects, int firstObject, byte[] data,
+                              Map<Integer, Long> objectOffsets) {
+        this.stream = stream;
+        this.numberOfObjects = numberOfObjects;
+        this.firstObject = firstObject;
+        this.data = new SoftReference<>(data);
+        objectNumbers = new long[objectOffsets.size()];
+        offsets = new int[objectOffsets.size()];
+        int position = 0;
+        for (Entry<Integer, Long> entry : objectOffsets.entrySet()) {
+            objectNumbers[position] = entry.getValue();
+            offsets[position] = entry.getKey();
+            position++;
+        }
+        byObjectNumber = new int[objectNumbers.length];
+        Integer[] positions = new Integer[objectNumbers.length];
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] = i;
+        }
+        // a stable sort, objects with the same object number stay in the order of their offsets
+        Arrays.sort(positions, (a, b) -> Long.compare(objectNumbers[a], objectNumbers[b]));
+        boolean duplicateObjectNumbers = false;
+        for (int i = 0; i < positions.length; i++) {
+            byObjectNumber[i] = positions[i];
+            duplicateObjectNumbers |= i > 0 && objectNumbers[positions[i]] == objectNumbers[positions[i - 1]];
+        }
+        // there are malformed pdfs in the wild which would lead to false results if pdfbox always relies on the
+        // index if available. In most cases the object number is sufficient to choose the correct object
+        indexNeeded = duplicateObjectNumbers;
+    }
+
+    /**
+     * Decodes the given object stream and reads the offsets of its objects.
+     *
+     * @param stream the object stream
+     * @return the index of the stream
+     * @throws IOException if the stream can't be decoded or the object numbers can't be read
+     */
+    static ObjectStreamIndex read(COSStream stream) throws IOException {
+        int numberOfObjects = PDFObjectStreamParser.getNumberOfObjects(stream);
+        int firstObject = PDFObjectStreamParser.getFirstObject(stream);
+        byte[] data = decode(stream);
+        PDFObjectStreamParser parser = new PDFObjectStreamParser(numberOfObjects, firstObject,
+                new RandomAccessReadBuffer(data), null);
+        return new ObjectStreamIndex(stream, numberOfObjects, firstObject, data, parser.readObjectOffsets());
+    }
+
+    /**
+     * Parse the object with the given key.
+     *
+     * @param key      the key of the object
+     * @param document the document the object belongs to
+     * @return the parsed object or null if the stream doesn't contain the object
+     * @throws IOException if there is an error while parsing the object
+     */
+    COSBase parseObject(COSObjectKey key, COSDocument document) throws IOException {
+        int position = getPosition(key, document);
+        if (position == -1) {
+            return null;
+        }
+        PDFObjectStreamParser parser = new PDFObjectStreamParser(numberOfObjects, firstObject,
+                new RandomAccessReadBuffer(getData()), document);
+        return parser.parseObjectAt(offsets[position]);
+    }
+
+    /**
+     * Returns the position of the object with the given key, -1 if there isn't any.
+     */
+    private int getPosition(COSObjectKey key, COSDocument document) {
+        // objects within an object stream always use generation 0
+        if (key.getGeneration() != 0) {
+            return -1;
+        }
+        long number = key.getNumber();
+        if (indexNeeded) {
+            COSObjectKey xrefKey = document != null ? document.getXrefIndex().getKey(number, 0) : null;
+            int streamIndex = xrefKey != null ? xrefKey.getStreamIndex() : -1;
+            if (streamIndex > -1) {
+                return streamIndex < objectNumbers.length && objectNumbers[streamIndex] == number
+                        ? streamIndex : -1;
+            }
+        }
+        // the last one of several objects with the same object number wins
+        int low = 0;
+        int high = byObjectNumber.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (objectNumbers[byObjectNumber[middle]] <= number) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low > 0 && objectNumbers[byObjectNumber[low - 1]] == number ? byObjectNumber[low - 1] : -1;
+    }
+
+    private byte[] getData() throws IOException {
+        byte[] bytes = data.get();
+        if (bytes == null) {
+            bytes = decode(stream);
+            data = new SoftReference<>(bytes);
+        }
+        return bytes;
+    }
+
+    private static byte[] decode(COSStream stream) throws IOException {
+        try (InputStream input = stream.createInputStream()) {
+            return IOUtils.toByteArray(input);
+        }
+    }
+}
@@ -16,6 +16,7 @@
  */
 package lpdf.pdfbox.pdfparser;
 
+import lpdf.io.RandomAccessRead;
 import lpdf.pdfbox.cos.COSBase;
 import lpdf.pdfbox.cos.COSDocument;
 import lpdf.pdfbox.cos.COSName;
@@ -45,24 +46,58 @@ public class PDFObjectStreamParser extends BaseParser {
      * @throws IOException If there is an error initializing the stream.
      */
     public PDFObjectStreamParser(COSStream stream, COSDocument document) throws IOException {
-        super(stream.createView());
+        this(getNumberOfObjects(stream), getFirstObject(stream), stream.createView(), document);
+    }
+
+    /**
+     * Constructor for the already decoded data of an object stream.
+     *
+     * @param numberOfObjects the number of objects within the stream
+     * @param firstObject     the offset of the first object within the decoded data
+     * @param data            the decoded data of the stream
+     * @param document        The document for the current parsing.
+     */
+    PDFObjectStreamParser(int numberOfObjects, int firstObject, RandomAccessRead data, COSDocument document) {
+        super(data);
         this.document = document;
-        // get mandatory number of objects
-        numberOfObjects = stream.getInt(COSName.N);
+        this.numberOfObjects = numberOfObjects;
+        this.firstObject = firstObject;
+    }
+
+    /**
+     * Returns the mandatory number of objects of the given object stream.
+     *
+     * @param stream the object stream
+     * @return the value of the /N entry
+     * @throws IOException if the entry is missing or invalid
+     */
+    static int getNumberOfObjects(COSStream stream) throws IOException {
+        int numberOfObjects = stream.getInt(COSName.N);
         if (numberOfObjects == -1) {
             throw new IOException("/N entry missing in object stream");
         }
         if (numberOfObjects < 0) {
             throw new IOException("Illegal /N entry in object stream: " + numberOfObjects);
         }
-        // get mandatory stream offset of the first object
-        firstObject = stream.getInt(COSName.FIRST);
+        return numberOfObjects;
+    }
+
+    /**
+     * Returns the mandatory stream offset of the first object of the given object stream.
+     *
+     * @param stream the object stream
+     * @return the value of the /First entry
+     * @throws IOException if the entry is missing or invalid
+     */
+    static int getFirstObject(COSStream stream) throws IOException {
+        int firstObject = stream.getInt(COSName.FIRST);
         if (firstObject == -1) {
             throw new IOException("/First entry missing in object stream");
         }
         if (firstObject < 0) {
             throw new IOException("Illegal /First entry in object stream: " + firstObject);
         }
+        return firstObject;
     }
 
     /**
@@ -148,6 +183,43 @@ public class PDFObjectStreamParser extends BaseParser {
         return allObjects;
     }
 
+    /**
+     * Parse the object at the given offset without reading the object numbers. The stream is closed after parsing.
+     *
+     * @param offset the offset of the object relative to the first object
+     * @return the parsed object
+     * @throws IOException if there is an error while parsing the stream
+     */
+    COSBase parseObjectAt(int offset) throws IOException {
+        try {
+            // a negative offset would point into the object numbers, use the first object instead
+            source.seek(firstObject + (long) Math.max(0, offset));
+            COSBase streamObject = parseDirObject();
+            if (streamObject != null) {
+                streamObject.setDirect(false);
+            }
+            return streamObject;
+        } finally {
+            source.close();
+            document = null;
+        }
+    }
+
+    /**
+     * Read the offsets of all objects, sorted ascending. The stream is closed after reading the offsets.
+     *
+     * @return a map of all offsets within the object stream and the corresponding object numbers
+     * @throws IOException if there is an error while parsing the stream
+     */
+    Map<Integer, Long> readObjectOffsets() throws IOException {
+        try {
+            return privateReadObjectOffsets();
+        } finally {
+            source.close();
+            document = null;
+        }
+    }
+
     private Map<Long, Integer> privateReadObjectNumbers() throws IOException {
         // don't initialize map using numberOfObjects as there might by less object numbers than expected
         Map<Long, Integer> objectNumbers = new HashMap<>();
@@ -31,10 +31,13 @@ import org.slf4j.LoggerFactory;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.concurrent.Executor;
 
 public class PDFParser extends COSParser {
     private static final Logger LOG = LoggerFactory.getLogger(PDFParser.class);
 
+    private boolean readFirstPageXref = false;
+
     /**
      * Constructor.
      * Unrestricted main memory will be used for buffering PDF streams.
@@ -111,7 +114,11 @@ public class PDFParser extends COSParser {
      * @throws IOException              If something went wrong.
      */
     protected void initialParse() throws IOException {
-        COSDictionary trailer = retrieveTrailer();
+        COSDictionary trailer = readFirstPageXref ? retrieveFirstPageTrailer() : null;
+        boolean firstPageOnly = trailer != null;
+        if (trailer == null) {
+            trailer = retrieveTrailer();
+        }
 
         COSDictionary root = trailer.getCOSDictionary(COSName.ROOT);
         if (root == null) {
@@ -121,8 +128,10 @@ public class PDFParser extends COSParser {
         if (isLenient() && !root.containsKey(COSName.TYPE)) {
             root.setItem(COSName.TYPE, COSName.CATALOG);
         }
-        // check pages dictionaries
-        checkPages(root);
+        // check pages dictionaries, unless the page tree isn't read so far
+        if (!firstPageOnly) {
+            checkPages(root);
+        }
         document.setDecrypted();
         initialParseDone = true;
     }
@@ -173,6 +182,47 @@ public class PDFParser extends COSParser {
         }
     }
 
+    /**
+     * This will parse the stream and populate the PDDocument object like {@link #parse()}. If the pdf is linearized,
+     * only the first page cross reference table at the front of the file is read, the remaining cross reference tables
+     * are read as soon as an object is requested which isn't listed in the first page cross reference table. The first
+     * page, see {@link PDDocument#getLinearizedFirstPage()}, can be processed reading only the front of the file that
+     * way. Other pdfs are parsed as usual. Lenient mode is active.
+     *
+     * @return the populated PDDocument
+     * @throws InvalidPasswordException If the password is incorrect.
+     * @throws IOException              If there is an error reading from the stream or corrupt data is found.
+     */
+    public PDDocument parseLinearized() throws IOException {
+        readFirstPageXref = true;
+        return parse();
+    }
+
+    /**
+     * This will parse the stream and populate the PDDocument object like {@link #parse()}. Additionally all objects of
+     * the cross reference table are parsed right away by tasks running on the given executor, including the objects
+     * within object streams, instead of being parsed on first use. Lenient mode is active.
+     *
+     * @param executor the executor running the tasks parsing the objects
+     * @return the populated PDDocument
+     * @throws InvalidPasswordException If the password is incorrect.
+     * @throws IOException              If there is an error reading from the stream or corrupt data is found.
+     */
+    public PDDocument parseEagerly(Executor executor) throws IOException {
+        PDDocument pdDocument = parse();
+        boolean exceptionOccurred = true;
+        try {
+            ObjectPreloader.preload(document, executor);
+            exceptionOccurred = false;
+            return pdDocument;
+        } finally {
+            if (exceptionOccurred) {
+                IOUtils.closeQuietly(document);
+                document = null;
+            }
+        }
+    }
+
     /**
      * Create the resulting document. Maybe overwritten if the parser uses another class as document.
      *
@@ -16,7 +16,9 @@
  */
 package lpdf.pdfbox.pdfparser;
 
+import lpdf.io.RandomAccessRead;
 import lpdf.io.RandomAccessReadBuffer;
+import lpdf.pdfbox.contentstream.OperandStack;
 import lpdf.pdfbox.contentstream.PDContentStream;
 import lpdf.pdfbox.contentstream.operator.Operator;
 import lpdf.pdfbox.contentstream.operator.OperatorName;
@@ -58,6 +60,15 @@ public class PDFStreamParser extends BaseParser {
         super(pdContentstream.getContentsForRandomAccess());
     }
 
+    /**
+     * Constructor.
+     *
+     * @param source the content stream to parse.
+     */
+    public PDFStreamParser(RandomAccessRead source) {
+        super(source);
+    }
+
     /**
      * Constructor.
      *
@@ -168,31 +179,7 @@ public class PDFStreamParser extends BaseParser {
             case '-':
             case '+':
             case '.':
-                /* We will be filling buf with the rest of the number.  Only
-                 * allow 1 "." and "-" and "+" at start of number. */
-                StringBuilder buf = new StringBuilder();
-                buf.append(c);
-                source.read();
-
-                // Ignore double negative (this is consistent with Adobe Reader)
-                if (c == '-' && source.peek() == c) {
-                    source.read();
-                }
-
-                boolean dotNotRead = c != '.';
-                while (Character.isDigit(c = (char) source.peek()) || dotNotRead && c == '.'
-                        || c == '-') {
-                    if (c != '-') {
-                        // PDFBOX-4064: ignore "-" in the middle of a number
-                        buf.append(c);
-                    }
-                    source.read();
-
-                    if (dotNotRead && c == '.') {
-                        dotNotRead = false;
-                    }
-                }
-                return COSNumber.get(buf.toString());
+                return parseNumber(null);
             case 'B':
                 String nextOperator = readString();
                 Operator beginImageOP = Operator.getOperator(nextOperator);
@@ -271,6 +258,62 @@ public class PDFStreamParser extends BaseParser {
         return null;
     }
 
+    /**
+     * This will parse the operands up to the next operator and push them onto the given stack. Numbers are pushed as
+     * primitive values.
+     *
+     * @param operands the stack for the operands of the operator
+     * @return The next operator in the stream or null if there are no more operators in the stream.
+     * @throws IOException If an io error occurs while parsing the stream.
+     */
+    public Operator parseNextOperator(OperandStack operands) throws IOException {
+        while (true) {
+            if (source.isClosed()) {
+                return null;
+            }
+            skipSpaces();
+            if (source.isEOF()) {
+                close();
+                return null;
+            }
+            int c = source.peek();
+            if (c >= '0' && c <= '9' || c == '-' || c == '+' || c == '.') {
+                COSNumber number = parseNumber(operands);
+                if (number != null) {
+                    operands.push(number);
+                }
+            } else {
+                Object token = parseNextToken();
+                if (token == null || token instanceof Operator) {
+                    return (Operator) token;
+                }
+                operands.push((COSBase) token);
+            }
+        }
+    }
+
+    /**
+     * Parses a number. Only one "." and a "-" or "+" at the start of the number are allowed. Plain numbers are
+     * converted while they are read, all other forms are passed to {@link COSNumber#get(String)}.
+     *
+     * @param operands the stack to push plain numbers onto as primitive values, may be null
+     * @return the number or null if it was pushed onto the given stack
+     * @throws IOException If an io error occurs while parsing the stream.
+     */
+    private COSNumber parseNumber(OperandStack operands) throws IOException {
+        NumberScanner scanner = numberScanner;
+        scanner.reset();
+        scanner.addContentStreamCharacter(source.read());
+        while (scanner.addContentStreamCharacter(source.peek())) {
+            source.read();
+        }
+        if (operands == null) {
+            return scanner.toCOSNumber();
+        }
+        scanner.pushTo(operands);
+        return null;
+    }
+
     /**
      * Looks up an amount of bytes if they contain only ASCII characters (no
      * control sequences etc.), and that these ASCII characters begin with a
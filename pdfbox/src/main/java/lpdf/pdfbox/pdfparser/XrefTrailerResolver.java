@@ -19,6 +19,7 @@ package lpdf.pdfbox.pdfparser;
 import lpdf.pdfbox.cos.COSDictionary;
 import lpdf.pdfbox.cos.COSName;
 import lpdf.pdfbox.cos.COSObjectKey;
+import lpdf.pdfbox.cos.XrefIndex;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -62,7 +63,7 @@ public class XrefTrailerResolver {
 
         private XRefType xrefType;
 
-        private final Map<COSObjectKey, Long> xrefTable = new HashMap<>();
+        private final XrefIndex xrefTable = new XrefIndex();
 
         /**
          * Default constructor.
@@ -214,6 +215,20 @@ public class XrefTrailerResolver {
      * @param startxrefBytePosValue starting position of the first XRef
      */
     public void setStartxref(long startxrefBytePosValue) {
+        resolve(startxrefBytePosValue, true);
+    }
+
+    /**
+     * Sets the byte position of the first page XRef of a linearized pdf. Unlike {@link #setStartxref(long)} the chain
+     * defined by the 'Prev' keys isn't followed, as the remaining XRef objects aren't read so far.
+     *
+     * @param firstPageXrefBytePosValue position of the first page XRef
+     */
+    public void setFirstPageStartxref(long firstPageXrefBytePosValue) {
+        resolve(firstPageXrefBytePosValue, false);
+    }
+
+    private void resolve(long startxrefBytePosValue, boolean followPrev) {
         if (resolvedXrefTrailer != null) {
             LOG.warn("Method must be called only ones with last startxref value.");
             return;
@@ -238,7 +253,7 @@ public class XrefTrailerResolver {
             // found starting Xref object
             // add this and follow chain defined by 'Prev' keys
             xrefSeqBytePos.add(startxrefBytePosValue);
-            while (curObj.trailer != null) {
+            while (followPrev && curObj.trailer != null) {
                 long prevBytePos = curObj.trailer.getLong(COSName.PREV, -1L);
                 if (prevBytePos == -1) {
                     break;
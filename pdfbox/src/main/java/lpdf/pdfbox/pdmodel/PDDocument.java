@@ -522,6 +522,22 @@ public class PDDocument implements Closeable {
         return getDocumentCatalog().getPages().get(pageIndex);
     }
 
+    /**
+     * Returns the first page of a linearized PDF, see {@link lpdf.pdfbox.Loader#loadPDFLinearized(java.io.File)}.
+     * As long as the page tree wasn't read, the page is the one named by the linearization dictionary, so that it is
+     * available without reading the rest of the file. It isn't checked against the page tree. The first page of the
+     * page tree is returned in all other cases, see {@link #getPage(int)}.
+     *
+     * @return the first page
+     */
+    public PDPage getLinearizedFirstPage() {
+        COSDictionary firstPage = document.getLinearizedFirstPage();
+        if (firstPage != null) {
+            return new PDPage(firstPage, resourceCache);
+        }
+        return getPage(0);
+    }
+
     /**
      * Returns the page tree.
      *
@@ -0,0 +1,161 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package lpdf.pdfbox.pdmodel.font;
+
+import java.util.Arrays;
+
+/**
+ * The character codes of a content stream string together with the displacements of their glyphs, as decoded by
+ * {@link PDFont#decode(byte[], DecodedString)}. The values are kept in primitive arrays, an instance may be reused for
+ * several strings.
+ */
+public final class DecodedString {
+    private int[] codes;
+    private int[] codeLengths;
+    private float[] displacementX;
+    private float[] displacementY;
+    private int size;
+
+    /**
+     * Creates an empty instance.
+     */
+    public DecodedString() {
+        this(16);
+    }
+
+    /**
+     * Creates an empty instance for the given number of codes.
+     *
+     * @param capacity the expected number of codes
+     */
+    public DecodedString(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Invalid capacity " + capacity);
+        }
+        codes = new int[capacity];
+        codeLengths = new int[capacity];
+        displacementX = new float[capacity];
+        displacementY = new float[capacity];
+    }
+
+    /**
+     * Removes all codes.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Adds a decoded character code.
+     *
+     * @param code          the character code
+     * @param codeLength    the number of bytes of the code
+     * @param displacementX the horizontal displacement of the glyph in text space
+     * @param displacementY the vertical displacement of the glyph in text space
+     */
+    public void add(int code, int codeLength, float displacementX, float displacementY) {
+        if (size == codes.length) {
+            int capacity = Math.max(16, size * 2);
+            codes = Arrays.copyOf(codes, capacity);
+            codeLengths = Arrays.copyOf(codeLengths, capacity);
+            this.displacementX = Arrays.copyOf(this.displacementX, capacity);
+            this.displacementY = Arrays.copyOf(this.displacementY, capacity);
+        }
+        codes[size] = code;
+        codeLengths[size] = codeLength;
+        this.displacementX[size] = displacementX;
+        this.displacementY[size] = displacementY;
+        size++;
+    }
+
+    /**
+     * Returns the number of codes.
+     *
+     * @return the number of codes
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the character code at the given index.
+     *
+     * @param index the index of the code
+     * @return the character code
+     */
+    public int getCode(int index) {
+        checkIndex(index);
+        return codes[index];
+    }
+
+    /**
+     * Returns the number of bytes of the character code at the given index.
+     *
+     * @param index the index of the code
+     * @return the length of the code in bytes
+     */
+    public int getCodeLength(int index) {
+        checkIndex(index);
+        return codeLengths[index];
+    }
+
+    /**
+     * Returns the horizontal displacement (w0) of the glyph at the given index.
+     *
+     * @param index the index of the code
+     * @return the horizontal displacement in text space
+     */
+    public float getDisplacementX(int index) {
+        checkIndex(index);
+        return displacementX[index];
+    }
+
+    /**
+     * Returns the vertical displacement (w1) of the glyph at the given index.
+     *
+     * @param index the index of the code
+     * @return the vertical displacement in text space
+     */
+    public float getDisplacementY(int index) {
+        checkIndex(index);
+        return displacementY[index];
+    }
+
+    /**
+     * Returns a copy of the character codes.
+     *
+     * @return the character codes
+     */
+    public int[] getCodes() {
+        return Arrays.copyOf(codes, size);
+    }
+
+    /**
+     * Returns a copy of the horizontal displacements of the glyphs.
+     *
+     * @return the horizontal displacements in text space
+     */
+    public float[] getDisplacementsX() {
+        return Arrays.copyOf(displacementX, size);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+}
@@ -24,6 +24,7 @@ import lpdf.pdfbox.cos.COSName;
 import lpdf.pdfbox.cos.COSNumber;
 import lpdf.pdfbox.cos.COSStream;
 import lpdf.pdfbox.pdmodel.common.COSObjectable;
+import lpdf.pdfbox.util.IntFloatMap;
 import lpdf.pdfbox.util.Vector;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -46,11 +47,11 @@ public abstract class PDCIDFont implements COSObjectable, PDFontLike, PDVectorFo
 
     protected final PDType0Font parent;
 
-    private Map<Integer, Float> widths;
+    private final IntFloatMap widths = new IntFloatMap();
     private float defaultWidth;
     private float averageWidth;
 
-    private final Map<Integer, Float> verticalDisplacementY = new HashMap<>(); // w1y
+    private final IntFloatMap verticalDisplacementY = new IntFloatMap(); // w1y
     private final Map<Integer, Vector> positionVectors = new HashMap<>();     // v
     private final float[] dw2 = new float[]{880, -1000};
 
@@ -71,7 +72,6 @@ public abstract class PDCIDFont implements COSObjectable, PDFontLike, PDVectorFo
 
     private void readWidths() {
         // see 9.7.4.3, "Glyph Metrics in CIDFonts"
-        widths = new HashMap<>();
         COSArray wArray = dict.getCOSArray(COSName.W);
         if (wArray != null) {
             int size = wArray.size();
@@ -230,16 +230,12 @@ public abstract class PDCIDFont implements COSObjectable, PDFontLike, PDVectorFo
     }
 
     private float getWidthForCID(int cid) {
-        Float width = widths.get(cid);
-        if (width == null) {
-            width = getDefaultWidth();
-        }
-        return width;
+        return widths.get(cid, getDefaultWidth());
     }
 
     @Override
     public boolean hasExplicitWidth(int code) throws IOException {
-        return widths.get(codeToCID(code)) != null;
+        return widths.containsKey(codeToCID(code));
     }
 
     @Override
@@ -260,11 +256,7 @@ public abstract class PDCIDFont implements COSObjectable, PDFontLike, PDVectorFo
      */
     public float getVerticalDisplacementVectorY(int code) {
         int cid = codeToCID(code);
-        Float w1y = verticalDisplacementY.get(cid);
-        if (w1y == null) {
-            w1y = dw2[1];
-        }
-        return w1y;
+        return verticalDisplacementY.get(cid, dw2[1]);
     }
 
     @Override
@@ -281,12 +273,10 @@ public abstract class PDCIDFont implements COSObjectable, PDFontLike, PDVectorFo
         if (Float.compare(averageWidth, 0) == 0) {
             float totalWidths = 0.0f;
             int characterCount = 0;
-            if (widths != null) {
-                for (Float width : widths.values()) {
-                    if (width > 0) {
-                        totalWidths += width;
-                        ++characterCount;
-                    }
+            for (float width : widths.values()) {
+                if (width > 0) {
+                    totalWidths += width;
+                    ++characterCount;
                 }
             }
             if (characterCount != 0) {
@@ -37,11 +37,9 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * This is the base class for all PDF fonts.
@@ -64,7 +62,8 @@ public abstract class PDFont implements COSObjectable, PDFontLike {
     private List<Float> widths;
     private float avgFontWidth;
     private float fontWidthOfSpace = -1f;
-    private final Map<Integer, Float> codeToWidthMap;
+    // widths of the single byte codes, NaN if not known yet
+    private final float[] codeToWidth = createCodeToWidth();
 
     /**
      * Constructor for embedding.
@@ -75,7 +74,6 @@ public abstract class PDFont implements COSObjectable, PDFontLike {
         toUnicodeCMap = null;
         fontDescriptor = null;
         afmStandard14 = null;
-        codeToWidthMap = new HashMap<>();
     }
 
     /**
@@ -90,8 +88,6 @@ public abstract class PDFont implements COSObjectable, PDFontLike {
             throw new IllegalArgumentException("No AFM for font " + baseFont);
         }
         fontDescriptor = PDType1FontEmbedder.buildFontDescriptor(afmStandard14);
-        // standard 14 fonts may be accessed concurrently, as they are singletons
-        codeToWidthMap = new ConcurrentHashMap<>();
     }
 
     /**
@@ -101,7 +97,6 @@ public abstract class PDFont implements COSObjectable, PDFontLike {
      */
     protected PDFont(COSDictionary fontDictionary) {
         dict = fontDictionary;
-        codeToWidthMap = new HashMap<>();
 
         // standard 14 fonts use an AFM
         afmStandard14 = Standard14Fonts.getAFM(getName()); // may be null (it usually is)
@@ -109,6 +104,12 @@ public abstract class PDFont implements COSObjectable, PDFontLike {
         toUnicodeCMap = loadUnicodeCmap();
     }
 
+    private static float[] createCodeToWidth() {
+        float[] widths = new float[256];
+        Arrays.fill(widths, Float.NaN);
+        return widths;
+    }
+
     private PDFontDescriptor loadFontDescriptor() {
         COSDictionary fd = dict.getCOSDictionary(COSName.FONT_DESC);
         if (fd != null) {
@@ -219,13 +220,58 @@ public abstract class PDFont implements COSObjectable, PDFontLike {
         return new Vector(getWidth(code) / 1000, 0);
     }
 
+    /**
+     * Decodes all character codes of a content stream string together with the displacements of their glyphs.
+     *
+     * @param string the encoded string
+     * @return the decoded codes and displacements
+     * @throws IOException if the CMap or the widths could not be read
+     * @see #decode(byte[], DecodedString)
+     */
+    public DecodedString decode(byte[] string) throws IOException {
+        DecodedString decoded = new DecodedString(string.length);
+        decode(string, decoded);
+        return decoded;
+    }
+
+    /**
+     * Decodes all character codes of a content stream string together with the displacements of their glyphs, which
+     * replace the previous content of the given instance. This is equivalent to reading the codes with
+     * {@link #readCode(InputStream)} and calling {@link #getDisplacement(int)} for each of them, subclasses override
+     * this to avoid allocating objects per code. If an exception is thrown, the given instance holds the codes which
+     * were decoded before.
+     *
+     * @param string  the encoded string
+     * @param decoded receives the codes and displacements
+     * @throws IOException if the CMap or the widths could not be read
+     */
+    public void decode(byte[] string, DecodedString decoded) throws IOException {
+        decoded.clear();
+        InputStream in = new ByteArrayInputStream(string);
+        while (in.available() > 0) {
+            int before = in.available();
+            int code = readCode(in);
+            Vector w = getDisplacement(code);
+            decoded.add(code, before - in.available(), w.getX(), w.getY());
+        }
+    }
+
     @Override
     public float getWidth(int code) throws IOException {
-        Float width = codeToWidthMap.get(code);
-        if (width != null) {
+        if (code >= 0 && code < codeToWidth.length) {
+            float width = codeToWidth[code];
+            if (Float.isNaN(width)) {
+                // standard 14 fonts may be accessed concurrently, as they are singletons. This is
+                // harmless as the same width is calculated by each thread.
+                width = getUncachedWidth(code);
+                codeToWidth[code] = width;
+            }
             return width;
         }
+        return getUncachedWidth(code);
+    }
 
+    private float getUncachedWidth(int code) throws IOException {
         // Acrobat overrides the widths in the font program on the conforming reader's system with
         // the widths specified in the font dictionary." (Adobe Supplement to the ISO 32000)
         //
@@ -240,34 +286,24 @@ public abstract class PDFont implements COSObjectable, PDFontLike {
             int siz = getWidths().size();
             int idx = code - firstChar;
             if (siz > 0 && code >= firstChar && code <= lastChar && idx < siz) {
-                width = getWidths().get(idx);
-                if (width == null) {
-                    width = 0f;
-                }
-                codeToWidthMap.put(code, width);
-                return width;
+                Float width = getWidths().get(idx);
+                return width != null ? width : 0f;
             }
 
             PDFontDescriptor fd = getFontDescriptor();
             if (fd != null) {
                 // get entry from /MissingWidth entry
-                width = fd.getMissingWidth();
-                codeToWidthMap.put(code, width);
-                return width;
+                return fd.getMissingWidth();
             }
         }
 
         // standard 14 font widths are specified by an AFM
         if (isStandard14()) {
-            width = getStandard14Width(code);
-            codeToWidthMap.put(code, width);
-            return width;
+            return getStandard14Width(code);
         }
 
         // if there's nothing to override with, then obviously we fall back to the font
-        width = getWidthFromFont(code);
-        codeToWidthMap.put(code, width);
-        return width;
+        return getWidthFromFont(code);
     }
 
     /**
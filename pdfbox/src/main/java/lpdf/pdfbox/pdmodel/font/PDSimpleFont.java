@@ -269,6 +269,16 @@ public abstract class PDSimpleFont extends PDFont {
         return null;
     }
 
+    @Override
+    public void decode(byte[] string, DecodedString decoded) throws IOException {
+        // simple fonts use single byte codes and are always horizontal
+        decoded.clear();
+        for (byte b : string) {
+            int code = b & 0xff;
+            decoded.add(code, 1, getWidth(code) / 1000, 0);
+        }
+    }
+
     @Override
     public boolean isVertical() {
         return false;
@@ -36,6 +36,7 @@ import lpdf.pdfbox.util.Vector;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
@@ -445,6 +446,23 @@ public class PDType0Font extends PDFont implements PDVectorFont {
         }
     }
 
+    @Override
+    public void decode(byte[] string, DecodedString decoded) throws IOException {
+        decoded.clear();
+        boolean vertical = isVertical();
+        InputStream in = new ByteArrayInputStream(string);
+        while (in.available() > 0) {
+            int before = in.available();
+            int code = readCode(in);
+            int codeLength = before - in.available();
+            if (vertical) {
+                decoded.add(code, codeLength, 0, descendantFont.getVerticalDisplacementVectorY(code) / 1000f);
+            } else {
+                decoded.add(code, codeLength, getWidth(code) / 1000, 0);
+            }
+        }
+    }
+
     @Override
     public float getWidth(int code) throws IOException {
         return descendantFont.getWidth(code);
@@ -134,6 +134,17 @@ public class PDType3Font extends PDSimpleFont {
         return getFontMatrix().transform(new Vector(getWidth(code), 0));
     }
 
+    @Override
+    public void decode(byte[] string, DecodedString decoded) throws IOException {
+        // the displacement depends on the font matrix
+        decoded.clear();
+        for (byte b : string) {
+            int code = b & 0xff;
+            Vector w = getDisplacement(code);
+            decoded.add(code, 1, w.getX(), w.getY());
+        }
+    }
+
     @Override
     public float getWidth(int code) throws IOException {
         int firstChar = dict.getInt(COSName.FIRST_CHAR, -1);
@@ -143,12 +143,27 @@ class LegacyPDFStreamEngine extends PDFStreamEngine {
     }
 
     /**
-     * Called when a glyph is to be processed. The heuristic calculations here were originally
-     * written by Ben Litchfield for PDFStreamEngine.
+     * Called when a glyph is to be processed. Delegates to
+     * {@link #showGlyph(PDFont, int, float, float, float, float, float, float, float, float)}.
      */
     @Override
     protected void showGlyph(Matrix textRenderingMatrix, PDFont font, int code, Vector displacement)
             throws IOException {
+        showGlyph(font, code, textRenderingMatrix.getScaleX(), textRenderingMatrix.getShearY(),
+                textRenderingMatrix.getShearX(), textRenderingMatrix.getScaleY(),
+                textRenderingMatrix.getTranslateX(), textRenderingMatrix.getTranslateY(),
+                displacement.getX(), displacement.getY());
+    }
+
+    /**
+     * Called when a glyph is to be processed. The heuristic calculations here were originally
+     * written by Ben Litchfield for PDFStreamEngine. They are done on the elements of the text
+     * rendering matrix, the matrix of the text position is only created if a text position is
+     * processed.
+     */
+    @Override
+    protected void showGlyph(PDFont font, int code, float a, float b, float c, float d, float e, float f,
+                             float displacementX, float displacementY) throws IOException {
         //
         // legacy calculations which were previously in PDFStreamEngine
         //
@@ -162,7 +177,6 @@ class LegacyPDFStreamEngine extends PDFStreamEngine {
         float horizontalScaling = state.getTextState().getHorizontalScaling() / 100f;
         Matrix textMatrix = getTextMatrix();
 
-        float displacementX = displacement.getX();
         // the sorting algorithm is based on the width of the character. As the displacement
         // for vertical characters doesn't provide any suitable value for it, we have to
         // calculate our own
@@ -193,24 +207,23 @@ class LegacyPDFStreamEngine extends PDFStreamEngine {
         // (modified) combined displacement, this is calculated *without* taking the character
         // spacing and word spacing into account, due to legacy code in TextStripper
         float tx = displacementX * fontSize * horizontalScaling;
-        float ty = displacement.getY() * fontSize;
+        float ty = displacementY * fontSize;
 
-        // (modified) combined displacement matrix
-        Matrix td = Matrix.getTranslateInstance(tx, ty);
-
-        // (modified) text rendering matrix
-        Matrix nextTextRenderingMatrix = td.multiply(textMatrix).multiply(ctm); // text space -> device space
-        float nextX = nextTextRenderingMatrix.getTranslateX();
-        float nextY = nextTextRenderingMatrix.getTranslateY();
+        // (modified) translation of the text rendering matrix after the combined displacement,
+        // text space -> device space
+        float textX = tx * textMatrix.getScaleX() + ty * textMatrix.getShearX() + textMatrix.getTranslateX();
+        float textY = tx * textMatrix.getShearY() + ty * textMatrix.getScaleY() + textMatrix.getTranslateY();
+        float nextX = textX * ctm.getScaleX() + textY * ctm.getShearX() + ctm.getTranslateX();
+        float nextY = textX * ctm.getShearY() + textY * ctm.getScaleY() + ctm.getTranslateY();
 
         // (modified) width and height calculations
-        float dxDisplay = nextX - textRenderingMatrix.getTranslateX();
+        float dxDisplay = nextX - e;
         Float fontHeight = fontHeightMap.get(font.getCOSObject());
         if (fontHeight == null) {
             fontHeight = computeFontHeight(font);
             fontHeightMap.put(font.getCOSObject(), fontHeight);
         }
-        float dyDisplay = fontHeight * textRenderingMatrix.getScalingFactorY();
+        float dyDisplay = fontHeight * scalingFactor(d, c);
 
         //
         // start of the original method
@@ -245,7 +258,7 @@ class LegacyPDFStreamEngine extends PDFStreamEngine {
         }
 
         // the space width has to be transformed into display units
-        float spaceWidthDisplay = spaceWidthText * textRenderingMatrix.getScalingFactorX();
+        float spaceWidthDisplay = spaceWidthText * scalingFactor(a, b);
 
         // use our additional glyph list for Unicode mapping
         String unicode = font.toUnicode(code, GLYPHLIST);
@@ -255,8 +268,7 @@ class LegacyPDFStreamEngine extends PDFStreamEngine {
         // this, which is why we leave it until this point in PDFTextStreamEngine.
         if (unicode == null) {
             if (font instanceof PDSimpleFont) {
-                char c = (char) code;
-                unicode = new String(new char[]{c});
+                unicode = String.valueOf((char) code);
             } else {
                 // Acrobat doesn't seem to coerce composite font's character codes, instead it
                 // skips them. See the "allah2.pdf" TestTextStripper file.
@@ -267,9 +279,10 @@ class LegacyPDFStreamEngine extends PDFStreamEngine {
         // adjust for cropbox if needed
         Matrix translatedTextRenderingMatrix;
         if (translateMatrix == null) {
-            translatedTextRenderingMatrix = textRenderingMatrix;
+            translatedTextRenderingMatrix = new Matrix(a, b, c, d, e, f);
         } else {
-            translatedTextRenderingMatrix = Matrix.concatenate(translateMatrix, textRenderingMatrix);
+            translatedTextRenderingMatrix = new Matrix(a, b, c, d, e + translateMatrix.getTranslateX(),
+                    f + translateMatrix.getTranslateY());
             nextX -= pageSize.getLowerLeftX();
             nextY -= pageSize.getLowerLeftY();
         }
@@ -281,6 +294,20 @@ class LegacyPDFStreamEngine extends PDFStreamEngine {
                 (int) (fontSize * textMatrix.getScalingFactorX())));
     }
 
+    /**
+     * Returns the scaling factor of a text rendering matrix like {@link Matrix#getScalingFactorX()} and
+     * {@link Matrix#getScalingFactorY()} do.
+     *
+     * @param scale the scaling element
+     * @param shear the shear element in the same row
+     */
+    private static float scalingFactor(float scale, float shear) {
+        if (Float.compare(shear, 0.0f) != 0) {
+            return (float) Math.sqrt((double) scale * scale + (double) shear * shear);
+        }
+        return scale;
+    }
+
     /**
      * Compute the font height. Override this if you want to use own calculations.
      *
@@ -26,25 +26,24 @@ import java.io.Writer;
 import java.text.Bidi;
 import java.text.Normalizer;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
-import java.util.SortedMap;
-import java.util.SortedSet;
 import java.util.StringTokenizer;
-import java.util.TreeMap;
-import java.util.TreeSet;
+import java.util.function.ToIntFunction;
 import java.util.regex.Pattern;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import lpdf.harmony.awt.geom.Rectangle2D;
 import lpdf.pdfbox.pdmodel.PDDocument;
 import lpdf.pdfbox.pdmodel.PDPage;
 import lpdf.pdfbox.pdmodel.PDPageTree;
 import lpdf.pdfbox.pdmodel.common.PDRectangle;
+import lpdf.pdfbox.pdmodel.font.PDFont;
 import lpdf.pdfbox.pdmodel.interactive.documentnavigation.outline.PDOutlineItem;
 import lpdf.pdfbox.pdmodel.interactive.pagenavigation.PDThreadBead;
 import lpdf.pdfbox.util.IterativeMergeSort;
@@ -138,6 +137,7 @@ public class PDFTextStripper extends LegacyPDFStreamEngine
     private boolean suppressDuplicateOverlappingText = true;
     private boolean shouldSeparateByBeads = true;
     private boolean sortByPosition = false;
+    private boolean groupByBaseline = false;
     private boolean addMoreFormatting = false;
 
     private float indentThreshold = defaultIndentThreshold;
@@ -162,10 +162,48 @@ public class PDFTextStripper extends LegacyPDFStreamEngine
      * text after second article
      *
      * Most PDFs won't have any beads, so charactersByArticle will contain a single entry.
+     *
+     * The lists keep the values of their text positions in primitive arrays, the TextPosition objects returned by
+     * them are created on demand and kept, so that changes to them are used when the page is written.
      */
     protected ArrayList<List<TextPosition>> charactersByArticle = new ArrayList<>();
 
-    private final Map<String, TreeMap<Float, TreeSet<Float>>> characterListMapping = new HashMap<>();
+    private final TextPositionGrid shownCharacters = new TextPositionGrid();
+
+    /**
+     * Tells for each subclass whether it overrides {@link #writeString(String, List)}. Otherwise the text positions of
+     * the words are ignored and aren't created.
+     */
+    private static final ClassValue<Boolean> WRITES_TEXT_POSITIONS = new ClassValue<Boolean>()
+    {
+        @Override
+        protected Boolean computeValue(Class<?> type)
+        {
+            for (Class<?> c = type; c != PDFTextStripper.class; c = c.getSuperclass())
+            {
+                try
+                {
+                    c.getDeclaredMethod("writeString", String.class, List.class);
+                    return Boolean.TRUE;
+                }
+                catch (NoSuchMethodException e)
+                {
+                    // not overridden by this class
+                }
+                catch (SecurityException e)
+                {
+                    return Boolean.TRUE;
+                }
+            }
+            return Boolean.FALSE;
+        }
+    };
+
+    private final boolean writesTextPositions = WRITES_TEXT_POSITIONS.get(getClass());
+
+    private TextLineListener lineListener;
+    private final StringBuilder lineText = new StringBuilder();
+    private final Rectangle2D.Float lineBounds = new Rectangle2D.Float();
 
     protected PDDocument document;
     protected Writer output;
@@ -208,7 +246,7 @@ public class PDFTextStripper extends LegacyPDFStreamEngine
         currentPageNo = 0;
         document = null;
         charactersByArticle.clear();
-        characterListMapping.clear();
+        shownCharacters.clear();
     }
 
     /**
@@ -220,6 +258,78 @@ public class PDFTextStripper extends LegacyPDFStreamEngine
      * @throws IOException If the doc is in an invalid state.
      */
     public void writeText(PDDocument doc, Writer outputStream) throws IOException
+    {
+        beginText(doc, outputStream);
+        startDocument(document);
+        processPages(document.getPages());
+        endDocument(document);
+    }
+
+    /**
+     * This will take a PDDocument and hand the text of that document to the listener line by line, as soon as the
+     * layout of a page is done. Nothing is accumulated across pages, the text positions of a page are released when
+     * the page has been handed to the listener. The methods writing to the output are called as usual, with an output
+     * that discards the text.
+     *
+     * @param doc The document to get the data from.
+     * @param listener The listener to receive the text.
+     *
+     * @throws IOException If the doc is in an invalid state or the listener fails.
+     */
+    public void writeText(PDDocument doc, TextLineListener listener) throws IOException
+    {
+        lineListener = listener;
+        try
+        {
+            writeText(doc, new NullWriter());
+        }
+        finally
+        {
+            lineListener = null;
+        }
+    }
+
+    /**
+     * This will write the text of a consecutive part of the pages of a document, as used by
+     * {@link ParallelTextExtractor}. The parts written for all pages of a document in page order add up to the
+     * output of {@link #writeText(PDDocument, Writer)}.
+     *
+     * @param doc The document to get the data from.
+     * @param outputStream The location to put the text.
+     * @param pages The pages of this part.
+     * @param firstPageNo The 1-based number of the first page of this part.
+     * @param firstPart true if this part is the first one, which starts the document.
+     * @param lastPart true if this part is the last one, which ends the document.
+     * @param bookmarkPageNumbers The bookmark pages as returned by {@link #findBookmarkPageNumbers(PDDocument, List)}.
+     *
+     * @throws IOException If the doc is in an invalid state.
+     */
+    void writeText(PDDocument doc, Writer outputStream, List<PDPage> pages, int firstPageNo, boolean firstPart,
+            boolean lastPart, int[] bookmarkPageNumbers) throws IOException
+    {
+        beginText(doc, outputStream);
+        if (firstPart)
+        {
+            startDocument(document);
+        }
+        startBookmarkPageNumber = bookmarkPageNumbers[0];
+        endBookmarkPageNumber = bookmarkPageNumbers[1];
+        currentPageNo = firstPageNo - 1;
+        for (PDPage page : pages)
+        {
+            currentPageNo++;
+            if (page.hasContents())
+            {
+                processPage(page);
+            }
+        }
+        if (lastPart)
+        {
+            endDocument(document);
+        }
+    }
+
+    private void beginText(PDDocument doc, Writer outputStream)
     {
         resetEngine();
         document = doc;
@@ -231,9 +341,6 @@ public class PDFTextStripper extends LegacyPDFStreamEngine
             articleStart = lineSeparator;
             articleEnd = lineSeparator;
         }
-        startDocument(document);
-        processPages(document.getPages());
-        endDocument(document);
     }
 
     /**
@@ -244,12 +351,47 @@ public class PDFTextStripper extends LegacyPDFStreamEngine
      * @throws IOException If there is an error parsing the text.
      */
     protected void processPages(PDPageTree pages) throws IOException
+    {
+        findBookmarkPages(pages);
+        for (PDPage page : pages)
+        {
+            currentPageNo++;
+            if (page.hasContents())
+            {
+                processPage(page);
+            }
+        }
+    }
+
+    /**
+     * Finds the pages of the start and the end bookmark once for all parts written by
+     * {@link #writeText(PDDocument, Writer, List, int, boolean, boolean, int[])}, so that the strippers of the parts
+     * don't have to search the page tree.
+     *
+     * @param doc The document to get the data from.
+     * @param pages All pages of the document.
+     * @return the 1-based numbers of the start and the end bookmark page, -1 if undefined.
+     *
+     * @throws IOException If the destination of a bookmark can't be read.
+     */
+    int[] findBookmarkPageNumbers(PDDocument doc, List<PDPage> pages) throws IOException
+    {
+        findBookmarkPages(doc, pages::indexOf);
+        return new int[] { startBookmarkPageNumber, endBookmarkPageNumber };
+    }
+
+    private void findBookmarkPages(PDPageTree pages) throws IOException
+    {
+        findBookmarkPages(document, pages::indexOf);
+    }
+
+    private void findBookmarkPages(PDDocument doc, ToIntFunction<PDPage> pageIndex) throws IOException
     {
         PDPage startBookmarkPage = startBookmark == null ? null
-                : startBookmark.findDestinationPage(document);
+                : startBookmark.findDestinationPage(doc);
         if (startBookmarkPage != null)
         {
-            startBookmarkPageNumber = pages.indexOf(startBookmarkPage) + 1;
+            startBookmarkPageNumber = pageIndex.applyAsInt(startBookmarkPage) + 1;
         }
         else
         {
@@ -258,10 +400,10 @@ public class PDFTextStripper extends LegacyPDFStreamEngine
         }
 
         PDPage endBookmarkPage = endBookmark == null ? null
-                : endBookmark.findDestinationPage(document);
+                : endBookmark.findDestinationPage(doc);
         if (endBookmarkPage != null)
         {
-            endBookmarkPageNumber = pages.indexOf(endBookmarkPage) + 1;
+            endBookmarkPageNumber = pageIndex.applyAsInt(endBookmarkPage) + 1;
         }
         else
         {
@@ -279,15 +421,6 @@ public class PDFTextStripper extends LegacyPDFStreamEngine
             startBookmarkPageNumber = 0;
             endBookmarkPageNumber = 0;
         }
-
-        for (PDPage page : pages)
-        {
-            currentPageNo++;
-            if (page.hasContents())
-            {
-                processPage(page);
-            }
-        }
     }
 
     /**
@@ -328,6 +461,10 @@ public class PDFTextStripper extends LegacyPDFStreamEngine
                 && (endBookmarkPageNumber == -1 || currentPageNo <= endBookmarkPageNumber))
         {
             startPage(page);
+            if (lineListener != null)
+            {
+                lineListener.onPageStart(currentPageNo, page);
+            }
 
             int numberOfArticleSections = 1;
             if (shouldSeparateByBeads)
@@ -354,14 +491,23 @@ public class PDFTextStripper extends LegacyPDFStreamEngine
                     }
                     else
                     {
-                        charactersByArticle.add(new ArrayList<>());
+                        charactersByArticle.add(new TextPositionBuffer());
                     }
                 }
             }
-            characterListMapping.clear();
+            shownCharacters.clear();
             super.processPage(page);
             writePage();
             endPage(page);
+            if (lineListener != null)
+            {
+                lineListener.onPageEnd(currentPageNo, page);
+                for (List<TextPosition> textList : charactersByArticle)
+                {
+                    textList.clear();
+                }
+                shownCharacters.clear();
+            }
         }
     }
 
@@ -483,6 +629,8 @@ public class PDFTextStripper extends LegacyPDFStreamEngine
         float maxHeightForLine = MAX_HEIGHT_FOR_LINE_RESET_VALUE;
         PositionWrapper lastPosition = null;
         PositionWrapper lastLineStartPosition = null;
+        // the wrappers are reused, at most three of them are in use at a time
+        PositionWrapper[] wrappers = { new PositionWrapper(), new PositionWrapper(), new PositionWrapper() };
 
         boolean startOfPage = true; // flag to indicate start of page
         boolean startOfArticle;
@@ -493,22 +641,47 @@ public class PDFTextStripper extends LegacyPDFStreamEngine
 
         for (List<TextPosition> textList : charactersByArticle)
         {
-            if (getSortByPosition())
+            // the values of the text positions are read from the buffer, so that no TextPosition
+            // objects are needed unless they are passed to writeString(String, List)
+            TextPositionBuffer positions;
+            boolean lines = false;
+            if (textList instanceof TextPositionBuffer)
             {
-                TextPositionComparator comparator = new TextPositionComparator();
-
-                // because the TextPositionComparator is not transitive, but
-                // JDK7+ enforces transitivity on comparators, we need to use
-                // a custom mergesort implementation (which is slower, unfortunately).
-                try
+                positions = (TextPositionBuffer) textList;
+                if (getSortByPosition() && getGroupByBaseline())
+                {
+                    positions.sortByBaseline();
+                    lines = true;
+                }
+                else if (getSortByPosition())
                 {
-                    Collections.sort(textList, comparator);
+                    positions.sortByPosition();
                 }
-                catch (IllegalArgumentException e)
+                else
                 {
-                    IterativeMergeSort.sort(textList, comparator);
+                    positions.commit();
                 }
             }
+            else
+            {
+                if (getSortByPosition())
+                {
+                    TextPositionComparator comparator = new TextPositionComparator();
+
+                    // because the TextPositionComparator is not transitive, but
+                    // JDK7+ enforces transitivity on comparators, we need to use
+                    // a custom mergesort implementation (which is slower, unfortunately).
+                    try
+                    {
+                        Collections.sort(textList, comparator);
+                    }
+                    catch (IllegalArgumentException e)
+                    {
+                        IterativeMergeSort.sort(textList, comparator);
+                    }
+                }
+                positions = TextPositionBuffer.copyOf(textList);
+            }
 
             startArticle();
             startOfArticle = true;
@@ -516,9 +689,8 @@ public class PDFTextStripper extends LegacyPDFStreamEngine
             // Now cycle through to print the text.
             // We queue up a line at a time before we print so that we can convert
             // the line from presentation form to logical form (if needed).
-            List<LineItem> line = new ArrayList<>();
+            Line line = new Line();
 
-            Iterator<TextPosition> textIter = textList.iterator();
             // PDF files don't always store spaces. We will need to guess where we should add
             // spaces based on the distances between TextPositions. Historically, this was done
             // based on the size of the space character provided by the font. In general, this
@@ -529,17 +701,18 @@ public class PDFTextStripper extends LegacyPDFStreamEngine
 
             // Keeps track of the previous average character width
             float previousAveCharWidth = -1;
-            while (textIter.hasNext())
+            int size = positions.size();
+            for (int index = 0; index < size; index++)
             {
-                TextPosition position = textIter.next();
-                PositionWrapper current = new PositionWrapper(position);
-                String characterValue = position.getUnicode();
+                boolean lineStart = lines && positions.isLineStart(index);
+                PositionWrapper current = unusedWrapper(wrappers, lastPosition, lastLineStartPosition)
+                        .wrap(positions, index);
 
                 // Resets the average character width when we see a change in font
                 // or a change in the font size
                 if (lastPosition != null &&
-                    (position.getFont() != lastPosition.getTextPosition().getFont() ||
-                     Float.compare(position.getFontSize(),lastPosition.getTextPosition().getFontSize()) != 0))
+                    (positions.getFont(index) != lastPosition.getFont() ||
+                     Float.compare(positions.getFontSize(index), lastPosition.getFontSize()) != 0))
                 {
                     previousAveCharWidth = -1;
                 }
@@ -553,25 +726,25 @@ public class PDFTextStripper extends LegacyPDFStreamEngine
                 // adjusted coordinates, because they were used in the sorting.
                 if (getSortByPosition())
                 {
-                    positionX = position.getXDirAdj();
-                    positionY = position.getYDirAdj();
-                    positionWidth = position.getWidthDirAdj();
-                    positionHeight = position.getHeightDir();
+                    positionX = positions.getXDirAdj(index);
+                    positionY = positions.getYDirAdj(index);
+                    positionWidth = positions.getWidthDirAdj(index);
+                    positionHeight = positions.getHeight(index);
                 }
                 else
                 {
-                    positionX = position.getX();
-                    positionY = position.getY();
-                    positionWidth = position.getWidth();
-                    positionHeight = position.getHeight();
+                    positionX = positions.getX(index);
+                    positionY = positions.getY(index);
+                    positionWidth = positions.getWidth(index);
+                    positionHeight = positions.getHeight(index);
                 }
 
                 // The current amount of characters in a word
-                int wordCharCount = position.getIndividualWidths().length;
+                int wordCharCount = positions.getWidthCount(index);
 
                 // Estimate the expected width of the space based on the
                 // space character with some margin.
-                float wordSpacing = position.getWidthOfSpace();
+                float wordSpacing = positions.getWidthOfSpace(index);
                 float deltaSpace;
                 if (Float.compare(wordSpacing, 0) == 0 || Float.isNaN(wordSpacing))
                 {
@@ -629,9 +802,11 @@ public class PDFTextStripper extends LegacyPDFStreamEngine
                     // full range seen in this line. This is what I tried to do with minYTopForLine,
                     // but this caused a lot of regression test failures. So, I'm leaving it be for
                     // now
-                    if (!overlap(positionY, positionHeight, maxYForLine, maxHeightForLine))
+                    boolean newLine = lines ? lineStart
+                            : !overlap(positionY, positionHeight, maxYForLine, maxHeightForLine);
+                    if (newLine)
                     {
-                        writeLine(normalize(line));
+                        writeLine(normalize(positions, line));
                         line.clear();
                         lastLineStartPosition = handleLineSeparation(current, lastPosition,
                                 lastLineStartPosition, maxHeightForLine);
@@ -645,17 +820,16 @@ public class PDFTextStripper extends LegacyPDFStreamEngine
                             && expectedStartOfNextWordX < positionX
                             // only bother adding a word separator if the last character was not a word separator
                             && (wordSeparator.isEmpty() || //
-                                    (lastPosition.getTextPosition().getUnicode() != null
-                                            && !lastPosition.getTextPosition().getUnicode()
-                                                    .endsWith(wordSeparator))))
+                                    (lastPosition.hasUnicode()
+                                            && !lastPosition.unicodeEndsWith(wordSeparator))))
                     {
-                        line.add(LineItem.getWordSeparator());
+                        line.addWordSeparator();
                     }
                     // if there is at least the equivalent of one space
                     // between the last character and the current one,
                     // reset the max line height as the font size may have completely changed.
-                    if (Math.abs(position.getX()
-                            - lastPosition.getTextPosition().getX()) > (wordSpacing + deltaSpace))
+                    if (Math.abs(positions.getX(index)
+                            - lastPosition.getX()) > (wordSpacing + deltaSpace))
                     {
                         maxYForLine = MAX_Y_FOR_LINE_RESET_VALUE;
                         maxHeightForLine = MAX_HEIGHT_FOR_LINE_RESET_VALUE;
@@ -671,13 +845,13 @@ public class PDFTextStripper extends LegacyPDFStreamEngine
                 endOfLastTextX = positionX + positionWidth;
 
                 // add it to the list
-                if (characterValue != null)
+                if (positions.hasUnicode(index))
                 {
                     if (startOfPage && lastPosition == null)
                     {
                         writeParagraphStart();// not sure this is correct for RTL?
                     }
-                    line.add(new LineItem(position));
+                    line.add(index);
                 }
                 maxHeightForLine = Math.max(maxHeightForLine, positionHeight);
                 minYTopForLine = Math.min(minYTopForLine, positionY - positionHeight);
@@ -695,7 +869,7 @@ public class PDFTextStripper extends LegacyPDFStreamEngine
             // print the final line
             if (line.size() > 0)
             {
-                writeLine(normalize(line));
+                writeLine(normalize(positions, line));
                 writeParagraphEnd();
             }
             endArticle();
@@ -703,6 +877,22 @@ public class PDFTextStripper extends LegacyPDFStreamEngine
         writePageEnd();
     }
 
+    /**
+     * Returns the wrapper which is neither the last position nor the start of the last line.
+     */
+    private static PositionWrapper unusedWrapper(PositionWrapper[] wrappers, PositionWrapper lastPosition,
+            PositionWrapper lastLineStartPosition)
+    {
+        for (PositionWrapper wrapper : wrappers)
+        {
+            if (wrapper != lastPosition && wrapper != lastLineStartPosition)
+            {
+                return wrapper;
+            }
+        }
+        throw new IllegalStateException("no unused position wrapper");
+    }
+
     private boolean overlap(float y1, float height1, float y2, float height2)
     {
         return within(y1, y2, .1f) || y2 <= y1 && y2 >= y1 - height1
@@ -788,12 +978,9 @@ public class PDFTextStripper extends LegacyPDFStreamEngine
         boolean showCharacter = true;
         if (suppressDuplicateOverlappingText)
         {
-            showCharacter = false;
             String textCharacter = text.getUnicode();
             float textX = text.getX();
             float textY = text.getY();
-            TreeMap<Float, TreeSet<Float>> sameTextCharacters = characterListMapping
-                    .computeIfAbsent(textCharacter, k -> new TreeMap<>());
             // RDD - Here we compute the value that represents the end of the rendered
             // text. This value is used to determine whether subsequent text rendered
             // on the same line overwrites the current text.
@@ -804,26 +991,8 @@ public class PDFTextStripper extends LegacyPDFStreamEngine
             // the TJ just backs up to compensate after each character). Also, we subtract
             // an amount to allow for kerning (a percentage of the width of the last
             // character).
-            boolean suppressCharacter = false;
             float tolerance = text.getWidth() / textCharacter.length() / 3.0f;
-
-            SortedMap<Float, TreeSet<Float>> xMatches = sameTextCharacters.subMap(textX - tolerance,
-                    textX + tolerance);
-            for (TreeSet<Float> xMatch : xMatches.values())
-            {
-                SortedSet<Float> yMatches = xMatch.subSet(textY - tolerance, textY + tolerance);
-                if (!yMatches.isEmpty())
-                {
-                    suppressCharacter = true;
-                    break;
-                }
-            }
-            if (!suppressCharacter)
-            {
-                TreeSet<Float> ySet = sameTextCharacters.computeIfAbsent(textX, k -> new TreeSet<>());
-                ySet.add(textY);
-                showCharacter = true;
-            }
+            showCharacter = shownCharacters.add(textCharacter, textX, textY, tolerance);
         }
         if (showCharacter)
         {
@@ -1176,6 +1345,32 @@ public class PDFTextStripper extends LegacyPDFStreamEngine
         sortByPosition = newSortByPosition;
     }
 
+    /**
+     * This will tell if the text positions are grouped into lines by their baselines when they are sorted.
+     *
+     * @return true If the text positions are grouped by their baselines.
+     */
+    public boolean getGroupByBaseline()
+    {
+        return groupByBaseline;
+    }
+
+    /**
+     * When sorting by position (see {@link #setSortByPosition(boolean)}), the text positions are compared pairwise by
+     * default, and two positions are on the same line if their vertical extents overlap. As this comparison is not
+     * transitive, a slow merge sort is needed, and the lines are determined again while the text is written.<br>
+     * If this is enabled, the text positions are grouped into lines by their baselines instead, each line is sorted
+     * from left to right and the lines are used as they are when the text is written. This is considerably faster for
+     * pages with a lot of text, but may order text positions differently, e.g. superscripts.<br>
+     * The default is <b>not</b> to group by baseline.
+     *
+     * @param newGroupByBaseline Tell PDFBox to group the text positions by their baselines.
+     */
+    public void setGroupByBaseline(boolean newGroupByBaseline)
+    {
+        groupByBaseline = newGroupByBaseline;
+    }
+
     /**
      * Get the current space width-based tolerance value that is being used to estimate where spaces in text should be
      * added. Note that the default value for this has been determined from trial and error.
@@ -1460,15 +1655,12 @@ public class PDFTextStripper extends LegacyPDFStreamEngine
         }
         else
         {
-            float yGap = Math.abs(position.getTextPosition().getYDirAdj()
-                    - lastPosition.getTextPosition().getYDirAdj());
+            float yGap = Math.abs(position.getYDirAdj() - lastPosition.getYDirAdj());
             float newYVal = multiplyFloat(getDropThreshold(), maxHeightForLine);
             // do we need to flip this for rtl?
-            float xGap = position.getTextPosition().getXDirAdj()
-                    - lastLineStartPosition.getTextPosition().getXDirAdj();
-            float newXVal = multiplyFloat(getIndentThreshold(),
-                    position.getTextPosition().getWidthOfSpace());
-            float positionWidth = multiplyFloat(0.25f, position.getTextPosition().getWidth());
+            float xGap = position.getXDirAdj() - lastLineStartPosition.getXDirAdj();
+            float newXVal = multiplyFloat(getIndentThreshold(), position.getWidthOfSpace());
+            float positionWidth = multiplyFloat(0.25f, position.getWidth());
 
             if (yGap > newYVal)
             {
@@ -1486,7 +1678,7 @@ public class PDFTextStripper extends LegacyPDFStreamEngine
                     position.setHangingIndent();
                 }
             }
-            else if (xGap < -position.getTextPosition().getWidthOfSpace())
+            else if (xGap < -position.getWidthOfSpace())
             {
                 // text is left of previous line. Was it a hanging indent?
                 if (!lastLineStartPosition.isParagraphStart())
@@ -1604,9 +1796,7 @@ public class PDFTextStripper extends LegacyPDFStreamEngine
      */
     private Pattern matchListItemPattern(PositionWrapper pw)
     {
-        TextPosition tp = pw.getTextPosition();
-        String txt = tp.getUnicode();
-        return matchPattern(txt, getListItemPatterns());
+        return matchPattern(pw.getUnicode(), getListItemPatterns());
     }
 
     /**
@@ -1699,34 +1889,89 @@ public class PDFTextStripper extends LegacyPDFStreamEngine
         for (int i = 0; i < numberOfStrings; i++)
         {
             WordWithTextPositions word = line.get(i);
-            writeString(word.getText(), word.getTextPositions());
+            writeString(word.getText(), writesTextPositions
+                    ? word.getTextPositions() : Collections.<TextPosition>emptyList());
             if (i < numberOfStrings - 1)
             {
                 writeWordSeparator();
             }
         }
+        if (lineListener != null && numberOfStrings > 0)
+        {
+            notifyLine(line);
+        }
+    }
+
+    private void notifyLine(List<WordWithTextPositions> line) throws IOException
+    {
+        lineText.setLength(0);
+        float minX = Float.MAX_VALUE;
+        float minY = Float.MAX_VALUE;
+        float maxX = -Float.MAX_VALUE;
+        float maxY = -Float.MAX_VALUE;
+        for (WordWithTextPositions word : line)
+        {
+            if (lineText.length() > 0)
+            {
+                lineText.append(getWordSeparator());
+            }
+            lineText.append(word.getText());
+            TextPositionBuffer positions = word.getPositions();
+            for (int index : word.getIndices())
+            {
+                float x = positions.getX(index);
+                float y = positions.getY(index);
+                float endX = x + positions.getWidth(index);
+                float topY = y - positions.getHeight(index);
+                minX = Math.min(minX, Math.min(x, endX));
+                maxX = Math.max(maxX, Math.max(x, endX));
+                minY = Math.min(minY, Math.min(y, topY));
+                maxY = Math.max(maxY, Math.max(y, topY));
+            }
+        }
+        if (minX > maxX)
+        {
+            // no text positions, e.g. a line consisting of a separator only
+            lineBounds.setRect(0, 0, 0, 0);
+        }
+        else
+        {
+            lineBounds.setRect(minX, minY, maxX - minX, maxY - minY);
+        }
+        lineListener.onLine(lineText, lineBounds);
     }
 
     /**
-     * Normalize the given list of TextPositions.
+     * Normalize the given line of TextPositions.
      *
-     * @param line list of TextPositions
+     * @param positions the text positions the line refers to
+     * @param line the indices of the text positions of the line and the word separators
      * @return a list of strings, one string for every word
      */
-    private List<WordWithTextPositions> normalize(List<LineItem> line)
+    private List<WordWithTextPositions> normalize(TextPositionBuffer positions, Line line)
     {
         List<WordWithTextPositions> normalized = new LinkedList<>();
         StringBuilder lineBuilder = new StringBuilder();
-        List<TextPosition> wordPositions = new ArrayList<>();
+        int wordStart = 0;
 
-        for (LineItem item : line)
+        for (int i = 0; i < line.size(); i++)
         {
-            lineBuilder = normalizeAdd(normalized, lineBuilder, wordPositions, item);
+            if (line.isWordSeparator(i))
+            {
+                normalized.add(createWord(lineBuilder.toString(), positions, line.copyOfRange(wordStart, i)));
+                lineBuilder = new StringBuilder();
+                wordStart = i + 1;
+            }
+            else
+            {
+                positions.appendVisuallyOrderedUnicode(line.get(i), lineBuilder);
+            }
         }
 
         if (lineBuilder.length() > 0)
         {
-            normalized.add(createWord(lineBuilder.toString(), wordPositions));
+            normalized.add(createWord(lineBuilder.toString(), positions,
+                    line.copyOfRange(wordStart, line.size())));
         }
         return normalized;
     }
@@ -1744,6 +1989,12 @@ public class PDFTextStripper extends LegacyPDFStreamEngine
      */
     private String handleDirection(String word)
     {
+        // most words don't need the costly Bidi analysis at all
+        if (isLeftToRight(word))
+        {
+            return word;
+        }
+
         Bidi bidi = new Bidi(word, Bidi.DIRECTION_DEFAULT_LEFT_TO_RIGHT);
 
         // if there is pure LTR text no need to process further
@@ -1808,6 +2059,48 @@ public class PDFTextStripper extends LegacyPDFStreamEngine
         return result.toString();
     }
 
+    /**
+     * Checks whether all characters of the given word resolve to the left-to-right level, i.e. whether the word
+     * doesn't contain right-to-left characters, Arabic digits or explicit directional formatting characters. Numbers
+     * and neutral characters take the left-to-right direction of the surrounding text then.
+     *
+     * @param word The word that shall be checked
+     * @return true if the word is left-to-right text only
+     */
+    static boolean isLeftToRight(String word)
+    {
+        int length = word.length();
+        for (int i = 0; i < length; i++)
+        {
+            char c = word.charAt(i);
+            // all characters before the Hebrew block are fine
+            if (c < '\u0590')
+            {
+                continue;
+            }
+            int codePoint = word.codePointAt(i);
+            switch (Character.getDirectionality(codePoint))
+            {
+                case Character.DIRECTIONALITY_LEFT_TO_RIGHT:
+                case Character.DIRECTIONALITY_EUROPEAN_NUMBER:
+                case Character.DIRECTIONALITY_EUROPEAN_NUMBER_SEPARATOR:
+                case Character.DIRECTIONALITY_EUROPEAN_NUMBER_TERMINATOR:
+                case Character.DIRECTIONALITY_COMMON_NUMBER_SEPARATOR:
+                case Character.DIRECTIONALITY_NONSPACING_MARK:
+                case Character.DIRECTIONALITY_BOUNDARY_NEUTRAL:
+                case Character.DIRECTIONALITY_PARAGRAPH_SEPARATOR:
+                case Character.DIRECTIONALITY_SEGMENT_SEPARATOR:
+                case Character.DIRECTIONALITY_WHITESPACE:
+                case Character.DIRECTIONALITY_OTHER_NEUTRALS:
+                    i += Character.charCount(codePoint) - 1;
+                    break;
+                default:
+                    return false;
+            }
+        }
+        return true;
+    }
+
     private static final Map<Character, Character> MIRRORING_CHAR_MAP = new HashMap<>();
 
     static
@@ -1872,11 +2165,12 @@ public class PDFTextStripper extends LegacyPDFStreamEngine
     }
 
     /**
-     * Used within {@link #normalize(List)} to create a single {@link WordWithTextPositions} entry.
+     * Used within {@link #normalize(TextPositionBuffer, Line)} to create a single {@link WordWithTextPositions}
+     * entry.
      */
-    private WordWithTextPositions createWord(String word, List<TextPosition> wordPositions)
+    private WordWithTextPositions createWord(String word, TextPositionBuffer positions, int[] indices)
     {
-        return new WordWithTextPositions(normalizeWord(word), wordPositions);
+        return new WordWithTextPositions(normalizeWord(word), positions, indices);
     }
 
     /**
@@ -1946,61 +2240,52 @@ public class PDFTextStripper extends LegacyPDFStreamEngine
     }
 
     /**
-     * Used within {@link #normalize(List)} to handle a {@link TextPosition}.
-     *
-     * @return The StringBuilder that must be used when calling this method.
+     * internal line buffer. Keeps the indices of the text positions of a line and the word separators between them.
      */
-    private StringBuilder normalizeAdd(List<WordWithTextPositions> normalized,
-            StringBuilder lineBuilder, List<TextPosition> wordPositions, LineItem item)
+    private static final class Line
     {
-        if (item.isWordSeparator())
+        private static final int WORD_SEPARATOR = -1;
+
+        private int[] items = new int[64];
+        private int size;
+
+        void add(int index)
         {
-            normalized.add(
-                    createWord(lineBuilder.toString(), new ArrayList<>(wordPositions)));
-            lineBuilder = new StringBuilder();
-            wordPositions.clear();
+            if (size == items.length)
+            {
+                items = Arrays.copyOf(items, size * 2);
+            }
+            items[size++] = index;
         }
-        else
+
+        void addWordSeparator()
         {
-            TextPosition text = item.getTextPosition();
-            lineBuilder.append(text.getVisuallyOrderedUnicode());
-            wordPositions.add(text);
+            add(WORD_SEPARATOR);
         }
-        return lineBuilder;
-    }
-
-    /**
-     * internal marker class. Used as a place holder in a line of TextPositions.
-     */
-    private static final class LineItem
-    {
-        public static final LineItem WORD_SEPARATOR = new LineItem();
 
-        public static LineItem getWordSeparator()
+        int size()
         {
-            return WORD_SEPARATOR;
+            return size;
         }
 
-        private final TextPosition textPosition;
-
-        private LineItem()
+        int get(int i)
         {
-            textPosition = null;
+            return items[i];
         }
 
-        LineItem(TextPosition textPosition)
+        boolean isWordSeparator(int i)
         {
-            this.textPosition = textPosition;
+            return items[i] == WORD_SEPARATOR;
         }
 
-        public TextPosition getTextPosition()
+        int[] copyOfRange(int from, int to)
         {
-            return textPosition;
+            return Arrays.copyOfRange(items, from, to);
         }
 
-        public boolean isWordSeparator()
+        void clear()
         {
-            return textPosition == null;
+            size = 0;
         }
     }
 
@@ -2013,12 +2298,14 @@ public class PDFTextStripper extends LegacyPDFStreamEngine
     private static final class WordWithTextPositions
     {
         final String text;
-        final List<TextPosition> textPositions;
+        final TextPositionBuffer positions;
+        final int[] indices;
 
-        WordWithTextPositions(String word, List<TextPosition> positions)
+        WordWithTextPositions(String word, TextPositionBuffer positions, int[] indices)
         {
             text = word;
-            textPositions = positions;
+            this.positions = positions;
+            this.indices = indices;
         }
 
         public String getText()
@@ -2026,18 +2313,39 @@ public class PDFTextStripper extends LegacyPDFStreamEngine
             return text;
         }
 
+        public TextPositionBuffer getPositions()
+        {
+            return positions;
+        }
+
+        public int[] getIndices()
+        {
+            return indices;
+        }
+
+        /**
+         * Returns the text positions of the word, which are created by the buffer on first access.
+         *
+         * @return the text positions
+         */
         public List<TextPosition> getTextPositions()
         {
+            List<TextPosition> textPositions = new ArrayList<>(indices.length);
+            for (int index : indices)
+            {
+                textPositions.add(positions.get(index));
+            }
             return textPositions;
         }
     }
 
     /**
-     * wrapper of TextPosition that adds flags to track status as linestart and paragraph start positions.
+     * wrapper of a text position that adds flags to track status as linestart and paragraph start positions.
      * <p>
      * This is implemented as a wrapper since the TextPosition class doesn't provide complete access to its state fields
      * to subclasses. Also, conceptually TextPosition is immutable while these flags need to be set post-creation so it
-     * makes sense to put these flags in this separate class.
+     * makes sense to put these flags in this separate class. The text position is given by its index in a
+     * {@link TextPositionBuffer}, so that wrappers can be reused.
      * </p>
      *
      * @author m.martinez@ll.mit.edu
@@ -2050,26 +2358,76 @@ public class PDFTextStripper extends LegacyPDFStreamEngine
         private boolean isHangingIndent = false;
         private boolean isArticleStart = false;
 
-        private TextPosition position = null;
+        private TextPositionBuffer positions;
+        private int index;
 
         /**
-         * Constructs a PositionWrapper around the specified TextPosition object.
+         * Wraps the text position at the given index and clears all flags.
          *
-         * @param position the text position.
+         * @param positions the text positions
+         * @param index the index of the text position
+         * @return this wrapper
          */
-        PositionWrapper(TextPosition position)
+        PositionWrapper wrap(TextPositionBuffer positions, int index)
         {
-            this.position = position;
+            this.positions = positions;
+            this.index = index;
+            isLineStart = false;
+            isParagraphStart = false;
+            isPageBreak = false;
+            isHangingIndent = false;
+            isArticleStart = false;
+            return this;
         }
 
-        /**
-         * Returns the underlying TextPosition object.
-         *
-         * @return the text position
-         */
-        public TextPosition getTextPosition()
+        public float getX()
+        {
+            return positions.getX(index);
+        }
+
+        public float getXDirAdj()
+        {
+            return positions.getXDirAdj(index);
+        }
+
+        public float getYDirAdj()
+        {
+            return positions.getYDirAdj(index);
+        }
+
+        public float getWidth()
+        {
+            return positions.getWidth(index);
+        }
+
+        public float getWidthOfSpace()
         {
-            return position;
+            return positions.getWidthOfSpace(index);
+        }
+
+        public float getFontSize()
+        {
+            return positions.getFontSize(index);
+        }
+
+        public PDFont getFont()
+        {
+            return positions.getFont(index);
+        }
+
+        public String getUnicode()
+        {
+            return positions.getUnicode(index);
+        }
+
+        public boolean hasUnicode()
+        {
+            return positions.hasUnicode(index);
+        }
+
+        public boolean unicodeEndsWith(String suffix)
+        {
+            return positions.unicodeEndsWith(index, suffix);
         }
 
         public boolean isLineStart()
@@ -2137,4 +2495,34 @@ public class PDFTextStripper extends LegacyPDFStreamEngine
             this.isHangingIndent = true;
         }
     }
+
+    /**
+     * The output of {@link #writeText(PDDocument, TextLineListener)}, which discards all text.
+     */
+    private static final class NullWriter extends Writer
+    {
+        @Override
+        public void write(char[] cbuf, int off, int len)
+        {
+            // discarded
+        }
+
+        @Override
+        public void write(String str, int off, int len)
+        {
+            // discarded
+        }
+
+        @Override
+        public void flush()
+        {
+            // nothing to flush
+        }
+
+        @Override
+        public void close()
+        {
+            // nothing to close
+        }
+    }
 }
@@ -0,0 +1,328 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package lpdf.pdfbox.text;
+
+import lpdf.pdfbox.cos.COSObject;
+import lpdf.pdfbox.pdmodel.DefaultResourceCache;
+import lpdf.pdfbox.pdmodel.PDDocument;
+import lpdf.pdfbox.pdmodel.PDPage;
+import lpdf.pdfbox.pdmodel.ResourceCache;
+import lpdf.pdfbox.pdmodel.documentinterchange.markedcontent.PDPropertyList;
+import lpdf.pdfbox.pdmodel.font.PDFont;
+import lpdf.pdfbox.pdmodel.graphics.PDXObject;
+import lpdf.pdfbox.pdmodel.graphics.color.PDColorSpace;
+import lpdf.pdfbox.pdmodel.graphics.pattern.PDAbstractPattern;
+import lpdf.pdfbox.pdmodel.graphics.shading.PDShading;
+import lpdf.pdfbox.pdmodel.graphics.state.PDExtendedGraphicsState;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Extracts the text of a document by processing consecutive ranges of pages in parallel, each with a stripper of its
+ * own. The text of the ranges is written in page order, so the output is the same as the one of
+ * {@link PDFTextStripper#writeText(PDDocument, Writer)}.
+ * <p>
+ * The strippers are created by a factory, which has to return identically configured strippers. The page range and
+ * bookmarks of the strippers are respected. Subclasses of {@link PDFTextStripper} which override
+ * {@link PDFTextStripper#processPages(lpdf.pdfbox.pdmodel.PDPageTree)} are not supported, as the pages are handed to
+ * the strippers directly.
+ * <p>
+ * While the text is extracted, the resource cache of the document is wrapped by one keeping the resources of each
+ * thread apart, as fonts and their font programs are not safe for concurrent use. The document must not be used
+ * otherwise during extraction.
+ */
+public final class ParallelTextExtractor {
+    private final Supplier<? extends PDFTextStripper> stripperFactory;
+    private final Executor executor;
+    private int pagesPerTask = 16;
+
+    /**
+     * Creates an extractor running on the common fork join pool.
+     *
+     * @param stripperFactory the factory of the strippers
+     */
+    public ParallelTextExtractor(Supplier<? extends PDFTextStripper> stripperFactory) {
+        this(stripperFactory, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates an extractor running on the given executor.
+     *
+     * @param stripperFactory the factory of the strippers
+     * @param executor        the executor running the extraction of the page ranges
+     */
+    public ParallelTextExtractor(Supplier<? extends PDFTextStripper> stripperFactory, Executor executor) {
+        this.stripperFactory = stripperFactory;
+        this.executor = executor;
+    }
+
+    /**
+     * Returns the maximum number of pages extracted by a single task.
+     *
+     * @return the number of pages per task
+     */
+    public int getPagesPerTask() {
+        return pagesPerTask;
+    }
+
+    /**
+     * Sets the maximum number of pages extracted by a single task. Smaller ranges balance the load better, larger
+     * ones have less overhead. The default is 16.
+     *
+     * @param pagesPerTask the number of pages per task
+     */
+    public void setPagesPerTask(int pagesPerTask) {
+        if (pagesPerTask < 1) {
+            throw new IllegalArgumentException("pagesPerTask must be positive, but is " + pagesPerTask);
+        }
+        this.pagesPerTask = pagesPerTask;
+    }
+
+    /**
+     * Returns the text of a document.
+     *
+     * @param document the document
+     * @return the text of the document
+     * @throws IOException if the text of a page can't be extracted
+     */
+    public String getText(PDDocument document) throws IOException {
+        StringWriter output = new StringWriter();
+        writeText(document, output);
+        return output.toString();
+    }
+
+    /**
+     * Writes the text of a document.
+     *
+     * @param document the document
+     * @param output   the location to put the text
+     * @throws IOException if the text of a page can't be extracted or written
+     */
+    public void writeText(PDDocument document, Writer output) throws IOException {
+        ResourceCache resourceCache = document.getResourceCache();
+        if (resourceCache != null) {
+            document.setResourceCache(new PerThreadResourceCache(resourceCache));
+        }
+        try {
+            // walk the page tree only once and in this thread, it may be repaired on the fly
+            List<PDPage> pages = new ArrayList<>(document.getNumberOfPages());
+            for (PDPage page : document.getPages()) {
+                pages.add(page);
+            }
+            PDFTextStripper stripper = stripperFactory.get();
+            int[] bookmarkPageNumbers = stripper.findBookmarkPageNumbers(document, pages);
+            int first = Math.max(1, stripper.getStartPage());
+            int last = Math.min(pages.size(), stripper.getEndPage());
+            if (first > last) {
+                // nothing but the start and the end of the document
+                stripper.writeText(document, output, Collections.emptyList(), 1, true, true, bookmarkPageNumbers);
+                return;
+            }
+            writeText(document, output, pages, first, last, bookmarkPageNumbers);
+        } finally {
+            if (resourceCache != null) {
+                document.setResourceCache(resourceCache);
+            }
+        }
+    }
+
+    private void writeText(PDDocument document, Writer output, List<PDPage> pages, int first, int last,
+                           int[] bookmarkPageNumbers) throws IOException {
+        AtomicBoolean failed = new AtomicBoolean();
+        List<CompletableFuture<String>> parts = new ArrayList<>();
+        try {
+            // the executor may reject a part, the parts submitted before are joined all the same
+            for (int start = first; start <= last; start += pagesPerTask) {
+                int firstPageNo = start;
+                int lastPageNo = Math.min(last, start + pagesPerTask - 1);
+                parts.add(CompletableFuture.supplyAsync(() -> {
+                    if (failed.get()) {
+                        return null;
+                    }
+                    StringWriter part = new StringWriter();
+                    try {
+                        stripperFactory.get().writeText(document, part, pages.subList(firstPageNo - 1, lastPageNo),
+                                firstPageNo, firstPageNo == first, lastPageNo == last, bookmarkPageNumbers);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    return part.toString();
+                }, executor));
+            }
+            for (CompletableFuture<String> part : parts) {
+                output.write(part.join());
+            }
+        } catch (CompletionException e) {
+            awaitTermination(parts, failed);
+            Throwable cause = e.getCause();
+            if (cause instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) cause).getCause();
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        } catch (IOException | RuntimeException e) {
+            awaitTermination(parts, failed);
+            throw e;
+        }
+    }
+
+    /**
+     * Skips the tasks which haven't started yet and waits for the running ones, as the document must not be used by
+     * them after returning.
+     */
+    private static void awaitTermination(List<CompletableFuture<String>> parts, AtomicBoolean failed) {
+        failed.set(true);
+        for (CompletableFuture<String> part : parts) {
+            try {
+                part.join();
+            } catch (CompletionException ignored) {
+                // only the first failure is reported
+            }
+        }
+    }
+
+    /**
+     * A resource cache wrapping the cache of the document. The fonts, color spaces, shadings, patterns and XObjects are
+     * kept in a {@link DefaultResourceCache} for each thread, as they aren't safe for concurrent use, and are passed on
+     * to the cache of the document as well, so that it holds the resources after the extraction. The extended graphics
+     * states and property lists only wrap their dictionaries, so they are shared through the cache of the document.
+     */
+    private static final class PerThreadResourceCache implements ResourceCache {
+        private final ResourceCache documentCache;
+        private final Map<Thread, ResourceCache> caches = new ConcurrentHashMap<>();
+
+        PerThreadResourceCache(ResourceCache documentCache) {
+            this.documentCache = documentCache;
+        }
+
+        private ResourceCache cache() {
+            return caches.computeIfAbsent(Thread.currentThread(), thread -> new DefaultResourceCache());
+        }
+
+        @Override
+        public PDFont getFont(COSObject indirect) {
+            return cache().getFont(indirect);
+        }
+
+        @Override
+        public PDColorSpace getColorSpace(COSObject indirect) {
+            return cache().getColorSpace(indirect);
+        }
+
+        @Override
+        public PDExtendedGraphicsState getExtGState(COSObject indirect) {
+            synchronized (documentCache) {
+                return documentCache.getExtGState(indirect);
+            }
+        }
+
+        @Override
+        public PDShading getShading(COSObject indirect) {
+            return cache().getShading(indirect);
+        }
+
+        @Override
+        public PDAbstractPattern getPattern(COSObject indirect) {
+            return cache().getPattern(indirect);
+        }
+
+        @Override
+        public PDPropertyList getProperties(COSObject indirect) {
+            synchronized (documentCache) {
+                return documentCache.getProperties(indirect);
+            }
+        }
+
+        @Override
+        public PDXObject getXObject(COSObject indirect) {
+            return cache().getXObject(indirect);
+        }
+
+        @Override
+        public void put(COSObject indirect, PDFont font) {
+            cache().put(indirect, font);
+            synchronized (documentCache) {
+                documentCache.put(indirect, font);
+            }
+        }
+
+        @Override
+        public void put(COSObject indirect, PDColorSpace colorSpace) {
+            cache().put(indirect, colorSpace);
+            synchronized (documentCache) {
+                documentCache.put(indirect, colorSpace);
+            }
+        }
+
+        @Override
+        public void put(COSObject indirect, PDExtendedGraphicsState extGState) {
+            synchronized (documentCache) {
+                documentCache.put(indirect, extGState);
+            }
+        }
+
+        @Override
+        public void put(COSObject indirect, PDShading shading) {
+            cache().put(indirect, shading);
+            synchronized (documentCache) {
+                documentCache.put(indirect, shading);
+            }
+        }
+
+        @Override
+        public void put(COSObject indirect, PDAbstractPattern pattern) {
+            cache().put(indirect, pattern);
+            synchronized (documentCache) {
+                documentCache.put(indirect, pattern);
+            }
+        }
+
+        @Override
+        public void put(COSObject indirect, PDPropertyList propertyList) {
+            synchronized (documentCache) {
+                documentCache.put(indirect, propertyList);
+            }
+        }
+
+        @Override
+        public void put(COSObject indirect, PDXObject xobject) {
+            cache().put(indirect, xobject);
+            synchronized (documentCache) {
+                documentCache.put(indirect, xobject);
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package lpdf.pdfbox.text;
+
+import lpdf.harmony.awt.geom.Rectangle2D;
+import lpdf.pdfbox.pdmodel.PDPage;
+
+import java.io.IOException;
+
+/**
+ * Receives the text of a document line by line, as soon as the layout of a page is done. See
+ * {@link PDFTextStripper#writeText(lpdf.pdfbox.pdmodel.PDDocument, TextLineListener)}.
+ */
+public interface TextLineListener {
+    /**
+     * Called before the first line of a page.
+     *
+     * @param pageNumber the 1-based number of the page
+     * @param page       the page
+     * @throws IOException if the page can't be handled
+     */
+    default void onPageStart(int pageNumber, PDPage page) throws IOException {
+        // nothing by default
+    }
+
+    /**
+     * Called for each line of a page, in the order in which {@link PDFTextStripper} writes them. The words of the
+     * line are separated by the word separator of the stripper. The line and its bounds are reused for the next line,
+     * they must be copied to be kept beyond this call.
+     *
+     * @param line   the text of the line
+     * @param bounds the bounds of the text positions of the line, in the display coordinates of
+     *               {@link TextPosition#getX()} and {@link TextPosition#getY()}, with the y axis pointing down
+     * @throws IOException if the line can't be handled
+     */
+    void onLine(CharSequence line, Rectangle2D bounds) throws IOException;
+
+    /**
+     * Called after the last line of a page.
+     *
+     * @param pageNumber the 1-based number of the page
+     * @param page       the page
+     * @throws IOException if the page can't be handled
+     */
+    default void onPageEnd(int pageNumber, PDPage page) throws IOException {
+        // nothing by default
+    }
+}
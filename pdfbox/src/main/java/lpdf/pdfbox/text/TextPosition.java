@@ -112,6 +112,18 @@ public final class TextPosition {
         }
     }
 
+    /**
+     * Constructor for a text position with several individual widths, e.g. after merging a diacritic.
+     */
+    TextPosition(int pageRotation, float pageWidth, float pageHeight, Matrix textMatrix,
+                 float endX, float endY, float maxHeight, float[] individualWidths,
+                 float spaceWidth, String unicode, int[] charCodes, PDFont font,
+                 float fontSize, int fontSizeInPt) {
+        this(pageRotation, pageWidth, pageHeight, textMatrix, endX, endY, maxHeight, individualWidths[0],
+                spaceWidth, unicode, charCodes, font, fontSize, fontSizeInPt);
+        this.widths = individualWidths;
+    }
+
     // Adds non-decomposing diacritics to the hash with their related combining character.
     // These are values that the unicode spec claims are equivalent but are not mapped in the form
     // NFKC normalization method. Determined by going through the Combining Diacritical Marks
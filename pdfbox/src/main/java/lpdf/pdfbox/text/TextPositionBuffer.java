@@ -0,0 +1,672 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package lpdf.pdfbox.text;
+
+import lpdf.pdfbox.pdmodel.font.PDFont;
+import lpdf.pdfbox.util.Matrix;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * A page-scoped list of text positions which keeps the values of the text positions in parallel primitive arrays
+ * instead of TextPosition objects. The characters of all text positions share a single char buffer, the fonts are
+ * kept once per list.
+ * <p>
+ * {@link #get(int)} creates a TextPosition as a view of the stored values when it is called for the first time for a
+ * text position, and returns the same view afterwards. Changes to the views are written back by {@link #commit()}.
+ * The last text position added is kept as is until the next one is added, so that diacritics can be merged into it.
+ * <p>
+ * The values needed to sort and to write the text positions of a page are available by index without creating any
+ * views, e.g. {@link #getX(int)}. These accessors are valid for the text positions stored by {@link #commit()}.
+ */
+final class TextPositionBuffer extends AbstractList<TextPosition> implements RandomAccess {
+    // float columns
+    private static final int A = 0;
+    private static final int B = 1;
+    private static final int C = 2;
+    private static final int D = 3;
+    private static final int E = 4;
+    private static final int F = 5;
+    private static final int END_X = 6;
+    private static final int END_Y = 7;
+    private static final int MAX_HEIGHT = 8;
+    private static final int PAGE_WIDTH = 9;
+    private static final int PAGE_HEIGHT = 10;
+    private static final int WIDTH_OF_SPACE = 11;
+    private static final int FONT_SIZE = 12;
+    private static final int DIR = 13;
+    private static final int X_DIR_ADJ = 14;
+    private static final int Y_DIR_ADJ = 15;
+    private static final int X = 16;
+    private static final int Y = 17;
+    private static final int WIDTH = 18;
+    private static final int WIDTH_DIR_ADJ = 19;
+    private static final int FLOAT_COLUMNS = 20;
+
+    // int columns
+    private static final int ROTATION = 0;
+    private static final int FONT_SIZE_PT = 1;
+    private static final int FONT = 2;
+    private static final int UNICODE_OFFSET = 3;
+    private static final int UNICODE_LENGTH = 4;
+    private static final int CODES_OFFSET = 5;
+    private static final int CODES_LENGTH = 6;
+    private static final int WIDTHS_OFFSET = 7;
+    private static final int WIDTHS_LENGTH = 8;
+    private static final int INT_COLUMNS = 9;
+
+    private float[] floats = new float[16 * FLOAT_COLUMNS];
+    private int[] ints = new int[16 * INT_COLUMNS];
+    private char[] chars = new char[64];
+    private int charCount;
+    private int[] codes = new int[16];
+    private int codeCount;
+    private float[] widths = new float[16];
+    private int widthCount;
+    private final List<PDFont> fonts = new ArrayList<>();
+    // number of text positions kept in the arrays
+    private int committed;
+    // the last text position, which isn't kept in the arrays yet
+    private TextPosition pending;
+    // the views handed out by get(int), indexed like the arrays
+    private TextPosition[] views = new TextPosition[16];
+    private int viewCount;
+    // the first text position of each line, only set by sortByBaseline()
+    private boolean[] lineStarts;
+
+    /**
+     * Creates an empty list.
+     */
+    TextPositionBuffer() {
+    }
+
+    /**
+     * Creates a list with the given text positions. The text positions themselves are returned by {@link #get(int)}.
+     *
+     * @param textPositions the text positions
+     * @return the list
+     */
+    static TextPositionBuffer copyOf(List<TextPosition> textPositions) {
+        TextPositionBuffer buffer = new TextPositionBuffer();
+        for (TextPosition textPosition : textPositions) {
+            buffer.ensureCapacity(buffer.committed + 1);
+            buffer.store(buffer.committed, textPosition);
+            buffer.views[buffer.committed++] = textPosition;
+        }
+        buffer.viewCount = buffer.committed;
+        return buffer;
+    }
+
+    @Override
+    public int size() {
+        return pending != null ? committed + 1 : committed;
+    }
+
+    @Override
+    public TextPosition get(int index) {
+        checkIndex(index);
+        if (index == committed) {
+            return pending;
+        }
+        TextPosition view = views[index];
+        if (view == null) {
+            view = createView(index);
+            views[index] = view;
+            viewCount++;
+        }
+        return view;
+    }
+
+    private TextPosition createView(int index) {
+        int f = index * FLOAT_COLUMNS;
+        int i = index * INT_COLUMNS;
+        Matrix textMatrix = new Matrix(floats[f + A], floats[f + B], floats[f + C], floats[f + D],
+                floats[f + E], floats[f + F]);
+        int codesOffset = ints[i + CODES_OFFSET];
+        int widthsOffset = ints[i + WIDTHS_OFFSET];
+        return new TextPosition(ints[i + ROTATION], floats[f + PAGE_WIDTH], floats[f + PAGE_HEIGHT], textMatrix,
+                floats[f + END_X], floats[f + END_Y], floats[f + MAX_HEIGHT],
+                Arrays.copyOfRange(widths, widthsOffset, widthsOffset + ints[i + WIDTHS_LENGTH]),
+                floats[f + WIDTH_OF_SPACE], getUnicode(index),
+                Arrays.copyOfRange(codes, codesOffset, codesOffset + ints[i + CODES_LENGTH]),
+                fonts.get(ints[i + FONT]), floats[f + FONT_SIZE], ints[i + FONT_SIZE_PT]);
+    }
+
+    @Override
+    public boolean add(TextPosition textPosition) {
+        commitPending();
+        pending = textPosition;
+        lineStarts = null;
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public TextPosition set(int index, TextPosition textPosition) {
+        checkIndex(index);
+        TextPosition old = get(index);
+        if (index == committed) {
+            pending = textPosition;
+        } else {
+            store(index, textPosition);
+            views[index] = textPosition;
+        }
+        lineStarts = null;
+        return old;
+    }
+
+    @Override
+    public TextPosition remove(int index) {
+        checkIndex(index);
+        TextPosition old = get(index);
+        if (index == committed) {
+            pending = null;
+        } else {
+            int moved = committed - index - 1;
+            System.arraycopy(floats, (index + 1) * FLOAT_COLUMNS, floats, index * FLOAT_COLUMNS,
+                    moved * FLOAT_COLUMNS);
+            System.arraycopy(ints, (index + 1) * INT_COLUMNS, ints, index * INT_COLUMNS, moved * INT_COLUMNS);
+            System.arraycopy(views, index + 1, views, index, moved);
+            views[--committed] = null;
+            viewCount--;
+        }
+        lineStarts = null;
+        modCount++;
+        return old;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(views, 0, committed, null);
+        viewCount = 0;
+        committed = 0;
+        pending = null;
+        charCount = 0;
+        codeCount = 0;
+        widthCount = 0;
+        fonts.clear();
+        lineStarts = null;
+        modCount++;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+    }
+
+    /**
+     * Stores the last text position and the views which have been handed out in the arrays, so that the values of
+     * all text positions are available by index.
+     */
+    void commit() {
+        commitPending();
+        if (viewCount > 0) {
+            for (int index = 0; index < committed; index++) {
+                if (views[index] != null) {
+                    store(index, views[index]);
+                }
+            }
+        }
+    }
+
+    private void commitPending() {
+        if (pending != null) {
+            ensureCapacity(committed + 1);
+            store(committed, pending);
+            committed++;
+            pending = null;
+        }
+    }
+
+    private void ensureCapacity(int size) {
+        if (size > views.length) {
+            int capacity = Math.max(size, views.length * 2);
+            floats = Arrays.copyOf(floats, capacity * FLOAT_COLUMNS);
+            ints = Arrays.copyOf(ints, capacity * INT_COLUMNS);
+            views = Arrays.copyOf(views, capacity);
+        }
+    }
+
+    private void store(int index, TextPosition textPosition) {
+        int f = index * FLOAT_COLUMNS;
+        Matrix textMatrix = textPosition.getTextMatrix();
+        floats[f + A] = textMatrix.getScaleX();
+        floats[f + B] = textMatrix.getShearY();
+        floats[f + C] = textMatrix.getShearX();
+        floats[f + D] = textMatrix.getScaleY();
+        floats[f + E] = textMatrix.getTranslateX();
+        floats[f + F] = textMatrix.getTranslateY();
+        floats[f + END_X] = textPosition.getEndX();
+        floats[f + END_Y] = textPosition.getEndY();
+        floats[f + MAX_HEIGHT] = textPosition.getHeight();
+        floats[f + PAGE_WIDTH] = textPosition.getPageWidth();
+        floats[f + PAGE_HEIGHT] = textPosition.getPageHeight();
+        floats[f + WIDTH_OF_SPACE] = textPosition.getWidthOfSpace();
+        floats[f + FONT_SIZE] = textPosition.getFontSize();
+        floats[f + DIR] = textPosition.getDir();
+        floats[f + X_DIR_ADJ] = textPosition.getXDirAdj();
+        floats[f + Y_DIR_ADJ] = textPosition.getYDirAdj();
+        floats[f + X] = textPosition.getX();
+        floats[f + Y] = textPosition.getY();
+        floats[f + WIDTH] = textPosition.getWidth();
+        floats[f + WIDTH_DIR_ADJ] = textPosition.getWidthDirAdj();
+
+        int i = index * INT_COLUMNS;
+        ints[i + ROTATION] = textPosition.getRotation();
+        ints[i + FONT_SIZE_PT] = (int) textPosition.getFontSizeInPt();
+        ints[i + FONT] = fontIndex(textPosition.getFont());
+        String unicode = textPosition.getUnicode();
+        if (unicode == null) {
+            ints[i + UNICODE_OFFSET] = 0;
+            ints[i + UNICODE_LENGTH] = -1;
+        } else {
+            int length = unicode.length();
+            if (charCount + length > chars.length) {
+                chars = Arrays.copyOf(chars, Math.max(chars.length * 2, charCount + length));
+            }
+            unicode.getChars(0, length, chars, charCount);
+            ints[i + UNICODE_OFFSET] = charCount;
+            ints[i + UNICODE_LENGTH] = length;
+            charCount += length;
+        }
+        int[] charCodes = textPosition.getCharacterCodes();
+        if (codeCount + charCodes.length > codes.length) {
+            codes = Arrays.copyOf(codes, Math.max(codes.length * 2, codeCount + charCodes.length));
+        }
+        System.arraycopy(charCodes, 0, codes, codeCount, charCodes.length);
+        ints[i + CODES_OFFSET] = codeCount;
+        ints[i + CODES_LENGTH] = charCodes.length;
+        codeCount += charCodes.length;
+        float[] individualWidths = textPosition.getIndividualWidths();
+        if (widthCount + individualWidths.length > widths.length) {
+            widths = Arrays.copyOf(widths, Math.max(widths.length * 2, widthCount + individualWidths.length));
+        }
+        System.arraycopy(individualWidths, 0, widths, widthCount, individualWidths.length);
+        ints[i + WIDTHS_OFFSET] = widthCount;
+        ints[i + WIDTHS_LENGTH] = individualWidths.length;
+        widthCount += individualWidths.length;
+    }
+
+    private int fontIndex(PDFont font) {
+        // fonts usually change rarely, so a linear search starting with the last font is sufficient
+        for (int i = fonts.size() - 1; i >= 0; i--) {
+            if (fonts.get(i) == font) {
+                return i;
+            }
+        }
+        fonts.add(font);
+        return fonts.size() - 1;
+    }
+
+    /**
+     * See {@link TextPosition#getX()}.
+     */
+    float getX(int index) {
+        return floats[index * FLOAT_COLUMNS + X];
+    }
+
+    /**
+     * See {@link TextPosition#getY()}.
+     */
+    float getY(int index) {
+        return floats[index * FLOAT_COLUMNS + Y];
+    }
+
+    /**
+     * See {@link TextPosition#getXDirAdj()}.
+     */
+    float getXDirAdj(int index) {
+        return floats[index * FLOAT_COLUMNS + X_DIR_ADJ];
+    }
+
+    /**
+     * See {@link TextPosition#getYDirAdj()}.
+     */
+    float getYDirAdj(int index) {
+        return floats[index * FLOAT_COLUMNS + Y_DIR_ADJ];
+    }
+
+    /**
+     * See {@link TextPosition#getWidth()}.
+     */
+    float getWidth(int index) {
+        return floats[index * FLOAT_COLUMNS + WIDTH];
+    }
+
+    /**
+     * See {@link TextPosition#getWidthDirAdj()}.
+     */
+    float getWidthDirAdj(int index) {
+        return floats[index * FLOAT_COLUMNS + WIDTH_DIR_ADJ];
+    }
+
+    /**
+     * See {@link TextPosition#getHeight()}, which is the same as {@link TextPosition#getHeightDir()}.
+     */
+    float getHeight(int index) {
+        return floats[index * FLOAT_COLUMNS + MAX_HEIGHT];
+    }
+
+    /**
+     * See {@link TextPosition#getWidthOfSpace()}.
+     */
+    float getWidthOfSpace(int index) {
+        return floats[index * FLOAT_COLUMNS + WIDTH_OF_SPACE];
+    }
+
+    /**
+     * See {@link TextPosition#getFontSize()}.
+     */
+    float getFontSize(int index) {
+        return floats[index * FLOAT_COLUMNS + FONT_SIZE];
+    }
+
+    /**
+     * See {@link TextPosition#getFont()}.
+     */
+    PDFont getFont(int index) {
+        return fonts.get(ints[index * INT_COLUMNS + FONT]);
+    }
+
+    /**
+     * Returns the number of individual widths, see {@link TextPosition#getIndividualWidths()}.
+     */
+    int getWidthCount(int index) {
+        return ints[index * INT_COLUMNS + WIDTHS_LENGTH];
+    }
+
+    /**
+     * See {@link TextPosition#getUnicode()}.
+     */
+    String getUnicode(int index) {
+        int i = index * INT_COLUMNS;
+        int length = ints[i + UNICODE_LENGTH];
+        return length < 0 ? null : new String(chars, ints[i + UNICODE_OFFSET], length);
+    }
+
+    /**
+     * Tells whether the text position has a unicode value, without creating it.
+     */
+    boolean hasUnicode(int index) {
+        return ints[index * INT_COLUMNS + UNICODE_LENGTH] >= 0;
+    }
+
+    /**
+     * Tells whether the unicode value of the text position ends with the given suffix.
+     *
+     * @return false if the text position doesn't have a unicode value
+     */
+    boolean unicodeEndsWith(int index, String suffix) {
+        int i = index * INT_COLUMNS;
+        int length = ints[i + UNICODE_LENGTH];
+        int suffixLength = suffix.length();
+        if (length < suffixLength) {
+            return false;
+        }
+        int start = ints[i + UNICODE_OFFSET] + length - suffixLength;
+        for (int j = 0; j < suffixLength; j++) {
+            if (chars[start + j] != suffix.charAt(j)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Appends the unicode value of the text position like {@link TextPosition#getVisuallyOrderedUnicode()} returns
+     * it.
+     */
+    void appendVisuallyOrderedUnicode(int index, StringBuilder builder) {
+        int i = index * INT_COLUMNS;
+        int offset = ints[i + UNICODE_OFFSET];
+        int length = ints[i + UNICODE_LENGTH];
+        int end = offset + length;
+        int nextIndex;
+        for (int j = offset; j < end; j = nextIndex) {
+            int codePoint = Character.codePointAt(chars, j, end);
+            nextIndex = j + Character.charCount(codePoint);
+            byte directionality = Character.getDirectionality(codePoint);
+            if ((directionality == Character.DIRECTIONALITY_RIGHT_TO_LEFT_ARABIC ||
+                    directionality == Character.DIRECTIONALITY_RIGHT_TO_LEFT)
+                    // Even if the directionality is right to left, still there is no need to
+                    // reverse a single code-point
+                    && (j != offset || nextIndex < end)) {
+                builder.append(new StringBuilder(length).append(chars, offset, length).reverse());
+                return;
+            }
+        }
+        builder.append(chars, offset, length);
+    }
+
+    /**
+     * Sorts the text positions in the same way as {@link TextPositionComparator}, but without creating any views. Like
+     * a list of text positions, the row indices are sorted with the TimSort of {@link java.util.Collections#sort} first.
+     * As the comparison isn't transitive, TimSort may fail. The order it left behind is then sorted with the bottom-up
+     * merge sort of {@link lpdf.pdfbox.util.IterativeMergeSort}. So the order is the same as the order of a sorted
+     * list.
+     */
+    void sortByPosition() {
+        commit();
+        lineStarts = null;
+        int size = committed;
+        if (size < 2) {
+            return;
+        }
+        Integer[] boxedRows = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            boxedRows[i] = i;
+        }
+        boolean sorted = true;
+        try {
+            Arrays.sort(boxedRows, (row1, row2) -> compare(row1, row2));
+        } catch (IllegalArgumentException e) {
+            sorted = false;
+        }
+        int[] rows = new int[size];
+        for (int i = 0; i < size; i++) {
+            rows[i] = boxedRows[i];
+        }
+        if (!sorted) {
+            int[] aux = rows.clone();
+            for (int blockSize = 1; blockSize < size; blockSize <<= 1) {
+                for (int start = 0; start < size; start += blockSize << 1) {
+                    merge(rows, aux, start, start + blockSize, Math.min(start + (blockSize << 1), size));
+                }
+            }
+        }
+        reorder(rows);
+    }
+
+    private void merge(int[] rows, int[] aux, int from, int mid, int to) {
+        if (mid >= to) {
+            return;
+        }
+        int i = from;
+        int j = mid;
+        for (int k = from; k < to; k++) {
+            if (i == mid) {
+                aux[k] = rows[j++];
+            } else if (j == to) {
+                aux[k] = rows[i++];
+            } else if (compare(rows[j], rows[i]) < 0) {
+                aux[k] = rows[j++];
+            } else {
+                aux[k] = rows[i++];
+            }
+        }
+        System.arraycopy(aux, from, rows, from, to - from);
+    }
+
+    /**
+     * Sorts the text positions by direction, then by line and then from left to right, using the direction adjusted
+     * coordinates. Lines are formed in a single pass over the baselines in ascending order: a text position starts a
+     * new line unless its baseline is within .1 or its own height below the baseline of the first text position of the
+     * current line, which is the same tolerance {@link TextPositionComparator} uses for two text positions. Unlike the
+     * comparator this order is transitive, so that primitive keys can be sorted instead of comparing text positions.
+     * <p>
+     * Afterwards {@link #isLineStart(int)} tells where the lines start.
+     */
+    void sortByBaseline() {
+        commit();
+        int size = committed;
+        boolean[] starts = new boolean[size];
+        if (size == 0) {
+            lineStarts = starts;
+            return;
+        }
+
+        // bucket by direction, getDir() is 0, 90, 180 or 270, the comparator sorts in that order
+        int[] bucketStarts = new int[5];
+        for (int row = 0; row < size; row++) {
+            bucketStarts[direction(row) + 1]++;
+        }
+        for (int d = 0; d < 4; d++) {
+            bucketStarts[d + 1] += bucketStarts[d];
+        }
+
+        // within each direction sort by baseline, the row is kept in the low bits of the key
+        long[] keys = new long[size];
+        int[] fill = Arrays.copyOf(bucketStarts, 4);
+        for (int row = 0; row < size; row++) {
+            keys[fill[direction(row)]++] = sortKey(floats[row * FLOAT_COLUMNS + Y_DIR_ADJ], row);
+        }
+        for (int d = 0; d < 4; d++) {
+            Arrays.sort(keys, bucketStarts[d], bucketStarts[d + 1]);
+        }
+
+        // form the lines and sort each line from left to right
+        int[] rows = new int[size];
+        int bucket = 0;
+        int lineStart = 0;
+        float lineBaseline = 0;
+        for (int i = 0; i <= size; i++) {
+            int row = i < size ? (int) keys[i] : -1;
+            boolean newLine = i == size || i == 0 || i == bucketStarts[bucket + 1];
+            if (!newLine) {
+                float baseline = floats[row * FLOAT_COLUMNS + Y_DIR_ADJ];
+                float difference = baseline - lineBaseline;
+                newLine = !(difference < .1 || difference <= floats[row * FLOAT_COLUMNS + MAX_HEIGHT]);
+            }
+            if (newLine) {
+                if (i > 0) {
+                    for (int j = lineStart; j < i; j++) {
+                        int lineRow = (int) keys[j];
+                        keys[j] = sortKey(floats[lineRow * FLOAT_COLUMNS + X_DIR_ADJ], lineRow);
+                    }
+                    Arrays.sort(keys, lineStart, i);
+                    for (int j = lineStart; j < i; j++) {
+                        rows[j] = (int) keys[j];
+                    }
+                }
+                if (i < size) {
+                    while (i == bucketStarts[bucket + 1]) {
+                        bucket++;
+                    }
+                    starts[i] = true;
+                    lineStart = i;
+                    lineBaseline = floats[row * FLOAT_COLUMNS + Y_DIR_ADJ];
+                }
+            }
+        }
+        reorder(rows);
+        lineStarts = starts;
+    }
+
+    private int direction(int row) {
+        return (int) floats[row * FLOAT_COLUMNS + DIR] / 90;
+    }
+
+    /**
+     * Returns a key which sorts like the given value, and by the given row for equal values.
+     */
+    private static long sortKey(float value, int row) {
+        int bits = Float.floatToIntBits(value);
+        // flip all but the sign bit of negative values, so that the bits sort like the values
+        bits ^= (bits >> 31) & 0x7fffffff;
+        return (long) bits << 32 | row;
+    }
+
+    /**
+     * Tells whether the given text position starts a line, see {@link #sortByBaseline()}.
+     *
+     * @param index the index of the text position
+     * @return true if the text position is the first one of a line, false if it isn't or if the list hasn't been
+     * sorted by baseline since its last change
+     */
+    boolean isLineStart(int index) {
+        return lineStarts != null && index < lineStarts.length && lineStarts[index];
+    }
+
+    private void reorder(int[] rows) {
+        int size = rows.length;
+        float[] sortedFloats = new float[floats.length];
+        int[] sortedInts = new int[ints.length];
+        TextPosition[] sortedViews = viewCount > 0 ? new TextPosition[views.length] : views;
+        for (int i = 0; i < size; i++) {
+            int row = rows[i];
+            System.arraycopy(floats, row * FLOAT_COLUMNS, sortedFloats, i * FLOAT_COLUMNS, FLOAT_COLUMNS);
+            System.arraycopy(ints, row * INT_COLUMNS, sortedInts, i * INT_COLUMNS, INT_COLUMNS);
+            if (viewCount > 0) {
+                sortedViews[i] = views[row];
+            }
+        }
+        floats = sortedFloats;
+        ints = sortedInts;
+        views = sortedViews;
+        modCount++;
+    }
+
+    // see TextPositionComparator
+    private int compare(int index1, int index2) {
+        int f1 = index1 * FLOAT_COLUMNS;
+        int f2 = index2 * FLOAT_COLUMNS;
+        // only compare text that is in the same direction
+        int cmp1 = Float.compare(floats[f1 + DIR], floats[f2 + DIR]);
+        if (cmp1 != 0) {
+            return cmp1;
+        }
+
+        // get the text direction adjusted coordinates
+        float x1 = floats[f1 + X_DIR_ADJ];
+        float x2 = floats[f2 + X_DIR_ADJ];
+
+        float pos1YBottom = floats[f1 + Y_DIR_ADJ];
+        float pos2YBottom = floats[f2 + Y_DIR_ADJ];
+
+        // note that the coordinates have been adjusted so 0,0 is in upper left
+        float pos1YTop = pos1YBottom - floats[f1 + MAX_HEIGHT];
+        float pos2YTop = pos2YBottom - floats[f2 + MAX_HEIGHT];
+
+        float yDifference = Math.abs(pos1YBottom - pos2YBottom);
+
+        // we will do a simple tolerance comparison
+        if (yDifference < .1 ||
+                pos2YBottom >= pos1YTop && pos2YBottom <= pos1YBottom ||
+                pos1YBottom >= pos2YTop && pos1YBottom <= pos2YBottom) {
+            return Float.compare(x1, x2);
+        } else if (pos1YBottom < pos2YBottom) {
+            return -1;
+        } else {
+            return 1;
+        }
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package lpdf.pdfbox.text;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A page-scoped index of the positions at which a text has been shown, used to suppress text which is drawn several
+ * times at (nearly) the same position, e.g. to simulate bold text.
+ * <p>
+ * The positions are kept in a uniform grid of square cells. Each cell of each text has a chain of positions, the
+ * cells are found in an open addressing hash table with linear probing. Texts consisting of a single code point are
+ * keyed by their code point, other texts get a negative key of their own.
+ */
+final class TextPositionGrid {
+    // the size of a cell in display units, a little larger than the tolerance for usual font sizes
+    private static final float CELL_SIZE = 4;
+    // range queries touching more cells than this scan all positions instead
+    private static final int MAX_CELLS_PER_QUERY = 64;
+    private static final int MIN_CAPACITY = 64;
+
+    // hash table of the cells, heads are 1-based position indices, 0 marks an empty slot
+    private int[] cellTexts = new int[MIN_CAPACITY];
+    private int[] cellXs = new int[MIN_CAPACITY];
+    private int[] cellYs = new int[MIN_CAPACITY];
+    private int[] heads = new int[MIN_CAPACITY];
+    private int cellCount;
+
+    // positions, next holds the 1-based index of the next position of the same cell
+    private float[] xs = new float[MIN_CAPACITY];
+    private float[] ys = new float[MIN_CAPACITY];
+    private int[] texts = new int[MIN_CAPACITY];
+    private int[] next = new int[MIN_CAPACITY];
+    private int size;
+
+    private final Map<String, Integer> textKeys = new HashMap<>();
+
+    /**
+     * Adds a position of the given text, unless the text has already been added at a position within the given
+     * tolerance. The tolerance interval includes its lower bound and excludes its upper bound.
+     *
+     * @param text      the text
+     * @param x         the x coordinate of the text
+     * @param y         the y coordinate of the text
+     * @param tolerance the tolerance for both coordinates
+     * @return true if the position was added, false if the text is a duplicate
+     */
+    boolean add(String text, float x, float y, float tolerance) {
+        int key = textKey(text);
+        if (contains(key, x - tolerance, x + tolerance, y - tolerance, y + tolerance)) {
+            return false;
+        }
+        addPosition(key, x, y);
+        return true;
+    }
+
+    /**
+     * Removes all positions.
+     */
+    void clear() {
+        if (size > 0) {
+            Arrays.fill(heads, 0);
+            cellCount = 0;
+            size = 0;
+        }
+        textKeys.clear();
+    }
+
+    private int textKey(String text) {
+        int length = text.length();
+        if (length > 0) {
+            int codePoint = text.codePointAt(0);
+            if (Character.charCount(codePoint) == length) {
+                return codePoint;
+            }
+        }
+        Integer key = textKeys.get(text);
+        if (key == null) {
+            key = -1 - textKeys.size();
+            textKeys.put(text, key);
+        }
+        return key;
+    }
+
+    private boolean contains(int key, float minX, float maxX, float minY, float maxY) {
+        // an empty or undefined interval can't contain anything
+        if (!(minX < maxX) || !(minY < maxY)) {
+            return false;
+        }
+        long minCellX = cell(minX);
+        long minCellY = cell(minY);
+        long maxCellX = cell(maxX);
+        long maxCellY = cell(maxY);
+        long columns = maxCellX - minCellX + 1;
+        long rows = maxCellY - minCellY + 1;
+        if (Float.isInfinite(minX) || Float.isInfinite(maxX) || Float.isInfinite(minY) || Float.isInfinite(maxY)
+                || columns > MAX_CELLS_PER_QUERY || rows > MAX_CELLS_PER_QUERY
+                || columns * rows > MAX_CELLS_PER_QUERY) {
+            for (int i = 0; i < size; i++) {
+                if (texts[i] == key && within(i, minX, maxX, minY, maxY)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        for (long cellX = minCellX; cellX <= maxCellX; cellX++) {
+            for (long cellY = minCellY; cellY <= maxCellY; cellY++) {
+                int slot = slot(key, (int) cellX, (int) cellY);
+                for (int i = heads[slot]; i != 0; i = next[i - 1]) {
+                    if (within(i - 1, minX, maxX, minY, maxY)) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    private boolean within(int index, float minX, float maxX, float minY, float maxY) {
+        float x = xs[index];
+        float y = ys[index];
+        return x >= minX && x < maxX && y >= minY && y < maxY;
+    }
+
+    private void addPosition(int key, float x, float y) {
+        if (size == xs.length) {
+            int capacity = size * 2;
+            xs = Arrays.copyOf(xs, capacity);
+            ys = Arrays.copyOf(ys, capacity);
+            texts = Arrays.copyOf(texts, capacity);
+            next = Arrays.copyOf(next, capacity);
+        }
+        int slot = slot(key, cell(x), cell(y));
+        if (heads[slot] == 0) {
+            cellTexts[slot] = key;
+            cellXs[slot] = cell(x);
+            cellYs[slot] = cell(y);
+            cellCount++;
+        }
+        xs[size] = x;
+        ys[size] = y;
+        texts[size] = key;
+        next[size] = heads[slot];
+        size++;
+        heads[slot] = size;
+        if (cellCount * 2 > heads.length) {
+            rehash(heads.length * 2);
+        }
+    }
+
+    private static int cell(float coordinate) {
+        // NaN ends up in cell 0, where it never matches, infinite values in the outermost cells
+        return (int) Math.floor(coordinate / CELL_SIZE);
+    }
+
+    /**
+     * Returns the slot of the given cell, or the empty slot where it has to be inserted.
+     */
+    private int slot(int key, int cellX, int cellY) {
+        int mask = heads.length - 1;
+        int hash = (key * 31 + cellX) * 31 + cellY;
+        int index = (hash * 0x9E3779B9 >>> 16 ^ hash) & mask;
+        while (heads[index] != 0
+                && (cellTexts[index] != key || cellXs[index] != cellX || cellYs[index] != cellY)) {
+            index = (index + 1) & mask;
+        }
+        return index;
+    }
+
+    private void rehash(int capacity) {
+        int[] oldTexts = cellTexts;
+        int[] oldXs = cellXs;
+        int[] oldYs = cellYs;
+        int[] oldHeads = heads;
+        cellTexts = new int[capacity];
+        cellXs = new int[capacity];
+        cellYs = new int[capacity];
+        heads = new int[capacity];
+        for (int i = 0; i < oldHeads.length; i++) {
+            if (oldHeads[i] != 0) {
+                int slot = slot(oldTexts[i], oldXs[i], oldYs[i]);
+                cellTexts[slot] = oldTexts[i];
+                cellXs[slot] = oldXs[i];
+                cellYs[slot] = oldYs[i];
+                heads[slot] = oldHeads[i];
+            }
+        }
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package lpdf.pdfbox.util;
+
+import java.util.Arrays;
+
+/**
+ * A map from int keys to float values without boxing, e.g. for the glyph widths of a font.
+ * <p>
+ * The entries are kept in open addressing hash tables with linear probing, which are at most half full. Entries
+ * can't be removed. The map isn't synchronized, it may be read concurrently as soon as it is completely filled.
+ */
+public final class IntFloatMap {
+    private static final int MIN_CAPACITY = 16;
+
+    private int[] keys;
+    private float[] values;
+    private boolean[] used;
+    private int size;
+
+    /**
+     * Creates an empty map.
+     */
+    public IntFloatMap() {
+        this(MIN_CAPACITY / 2);
+    }
+
+    /**
+     * Creates an empty map for the given number of entries.
+     *
+     * @param expectedSize the expected number of entries
+     */
+    public IntFloatMap(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Invalid size " + expectedSize);
+        }
+        int capacity = MIN_CAPACITY;
+        while (capacity < expectedSize * 2 && capacity < 1 << 30) {
+            capacity <<= 1;
+        }
+        keys = new int[capacity];
+        values = new float[capacity];
+        used = new boolean[capacity];
+    }
+
+    private int indexOf(int key) {
+        int mask = keys.length - 1;
+        int index = (key * 0x9E3779B9 >>> 16 ^ key) & mask;
+        while (used[index] && keys[index] != key) {
+            index = (index + 1) & mask;
+        }
+        return index;
+    }
+
+    /**
+     * Returns the value for the given key.
+     *
+     * @param key          the key
+     * @param defaultValue the value to be returned if there isn't any entry for the key
+     * @return the value for the key or the default value
+     */
+    public float get(int key, float defaultValue) {
+        int index = indexOf(key);
+        return used[index] ? values[index] : defaultValue;
+    }
+
+    /**
+     * Indicates whether there is an entry for the given key.
+     *
+     * @param key the key
+     * @return true if there is an entry for the key
+     */
+    public boolean containsKey(int key) {
+        return used[indexOf(key)];
+    }
+
+    /**
+     * Sets the value for the given key, an existing value is replaced.
+     *
+     * @param key   the key
+     * @param value the value
+     */
+    public void put(int key, float value) {
+        int index = indexOf(key);
+        if (!used[index]) {
+            if ((size + 1) * 2 > keys.length) {
+                rehash(keys.length * 2);
+                index = indexOf(key);
+            }
+            used[index] = true;
+            keys[index] = key;
+            size++;
+        }
+        values[index] = value;
+    }
+
+    private void rehash(int capacity) {
+        int[] oldKeys = keys;
+        float[] oldValues = values;
+        boolean[] oldUsed = used;
+        keys = new int[capacity];
+        values = new float[capacity];
+        used = new boolean[capacity];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldUsed[i]) {
+                int index = indexOf(oldKeys[i]);
+                used[index] = true;
+                keys[index] = oldKeys[i];
+                values[index] = oldValues[i];
+            }
+        }
+    }
+
+    /**
+     * Returns the number of entries.
+     *
+     * @return the number of entries
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Indicates whether the map is empty.
+     *
+     * @return true if there aren't any entries
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the values of all entries, in no particular order.
+     *
+     * @return a new array with the values
+     */
+    public float[] values() {
+        float[] result = new float[size];
+        int count = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (used[i]) {
+                result[count++] = values[i];
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("{");
+        int[] sortedKeys = new int[size];
+        int count = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (used[i]) {
+                sortedKeys[count++] = keys[i];
+            }
+        }
+        Arrays.sort(sortedKeys);
+        for (int key : sortedKeys) {
+            if (sb.length() > 1) {
+                sb.append(", ");
+            }
+            sb.append(key).append('=').append(get(key, 0));
+        }
+        return sb.append('}').toString();
+    }
+}
@@ -268,6 +268,51 @@ public final class Matrix implements Cloneable {
         return new Matrix(checkFloatValues(multiplyArrays(single, other.single)));
     }
 
+    /**
+     * This method multiplies this Matrix with the specified other Matrix, storing the product in the given result
+     * matrix instead of a new instance. The result may be this matrix or the other matrix, which allows to reuse a
+     * scratch matrix for repeated calculations. If both matrices are affine transformations, which is always the case
+     * for matrices read from a PDF, the last column isn't calculated.
+     *
+     * @param other  the second operand Matrix in the multiplication; required
+     * @param result the matrix receiving the product; required
+     * @return the result matrix
+     * @throws IllegalArgumentException if the product has illegal values, the result matrix isn't modified then
+     */
+    public Matrix multiply(Matrix other, Matrix result) {
+        float[] a = single;
+        float[] b = other.single;
+        if (isAffine(a) && isAffine(b)) {
+            float c0 = a[0] * b[0] + a[1] * b[3];
+            float c1 = a[0] * b[1] + a[1] * b[4];
+            float c3 = a[3] * b[0] + a[4] * b[3];
+            float c4 = a[3] * b[1] + a[4] * b[4];
+            float c6 = a[6] * b[0] + a[7] * b[3] + b[6];
+            float c7 = a[6] * b[1] + a[7] * b[4] + b[7];
+            if (!Float.isFinite(c0) || !Float.isFinite(c1) || !Float.isFinite(c3) || !Float.isFinite(c4)
+                    || !Float.isFinite(c6) || !Float.isFinite(c7)) {
+                throw new IllegalArgumentException("Multiplying two matrices produces illegal values");
+            }
+            float[] c = result.single;
+            c[0] = c0;
+            c[1] = c1;
+            c[2] = 0;
+            c[3] = c3;
+            c[4] = c4;
+            c[5] = 0;
+            c[6] = c6;
+            c[7] = c7;
+            c[8] = 1;
+        } else {
+            System.arraycopy(checkFloatValues(multiplyArrays(a, b)), 0, result.single, 0, SIZE);
+        }
+        return result;
+    }
+
+    private static boolean isAffine(float[] values) {
+        return values[2] == 0 && values[5] == 0 && values[8] == 1;
+    }
+
     private float[] checkFloatValues(float[] values) {
         if (!Float.isFinite(values[0]) || !Float.isFinite(values[1]) || !Float.isFinite(values[2])
                 || !Float.isFinite(values[3]) || !Float.isFinite(values[4]) || !Float.isFinite(values[5])
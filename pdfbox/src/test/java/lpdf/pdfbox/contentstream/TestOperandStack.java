@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package lpdf.pdfbox.contentstream;
+
+import lpdf.pdfbox.cos.COSBase;
+import lpdf.pdfbox.cos.COSFloat;
+import lpdf.pdfbox.cos.COSInteger;
+import lpdf.pdfbox.cos.COSName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TestOperandStack {
+
+    @Test
+    void testListModifications() {
+        OperandStack operands = new OperandStack();
+        operands.pushInteger(1);
+        byte[] text = "2.50".getBytes(StandardCharsets.ISO_8859_1);
+        operands.pushReal(2.5f, text, 0, text.length);
+        operands.push(COSName.A);
+        operands.pushInteger(4);
+
+        List<COSBase> expected = new ArrayList<>(operands);
+        assertEquals(Arrays.asList(COSInteger.get(1), new COSFloat(2.5f, "2.50"), COSName.A, COSInteger.get(4)),
+                expected);
+
+        // the operands behind an inserted or removed operand keep their values
+        operands.add(0, COSName.B);
+        expected.add(0, COSName.B);
+        assertEquals(expected, operands);
+        assertEquals(2.5f, operands.getFloat(2));
+        assertEquals("COSFloat{2.50}", operands.get(2).toString());
+
+        assertEquals(COSInteger.get(1), operands.set(1, COSName.C));
+        expected.set(1, COSName.C);
+        assertEquals(expected, operands);
+        assertFalse(operands.isNumber(1));
+
+        assertEquals(new COSFloat(2.5f, "2.50"), operands.remove(2));
+        expected.remove(2);
+        assertEquals(expected, operands);
+        assertEquals(4, operands.getFloat(3));
+
+        assertTrue(operands.add(null));
+        expected.add(null);
+        assertEquals(expected, operands);
+        assertNull(operands.get(4));
+        assertFalse(operands.isNumber(4));
+
+        operands.remove(COSName.A);
+        expected.remove(COSName.A);
+        assertEquals(expected, operands);
+        assertThrows(IndexOutOfBoundsException.class, () -> operands.add(5, COSName.A));
+        assertThrows(IndexOutOfBoundsException.class, () -> operands.remove(4));
+
+        operands.clear();
+        assertTrue(operands.isEmpty());
+        operands.pushInteger(7);
+        assertEquals(Arrays.asList(COSInteger.get(7)), operands);
+    }
+}
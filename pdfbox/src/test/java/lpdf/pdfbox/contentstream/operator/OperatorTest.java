@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package lpdf.pdfbox.contentstream.operator;
+
+import lpdf.pdfbox.contentstream.PDFStreamEngine;
+import lpdf.pdfbox.cos.COSBase;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OperatorTest {
+
+    @Test
+    void testOpcodes() throws IllegalAccessException {
+        Set<Integer> opcodes = new HashSet<>();
+        for (Field field : OperatorName.class.getFields()) {
+            if (Modifier.isStatic(field.getModifiers()) && field.getType() == String.class) {
+                String name = (String) field.get(null);
+                int opcode = Operator.getOpcode(name);
+                assertTrue(opcode >= 0 && opcode < Operator.getOpcodeCount(), name);
+                assertEquals(name, Operator.getOperatorName(opcode));
+                assertEquals(opcode, Operator.getOperator(name).getOpcode());
+                opcodes.add(opcode);
+            }
+        }
+        assertEquals(Operator.getOpcodeCount(), opcodes.size());
+        assertEquals(Operator.NO_OPCODE, Operator.getOpcode("xyz"));
+        assertEquals(Operator.NO_OPCODE, Operator.getOperator("xyz").getOpcode());
+    }
+
+    @Test
+    void testDispatch() throws IOException {
+        List<String> processed = new ArrayList<>();
+        PDFStreamEngine engine = new PDFStreamEngine() {
+        };
+        engine.addOperator(new RecordingProcessor(engine, OperatorName.SHOW_TEXT, "first", processed));
+        // a processor replaces the one registered before for the same operator
+        engine.addOperator(new RecordingProcessor(engine, OperatorName.SHOW_TEXT, "second", processed));
+        // custom operators are dispatched by name
+        engine.addOperator(new RecordingProcessor(engine, "xyz", "custom", processed));
+
+        engine.processOperator(OperatorName.SHOW_TEXT, Collections.emptyList());
+        engine.processOperator("xyz", Collections.emptyList());
+        engine.processOperator(OperatorName.END_TEXT, Collections.emptyList());
+        assertEquals(2, processed.size());
+        assertEquals("second Tj", processed.get(0));
+        assertEquals("custom xyz", processed.get(1));
+    }
+
+    private static final class RecordingProcessor extends OperatorProcessor {
+        private final String name;
+        private final String label;
+        private final List<String> processed;
+
+        RecordingProcessor(PDFStreamEngine context, String name, String label, List<String> processed) {
+            super(context);
+            this.name = name;
+            this.label = label;
+            this.processed = processed;
+        }
+
+        @Override
+        public void process(Operator operator, List<COSBase> operands) {
+            processed.add(label + " " + operator.getName());
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+    }
+}
@@ -23,8 +23,10 @@ import org.junit.jupiter.api.Test;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class TestCOSName {
@@ -52,4 +54,26 @@ class TestCOSName {
         }
     }
 
+    /**
+     * Check that names looked up by their raw bytes are the same instances as the ones looked up by their string.
+     */
+    @Test
+    void testGetPDFNameFromBytes() {
+        byte[] buffer = "xxTypeyy".getBytes(StandardCharsets.US_ASCII);
+        assertSame(COSName.TYPE, COSName.getPDFName(buffer, 2, 4));
+        assertSame(COSName.TYPE, COSName.getPDFName(buffer, 2, 4));
+
+        byte[] utf8 = "中国你好!".getBytes(StandardCharsets.UTF_8);
+        COSName name = COSName.getPDFName(utf8, 0, utf8.length);
+        assertEquals("中国你好!", name.getName());
+        assertSame(name, COSName.getPDFName("中国你好!"));
+        assertSame(name, COSName.getPDFName(utf8, 0, utf8.length));
+
+        // PDFBOX-3347: bytes which aren't valid UTF-8 are decoded as Windows-1252
+        byte[] windows1252 = {'A', (byte) 0xE4, 'B'};
+        assertEquals("A\u00e4B", COSName.getPDFName(windows1252, 0, windows1252.length).getName());
+
+        assertSame(COSName.getPDFName(""), COSName.getPDFName(buffer, 0, 0));
+    }
+
 }
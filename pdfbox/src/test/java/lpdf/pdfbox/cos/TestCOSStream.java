@@ -17,6 +17,8 @@
 package lpdf.pdfbox.cos;
 
 import lpdf.io.IOUtils;
+import lpdf.io.RandomAccessInputStream;
+import lpdf.io.RandomAccessRead;
 import lpdf.pdfbox.filter.Filter;
 import lpdf.pdfbox.filter.FilterFactory;
 import org.junit.jupiter.api.Assertions;
@@ -29,6 +31,8 @@ import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -167,6 +171,82 @@ class TestCOSStream {
         }
     }
 
+    /**
+     * Tests that the decoded data of indirect streams is kept in the decoded stream cache of the document.
+     *
+     * @throws IOException
+     */
+    @Test
+    void testDecodedStreamCache() throws IOException {
+        byte[] testString = "This is a test string to be used as input for TestCOSStream".getBytes(StandardCharsets.US_ASCII);
+        byte[] otherString = "This is another test string".getBytes(StandardCharsets.US_ASCII);
+        try (COSDocument document = new COSDocument()) {
+            DecodedStreamCache cache = document.getDecodedStreamCache();
+            assertFalse(cache.isEnabled());
+            COSStream stream1 = createStream(document, 1, testString);
+            COSStream stream2 = createStream(document, 2, otherString);
+
+            // disabled cache
+            assertArrayEquals(testString, IOUtils.toByteArray(stream1.createInputStream()));
+            assertEquals(0, cache.getMissCount());
+
+            cache.setMaxBytes(testString.length + otherString.length);
+            assertArrayEquals(testString, IOUtils.toByteArray(stream1.createInputStream()));
+            assertArrayEquals(testString, IOUtils.toByteArray(stream1.createInputStream()));
+            try (RandomAccessRead view = stream1.createView()) {
+                assertArrayEquals(testString, IOUtils.toByteArray(new RandomAccessInputStream(view)));
+            }
+            assertArrayEquals(otherString, IOUtils.toByteArray(stream2.createInputStream()));
+            assertEquals(2, cache.getMissCount());
+            assertEquals(2, cache.getHitCount());
+            assertEquals(2, cache.getEntryCount());
+            assertEquals(testString.length + otherString.length, cache.getSize());
+
+            // writing new data drops the cached data
+            try (OutputStream output = stream1.createOutputStream(COSName.FLATE_DECODE)) {
+                output.write(otherString);
+            }
+            assertEquals(1, cache.getEntryCount());
+            assertArrayEquals(otherString, IOUtils.toByteArray(stream1.createInputStream()));
+            assertEquals(3, cache.getMissCount());
+
+            // the least recently used stream is evicted
+            cache.setMaxBytes(otherString.length);
+            assertEquals(1, cache.getEntryCount());
+            assertEquals(1, cache.getEvictionCount());
+            assertArrayEquals(otherString, IOUtils.toByteArray(stream1.createInputStream()));
+            assertEquals(3, cache.getHitCount());
+
+            // streams larger than the cache aren't cached
+            COSStream stream3 = createStream(document, 3, testString);
+            assertArrayEquals(testString, IOUtils.toByteArray(stream3.createInputStream()));
+            assertEquals(1, cache.getEntryCount());
+            assertEquals(otherString.length, cache.getSize());
+            try (RandomAccessRead view = stream3.createView()) {
+                assertArrayEquals(testString, IOUtils.toByteArray(new RandomAccessInputStream(view)));
+            }
+            // a decoded length larger than the cache skips buffering the data
+            stream3.setLong(COSName.DL, testString.length);
+            assertArrayEquals(testString, IOUtils.toByteArray(stream3.createInputStream()));
+            assertEquals(1, cache.getEntryCount());
+
+            // changing the filters drops the cached data
+            assertArrayEquals(otherString, IOUtils.toByteArray(stream1.createInputStream()));
+            assertEquals(1, cache.getEntryCount());
+            stream1.setItem(COSName.DECODE_PARMS, new COSDictionary());
+            assertEquals(0, cache.getEntryCount());
+        }
+    }
+
+    private COSStream createStream(COSDocument document, long number, byte[] data) throws IOException {
+        COSStream stream = document.createCOSStream();
+        stream.setKey(new COSObjectKey(number, 0));
+        try (OutputStream output = stream.createOutputStream(COSName.FLATE_DECODE)) {
+            output.write(data);
+        }
+        return stream;
+    }
+
     private byte[] encodeData(byte[] original, COSName filter) throws IOException {
         Filter encodingFilter = FilterFactory.INSTANCE.getFilter(filter);
         ByteArrayOutputStream encoded = new ByteArrayOutputStream();
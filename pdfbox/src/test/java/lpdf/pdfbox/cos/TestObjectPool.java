@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package lpdf.pdfbox.cos;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class TestObjectPool {
+
+    @Test
+    void testObjects() {
+        ObjectPool pool = new ObjectPool();
+        COSObject first = pool.computeIfAbsent(new COSObjectKey(1, 0), key -> new COSObject(key, null));
+        assertSame(first, pool.computeIfAbsent(new COSObjectKey(1, 0), key -> new COSObject(key, null)));
+        // a second generation of the same object number
+        COSObject second = pool.computeIfAbsent(new COSObjectKey(1, 1), key -> new COSObject(key, null));
+        assertNotSame(first, second);
+        assertEquals(1, second.getGenerationNumber());
+        // an object number far beyond the others
+        COSObject far = pool.computeIfAbsent(new COSObjectKey(9_999_999_999L, 0), key -> new COSObject(key, null));
+        assertSame(far, pool.computeIfAbsent(new COSObjectKey(9_999_999_999L, 0), key -> new COSObject(key, null)));
+        assertEquals(3, pool.values().size());
+    }
+
+    @Test
+    void testConcurrentObjects() throws InterruptedException, ExecutionException {
+        ObjectPool pool = new ObjectPool();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<List<COSObject>>> results = new ArrayList<>();
+            for (int thread = 0; thread < 4; thread++) {
+                results.add(executor.submit(() -> {
+                    // all threads request the same objects, the array grows while they are requested
+                    List<COSObject> objects = new ArrayList<>();
+                    for (int number = 1; number <= 50_000; number++) {
+                        objects.add(pool.computeIfAbsent(new COSObjectKey(number, number % 100 == 0 ? 1 : 0),
+                                key -> new COSObject(key, null)));
+                    }
+                    return objects;
+                }));
+            }
+            List<COSObject> expected = results.get(0).get();
+            for (Future<List<COSObject>> result : results) {
+                List<COSObject> objects = result.get();
+                for (int i = 0; i < expected.size(); i++) {
+                    assertSame(expected.get(i), objects.get(i));
+                }
+            }
+            Set<COSObject> values = Collections.newSetFromMap(new IdentityHashMap<>());
+            values.addAll(pool.values());
+            assertEquals(50_000, values.size());
+            values.removeAll(expected);
+            assertEquals(0, values.size());
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package lpdf.pdfbox.cos;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TestXrefIndex {
+
+    @Test
+    void testEntries() {
+        XrefIndex index = new XrefIndex();
+        assertNull(index.put(new COSObjectKey(1, 0), 15L));
+        assertNull(index.put(new COSObjectKey(2, 3), 1L << 50));
+        assertNull(index.put(new COSObjectKey(3, 0, 7), -12L));
+        // a second generation of the same object number
+        assertNull(index.put(new COSObjectKey(1, 1), 99L));
+        // an object number far beyond the others
+        assertNull(index.put(new COSObjectKey(9_999_999_999L, 0), 42L));
+        assertEquals(5, index.size());
+
+        assertEquals(15L, index.get(new COSObjectKey(1, 0)));
+        assertEquals(99L, index.get(new COSObjectKey(1, 1)));
+        assertEquals(1L << 50, index.get(new COSObjectKey(2, 3)));
+        assertEquals(-12L, index.get(new COSObjectKey(3, 0)));
+        assertEquals(42L, index.get(new COSObjectKey(9_999_999_999L, 0)));
+        assertNull(index.get(new COSObjectKey(2, 0)));
+        assertNull(index.get(new COSObjectKey(4, 0)));
+        assertFalse(index.containsKey("1 0 R"));
+
+        // the key keeps the index within the object stream
+        assertEquals(7, index.getKey(3, 0).getStreamIndex());
+        assertEquals(-1, index.getKey(1, 0).getStreamIndex());
+        assertNull(index.getKey(4, 0));
+        assertEquals(9_999_999_999L, index.getHighestObjectNumber());
+
+        // the original key is kept when the value is replaced, like a HashMap does
+        assertEquals(-12L, index.put(new COSObjectKey(3, 0), -13L));
+        assertEquals(7, index.getKey(3, 0).getStreamIndex());
+        assertEquals(-13L, index.put(new COSObjectKey(3, 0, 8), 1L << 50));
+        assertEquals(7, index.getKey(3, 0).getStreamIndex());
+        assertEquals(1L << 50, index.get(new COSObjectKey(3, 0)));
+        assertEquals(1L << 50, index.put(new COSObjectKey(3, 0), -12L));
+        assertEquals(7, index.getKey(3, 0).getStreamIndex());
+
+        assertEquals(15L, index.put(new COSObjectKey(1, 0), 16L));
+        assertEquals(16L, index.remove(new COSObjectKey(1, 0)));
+        assertEquals(99L, index.get(new COSObjectKey(1, 1)));
+        assertEquals(4, index.size());
+        assertThrows(NullPointerException.class, () -> index.put(new COSObjectKey(5, 0), null));
+
+        index.clear();
+        assertTrue(index.isEmpty());
+        assertEquals(0, index.getHighestObjectNumber());
+    }
+
+    @Test
+    void testSameAsHashMap() {
+        Random random = new Random(1);
+        XrefIndex index = new XrefIndex();
+        Map<COSObjectKey, Long> expected = new HashMap<>();
+        for (int i = 0; i < 100_000; i++) {
+            long number = random.nextInt(10) == 0 ? random.nextInt(Integer.MAX_VALUE) : random.nextInt(20_000);
+            int generation = random.nextInt(10) == 0 ? random.nextInt(3) : 0;
+            long value = random.nextBoolean() ? random.nextInt(1_000_000) : -random.nextInt(1_000);
+            COSObjectKey key = value < 0 && generation == 0 ? new COSObjectKey(number, 0, random.nextInt(100))
+                    : new COSObjectKey(number, generation);
+            switch (random.nextInt(4)) {
+                case 0:
+                    assertEquals(expected.remove(key), index.remove(key));
+                    break;
+                case 1:
+                    assertEquals(expected.get(key), index.get(key));
+                    break;
+                default:
+                    assertEquals(expected.put(key, value), index.put(key, value));
+                    break;
+            }
+        }
+        assertEquals(expected, index);
+        assertEquals(expected.hashCode(), index.hashCode());
+        for (COSObjectKey key : expected.keySet()) {
+            assertEquals(key.getStreamIndex(), index.getKey(key.getNumber(), key.getGeneration()).getStreamIndex());
+        }
+
+        XrefIndex copy = new XrefIndex();
+        copy.put(new COSObjectKey(5, 0), 1L);
+        copy.putAll(index);
+        expected.put(new COSObjectKey(5, 0), expected.getOrDefault(new COSObjectKey(5, 0), 1L));
+        assertEquals(expected, copy);
+
+        Iterator<Map.Entry<COSObjectKey, Long>> entries = copy.entrySet().iterator();
+        while (entries.hasNext()) {
+            if (entries.next().getValue() < 0) {
+                entries.remove();
+            }
+        }
+        expected.values().removeIf(value -> value < 0);
+        assertEquals(expected, copy);
+    }
+}
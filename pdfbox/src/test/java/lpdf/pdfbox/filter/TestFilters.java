@@ -26,9 +26,13 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
 import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * This will test all of the filters in the PDFBox system.
@@ -161,5 +165,125 @@ class TestFilters {
         assertArrayEquals(original, decoded.toByteArray(),
                 "Data that is encoded and then decoded through " + filter.getClass()
                         + " does not match the original data");
+
+        InputStream decodingStream = filter.createDecodingStream(
+                new ByteArrayInputStream(encoded.toByteArray()), new COSDictionary(), 0, DecodeOptions.DEFAULT);
+        if (decodingStream != null) {
+            assertArrayEquals(original, readInSmallChunks(decodingStream),
+                    "Data that is encoded and then decoded on the fly through " + filter.getClass()
+                            + " does not match the original data");
+        }
+    }
+
+    private static byte[] readInSmallChunks(InputStream input) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        byte[] buffer = new byte[7];
+        int read;
+        while ((read = input.read(buffer)) != -1) {
+            output.write(buffer, 0, read);
+            int single = input.read();
+            if (single == -1) {
+                break;
+            }
+            output.write(single);
+        }
+        input.close();
+        return output.toByteArray();
+    }
+
+    /**
+     * Test that the PNG predictor is applied row by row when decoding on the fly, including an incomplete last row.
+     *
+     * @throws IOException
+     */
+    @Test
+    void testPredictorDecodingStream() throws IOException {
+        int columns = 5;
+        int colors = 3;
+        int rowLength = columns * colors;
+        Random random = new Random(4711);
+        ByteArrayOutputStream predicted = new ByteArrayOutputStream();
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        byte[] lastRow = new byte[rowLength];
+        for (int row = 0; row < 20; row++) {
+            int rowPredictor = row % 5;
+            byte[] data = new byte[rowLength];
+            random.nextBytes(data);
+            predicted.write(rowPredictor);
+            if (row < 19) {
+                predicted.write(data);
+            } else {
+                // the last row is incomplete and completed with zeros
+                predicted.write(data, 0, 10);
+                Arrays.fill(data, 10, rowLength, (byte) 0);
+            }
+            Predictor.decodePredictorRow(rowPredictor + 10, colors, 8, columns, data, lastRow);
+            expected.write(data);
+            lastRow = data;
+        }
+
+        COSDictionary decodeParams = new COSDictionary();
+        decodeParams.setInt(COSName.PREDICTOR, 15);
+        decodeParams.setInt(COSName.COLORS, colors);
+        decodeParams.setInt(COSName.COLUMNS, columns);
+        COSDictionary parameters = new COSDictionary();
+        parameters.setItem(COSName.FILTER, COSName.FLATE_DECODE);
+        parameters.setItem(COSName.DECODE_PARMS, decodeParams);
+
+        Filter flateFilter = FilterFactory.INSTANCE.getFilter(COSName.FLATE_DECODE);
+        ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+        flateFilter.encode(new ByteArrayInputStream(predicted.toByteArray()), encoded, new COSDictionary());
+
+        ByteArrayOutputStream decoded = new ByteArrayOutputStream();
+        flateFilter.decode(new ByteArrayInputStream(encoded.toByteArray()), decoded, parameters, 0);
+        assertArrayEquals(expected.toByteArray(), decoded.toByteArray());
+
+        InputStream decodingStream = flateFilter.createDecodingStream(
+                new ByteArrayInputStream(encoded.toByteArray()), parameters, 0, DecodeOptions.DEFAULT);
+        assertArrayEquals(expected.toByteArray(), readInSmallChunks(decodingStream));
     }
+
+    /**
+     * Test that pooled inflaters are reused and that input of known and unknown size is decoded in chunks.
+     *
+     * @throws IOException
+     */
+    @Test
+    void testPooledInflater() throws IOException {
+        Filter flateFilter = FilterFactory.INSTANCE.getFilter(COSName.FLATE_DECODE);
+        Random random = new Random(4711);
+        for (int size : new int[]{0, 1, 100, 5000, 200000}) {
+            // random data doesn't compress, so the larger stream is read in several chunks
+            byte[] original = new byte[size];
+            random.nextBytes(original);
+            ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+            flateFilter.encode(new ByteArrayInputStream(original), encoded, new COSDictionary());
+            byte[] encodedBytes = encoded.toByteArray();
+            for (int i = 0; i < 10; i++) {
+                InputStream decodingStream = flateFilter.createDecodingStream(
+                        new ByteArrayInputStream(encodedBytes), new COSDictionary(), 0, DecodeOptions.DEFAULT);
+                assertArrayEquals(original, readInSmallChunks(decodingStream));
+            }
+            // a source which doesn't know the number of available bytes
+            InputStream unknownSize = new ByteArrayInputStream(encodedBytes) {
+                @Override
+                public synchronized int available() {
+                    return 0;
+                }
+            };
+            InputStream decodingStream = flateFilter.createDecodingStream(
+                    unknownSize, new COSDictionary(), 0, DecodeOptions.DEFAULT);
+            assertArrayEquals(original, IOUtils.toByteArray(decodingStream));
+            decodingStream.close();
+        }
+        assertTrue(InflaterPool.idleCount() > 0);
+
+        // a stream consisting of the zlib header only is empty
+        InputStream headerOnly = flateFilter.createDecodingStream(
+                new ByteArrayInputStream(new byte[]{0x78, (byte) 0x9c}), new COSDictionary(), 0,
+                DecodeOptions.DEFAULT);
+        assertEquals(-1, headerOnly.read());
+        headerOnly.close();
+    }
+
 }
@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package lpdf.pdfbox.pdfparser;
+
+import lpdf.pdfbox.contentstream.OperandStack;
+import lpdf.pdfbox.contentstream.operator.Operator;
+import lpdf.pdfbox.contentstream.operator.OperatorName;
+import lpdf.pdfbox.cos.COSString;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Tests that {@link ContentStreamLexer} produces the same operators and operands as {@link PDFStreamParser}.
+ */
+class ContentStreamLexerTest {
+
+    @Test
+    void testSameTokensAsParser() throws IOException {
+        assertSameTokens("q 1 0 0 -1.5 +72 .5 cm BT /F1 12 Tf 0.25 --3 Td (Hello) Tj 1-2 3.4.5 Tc "
+                + "[(a) -250 (b) <4142> 1e5 /N] TJ ET 0 0 100.123456789 50 re f 12345678901234567890 "
+                + "0.000000000000000000000000001 - . d0 <</MCID 0>> BDC EMC 1 2");
+        assertSameTokens("% comment\r\n/A#20B gs (nested (parentheses)) Tj (esc\\)aped) Tj <4 1\n4> Tj <414g> Tj "
+                + "[1 0 R] [[1] true] null false true nul tru f* B* BX EX ' \" { } ) > \u00e9 ]");
+        assertSameTokens("q BI /W 1 /H 1 /BPC 8 ID\n\u0001 EI Q BT T* ET");
+        assertSameTokens("1 0 0 1 0 0 cm (unterminated");
+        assertSameTokens("/F1 12 Tf [(a) 1.5.1 (b)] TJ");
+        assertSameTokens("");
+    }
+
+    @Test
+    void testRealsKeepText() throws IOException {
+        byte[] content = "1.50 -.5 100.123456789 5. cm [0.10] TJ".getBytes(StandardCharsets.US_ASCII);
+        ContentStreamLexer lexer = new ContentStreamLexer(content, 0, content.length);
+        OperandStack operands = new OperandStack();
+        lexer.parseNextOperator(operands);
+        assertEquals("COSFloat{1.50} COSFloat{-.5} COSFloat{100.123456789} COSFloat{5.}",
+                operands.get(0) + " " + operands.get(1) + " " + operands.get(2) + " " + operands.get(3));
+        operands.clear();
+        lexer.parseNextOperator(operands);
+        assertEquals("COSArray{[COSFloat{0.10}]}", operands.get(0).toString());
+    }
+
+    @Test
+    void testKnownOperatorsAreShared() throws IOException {
+        byte[] content = "BT T* Tj ET".getBytes(StandardCharsets.US_ASCII);
+        ContentStreamLexer lexer = new ContentStreamLexer(content, 0, content.length);
+        OperandStack operands = new OperandStack();
+        assertSame(Operator.getOperator(OperatorName.BEGIN_TEXT), lexer.parseNextOperator(operands));
+        assertSame(Operator.getOperator(OperatorName.NEXT_LINE), lexer.parseNextOperator(operands));
+        assertSame(Operator.getOperator(OperatorName.SHOW_TEXT), lexer.parseNextOperator(operands));
+        assertSame(Operator.getOperator(OperatorName.END_TEXT), lexer.parseNextOperator(operands));
+    }
+
+    @Test
+    void testWindowOfArray() throws IOException {
+        byte[] content = "[(a) Tj (b)] TJ".getBytes(StandardCharsets.US_ASCII);
+        ContentStreamLexer lexer = new ContentStreamLexer(content, 1, 7);
+        OperandStack operands = new OperandStack();
+        assertEquals(OperatorName.SHOW_TEXT, lexer.parseNextOperator(operands).getName());
+        assertEquals(1, operands.size());
+        assertArrayEquals(new byte[]{ 'a' }, ((COSString) operands.get(0)).getBytes());
+        // the bytes after the window are ignored
+        assertNull(lexer.parseNextOperator(operands));
+    }
+
+    private static void assertSameTokens(String content) throws IOException {
+        byte[] bytes = content.getBytes(StandardCharsets.ISO_8859_1);
+        List<String> expected = new ArrayList<>();
+        PDFStreamParser parser = new PDFStreamParser(bytes);
+        OperandStack operands = new OperandStack();
+        try {
+            Operator operator;
+            while ((operator = parser.parseNextOperator(operands)) != null) {
+                expected.add(describe(operands, operator));
+                operands.clear();
+            }
+        } catch (IOException exception) {
+            expected.add(exception.getMessage());
+        }
+
+        List<String> actual = new ArrayList<>();
+        ContentStreamLexer lexer = new ContentStreamLexer(bytes, 0, bytes.length);
+        operands.clear();
+        try {
+            Operator operator;
+            while ((operator = lexer.parseNextOperator(operands)) != null) {
+                actual.add(describe(operands, operator));
+                operands.clear();
+            }
+        } catch (IOException exception) {
+            actual.add(exception.getMessage());
+        }
+        assertEquals(expected, actual, content);
+    }
+
+    private static String describe(OperandStack operands, Operator operator) {
+        StringBuilder description = new StringBuilder();
+        for (int i = 0; i < operands.size(); i++) {
+            description.append(operands.get(i)).append(' ');
+        }
+        description.append(operator);
+        if (operator.getImageData() != null) {
+            description.append(Arrays.toString(operator.getImageData()));
+        }
+        return description.toString();
+    }
+}
@@ -23,6 +23,7 @@ import lpdf.pdfbox.cos.COSInteger;
 import lpdf.pdfbox.cos.COSName;
 import lpdf.pdfbox.cos.COSObjectKey;
 import lpdf.pdfbox.cos.COSStream;
+import lpdf.pdfbox.cos.COSString;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
@@ -30,6 +31,7 @@ import java.io.OutputStream;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 
 /**
  * Test for PDFObjectStreamParser.
@@ -145,4 +147,49 @@ class PDFObjectStreamParserTest {
         assertEquals(0, objectNumbers.size());
     }
 
+    @Test
+    void testParseObjectsOnDemand() throws IOException {
+        COSStream stream = new COSStream();
+        stream.setItem(COSName.N, COSInteger.THREE);
+        stream.setItem(COSName.FIRST, COSInteger.get(13));
+        OutputStream outputStream = stream.createOutputStream();
+        // the offsets aren't sorted
+        outputStream.write("6 5 4 0 7 11 false true (7)".getBytes());
+        outputStream.close();
+        ObjectStreamIndex index = ObjectStreamIndex.read(stream);
+        assertEquals(new COSString("7"), index.parseObject(new COSObjectKey(7, 0), null));
+        assertEquals(COSBoolean.FALSE, index.parseObject(new COSObjectKey(4, 0), null));
+        assertEquals(COSBoolean.TRUE, index.parseObject(new COSObjectKey(6, 0), null));
+        // an object may be parsed again
+        assertEquals(COSBoolean.FALSE, index.parseObject(new COSObjectKey(4, 0), null));
+        assertNull(index.parseObject(new COSObjectKey(5, 0), null));
+        // objects within object streams always use generation 0
+        assertNull(index.parseObject(new COSObjectKey(4, 1), null));
+    }
+
+    @Test
+    void testParseObjectsOnDemandIndexed() throws IOException {
+        COSStream stream = new COSStream();
+        stream.setItem(COSName.N, COSInteger.THREE);
+        stream.setItem(COSName.FIRST, COSInteger.get(13));
+        OutputStream outputStream = stream.createOutputStream();
+        // use object number 4 for two objects
+        outputStream.write("6 0 4 5 4 11 true false true".getBytes());
+        outputStream.close();
+        COSDocument cosDoc = new COSDocument();
+        Map<COSObjectKey, Long> xrefTable = cosDoc.getXrefTable();
+        xrefTable.put(new COSObjectKey(6, 0, 0), -1L);
+        xrefTable.put(new COSObjectKey(4, 0, 1), -1L);
+        ObjectStreamIndex index = ObjectStreamIndex.read(stream);
+        assertEquals(COSBoolean.TRUE, index.parseObject(new COSObjectKey(6, 0), cosDoc));
+        assertEquals(COSBoolean.FALSE, index.parseObject(new COSObjectKey(4, 0), cosDoc));
+
+        // without an index the last object using the object number is chosen
+        xrefTable.remove(new COSObjectKey(4, 0));
+        assertEquals(COSBoolean.TRUE, index.parseObject(new COSObjectKey(4, 0), cosDoc));
+
+        // a malformed index doesn't match any object
+        xrefTable.put(new COSObjectKey(4, 0, 0), -1L);
+        assertNull(index.parseObject(new COSObjectKey(4, 0), cosDoc));
+    }
 }
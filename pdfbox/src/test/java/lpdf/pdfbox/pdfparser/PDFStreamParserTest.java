@@ -15,11 +15,15 @@
  */
 package lpdf.pdfbox.pdfparser;
 
+import lpdf.pdfbox.contentstream.OperandStack;
 import lpdf.pdfbox.contentstream.operator.Operator;
 import lpdf.pdfbox.contentstream.operator.OperatorName;
+import lpdf.pdfbox.cos.COSNumber;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
@@ -88,6 +92,42 @@ class PDFStreamParserTest {
         testInlineImage2ops("ID\n12EI5EI          Q   ", "12EI5", "Q");
     }
 
+    /**
+     * Test that the operands pushed onto an operand stack are the same as the tokens returned by parseNextToken.
+     *
+     * @throws IOException
+     */
+    @Test
+    void testParseNextOperator() throws IOException {
+        String content = "q 1 0 0 -1.5 +72 .5 cm BT /F1 12 Tf 0.25 --3 Td (Hello) Tj 1-2 3.4.5 Tc "
+                + "[(a) -250 (b)] TJ ET 0 0 100.123456789 50 re f 12345678901234567890 0.000000000000000000000000001 "
+                + "- . d0 <</MCID 0>> BDC EMC 1 2";
+        List<Object> tokens = parseTokenString(content);
+
+        PDFStreamParser parser = new PDFStreamParser(content.getBytes(StandardCharsets.US_ASCII));
+        OperandStack operands = new OperandStack();
+        List<Object> operatorTokens = new ArrayList<>();
+        Operator operator;
+        while ((operator = parser.parseNextOperator(operands)) != null) {
+            for (int i = 0; i < operands.size(); i++) {
+                if (operands.isNumber(i)) {
+                    assertEquals(((COSNumber) operands.get(i)).floatValue(), operands.getFloat(i));
+                }
+            }
+            operatorTokens.addAll(operands);
+            operatorTokens.add(operator);
+            operands.clear();
+        }
+        // the trailing operands without operator are dropped
+        assertEquals(tokens.size() - 2, operatorTokens.size());
+        assertEquals(tokens.subList(0, tokens.size() - 2).toString(), operatorTokens.toString());
+        for (int i = 0; i < operatorTokens.size(); i++) {
+            if (operatorTokens.get(i) instanceof COSNumber) {
+                assertEquals(tokens.get(i), operatorTokens.get(i));
+            }
+        }
+    }
+
     // checks whether there are two operators, one inline image and the named operator
     private void testInlineImage2ops(String s, String imageDataString, String opName) throws IOException {
         List<Object> tokens = parseTokenString(s);
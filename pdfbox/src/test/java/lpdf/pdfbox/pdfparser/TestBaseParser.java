@@ -18,10 +18,16 @@
 package lpdf.pdfbox.pdfparser;
 
 import lpdf.io.RandomAccessReadBuffer;
+import lpdf.pdfbox.cos.COSBase;
+import lpdf.pdfbox.cos.COSFloat;
+import lpdf.pdfbox.cos.COSNumber;
 import lpdf.pdfbox.cos.COSString;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
@@ -86,4 +92,57 @@ class TestBaseParser {
         assertEquals(output, cosString.getString());
     }
 
+    /**
+     * Test that numbers are parsed to the same values as by {@link COSNumber#get(String)}.
+     *
+     * @throws IOException
+     */
+    @Test
+    void testParseCOSNumber() throws IOException {
+        String[] numbers = {"0", "-0", "+0", "7", "-7", "+42", "256", "257", "-100", "-101", "000123",
+                "9223372036854775807", "-9223372036854775808", "92233720368547758070", "-", ".", "0.0", "-0.0",
+                "1.5", "-1.5", ".5", "-.5", "5.", "+3.25", "0.1", "3.14159265358979", "123456789012.345678",
+                "0.00000000000000000000000000000000000000001", "1e5", "1.5E-3", "--16.33", "0.00-339",
+                "0.-262"};
+        for (String number : numbers) {
+            assertEquals(COSNumber.get(number), parseNumber(number), number);
+        }
+        Random random = new Random(4711);
+        for (int i = 0; i < 10000; i++) {
+            StringBuilder number = new StringBuilder();
+            if (random.nextBoolean()) {
+                number.append('-');
+            }
+            number.append(random.nextInt(100000));
+            if (random.nextBoolean()) {
+                number.append('.').append(String.format("%0" + (1 + random.nextInt(8)) + "d",
+                        random.nextInt(10000000)));
+            }
+            assertEquals(COSNumber.get(number.toString()), parseNumber(number.toString()), number.toString());
+        }
+        // the number ends at the first character which can't be part of a number
+        BaseParser baseParser = new COSParser(new RandomAccessReadBuffer("12.5]".getBytes(StandardCharsets.US_ASCII)));
+        assertEquals(new COSFloat(12.5f), baseParser.parseDirObject());
+        assertEquals(']', baseParser.source.read());
+    }
+
+    /**
+     * Test that real numbers are written the way they were read.
+     *
+     * @throws IOException
+     */
+    @Test
+    void testParsedRealKeepsText() throws IOException {
+        for (String number : new String[]{"1.50", "5.", "-.5", "+3.25", "0.123456789012", "100.0000"}) {
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            ((COSFloat) parseNumber(number)).writePDF(output);
+            assertEquals(number, output.toString("ISO-8859-1"));
+        }
+    }
+
+    private static COSBase parseNumber(String number) throws IOException {
+        BaseParser baseParser = new COSParser(new RandomAccessReadBuffer(number.getBytes(StandardCharsets.US_ASCII)));
+        return baseParser.parseDirObject();
+    }
+
 }
@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package lpdf.pdfbox.pdfparser;
+
+import lpdf.io.RandomAccessReadBuffer;
+import lpdf.pdfbox.pdfparser.BruteForceScanner.Marker;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+class TestBruteForceScanner {
+
+    @Test
+    void testMarkers() throws IOException {
+        String data = "%PDF-1.4\n1 0 obj\n<</Type/ObjStm>>\nendobj\n2 0 obj<</Type/XRef>>endobj\nxref\n"
+                + "trailer<<>>startxref\n12\n%%EOF\n%%%EOF /XRefStm xobj endob\tobj\rendo";
+        BruteForceScanner scanner = BruteForceScanner.scan(
+                new RandomAccessReadBuffer(data.getBytes(StandardCharsets.US_ASCII)), 6, 1);
+        // the offsets of the whitespace in front of "obj"
+        assertArrayEquals(new long[]{12, 44, 130}, scanner.getOffsets(Marker.OBJ));
+        // "endo" is accepted at the end of the data only
+        assertArrayEquals(new long[]{34, 62, 135}, scanner.getOffsets(Marker.END_OBJ));
+        assertArrayEquals(new long[]{69, 90}, scanner.getOffsets(Marker.XREF_TABLE));
+        assertArrayEquals(new long[]{55, 111}, scanner.getOffsets(Marker.XREF_STREAM));
+        assertArrayEquals(new long[]{74}, scanner.getOffsets(Marker.TRAILER));
+        assertArrayEquals(new long[]{24}, scanner.getOffsets(Marker.OBJ_STREAM));
+        assertArrayEquals(new long[]{98, 105}, scanner.getOffsets(Marker.EOF));
+    }
+
+    @Test
+    void testSameAsSequentialSearch() throws IOException {
+        // a small alphabet to get lots of markers, some of them crossing the boundaries of blocks and chunks
+        byte[] alphabet = "objendxrftail%EOF/XRObjStm \n".getBytes(StandardCharsets.US_ASCII);
+        // in the order of the markers
+        String[] markers = {" obj", "endobj", "xref", "/XRef", "trailer", "/ObjStm", "%%EOF"};
+
+        Random random = new Random(1);
+        // blocks and chunks start at offset 6 plus a multiple of 4096 bytes
+        byte[] data = new byte[6 + 3078 * 4096];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = alphabet[random.nextInt(alphabet.length)];
+        }
+        // place markers right across every possible boundary of a block or chunk
+        for (int boundary = 6 + 4096; boundary < data.length; boundary += 4096) {
+            byte[] marker = markers[random.nextInt(markers.length)].getBytes(StandardCharsets.US_ASCII);
+            System.arraycopy(marker, 0, data, boundary - 1 - random.nextInt(marker.length - 1), marker.length);
+        }
+        // the data is cut off in the middle of "endobj"
+        System.arraycopy("endo".getBytes(StandardCharsets.US_ASCII), 0, data, data.length - 4, 4);
+
+        BruteForceScanner sequential = BruteForceScanner.scan(new RandomAccessReadBuffer(data), 6, 1);
+        for (Marker marker : Marker.values()) {
+            byte[] bytes = markers[marker.ordinal()].getBytes(StandardCharsets.US_ASCII);
+            long[] expected = search(data, bytes, marker == Marker.END_OBJ);
+            assertArrayEquals(expected, sequential.getOffsets(marker), marker.name());
+        }
+        for (int parallelism : new int[]{2, 3, 5}) {
+            BruteForceScanner parallel = BruteForceScanner.scan(new RandomAccessReadBuffer(data), 6, parallelism);
+            for (Marker marker : Marker.values()) {
+                assertArrayEquals(sequential.getOffsets(marker), parallel.getOffsets(marker), marker.name());
+            }
+        }
+    }
+
+    /**
+     * Straightforward search for all occurrences of a marker starting at offset 6.
+     */
+    private static long[] search(byte[] data, byte[] marker, boolean endObj) {
+        LongStream.Builder offsets = LongStream.builder();
+        for (int i = 6; i < data.length; i++) {
+            boolean found = true;
+            for (int j = 0; j < marker.length && found; j++) {
+                if (i + j == data.length) {
+                    // "endo" at the end of the data
+                    found = endObj && j == 4;
+                    break;
+                }
+                found = data[i + j] == marker[j] || marker[0] == ' ' && j == 0 && isWhitespace(data[i]);
+            }
+            if (found) {
+                offsets.add(i);
+            }
+        }
+        return offsets.build().toArray();
+    }
+
+    private static boolean isWhitespace(byte c) {
+        return c == 0 || c == 9 || c == 10 || c == 12 || c == 13 || c == 32;
+    }
+}
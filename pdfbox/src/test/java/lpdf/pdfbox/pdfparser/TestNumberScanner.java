@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package lpdf.pdfbox.pdfparser;
+
+import lpdf.pdfbox.contentstream.OperandStack;
+import lpdf.pdfbox.cos.COSInteger;
+import lpdf.pdfbox.cos.COSNumber;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TestNumberScanner {
+
+    @Test
+    void testObjectSyntax() throws IOException {
+        NumberScanner scanner = new NumberScanner();
+        assertEquals(7, scanObject(scanner, "-12.5e3]"));
+        assertFalse(scanner.isInteger());
+        assertTrue(Float.isNaN(scanner.getReal()));
+        assertEquals("-12.5e3", scanner.getText());
+        assertEquals(COSNumber.get("-12.5e3"), scanner.toCOSNumber());
+
+        assertEquals(3, scanObject(scanner, "+42 "));
+        assertTrue(scanner.isInteger());
+        assertEquals(42, scanner.getInteger());
+        assertEquals(COSInteger.get(42), scanner.toCOSNumber());
+    }
+
+    @Test
+    void testContentStreamSyntax() throws IOException {
+        NumberScanner scanner = new NumberScanner();
+        // double negative and "-" in the middle of a number are ignored
+        assertEquals(5, scanContentStream(scanner, "--1-2 "));
+        assertEquals(-12, scanner.getInteger());
+        assertEquals("-12", scanner.getText());
+
+        // the number ends at the second point
+        assertEquals(3, scanContentStream(scanner, "3.4.5"));
+        assertEquals(3.4f, scanner.getReal());
+
+        OperandStack operands = new OperandStack();
+        scanContentStream(scanner, "0.50");
+        scanner.pushTo(operands);
+        assertEquals("COSFloat{0.50}", operands.get(0).toString());
+    }
+
+    /**
+     * Returns the number of characters which are part of the number.
+     */
+    private static int scanObject(NumberScanner scanner, String input) {
+        scanner.reset();
+        int i = 0;
+        while (i < input.length() && scanner.addObjectCharacter(input.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Returns the number of characters which are part of the number, including ignored ones.
+     */
+    private static int scanContentStream(NumberScanner scanner, String input) {
+        scanner.reset();
+        int i = 0;
+        while (i < input.length() && scanner.addContentStreamCharacter(input.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+}
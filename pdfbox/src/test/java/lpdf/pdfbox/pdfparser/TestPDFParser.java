@@ -17,17 +17,45 @@
 
 package lpdf.pdfbox.pdfparser;
 
+import lpdf.io.IOUtils;
+import lpdf.io.RandomAccessReadBuffer;
 import lpdf.pdfbox.Loader;
+import lpdf.pdfbox.cos.COSBase;
+import lpdf.pdfbox.cos.COSDocument;
+import lpdf.pdfbox.cos.COSName;
+import lpdf.pdfbox.cos.COSNumber;
+import lpdf.pdfbox.cos.COSObject;
+import lpdf.pdfbox.cos.COSObjectKey;
+import lpdf.pdfbox.cos.COSStream;
 import lpdf.pdfbox.pdmodel.PDDocument;
 import lpdf.pdfbox.pdmodel.PDDocumentInformation;
+import lpdf.pdfbox.pdmodel.PDPage;
 import lpdf.pdfbox.util.DateConverter;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
 class TestPDFParser {
@@ -251,4 +279,246 @@ class TestPDFParser {
         }
     }
 
+    /**
+     * Test that objects are dereferenced only once and identically when several threads dereference them at the same
+     * time.
+     *
+     * @throws Exception
+     */
+    @Test
+    void testConcurrentDereferencing() throws Exception {
+        File file = new File("src/test/resources/input/cweb.pdf");
+        List<String> expected = new ArrayList<>();
+        try (PDDocument doc = Loader.loadPDF(file)) {
+            COSDocument cosDocument = doc.getDocument();
+            for (COSObjectKey key : new TreeSet<>(cosDocument.getXrefTable().keySet())) {
+                expected.add(describe(cosDocument.getObjectFromPool(key).getObject()));
+            }
+        }
+        int threadCount = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        try (PDDocument doc = Loader.loadPDF(file)) {
+            COSDocument cosDocument = doc.getDocument();
+            List<COSObjectKey> keys = new ArrayList<>(new TreeSet<>(cosDocument.getXrefTable().keySet()));
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<List<COSBase>>> futures = new ArrayList<>();
+            List<Future<List<String>>> descriptions = new ArrayList<>();
+            for (int i = 0; i < threadCount; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    List<COSBase> objects = new ArrayList<>();
+                    for (COSObjectKey key : keys) {
+                        objects.add(cosDocument.getObjectFromPool(key).getObject());
+                    }
+                    return objects;
+                }));
+                descriptions.add(executor.submit(() -> {
+                    start.await();
+                    List<String> actual = new ArrayList<>();
+                    for (COSObjectKey key : keys) {
+                        actual.add(describe(cosDocument.getObjectFromPool(key).getObject()));
+                    }
+                    return actual;
+                }));
+            }
+            start.countDown();
+            List<COSBase> first = futures.get(0).get();
+            for (Future<List<COSBase>> future : futures) {
+                List<COSBase> objects = future.get();
+                for (int i = 0; i < keys.size(); i++) {
+                    assertSame(first.get(i), objects.get(i));
+                }
+            }
+            for (Future<List<String>> future : descriptions) {
+                assertEquals(expected, future.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testLoadEagerly() throws IOException {
+        File file = new File("src/test/resources/input/compression/attachment.pdf");
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try (PDDocument lazy = Loader.loadPDF(file);
+             PDDocument eager = Loader.loadPDFEagerly(file, executor)) {
+            COSDocument lazyDocument = lazy.getDocument();
+            COSDocument eagerDocument = eager.getDocument();
+            // the document contains compressed objects
+            assertTrue(eagerDocument.getXrefTable().values().stream().anyMatch(value -> value < 0));
+            for (COSObjectKey key : eagerDocument.getXrefTable().keySet()) {
+                COSObject object = eagerDocument.getObjectFromPool(key);
+                assertTrue(object.isDereferenced(), key.toString());
+                assertEquals(describe(lazyDocument.getObjectFromPool(key).getObject()),
+                        describe(object.getObject()), key.toString());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testLoadLinearized() throws IOException {
+        // a cross reference table and a cross reference stream
+        for (String name : new String[]{"rotation.pdf", "compression/unencrypted.pdf"}) {
+            File file = new File("src/test/resources/input/" + name);
+            try (PDDocument full = Loader.loadPDF(file);
+                 PDDocument linearized = Loader.loadPDFLinearized(file)) {
+                int fullSize = full.getDocument().getXrefIndex().size();
+                COSDocument document = linearized.getDocument();
+                // only the first page cross reference table is read
+                assertTrue(document.getXrefIndex().size() < fullSize, name);
+                assertEquals(full.getPage(0).getCOSObject().keySet(),
+                        linearized.getLinearizedFirstPage().getCOSObject().keySet(), name);
+                assertEquals(full.getPage(0).getMediaBox().toString(),
+                        linearized.getLinearizedFirstPage().getMediaBox().toString(), name);
+                assertTrue(document.getXrefIndex().size() < fullSize, name);
+
+                // the remaining cross reference tables are read when the page tree is accessed
+                assertEquals(full.getNumberOfPages(), linearized.getNumberOfPages(), name);
+                assertEquals(fullSize, document.getXrefIndex().size(), name);
+                assertEquals(full.getDocument().getXrefTable(), document.getXrefTable(), name);
+            }
+        }
+    }
+
+    @Test
+    void testLoadLinearizedFirstPageOnly() throws IOException {
+        File file = new File("src/test/resources/input/rotation.pdf");
+        byte[] data = Files.readAllBytes(file.toPath());
+        try (PDDocument full = Loader.loadPDF(file)) {
+            long endOfFirstPage = full.getDocument().getLinearizedDictionary().getLong(COSName.E);
+            // the first page can be processed without the data behind the end of the first page
+            Arrays.fill(data, (int) endOfFirstPage, data.length, (byte) ' ');
+            try (PDDocument linearized = Loader.loadPDFLinearized(new RandomAccessReadBuffer(data))) {
+                PDPage page = linearized.getLinearizedFirstPage();
+                assertEquals(full.getPage(0).getRotation(), page.getRotation());
+                try (InputStream expected = full.getPage(0).getContents();
+                     InputStream actual = page.getContents()) {
+                    assertArrayEquals(IOUtils.toByteArray(expected), IOUtils.toByteArray(actual));
+                }
+            }
+        }
+    }
+
+    @Test
+    void testLoadDeferredXrefWithIndirectLength() throws Exception {
+        byte[] data = createLinearizedPdfWithIndirectXrefStreamLength();
+        long xrefStreamOffset = indexOf(data, "6 0 obj");
+        AtomicReference<Thread> loader = new AtomicReference<>();
+        AtomicReference<Thread> dereferencer = new AtomicReference<>();
+        CountDownLatch loaderPaused = new CountDownLatch(1);
+        // the loader pauses before reading the cross reference stream until the other thread waits for the loader
+        RandomAccessReadBuffer source = new RandomAccessReadBuffer(data) {
+            @Override
+            public int read(long position, byte[] b, int offset, int length) throws IOException {
+                if (Thread.currentThread() == loader.get() && position <= xrefStreamOffset
+                        && xrefStreamOffset < position + length && loaderPaused.getCount() > 0) {
+                    loaderPaused.countDown();
+                    awaitBlocked(dereferencer);
+                }
+                return super.read(position, b, offset, length);
+            }
+        };
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try (PDDocument doc = Loader.loadPDFLinearized(source)) {
+            COSDocument cosDocument = doc.getDocument();
+            assertEquals(4, cosDocument.getXrefIndex().size());
+            Future<Map<COSObjectKey, Long>> xrefTable = executor.submit(() -> {
+                loader.set(Thread.currentThread());
+                return cosDocument.getXrefTable();
+            });
+            Future<COSBase> length = executor.submit(() -> {
+                dereferencer.set(Thread.currentThread());
+                loaderPaused.await();
+                // the length of the cross reference stream isn't listed in the first page cross reference table
+                return cosDocument.getObjectFromPool(new COSObjectKey(5, 0)).getObject();
+            });
+            assertEquals(49, ((COSNumber) length.get(10, TimeUnit.SECONDS)).intValue());
+            xrefTable.get(10, TimeUnit.SECONDS);
+            assertEquals(0, loaderPaused.getCount());
+            assertTrue(cosDocument.getObjectFromPool(new COSObjectKey(6, 0)).getObject() instanceof COSStream);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void awaitBlocked(AtomicReference<Thread> thread) {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (System.currentTimeMillis() < deadline) {
+            Thread current = thread.get();
+            if (current != null && (current.getState() == Thread.State.BLOCKED
+                    || current.getState() == Thread.State.TIMED_WAITING)) {
+                return;
+            }
+            Thread.yield();
+        }
+    }
+
+    /**
+     * Creates a linearized pdf whose cross reference stream following the first page cross reference table has an
+     * indirect length, the length object is listed in the cross reference stream only.
+     */
+    private static byte[] createLinearizedPdfWithIndirectXrefStreamLength() {
+        String[] objects = {
+                "2 0 obj\n<</Type/Catalog/Pages 3 0 R>>\nendobj\n",
+                "3 0 obj\n<</Type/Pages/Kids [4 0 R]/Count 1>>\nendobj\n",
+                "4 0 obj\n<</Type/Page/Parent 3 0 R/MediaBox [0 0 612 792]>>\nendobj\n",
+                "5 0 obj\n49\nendobj\n"};
+        // all numbers have a fixed width, so that the offsets don't depend on them
+        long[] offsets = new long[7];
+        byte[] data = null;
+        for (int pass = 0; pass < 2; pass++) {
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            write(output, "%PDF-1.5\n");
+            offsets[1] = output.size();
+            write(output, String.format("1 0 obj\n<</Linearized 1/L %010d/O 4/N 1/H [0 0]>>\nendobj\n",
+                    data == null ? 0 : data.length));
+            write(output, "xref\n1 4\n");
+            for (int i = 1; i <= 4; i++) {
+                write(output, String.format("%010d 00000 n\r\n", offsets[i]));
+            }
+            write(output, String.format("trailer\n<</Size 7/Root 2 0 R/Prev %010d>>\nstartxref\n0\n%%%%EOF\n",
+                    offsets[6]));
+            for (int i = 2; i <= 5; i++) {
+                offsets[i] = output.size();
+                write(output, objects[i - 2]);
+            }
+            // the cross reference stream isn't read together with the front of the file
+            for (int i = 0; i < 100; i++) {
+                write(output, "% padding to move the cross reference stream away from the front of the file\n");
+            }
+            offsets[6] = output.size();
+            write(output, "6 0 obj\n<</Type/XRef/Size 7/W [1 4 2]/Root 2 0 R/Length 5 0 R>>\nstream\n");
+            output.write(new byte[]{0, 0, 0, 0, 0, (byte) 0xff, (byte) 0xff}, 0, 7);
+            for (int i = 1; i <= 6; i++) {
+                long offset = offsets[i];
+                output.write(new byte[]{1, (byte) (offset >> 24), (byte) (offset >> 16), (byte) (offset >> 8),
+                        (byte) offset, 0, 0}, 0, 7);
+            }
+            write(output, String.format("\nendstream\nendobj\nstartxref\n%d\n%%%%EOF\n", offsets[6]));
+            data = output.toByteArray();
+        }
+        return data;
+    }
+
+    private static void write(ByteArrayOutputStream output, String text) {
+        byte[] bytes = text.getBytes(StandardCharsets.US_ASCII);
+        output.write(bytes, 0, bytes.length);
+    }
+
+    private static long indexOf(byte[] data, String text) {
+        return new String(data, StandardCharsets.US_ASCII).indexOf(text);
+    }
+
+    private static String describe(COSBase object) throws IOException {
+        if (object instanceof COSStream) {
+            try (InputStream input = ((COSStream) object).createInputStream()) {
+                return "COSStream " + IOUtils.toByteArray(input).length;
+            }
+        }
+        return object == null ? "null" : object.getClass().getSimpleName();
+    }
+
 }
@@ -31,20 +31,24 @@ import lpdf.pdfbox.pdmodel.PDPage;
 import lpdf.pdfbox.pdmodel.PDPageContentStream;
 import lpdf.pdfbox.pdmodel.font.Standard14Fonts.FontName;
 import lpdf.pdfbox.pdmodel.font.encoding.WinAnsiEncoding;
+import lpdf.pdfbox.util.Vector;
 import org.junit.jupiter.api.Assumptions;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.parallel.Execution;
 import org.junit.jupiter.api.parallel.ExecutionMode;
 
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -64,6 +68,30 @@ class PDFontTest {
     }
 
 
+    @Test
+    void testDecode() throws IOException {
+        PDType1Font font = new PDType1Font(FontName.HELVETICA);
+        byte[] string = "Hello World \u00e4".getBytes(StandardCharsets.ISO_8859_1);
+        DecodedString decoded = font.decode(string);
+        assertEquals(string.length, decoded.size());
+        ByteArrayInputStream in = new ByteArrayInputStream(string);
+        for (int i = 0; i < decoded.size(); i++) {
+            int code = font.readCode(in);
+            assertEquals(code, decoded.getCode(i));
+            assertEquals(1, decoded.getCodeLength(i));
+            Vector w = font.getDisplacement(code);
+            assertEquals(w.getX(), decoded.getDisplacementX(i));
+            assertEquals(w.getY(), decoded.getDisplacementY(i));
+        }
+        assertEquals(0.278f, decoded.getDisplacementsX()[5], 0.0001f);
+
+        // the instance is reused
+        font.decode(new byte[]{'W'}, decoded);
+        assertEquals(1, decoded.size());
+        assertArrayEquals(new int[]{'W'}, decoded.getCodes());
+        assertThrows(IndexOutOfBoundsException.class, () -> decoded.getCode(1));
+    }
+
     @Test
     void testPDFBOX5486() throws IOException {
         try (PDDocument doc = new PDDocument()) {
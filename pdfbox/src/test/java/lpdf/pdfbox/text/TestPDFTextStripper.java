@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package lpdf.pdfbox.text;
+
+import lpdf.pdfbox.Loader;
+import lpdf.pdfbox.pdmodel.PDDocument;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.text.Bidi;
+import java.text.Normalizer;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TestPDFTextStripper {
+
+    @Test
+    void testIsLeftToRight() {
+        assertTrue(PDFTextStripper.isLeftToRight("Hello, world! 42%"));
+        assertTrue(PDFTextStripper.isLeftToRight("Gr\u00fc\u00dfe, \u041f\u0440\u0438\u0432\u0435\u0442"));
+        // mathematical bold capital A, outside of the BMP
+        assertTrue(PDFTextStripper.isLeftToRight("\ud835\udc00"));
+        assertTrue(PDFTextStripper.isLeftToRight(""));
+        // Hebrew and Arabic letters
+        assertFalse(PDFTextStripper.isLeftToRight("\u05e9\u05dc\u05d5\u05dd"));
+        assertFalse(PDFTextStripper.isLeftToRight("abc \u0645\u0631\u062d\u0628\u0627"));
+        // Arabic-Indic digits
+        assertFalse(PDFTextStripper.isLeftToRight("\u0661\u0662"));
+        // right-to-left override
+        assertFalse(PDFTextStripper.isLeftToRight("\u202eabc"));
+    }
+
+    @Test
+    void testIsLeftToRightAgreesWithBidi() {
+        for (int i = 0; i < Character.MAX_VALUE; i++) {
+            char c = (char) i;
+            if (Character.isSurrogate(c)) {
+                continue;
+            }
+            for (String word : new String[]{ String.valueOf(c), "a" + c + "b", "1" + c + "2" }) {
+                if (PDFTextStripper.isLeftToRight(word)) {
+                    Bidi bidi = new Bidi(word, Bidi.DIRECTION_DEFAULT_LEFT_TO_RIGHT);
+                    assertTrue(bidi.isLeftToRight(), () -> String.format("U+%04X", (int) c));
+                }
+            }
+        }
+    }
+
+    @Test
+    void testWriteStringWithTextPositions() throws IOException {
+        try (PDDocument document = Loader.loadPDF(new File("src/test/resources/input/cweb.pdf"))) {
+            StringBuilder words = new StringBuilder();
+            PDFTextStripper stripper = new PDFTextStripper() {
+                @Override
+                protected void writeString(String text, List<TextPosition> textPositions) throws IOException {
+                    StringBuilder word = new StringBuilder();
+                    for (TextPosition textPosition : textPositions) {
+                        word.append(textPosition.getUnicode());
+                    }
+                    // the text positions of the words are created for subclasses which override this method
+                    assertEquals(text.isEmpty(), textPositions.isEmpty(), text);
+                    words.append(word);
+                    super.writeString(text, textPositions);
+                }
+            };
+            stripper.setSortByPosition(true);
+            stripper.setStartPage(2);
+            stripper.setEndPage(2);
+            String text = stripper.getText(document);
+            // the text of the words is normalized, e.g. the ligatures are split
+            assertEquals(text.replaceAll("\\s", ""),
+                    Normalizer.normalize(words, Normalizer.Form.NFKC).replaceAll("\\s", ""));
+        }
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package lpdf.pdfbox.text;
+
+import lpdf.pdfbox.Loader;
+import lpdf.pdfbox.cos.COSObject;
+import lpdf.pdfbox.pdmodel.DefaultResourceCache;
+import lpdf.pdfbox.pdmodel.PDDocument;
+import lpdf.pdfbox.pdmodel.PDPage;
+import lpdf.pdfbox.pdmodel.ResourceCache;
+import lpdf.pdfbox.pdmodel.font.PDFont;
+import lpdf.pdfbox.pdmodel.interactive.documentnavigation.outline.PDOutlineItem;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TestParallelTextExtractor {
+    private static final File CWEB = new File("src/test/resources/input/cweb.pdf");
+
+    private static ExecutorService executor;
+
+    @BeforeAll
+    static void setUp() {
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        executor.shutdown();
+    }
+
+    private static String serialText(Supplier<PDFTextStripper> stripperFactory) throws IOException {
+        try (PDDocument document = Loader.loadPDF(CWEB)) {
+            return stripperFactory.get().getText(document);
+        }
+    }
+
+    private static String parallelText(Supplier<PDFTextStripper> stripperFactory, int pagesPerTask)
+            throws IOException {
+        try (PDDocument document = Loader.loadPDF(CWEB)) {
+            ResourceCache resourceCache = document.getResourceCache();
+            ParallelTextExtractor extractor = new ParallelTextExtractor(stripperFactory, executor);
+            extractor.setPagesPerTask(pagesPerTask);
+            String text = extractor.getText(document);
+            assertSame(resourceCache, document.getResourceCache());
+            return text;
+        }
+    }
+
+    @Test
+    void testSameTextAsSerial() throws IOException {
+        Supplier<PDFTextStripper> stripperFactory = () -> {
+            PDFTextStripper stripper = new PDFTextStripper();
+            stripper.setSortByPosition(true);
+            stripper.setAddMoreFormatting(true);
+            return stripper;
+        };
+        String expected = serialText(stripperFactory);
+        for (int pagesPerTask : new int[]{ 1, 3, 100 }) {
+            assertEquals(expected, parallelText(stripperFactory, pagesPerTask), "pages per task " + pagesPerTask);
+        }
+    }
+
+    @Test
+    void testPageRange() throws IOException {
+        Supplier<PDFTextStripper> stripperFactory = () -> {
+            PDFTextStripper stripper = new PDFTextStripper();
+            stripper.setStartPage(5);
+            stripper.setEndPage(11);
+            return stripper;
+        };
+        assertEquals(serialText(stripperFactory), parallelText(stripperFactory, 2));
+
+        Supplier<PDFTextStripper> emptyRange = () -> {
+            PDFTextStripper stripper = new PDFTextStripper();
+            stripper.setStartPage(100);
+            return stripper;
+        };
+        assertEquals(serialText(emptyRange), parallelText(emptyRange, 2));
+    }
+
+    @Test
+    void testBookmarks() throws IOException {
+        try (PDDocument document = Loader.loadPDF(CWEB)) {
+            PDOutlineItem start = new PDOutlineItem();
+            start.setDestination(document.getPage(2));
+            PDOutlineItem end = new PDOutlineItem();
+            end.setDestination(document.getPage(5));
+            Supplier<PDFTextStripper> stripperFactory = () -> {
+                PDFTextStripper stripper = new PDFTextStripper();
+                stripper.setStartBookmark(start);
+                stripper.setEndBookmark(end);
+                return stripper;
+            };
+            String expected = stripperFactory.get().getText(document);
+            assertFalse(expected.trim().isEmpty());
+            ParallelTextExtractor extractor = new ParallelTextExtractor(stripperFactory, executor);
+            extractor.setPagesPerTask(1);
+            assertEquals(expected, extractor.getText(document));
+        }
+    }
+
+    @Test
+    void testDocumentResourceCache() throws IOException {
+        AtomicInteger fonts = new AtomicInteger();
+        try (PDDocument document = Loader.loadPDF(CWEB)) {
+            ResourceCache resourceCache = new DefaultResourceCache() {
+                @Override
+                public void put(COSObject indirect, PDFont font) {
+                    fonts.incrementAndGet();
+                    super.put(indirect, font);
+                }
+            };
+            document.setResourceCache(resourceCache);
+            new ParallelTextExtractor(PDFTextStripper::new, executor).getText(document);
+            // the resources are passed on to the cache of the document
+            assertSame(resourceCache, document.getResourceCache());
+            assertTrue(fonts.get() > 0);
+        }
+    }
+
+    @Test
+    void testRejectedPart() throws IOException {
+        AtomicInteger submitted = new AtomicInteger();
+        Executor rejectingExecutor = task -> {
+            if (submitted.incrementAndGet() > 2) {
+                throw new RejectedExecutionException();
+            }
+            executor.execute(task);
+        };
+        AtomicInteger running = new AtomicInteger();
+        Supplier<PDFTextStripper> stripperFactory = () -> new PDFTextStripper() {
+            @Override
+            protected void startPage(PDPage page) {
+                running.incrementAndGet();
+            }
+
+            @Override
+            protected void endPage(PDPage page) throws IOException {
+                try {
+                    Thread.sleep(50);
+                } catch (InterruptedException e) {
+                    throw new InterruptedIOException();
+                }
+                running.decrementAndGet();
+            }
+        };
+        try (PDDocument document = Loader.loadPDF(CWEB)) {
+            ResourceCache resourceCache = document.getResourceCache();
+            ParallelTextExtractor extractor = new ParallelTextExtractor(stripperFactory, rejectingExecutor);
+            extractor.setPagesPerTask(1);
+            assertThrows(RejectedExecutionException.class, () -> extractor.getText(document));
+            // the parts which were submitted before are done when the resource cache is restored
+            assertEquals(0, running.get());
+            assertSame(resourceCache, document.getResourceCache());
+        }
+    }
+
+    @Test
+    void testInvalidPagesPerTask() {
+        ParallelTextExtractor extractor = new ParallelTextExtractor(PDFTextStripper::new, executor);
+        assertThrows(IllegalArgumentException.class, () -> extractor.setPagesPerTask(0));
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package lpdf.pdfbox.text;
+
+import lpdf.harmony.awt.geom.Rectangle2D;
+import lpdf.pdfbox.Loader;
+import lpdf.pdfbox.pdmodel.PDDocument;
+import lpdf.pdfbox.pdmodel.PDPage;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TestTextLineListener {
+
+    @Test
+    void testLinesOfText() throws IOException {
+        try (PDDocument document = Loader.loadPDF(new File("src/test/resources/input/cweb.pdf"))) {
+            PDFTextStripper stripper = new PDFTextStripper();
+            stripper.setSortByPosition(true);
+            stripper.setStartPage(2);
+            stripper.setEndPage(5);
+            List<String> expected = new ArrayList<>();
+            for (String line : stripper.getText(document).split(stripper.getLineSeparator())) {
+                if (!line.isEmpty()) {
+                    expected.add(line);
+                }
+            }
+
+            List<String> lines = new ArrayList<>();
+            List<Integer> pages = new ArrayList<>();
+            stripper.writeText(document, new TextLineListener() {
+                private int currentPage;
+
+                @Override
+                public void onPageStart(int pageNumber, PDPage page) {
+                    currentPage = pageNumber;
+                    pages.add(pageNumber);
+                }
+
+                @Override
+                public void onLine(CharSequence line, Rectangle2D bounds) {
+                    assertTrue(currentPage > 0);
+                    assertTrue(bounds.getWidth() > 0 && bounds.getHeight() > 0, line.toString());
+                    assertTrue(bounds.getMinX() >= 0 && bounds.getMaxY() <= 800, bounds.toString());
+                    if (line.length() > 0) {
+                        lines.add(line.toString());
+                    }
+                }
+
+                @Override
+                public void onPageEnd(int pageNumber, PDPage page) {
+                    assertEquals(currentPage, pageNumber);
+                    currentPage = 0;
+                }
+            });
+
+            assertEquals(expected, lines);
+            assertEquals(4, pages.size());
+            assertEquals(2, pages.get(0));
+            // the page structures are released after each page
+            assertTrue(stripper.getCharactersByArticle().stream().allMatch(List::isEmpty));
+        }
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package lpdf.pdfbox.text;
+
+import lpdf.pdfbox.util.IterativeMergeSort;
+import lpdf.pdfbox.util.Matrix;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TestTextPositionBuffer {
+
+    private static TextPosition position(String unicode, float x, float y, float height) {
+        Matrix textMatrix = new Matrix(height, 0, 0, height, x, y);
+        return new TextPosition(0, 600, 800, textMatrix, x + height / 2, y, height, height / 2, height / 4, unicode,
+                new int[]{unicode.charAt(0)}, null, 1, (int) height);
+    }
+
+    @Test
+    void testListOperations() {
+        TextPositionBuffer buffer = new TextPositionBuffer();
+        TextPosition a = position("a", 10, 700, 12);
+        TextPosition b = position("b", 16, 700, 12);
+        buffer.add(a);
+        // the last text position is kept as is, so that diacritics can be merged into it
+        assertSame(a, buffer.get(0));
+        buffer.add(b);
+        assertSame(b, buffer.get(1));
+
+        TextPosition view = buffer.get(0);
+        assertEquals("a", view.getUnicode());
+        assertEquals(a.getX(), view.getX(), 0);
+        assertEquals(a.getY(), view.getY(), 0);
+        assertEquals(a.getWidth(), view.getWidth(), 0);
+        assertEquals(a.getHeight(), view.getHeight(), 0);
+        assertEquals(a.getWidthOfSpace(), view.getWidthOfSpace(), 0);
+        assertEquals(a.getFontSizeInPt(), view.getFontSizeInPt(), 0);
+        assertArrayEquals(a.getCharacterCodes(), view.getCharacterCodes());
+        assertArrayEquals(a.getIndividualWidths(), view.getIndividualWidths(), 0);
+        assertNull(view.getFont());
+
+        buffer.remove(1);
+        assertEquals(1, buffer.size());
+        buffer.add(b);
+        buffer.remove(0);
+        assertEquals(1, buffer.size());
+        assertSame(b, buffer.get(0));
+        buffer.clear();
+        assertTrue(buffer.isEmpty());
+    }
+
+    @Test
+    void testSortByPosition() {
+        Random random = new Random(4711);
+        List<TextPosition> expected = new ArrayList<>();
+        TextPositionBuffer buffer = new TextPositionBuffer();
+        for (int i = 0; i < 2000; i++) {
+            TextPosition position = position(String.valueOf((char) ('a' + i % 26)), random.nextInt(500),
+                    random.nextInt(50) * 14 + random.nextInt(3), 8 + random.nextInt(8));
+            expected.add(position);
+            buffer.add(position);
+        }
+        // the buffer sorts like a list is sorted, which gives the same result even if the comparison isn't
+        // transitive for some of the text positions
+        try {
+            Collections.sort(expected, new TextPositionComparator());
+        } catch (IllegalArgumentException e) {
+            IterativeMergeSort.sort(expected, new TextPositionComparator());
+        }
+        buffer.sortByPosition();
+
+        assertEquals(expected.size(), buffer.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getXDirAdj(), buffer.get(i).getXDirAdj(), 0);
+            assertEquals(expected.get(i).getYDirAdj(), buffer.get(i).getYDirAdj(), 0);
+        }
+    }
+
+    @Test
+    void testViews() {
+        TextPositionBuffer buffer = new TextPositionBuffer();
+        buffer.add(position("a", 10, 700, 12));
+        buffer.add(position("b", 16, 700, 12));
+        buffer.add(position("c", 22, 700, 12));
+
+        TextPosition view = buffer.get(0);
+        assertSame(view, buffer.get(0));
+        view.mergeDiacritic(position("\u0301", 10, 700, 12));
+        String merged = view.getUnicode();
+        assertFalse("a".equals(merged));
+
+        // changes to the views are kept and are written back when the buffer is committed
+        buffer.commit();
+        assertEquals(merged, buffer.getUnicode(0));
+        assertEquals(view.getWidthDirAdj(), buffer.getWidthDirAdj(0), 0);
+        assertEquals(view.getIndividualWidths().length, buffer.getWidthCount(0));
+
+        // the views move with their text positions
+        buffer.set(0, position(merged, 30, 700, 12));
+        TextPosition moved = buffer.get(0);
+        buffer.sortByPosition();
+        assertSame(moved, buffer.get(2));
+        assertEquals("b", buffer.get(0).getUnicode());
+
+        List<TextPosition> list = new ArrayList<>();
+        list.add(position("x", 10, 700, 12));
+        TextPositionBuffer copy = TextPositionBuffer.copyOf(list);
+        assertSame(list.get(0), copy.get(0));
+    }
+
+    @Test
+    void testAccessors() {
+        TextPositionBuffer buffer = new TextPositionBuffer();
+        TextPosition a = position("ab", 10, 700, 12);
+        TextPosition hebrew = position("\u05e9\u05dc", 30, 680, 10);
+        buffer.add(a);
+        buffer.add(hebrew);
+        buffer.commit();
+
+        assertEquals(a.getX(), buffer.getX(0), 0);
+        assertEquals(a.getY(), buffer.getY(0), 0);
+        assertEquals(a.getXDirAdj(), buffer.getXDirAdj(0), 0);
+        assertEquals(a.getYDirAdj(), buffer.getYDirAdj(0), 0);
+        assertEquals(a.getWidth(), buffer.getWidth(0), 0);
+        assertEquals(a.getHeight(), buffer.getHeight(0), 0);
+        assertEquals(a.getWidthOfSpace(), buffer.getWidthOfSpace(0), 0);
+        assertEquals(a.getFontSize(), buffer.getFontSize(0), 0);
+        assertNull(buffer.getFont(0));
+        assertTrue(buffer.hasUnicode(0));
+        assertTrue(buffer.unicodeEndsWith(0, "b"));
+        assertFalse(buffer.unicodeEndsWith(0, "a"));
+        assertFalse(buffer.unicodeEndsWith(0, "cab"));
+
+        StringBuilder text = new StringBuilder();
+        buffer.appendVisuallyOrderedUnicode(0, text);
+        buffer.appendVisuallyOrderedUnicode(1, text);
+        assertEquals(a.getVisuallyOrderedUnicode() + hebrew.getVisuallyOrderedUnicode(), text.toString());
+    }
+
+    @Test
+    void testSortByBaseline() {
+        TextPositionBuffer buffer = new TextPositionBuffer();
+        // second line first, then the first line with a superscript
+        buffer.add(position("d", 20, 680, 10));
+        buffer.add(position("c", 10, 680, 10));
+        buffer.add(position("b", 20, 700, 10));
+        buffer.add(position("2", 26, 704, 6));
+        buffer.add(position("a", 10, 700, 10));
+        buffer.sortByBaseline();
+
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < buffer.size(); i++) {
+            text.append(buffer.isLineStart(i) ? "|" : "").append(buffer.get(i).getUnicode());
+        }
+        assertEquals("|ab2|cd", text.toString());
+
+        buffer.add(position("e", 30, 680, 10));
+        assertFalse(buffer.isLineStart(0));
+        assertEquals(Arrays.asList("a", "b", "2", "c", "d", "e"),
+                Arrays.asList(buffer.stream().map(TextPosition::getUnicode).toArray()));
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package lpdf.pdfbox.text;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TestTextPositionGrid {
+
+    @Test
+    void testAdd() {
+        TextPositionGrid grid = new TextPositionGrid();
+        assertTrue(grid.add("a", 100, 200, 1));
+        // overprinted to simulate bold text
+        assertFalse(grid.add("a", 100.5f, 199.5f, 1));
+        // the upper bound is excluded
+        assertTrue(grid.add("a", 99, 200, 1));
+        assertTrue(grid.add("b", 100, 200, 1));
+        assertTrue(grid.add("fi", 100, 200, 1));
+        assertFalse(grid.add("fi", 100, 200, 1));
+        assertTrue(grid.add("𝐀", 100, 200, 1));
+        assertFalse(grid.add("𝐀", 100, 200, 1));
+        // nothing is within a tolerance of 0
+        assertTrue(grid.add("b", 100, 200, 0));
+        // an infinite tolerance covers all positions
+        assertFalse(grid.add("b", 10000, -10000, Float.POSITIVE_INFINITY));
+        assertTrue(grid.add("", 100, 200, Float.POSITIVE_INFINITY));
+        assertTrue(grid.add("", 100, 200, Float.NaN));
+
+        grid.clear();
+        assertTrue(grid.add("a", 100, 200, 1));
+        assertTrue(grid.add("fi", 100, 200, 1));
+    }
+
+    @Test
+    void testCompareWithTreeMap() {
+        Random random = new Random(4711);
+        TextPositionGrid grid = new TextPositionGrid();
+        Map<String, TreeMap<Float, TreeSet<Float>>> expected = new HashMap<>();
+        String[] texts = { "a", "b", "c", "fi", "ffl", " " };
+        for (int i = 0; i < 20000; i++) {
+            String text = texts[random.nextInt(texts.length)];
+            float x = random.nextInt(600) + random.nextInt(4) * 0.25f;
+            float y = random.nextInt(800) + random.nextInt(4) * 0.25f;
+            // mostly usual font sizes, sometimes very large ones
+            float tolerance = random.nextInt(20) == 0 ? random.nextFloat() * 200 : random.nextFloat() * 3;
+
+            TreeMap<Float, TreeSet<Float>> sameText = expected.computeIfAbsent(text, k -> new TreeMap<>());
+            boolean duplicate = sameText.subMap(x - tolerance, x + tolerance).values().stream()
+                    .anyMatch(ySet -> !ySet.subSet(y - tolerance, y + tolerance).isEmpty());
+            if (!duplicate) {
+                sameText.computeIfAbsent(x, k -> new TreeSet<>()).add(y);
+            }
+            assertEquals(!duplicate, grid.add(text, x, y, tolerance), "position " + i);
+        }
+    }
+}
@@ -178,6 +178,37 @@ class MatrixTest {
         assertMatrixValuesEqualTo(new float[]{5, 8, 11, 8, 14, 20, 11, 20, 29}, retVal);
     }
 
+    @Test
+    void testMultiplicationInPlace() {
+        Matrix parameters = new Matrix(12, 0, 0, 10, 0, 2.5f);
+        Matrix textMatrix = new Matrix(0.5f, 1.5f, -1.5f, 0.5f, 72, 144.25f);
+        Matrix ctm = new Matrix(1.25f, 0, 0, -1.25f, 10, 800);
+        Matrix expected = parameters.multiply(textMatrix).multiply(ctm);
+
+        // the result may be a third matrix, the first or the second operand
+        Matrix result = new Matrix(9, 9, 9, 9, 9, 9);
+        assertEquals(expected, parameters.multiply(textMatrix, result).multiply(ctm, result));
+        Matrix first = parameters.clone();
+        assertEquals(expected, first.multiply(textMatrix, first).multiply(ctm, first));
+        Matrix second = ctm.clone();
+        assertEquals(expected, parameters.multiply(textMatrix).multiply(second, second));
+
+        // matrices with a perspective part are multiplied completely
+        Matrix m = new Matrix();
+        for (int x = 0; x < 3; x++) {
+            for (int y = 0; y < 3; y++) {
+                m.setValue(x, y, x + y);
+            }
+        }
+        assertMatrixValuesEqualTo(new float[]{5, 8, 11, 8, 14, 20, 11, 20, 29}, m.multiply(m, m));
+
+        // illegal values don't modify the result
+        Matrix huge = new Matrix(Float.MAX_VALUE, 0, 0, 1, 0, 0);
+        Matrix target = new Matrix();
+        assertThrows(IllegalArgumentException.class, () -> huge.multiply(huge, target));
+        assertMatrixIsPristine(target);
+    }
+
     @Test
     void testIllegalValueNaN1() {
         Matrix m = new Matrix();
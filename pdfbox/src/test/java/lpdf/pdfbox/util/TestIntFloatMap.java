@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package lpdf.pdfbox.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TestIntFloatMap {
+
+    @Test
+    void testPutAndGet() {
+        IntFloatMap map = new IntFloatMap();
+        assertTrue(map.isEmpty());
+        assertEquals(1000, map.get(0, 1000), 0);
+        map.put(0, 500);
+        map.put(-1, 250);
+        map.put(Integer.MAX_VALUE, 750);
+        map.put(0, 600);
+        assertEquals(3, map.size());
+        assertEquals(600, map.get(0, 1000), 0);
+        assertEquals(250, map.get(-1, 1000), 0);
+        assertEquals(750, map.get(Integer.MAX_VALUE, 1000), 0);
+        assertTrue(map.containsKey(-1));
+        assertFalse(map.containsKey(1));
+        assertEquals("{-1=250.0, 0=600.0, 2147483647=750.0}", map.toString());
+    }
+
+    @Test
+    void testCompareWithHashMap() {
+        Random random = new Random(4711);
+        IntFloatMap map = new IntFloatMap();
+        Map<Integer, Float> expected = new HashMap<>();
+        for (int i = 0; i < 20000; i++) {
+            // ranges of CIDs as well as scattered codes
+            int key = i % 2 == 0 ? i : random.nextInt();
+            float value = random.nextFloat() * 1000;
+            map.put(key, value);
+            expected.put(key, value);
+        }
+        assertEquals(expected.size(), map.size());
+        for (Map.Entry<Integer, Float> entry : expected.entrySet()) {
+            assertEquals(entry.getValue(), map.get(entry.getKey(), -1), 0);
+        }
+        float[] values = map.values();
+        float[] expectedValues = new float[expected.size()];
+        int count = 0;
+        for (Float value : expected.values()) {
+            expectedValues[count++] = value;
+        }
+        Arrays.sort(values);
+        Arrays.sort(expectedValues);
+        assertTrue(Arrays.equals(expectedValues, values));
+    }
+}